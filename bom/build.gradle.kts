@@ -15,7 +15,8 @@ dependencies {
     rootProject.subprojects
       .filter {
         it != project &&
-          it.name !in listOf("approvej-gradle-plugin", "approvej-maven-plugin", "manual") &&
+          it.name !in
+            listOf("approvej-gradle-plugin", "approvej-maven-plugin", "benchmarks", "manual") &&
           it.subprojects.isEmpty()
       }
       .sortedBy { it.name }
@@ -201,7 +201,10 @@ val updatePages by
     from(project(":manual").tasks.named("cheatSheetPdf")) { into("pdf") }
 
     // Javadoc for each module
-    project(":modules").subprojects.forEach { module ->
-      from(module.tasks.named("javadoc")) { into("javadoc/${module.name}") }
-    }
+    project(":modules")
+      .subprojects
+      .filter { it.name != "benchmarks" }
+      .forEach { module ->
+        from(module.tasks.named("javadoc")) { into("javadoc/${module.name}") }
+      }
   }
@@ -2,12 +2,17 @@ package examples.java;
 
 import static examples.ExampleClass.createPerson;
 import static org.approvej.ApprovalBuilder.approve;
+import static org.approvej.LinesApprovalBuilder.approveLines;
 import static org.approvej.approve.PathProviders.nextToTest;
 import static org.approvej.approve.PathProviders.nextToTestInSubdirectory;
+import static org.approvej.scrub.Scrubbers.uuids;
 
 import examples.ExampleClass.Person;
 import examples.PersonYamlPrintFormat;
 import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 // tag::approval_test_annotation[]
@@ -83,4 +88,16 @@ class ApprovingDocTest {
         .byFile("src/test/resources/BasicExamples-approve file approved path.yaml"); // <1>
     // end::approve_file_approved_path[]
   }
+
+  @Test
+  void approve_lines() {
+    // tag::approve_lines[]
+    Stream<String> lines =
+        IntStream.rangeClosed(1, 3).mapToObj(i -> "%d,%s".formatted(i, UUID.randomUUID()));
+
+    approveLines(lines) // <1>
+        .scrubbedOf(uuids()) // <2>
+        .byFile(); // <3>
+    // end::approve_lines[]
+  }
 }
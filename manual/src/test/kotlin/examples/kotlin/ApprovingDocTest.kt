@@ -2,11 +2,14 @@ package examples.kotlin
 
 import examples.ExampleClass.createPerson
 import java.time.LocalDate
+import java.util.UUID
 import org.approvej.ApprovalBuilder.approve
+import org.approvej.LinesApprovalBuilder.approveLines
 import org.approvej.approve.PathProviders.nextToTest
 import org.approvej.approve.PathProviders.nextToTestInSubdirectory
 import org.approvej.print.PrintFormat
 import org.approvej.print.Printer
+import org.approvej.scrub.Scrubbers.uuids
 import org.junit.jupiter.api.Test
 
 // tag::approval_test_annotation[]
@@ -98,4 +101,15 @@ class ApprovingDocTest {
 
     override fun filenameExtension() = "yaml"
   }
+
+  @Test
+  fun `approve lines`() {
+    // tag::approve_lines[]
+    val lines = (1..3).asSequence().map { "$it,${UUID.randomUUID()}" }
+
+    approveLines(lines.iterator()) // <1>
+      .scrubbedOf(uuids()) // <2>
+      .byFile() // <3>
+    // end::approve_lines[]
+  }
 }
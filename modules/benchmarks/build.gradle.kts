@@ -0,0 +1,80 @@
+import groovy.json.JsonSlurper
+
+plugins {
+  java
+  alias(libs.plugins.jmh)
+}
+
+java { toolchain { languageVersion = JavaLanguageVersion.of(21) } }
+
+repositories { mavenCentral() }
+
+dependencies { jmhImplementation(project(":modules:core")) }
+
+val jmhResultsFile = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaselineFile = layout.projectDirectory.file("baseline/results.json")
+
+jmh {
+  jmhVersion = libs.versions.jmh
+  resultFormat = "JSON"
+  resultsFile = jmhResultsFile
+  fork = 1
+  warmupIterations = 3
+  iterations = 5
+  providers.gradleProperty("jmhIncludes").orNull?.let { includes = it.split(",") }
+}
+
+tasks.register<Copy>("jmhUpdateBaseline") {
+  group = "benchmark"
+  description = "Replaces the committed baseline with the results of the latest jmh run."
+  from(jmhResultsFile)
+  into(jmhBaselineFile.asFile.parentFile)
+}
+
+tasks.register("jmhCheckRegression") {
+  group = "benchmark"
+  description =
+    "Fails if any benchmark of the latest jmh run is slower than the baseline by more than " +
+      "the percentage given by the jmhMaxRegression property (default: 10)."
+  val resultsFile = jmhResultsFile.map { it.asFile }
+  val baselineFile = jmhBaselineFile.asFile
+  val maxRegression =
+    providers.gradleProperty("jmhMaxRegression").map { it.toDouble() }.orElse(10.0)
+  mustRunAfter(tasks.named("jmh"))
+  inputs.file(resultsFile)
+  inputs.property("maxRegression", maxRegression)
+  doLast {
+    if (!baselineFile.exists()) {
+      logger.warn("No baseline at $baselineFile, run jmh and jmhUpdateBaseline to create one.")
+      return@doLast
+    }
+    fun scores(file: File): Map<String, Pair<Double, String>> =
+      (JsonSlurper().parse(file) as List<*>).associate { entry ->
+        val run = entry as Map<*, *>
+        val params = (run["params"] as Map<*, *>?)?.toSortedMap(compareBy { "$it" }) ?: emptyMap()
+        val metric = run["primaryMetric"] as Map<*, *>
+        "${run["benchmark"]}$params" to
+          Pair((metric["score"] as Number).toDouble(), "${metric["scoreUnit"]}")
+      }
+    val baseline = scores(baselineFile)
+    val regressions =
+      scores(resultsFile.get()).mapNotNull { (benchmark, result) ->
+        val (score, unit) = result
+        val (baselineScore, baselineUnit) = baseline[benchmark] ?: return@mapNotNull null
+        if (unit != baselineUnit) {
+          throw GradleException("Unit of $benchmark changed from $baselineUnit to $unit")
+        }
+        val regression = (score - baselineScore) / baselineScore * 100
+        logger.lifecycle(
+          "%s: %.3f %s (baseline %.3f %s, %+.1f%%)"
+            .format(benchmark, score, unit, baselineScore, baselineUnit, regression)
+        )
+        benchmark.takeIf { regression > maxRegression.get() }
+      }
+    if (regressions.isNotEmpty()) {
+      throw GradleException(
+        "Benchmarks regressed by more than ${maxRegression.get()}%: ${regressions.joinToString()}"
+      )
+    }
+  }
+}
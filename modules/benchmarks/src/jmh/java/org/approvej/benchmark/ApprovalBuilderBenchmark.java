@@ -0,0 +1,69 @@
+package org.approvej.benchmark;
+
+import static org.approvej.ApprovalBuilder.approve;
+import static org.approvej.print.SingleLineStringPrintFormat.singleLineString;
+import static org.approvej.scrub.Scrubbers.isoInstants;
+import static org.approvej.scrub.Scrubbers.uuids;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Measures the full approval pipeline as it is typically used in tests. */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApprovalBuilderBenchmark {
+
+  @Param({"1024", "102400", "1048576", "52428800"})
+  public int payloadSize;
+
+  private String payload;
+  private String approved;
+  private Path directory;
+  private Path approvedPath;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    payload = Payloads.text(payloadSize);
+    approved = isoInstants().apply(uuids().apply(payload));
+    directory = Files.createTempDirectory("approvej-benchmark");
+    approvedPath = Files.writeString(directory.resolve("approval-approved.txt"), approved);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    BenchmarkFiles.deleteDirectory(directory);
+  }
+
+  @Benchmark
+  public void byFile() {
+    approve(payload)
+        .printedAs(singleLineString())
+        .scrubbedOf(uuids())
+        .scrubbedOf(isoInstants())
+        .byFile(approvedPath);
+  }
+
+  @Benchmark
+  public void byValue() {
+    approve(payload)
+        .printedAs(singleLineString())
+        .scrubbedOf(uuids())
+        .scrubbedOf(isoInstants())
+        .byValue(approved);
+  }
+}
@@ -0,0 +1,28 @@
+package org.approvej.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jspecify.annotations.NullMarked;
+
+/** File system helpers for benchmarks that need approved files. */
+@NullMarked
+final class BenchmarkFiles {
+
+  private BenchmarkFiles() {}
+
+  /**
+   * Deletes the given directory including all the files in it.
+   *
+   * @param directory the directory to delete
+   * @throws IOException if listing or deleting fails
+   */
+  static void deleteDirectory(Path directory) throws IOException {
+    try (var paths = Files.list(directory)) {
+      for (Path path : paths.toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+}
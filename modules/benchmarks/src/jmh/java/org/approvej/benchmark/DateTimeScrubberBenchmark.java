@@ -0,0 +1,65 @@
+package org.approvej.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.approvej.scrub.DateTimeScrubber;
+import org.approvej.scrub.Scrubbers;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures the {@link DateTimeScrubber}s. */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DateTimeScrubberBenchmark {
+
+  @Param({"1024", "102400", "1048576", "52428800"})
+  public int payloadSize;
+
+  private String payload;
+  private DateTimeScrubber isoInstants;
+  private DateTimeScrubber isoDateTimes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    payload = Payloads.text(payloadSize);
+    isoInstants = Scrubbers.isoInstants();
+    isoDateTimes = Scrubbers.isoDateTimes(Locale.US);
+  }
+
+  @Benchmark
+  public String isoInstants() {
+    return isoInstants.apply(payload);
+  }
+
+  @Benchmark
+  public String isoDateTimes() {
+    return isoDateTimes.apply(payload);
+  }
+
+  /** Measures the creation of date/time scrubbers, which happens in every test method. */
+  @State(Scope.Benchmark)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public static class Creation {
+
+    @Benchmark
+    public DateTimeScrubber isoDateTimes() {
+      return Scrubbers.isoDateTimes(Locale.US);
+    }
+
+    @Benchmark
+    public DateTimeScrubber dateTimeFormat() {
+      return Scrubbers.dateTimeFormat("EEE, d MMM yyyy HH:mm:ss O", Locale.US);
+    }
+  }
+}
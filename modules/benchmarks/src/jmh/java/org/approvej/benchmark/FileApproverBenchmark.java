@@ -0,0 +1,64 @@
+package org.approvej.benchmark;
+
+import static org.approvej.approve.Approvers.file;
+import static org.approvej.approve.PathProviders.approvedPath;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.approvej.ApprovalResult;
+import org.approvej.approve.Approver;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Measures the comparison of a received value with an approved file. */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileApproverBenchmark {
+
+  @Param({"1024", "102400", "1048576", "52428800"})
+  public int payloadSize;
+
+  private String payload;
+  private String changedPayload;
+  private Path directory;
+  private Approver approver;
+  private Approver changedApprover;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    payload = Payloads.text(payloadSize);
+    changedPayload = payload.replace("order 0 ", "order zero ");
+    directory = Files.createTempDirectory("approvej-benchmark");
+    approver = file(approvedPath(Files.writeString(directory.resolve("a-approved.txt"), payload)));
+    changedApprover =
+        file(approvedPath(Files.writeString(directory.resolve("b-approved.txt"), payload)));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    BenchmarkFiles.deleteDirectory(directory);
+  }
+
+  @Benchmark
+  public ApprovalResult apply() {
+    return approver.apply(payload);
+  }
+
+  @Benchmark
+  public ApprovalResult apply_mismatch() {
+    return changedApprover.apply(changedPayload);
+  }
+}
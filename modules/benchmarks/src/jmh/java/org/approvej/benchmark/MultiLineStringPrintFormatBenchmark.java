@@ -0,0 +1,49 @@
+package org.approvej.benchmark;
+
+import static org.approvej.print.MultiLineStringPrintFormat.multiLineString;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.approvej.print.Printer;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures printing object graphs with the {@code multiLineString()} print format. */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MultiLineStringPrintFormatBenchmark {
+
+  @Param({"1024", "102400", "1048576", "52428800"})
+  public int payloadSize;
+
+  private List<Payloads.Order> orders;
+  private Printer<Object> printer;
+  private Printer<Object> sortedPrinter;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    orders = Payloads.orders(payloadSize);
+    printer = multiLineString().printer();
+    sortedPrinter = multiLineString().sorted().printer();
+  }
+
+  @Benchmark
+  public String print() {
+    return printer.apply(orders);
+  }
+
+  @Benchmark
+  public String print_sorted() {
+    return sortedPrinter.apply(orders);
+  }
+}
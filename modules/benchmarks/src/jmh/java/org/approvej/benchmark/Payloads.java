@@ -0,0 +1,70 @@
+package org.approvej.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.jspecify.annotations.NullMarked;
+
+/** Deterministic test data of a given approximate size for the benchmarks. */
+@NullMarked
+final class Payloads {
+
+  private static final Instant START = Instant.parse("2019-02-25T12:34:56Z");
+
+  private Payloads() {}
+
+  /**
+   * Creates a log-like text of about the given size, containing a UUID and an ISO-8601 instant in
+   * each line.
+   *
+   * @param size the approximate size of the text in characters
+   * @return the text
+   */
+  static String text(int size) {
+    Random random = new Random(size);
+    StringBuilder text = new StringBuilder(size + 128);
+    for (int line = 0; text.length() < size; line++) {
+      text.append(START.plusMillis(line * 1_337L))
+          .append(" [")
+          .append(new UUID(random.nextLong(), random.nextLong()))
+          .append("] order ")
+          .append(line)
+          .append(" created for customer ")
+          .append(random.nextInt(1_000))
+          .append('\n');
+    }
+    return text.toString();
+  }
+
+  /**
+   * Creates a list of {@link Order}s that print to about the given size.
+   *
+   * @param size the approximate size of the printed orders in characters
+   * @return the orders
+   */
+  static List<Order> orders(int size) {
+    Random random = new Random(size);
+    int count = Math.max(1, size / 320);
+    List<Order> orders = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      orders.add(
+          new Order(
+              new UUID(random.nextLong(), random.nextLong()),
+              START.plusSeconds(index),
+              new Customer(
+                  "Customer %d".formatted(index), "customer%d@example.org".formatted(index)),
+              List.of(
+                  new Item("Item A", random.nextInt(10) + 1),
+                  new Item("Item B", random.nextInt(10) + 1))));
+    }
+    return orders;
+  }
+
+  public record Order(UUID id, Instant createdAt, Customer customer, List<Item> items) {}
+
+  public record Customer(String name, String email) {}
+
+  public record Item(String name, int quantity) {}
+}
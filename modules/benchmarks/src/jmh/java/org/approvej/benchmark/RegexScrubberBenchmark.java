@@ -0,0 +1,58 @@
+package org.approvej.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.approvej.scrub.Scrubbers;
+import org.approvej.scrub.StringScrubber;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures the regular expression based {@link StringScrubber}s. */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegexScrubberBenchmark {
+
+  @Param({"1024", "102400", "1048576", "52428800"})
+  public int payloadSize;
+
+  private String payload;
+  private StringScrubber uuids;
+  private StringScrubber customers;
+  private StringScrubber strings;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    payload = Payloads.text(payloadSize);
+    uuids = Scrubbers.uuids();
+    customers = Scrubbers.stringsMatching("customer \\d+");
+    strings =
+        Scrubbers.strings(
+            "customer 1",
+            IntStream.range(2, 500).mapToObj("customer %d"::formatted).toArray(String[]::new));
+  }
+
+  @Benchmark
+  public String uuids() {
+    return uuids.apply(payload);
+  }
+
+  @Benchmark
+  public String stringsMatching() {
+    return customers.apply(payload);
+  }
+
+  @Benchmark
+  public String strings() {
+    return strings.apply(payload);
+  }
+}
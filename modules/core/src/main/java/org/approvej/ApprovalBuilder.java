@@ -13,10 +13,12 @@ import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.logging.Logger;
+import org.approvej.DanglingApprovalTracker.Token;
 import org.approvej.approve.ApprovedFileInventoryUpdater;
 import org.approvej.approve.Approver;
 import org.approvej.approve.InlineValueRewriter;
@@ -28,7 +30,10 @@ import org.approvej.print.Printer;
 import org.approvej.review.NoneReviewer;
 import org.approvej.review.ReviewResult;
 import org.approvej.review.Reviewer;
+import org.approvej.scrub.DateTimeScrubber;
 import org.approvej.scrub.Scrubber;
+import org.approvej.scrub.Scrubbers;
+import org.approvej.scrub.StringScrubber;
 import org.jspecify.annotations.NullMarked;
 import org.opentest4j.TestAbortedException;
 
@@ -55,6 +60,13 @@ import org.opentest4j.TestAbortedException;
  * <p>E.g. {@code approve(result).scrubbedOf(uuids()).byFile();} will replace all UUID's in the
  * result before approval.
  *
+ * <p>Consecutive {@link StringScrubber}s and {@link DateTimeScrubber}s applied to a printed value
+ * are {@link Scrubbers#fused(List) fused}, so the value is scanned once for all of them, with the
+ * same result as applying them one after another.
+ *
+ * <p>Printing and scrubbing is only recorded by the builder. Both are applied when the approval is
+ * concluded, so no work is done for a builder that is never concluded.
+ *
  * <h2>Approving</h2>
  *
  * <p>The builder is concluded by specifying an approver to approve the value {@link #by(Function)
@@ -71,19 +83,22 @@ public class ApprovalBuilder<T> {
 
   private static final Logger LOGGER = Logger.getLogger(ApprovalBuilder.class.getName());
 
-  private final T value;
+  private final Object value;
+  private final List<Function<?, ?>> stages;
   private final String name;
   private final String filenameExtension;
   private final Reviewer fileReviewer;
-  private final AtomicBoolean concluded;
+  private final Token concluded;
 
   private ApprovalBuilder(
-      T value,
+      Object value,
+      List<Function<?, ?>> stages,
       String name,
       String filenameExtension,
       Reviewer fileReviewer,
-      AtomicBoolean concluded) {
+      Token concluded) {
     this.value = value;
+    this.stages = stages;
     this.name = name;
     this.filenameExtension = filenameExtension;
     this.fileReviewer = fileReviewer;
@@ -98,9 +113,14 @@ public class ApprovalBuilder<T> {
    * @param <T> the type of the value to approve
    */
   public static <T> ApprovalBuilder<T> approve(T value) {
-    AtomicBoolean concluded = DanglingApprovalTracker.register();
+    Token concluded = DanglingApprovalTracker.register();
     return new ApprovalBuilder<>(
-        value, "", DEFAULT_FILENAME_EXTENSION, configuration.defaultFileReviewer(), concluded);
+        value,
+        List.of(),
+        "",
+        DEFAULT_FILENAME_EXTENSION,
+        configuration.defaultFileReviewer(),
+        concluded);
   }
 
   /**
@@ -112,7 +132,7 @@ public class ApprovalBuilder<T> {
    * @return a copy of this with the given {@link #name}
    */
   public ApprovalBuilder<T> named(String name) {
-    return new ApprovalBuilder<>(value, name, filenameExtension, fileReviewer, concluded);
+    return new ApprovalBuilder<>(value, stages, name, filenameExtension, fileReviewer, concluded);
   }
 
   /**
@@ -123,7 +143,7 @@ public class ApprovalBuilder<T> {
    */
   public ApprovalBuilder<String> printedBy(Function<? super T, String> printer) {
     return new ApprovalBuilder<>(
-        printer.apply(value), name, filenameExtension, fileReviewer, concluded);
+        value, withStage(printer), name, filenameExtension, fileReviewer, concluded);
   }
 
   /**
@@ -134,7 +154,8 @@ public class ApprovalBuilder<T> {
    */
   public ApprovalBuilder<String> printedAs(PrintFormat<? super T> printFormat) {
     return new ApprovalBuilder<>(
-        printFormat.printer().apply(value),
+        value,
+        withStage(printFormat.printer()),
         name,
         printFormat.filenameExtension(),
         fileReviewer,
@@ -160,9 +181,62 @@ public class ApprovalBuilder<T> {
    */
   public ApprovalBuilder<T> scrubbedOf(UnaryOperator<T> scrubber) {
     return new ApprovalBuilder<>(
-        scrubber.apply(value), name, filenameExtension, fileReviewer, concluded);
+        value, withStage(scrubber), name, filenameExtension, fileReviewer, concluded);
+  }
+
+  private List<Function<?, ?>> withStage(Function<? super T, ?> stage) {
+    List<Function<?, ?>> extendedStages = new ArrayList<>(stages);
+    extendedStages.add(stage);
+    return List.copyOf(extendedStages);
   }
 
+  /**
+   * Applies the recorded {@link #stages} to the {@link #value} and prints the result with the
+   * {@link org.approvej.configuration.Configuration#defaultPrintFormat()} if it is not a {@link
+   * String} yet.
+   *
+   * <p>Consecutive {@link StringScrubber}s and {@link DateTimeScrubber}s applied to a {@link
+   * String} are {@link Scrubbers#fused(List) fused}.
+   *
+   * @return the {@link Received} value
+   */
+  @SuppressWarnings("unchecked")
+  private Received received() {
+    Object current = value;
+    List<UnaryOperator<String>> scrubbers = new ArrayList<>();
+    for (Function<?, ?> stage : stages) {
+      if (current instanceof String
+          && (stage instanceof StringScrubber || stage instanceof DateTimeScrubber)) {
+        scrubbers.add((UnaryOperator<String>) stage);
+        continue;
+      }
+      current = ((Function<Object, Object>) stage).apply(scrubbed(current, scrubbers));
+    }
+    current = scrubbed(current, scrubbers);
+    if (current instanceof String string) {
+      return new Received(string, filenameExtension);
+    }
+    PrintFormat<Object> printFormat = configuration.defaultPrintFormat();
+    return new Received(printFormat.printer().apply(current), printFormat.filenameExtension());
+  }
+
+  private static Object scrubbed(Object value, List<UnaryOperator<String>> scrubbers) {
+    if (scrubbers.isEmpty()) {
+      return value;
+    }
+    String scrubbed = Scrubbers.fused(scrubbers).apply((String) value);
+    scrubbers.clear();
+    return scrubbed;
+  }
+
+  /**
+   * The printed and scrubbed value to approve.
+   *
+   * @param value the received value
+   * @param filenameExtension the filename extension of the {@link PrintFormat} used to print it
+   */
+  private record Received(String value, String filenameExtension) {}
+
   /**
    * Sets the given {@link Reviewer} to trigger if the received value is not equal to the previously
    * approved.
@@ -173,7 +247,7 @@ public class ApprovalBuilder<T> {
    * @see org.approvej.review.Reviewers
    */
   public ApprovalBuilder<T> reviewedBy(Reviewer fileReviewer) {
-    return new ApprovalBuilder<>(value, name, filenameExtension, fileReviewer, concluded);
+    return new ApprovalBuilder<>(value, stages, name, filenameExtension, fileReviewer, concluded);
   }
 
   /**
@@ -200,15 +274,8 @@ public class ApprovalBuilder<T> {
    * @throws ApprovalError if the approval fails
    */
   public void by(final Function<String, ApprovalResult> approver) {
-    concluded.set(true);
-    if (!(value instanceof String)) {
-      printed().by(approver);
-      return;
-    }
-    ApprovalResult result = approver.apply(String.valueOf(value));
-    if (result.needsApproval()) {
-      throw new ApprovalError(result.received(), result.previouslyApproved());
-    }
+    concluded.conclude();
+    approver.apply(received().value()).throwIfNotApproved();
   }
 
   /**
@@ -224,16 +291,13 @@ public class ApprovalBuilder<T> {
    * @param previouslyApproved the approved value
    */
   public void byValue(final String previouslyApproved) {
-    concluded.set(true);
-    if (!(value instanceof String)) {
-      printed().byValue(previouslyApproved);
-      return;
-    }
+    concluded.conclude();
+    String received = received().value();
     Approver approver = value(previouslyApproved);
-    ApprovalResult result = approver.apply(String.valueOf(value));
+    ApprovalResult result = approver.apply(received);
     if (result.needsApproval()) {
-      reviewInlineValue(String.valueOf(value).trim());
-      throw new ApprovalError(result.received(), result.previouslyApproved());
+      reviewInlineValue(received.trim());
+      result.throwIfNotApproved();
     }
   }
 
@@ -283,22 +347,19 @@ public class ApprovalBuilder<T> {
    * @throws ApprovalError if the approval fails
    */
   public void byFile(PathProvider pathProvider) {
-    concluded.set(true);
+    concluded.conclude();
+    Received received = received();
     PathProvider updatedPathProvider =
-        pathProvider.filenameAffix(name).filenameExtension(filenameExtension);
+        pathProvider.filenameAffix(name).filenameExtension(received.filenameExtension());
     if (configuration.inventoryEnabled()) {
       ApprovedFileInventoryUpdater.registerApprovedFile(updatedPathProvider);
     }
-    if (!(value instanceof String)) {
-      printed().byFile(updatedPathProvider);
-      return;
-    }
     Approver approver = file(updatedPathProvider);
-    ApprovalResult approvalResult = approver.apply(String.valueOf(value));
+    ApprovalResult approvalResult = approver.apply(received.value());
     if (approvalResult.needsApproval()) {
       ReviewResult reviewResult = fileReviewer.apply(updatedPathProvider);
       if (reviewResult.needsReapproval()) {
-        approvalResult = approver.apply(String.valueOf(value));
+        approvalResult = approver.apply(received.value());
       }
     }
     approvalResult.throwIfNotApproved();
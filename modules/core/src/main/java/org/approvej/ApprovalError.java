@@ -1,15 +1,37 @@
 package org.approvej;
 
-import static java.util.stream.Collectors.joining;
+import static org.approvej.configuration.Configuration.configuration;
 
-import java.util.stream.Collectors;
+import java.io.Serial;
+import java.util.Iterator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+import org.approvej.diff.DiffLine;
+import org.approvej.diff.Diffs;
+import org.approvej.diff.Hunk;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
-/** An {@link AssertionError} thrown when an approval fails. */
+/**
+ * An {@link AssertionError} thrown when an approval fails.
+ *
+ * <p>For a mismatch, the message only shows the changed lines and a few unchanged lines around
+ * them in the unified diff format. The message is created when it is first requested, so failing
+ * approvals that are caught and never reported don't pay for computing the difference.
+ */
 @NullMarked
 public class ApprovalError extends AssertionError {
 
+  @Serial private static final long serialVersionUID = 1L;
+
   private static final String DELIMITER = "\n  ";
+  private static final int MAX_MESSAGE_LINES = 1000;
+
+  private final transient @Nullable String previouslyApproved;
+  private final transient @Nullable String received;
+  private final transient int contextLines;
+  private transient volatile @Nullable String message;
 
   /**
    * Creates an {@link ApprovalError} with the given message.
@@ -18,23 +40,95 @@ public class ApprovalError extends AssertionError {
    */
   public ApprovalError(String message) {
     super(message);
+    this.previouslyApproved = null;
+    this.received = null;
+    this.contextLines = 0;
   }
 
   /**
    * Creates an {@link ApprovalError} for when the given received value does not match the
-   * previouslyApproved.
+   * previouslyApproved, using the configured {@link
+   * org.approvej.configuration.Configuration#approvalErrorContextLines() context lines}.
    *
    * @param previouslyApproved the previously approved value
    * @param received the received value
    */
   public ApprovalError(String previouslyApproved, String received) {
-    super(
-        previouslyApproved.isEmpty()
-            ? "Missing approval for received\n  \"%s\"\n"
-                .formatted(received.lines().collect(Collectors.joining(DELIMITER)))
-            : "Approval mismatch:\nexpected:\n  \"%s\"\n but was:\n  \"%s\"\n"
-                .formatted(
-                    previouslyApproved.lines().collect(joining(DELIMITER)),
-                    received.lines().collect(joining(DELIMITER))));
+    this(previouslyApproved, received, configuration.approvalErrorContextLines());
+  }
+
+  /**
+   * Creates an {@link ApprovalError} for when the given received value does not match the
+   * previouslyApproved.
+   *
+   * @param previouslyApproved the previously approved value
+   * @param received the received value
+   * @param contextLines the number of unchanged lines shown around each change
+   */
+  public ApprovalError(String previouslyApproved, String received, int contextLines) {
+    super();
+    this.previouslyApproved = previouslyApproved;
+    this.received = received;
+    this.contextLines = contextLines;
+  }
+
+  @Override
+  public @Nullable String getMessage() {
+    if (previouslyApproved == null || received == null) {
+      return super.getMessage();
+    }
+    String result = message;
+    if (result == null) {
+      result = createMessage(previouslyApproved, received);
+      message = result;
+    }
+    return result;
+  }
+
+  private String createMessage(String previouslyApproved, String received) {
+    if (previouslyApproved.isEmpty()) {
+      return limited(
+          received.lines().iterator(), DELIMITER, "Missing approval for received\n  \"", "\"\n");
+    }
+
+    List<Hunk> hunks = Diffs.diff(previouslyApproved, received).hunks(contextLines);
+    if (hunks.isEmpty()) {
+      return "Approval mismatch: received and approved only differ in line breaks\n";
+    }
+    return limited(
+        hunks.stream()
+            .flatMap(
+                hunk ->
+                    Stream.concat(
+                        Stream.of(hunk.header()), hunk.lines().stream().map(DiffLine::toString)))
+            .iterator(),
+        "\n",
+        "Approval mismatch (- approved, + received):\n",
+        "\n");
+  }
+
+  private static String limited(
+      Iterator<String> lines, String delimiter, String prefix, String suffix) {
+    StringJoiner joiner = new StringJoiner(delimiter, prefix, suffix);
+    int count = 0;
+    while (lines.hasNext()) {
+      String line = lines.next();
+      if (count++ < MAX_MESSAGE_LINES) {
+        joiner.add(line);
+      }
+    }
+    String result = joiner.toString();
+    if (count > MAX_MESSAGE_LINES) {
+      result += "[%d more lines]\n".formatted(count - MAX_MESSAGE_LINES);
+    }
+    return result;
+  }
+
+  /** Only the message is serialized, as the compared values may be very large. */
+  @Serial
+  private Object writeReplace() {
+    ApprovalError replacement = new ApprovalError(String.valueOf(getMessage()));
+    replacement.setStackTrace(getStackTrace());
+    return replacement;
   }
 }
@@ -1,9 +1,9 @@
 package org.approvej;
 
-import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -12,46 +12,47 @@ import org.jspecify.annotations.Nullable;
  * Tracks approval tokens to detect dangling approvals — {@link ApprovalBuilder#approve(Object)
  * approve()} calls that are never concluded with a terminal method.
  *
- * <p>Each call to {@link ApprovalBuilder#approve(Object)} registers a token scoped to the current
- * thread. After each test, the {@link DanglingApprovalExtension} calls {@link #checkAndReset()} to
- * detect unconcluded tokens on that thread. Additionally, a JVM shutdown hook performs a final
- * check and reports any remaining dangling approvals at process shutdown.
+ * <p>Each call to {@link ApprovalBuilder#approve(Object) approve()} registers a {@link Token}
+ * scoped to the current thread. After each test, the {@link DanglingApprovalExtension} calls
+ * {@link #checkAndReset()} to detect unconcluded tokens on that thread. Additionally, a JVM
+ * shutdown hook performs a final check and reports any remaining dangling approvals at process
+ * shutdown.
  *
  * <p>Thread-scoping ensures parallel test execution does not cause interference between tests.
+ * Tokens are only counted, not collected: each thread counts its outstanding tokens and a {@link
+ * LongAdder} counts them for all threads. Hence registering and concluding a token takes constant
+ * time and threads do not contend with each other.
  */
 @NullMarked
 final class DanglingApprovalTracker {
 
   private static final Logger LOGGER = Logger.getLogger(DanglingApprovalTracker.class.getName());
 
-  private static final ThreadLocal<List<AtomicBoolean>> threadTokens =
-      ThreadLocal.withInitial(java.util.ArrayList::new);
-  private static final ConcurrentLinkedDeque<AtomicBoolean> allTokens =
-      new ConcurrentLinkedDeque<>();
+  private static final ThreadLocal<@Nullable Scope> threadScope = new ThreadLocal<>();
+  private static volatile LongAdder allOutstanding = new LongAdder();
   private static final AtomicReference<@Nullable Thread> shutdownHook = new AtomicReference<>();
 
   private DanglingApprovalTracker() {}
 
-  static AtomicBoolean register() {
-    AtomicBoolean token = new AtomicBoolean(false);
-    List<AtomicBoolean> tokens = threadTokens.get();
-    tokens.removeIf(AtomicBoolean::get);
-    tokens.add(token);
-    allTokens.removeIf(AtomicBoolean::get);
-    allTokens.add(token);
-    shutdownHook.updateAndGet(
-        existing -> {
-          if (existing != null) {
-            return existing;
-          }
-          Thread hook =
-              new Thread(
-                  DanglingApprovalTracker::reportDanglingOnShutdown,
-                  "ApproveJ-Dangling-Approval-Check");
-          Runtime.getRuntime().addShutdownHook(hook);
-          return hook;
-        });
-    return token;
+  static Token register() {
+    Scope scope = threadScope.get();
+    if (scope == null || scope.allOutstanding != allOutstanding) {
+      scope = new Scope(allOutstanding);
+      threadScope.set(scope);
+    }
+    if (shutdownHook.get() == null) {
+      registerShutdownHook();
+    }
+    return scope.register();
+  }
+
+  private static void registerShutdownHook() {
+    Thread hook =
+        new Thread(
+            DanglingApprovalTracker::reportDanglingOnShutdown, "ApproveJ-Dangling-Approval-Check");
+    if (shutdownHook.compareAndSet(null, hook)) {
+      Runtime.getRuntime().addShutdownHook(hook);
+    }
   }
 
   /**
@@ -59,18 +60,16 @@ final class DanglingApprovalTracker {
    * DanglingApprovalError} if any dangling tokens are found.
    */
   static void checkAndReset() {
-    List<AtomicBoolean> tokens = threadTokens.get();
-    boolean hasDangling = tokens.stream().anyMatch(token -> !token.get());
-    allTokens.removeAll(tokens);
-    threadTokens.remove();
-    if (hasDangling) {
+    Scope scope = threadScope.get();
+    threadScope.remove();
+    if (scope != null && scope.close() > 0) {
       throw new DanglingApprovalError();
     }
   }
 
   static void reset() {
-    threadTokens.remove();
-    allTokens.clear();
+    threadScope.remove();
+    allOutstanding = new LongAdder();
     Thread hook = shutdownHook.getAndSet(null);
     if (hook != null) {
       try {
@@ -82,12 +81,72 @@ final class DanglingApprovalTracker {
   }
 
   private static void reportDanglingOnShutdown() {
-    allTokens.removeIf(AtomicBoolean::get);
-    if (!allTokens.isEmpty()) {
+    if (allOutstanding.sum() > 0) {
       LOGGER.warning(
           "Dangling approval detected."
               + " Call by(), byFile(), or byValue() to conclude the approval.");
     }
-    allTokens.clear();
+  }
+
+  /**
+   * Counts the outstanding tokens registered by one thread.
+   *
+   * <p>Tokens may be concluded by other threads, so the count is atomic. Once the scope is closed,
+   * concluding its tokens no longer changes the count for all threads, as the closing already
+   * subtracted them.
+   */
+  private static final class Scope {
+
+    private static final int CLOSED = Integer.MIN_VALUE / 2;
+
+    private final LongAdder allOutstanding;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private Scope(LongAdder allOutstanding) {
+      this.allOutstanding = allOutstanding;
+    }
+
+    private Token register() {
+      outstanding.incrementAndGet();
+      allOutstanding.increment();
+      return new Token(this);
+    }
+
+    private void conclude() {
+      if (outstanding.getAndDecrement() > 0) {
+        allOutstanding.decrement();
+      }
+    }
+
+    /**
+     * Closes this scope.
+     *
+     * @return the number of tokens that were still outstanding
+     */
+    private int close() {
+      int remaining = outstanding.getAndSet(CLOSED);
+      if (remaining > 0) {
+        allOutstanding.add(-remaining);
+      }
+      return remaining;
+    }
+  }
+
+  /** A token for one {@link ApprovalBuilder#approve(Object) approve()} call. */
+  static final class Token {
+
+    private final Scope scope;
+    private final AtomicBoolean concluded = new AtomicBoolean();
+
+    private Token(Scope scope) {
+      this.scope = scope;
+    }
+
+    /** Marks the approval as concluded. Concluding a token more than once has no effect. */
+    void conclude() {
+      if (concluded.compareAndSet(false, true)) {
+        scope.conclude();
+      }
+    }
   }
 }
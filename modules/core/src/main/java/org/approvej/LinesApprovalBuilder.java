@@ -0,0 +1,247 @@
+package org.approvej;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.approvej.approve.Approvers.streamingFile;
+import static org.approvej.approve.PathProviders.approvedPath;
+import static org.approvej.approve.PathProviders.nextToTest;
+import static org.approvej.configuration.Configuration.configuration;
+import static org.approvej.review.Reviewers.script;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.approvej.DanglingApprovalTracker.Token;
+import org.approvej.approve.ApprovedFileInventoryUpdater;
+import org.approvej.approve.PathProvider;
+import org.approvej.approve.PathProviders;
+import org.approvej.approve.StreamingFileApprovalResult;
+import org.approvej.approve.StreamingFileApprover;
+import org.approvej.review.ReviewResult;
+import org.approvej.review.Reviewer;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A builder to configure an approval for a text that is consumed line by line.
+ *
+ * <p>Other than the {@link ApprovalBuilder}, this never holds the whole text in memory. The lines
+ * are scrubbed one by one and directly compared with the approved file. Only if they differ, they
+ * are written to the received file.
+ *
+ * <p>E.g. {@code approveLines(Files.lines(export)).scrubbedOf(uuids()).byFile();} approves the
+ * lines of the export file with the content of a file next to the test.
+ *
+ * <p>Instances of this builder are created via the static {@link #approveLines(Stream)}, {@link
+ * #approve(Reader)}, and {@link #approve(InputStream)} methods.
+ */
+@NullMarked
+public class LinesApprovalBuilder {
+
+  private final Stream<String> lines;
+  private final String name;
+  private final Reviewer fileReviewer;
+  private final Token concluded;
+
+  private LinesApprovalBuilder(
+      Stream<String> lines, String name, Reviewer fileReviewer, Token concluded) {
+    this.lines = lines;
+    this.name = name;
+    this.fileReviewer = fileReviewer;
+    this.concluded = concluded;
+  }
+
+  /**
+   * Creates a new builder for the given lines.
+   *
+   * <p>The {@link Stream} is closed after the approval.
+   *
+   * @param lines the lines to approve
+   * @return a new {@link LinesApprovalBuilder} for the given lines
+   */
+  public static LinesApprovalBuilder approveLines(Stream<String> lines) {
+    Token concluded = DanglingApprovalTracker.register();
+    return new LinesApprovalBuilder(lines, "", configuration.defaultFileReviewer(), concluded);
+  }
+
+  /**
+   * Creates a new builder for the given lines.
+   *
+   * @param lines the lines to approve
+   * @return a new {@link LinesApprovalBuilder} for the given lines
+   */
+  public static LinesApprovalBuilder approveLines(Iterator<String> lines) {
+    return approveLines(
+        StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(lines, Spliterator.ORDERED), false));
+  }
+
+  /**
+   * Creates a new builder for the lines read from the given {@link Reader}.
+   *
+   * <p>The {@link Reader} is closed after the approval.
+   *
+   * @param reader the {@link Reader} to read the lines to approve from
+   * @return a new {@link LinesApprovalBuilder} for the read lines
+   */
+  public static LinesApprovalBuilder approve(Reader reader) {
+    BufferedReader bufferedReader =
+        reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    return approveLines(
+        bufferedReader
+            .lines()
+            .onClose(
+                () -> {
+                  try {
+                    bufferedReader.close();
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                }));
+  }
+
+  /**
+   * Creates a new builder for the lines read from the given {@link InputStream} using the given
+   * {@link Charset}.
+   *
+   * <p>The {@link InputStream} is closed after the approval.
+   *
+   * @param inputStream the {@link InputStream} to read the lines to approve from
+   * @param charset the {@link Charset} to decode the {@link InputStream}
+   * @return a new {@link LinesApprovalBuilder} for the read lines
+   */
+  public static LinesApprovalBuilder approve(InputStream inputStream, Charset charset) {
+    return approve(new InputStreamReader(inputStream, charset));
+  }
+
+  /**
+   * Creates a new builder for the lines read from the given UTF-8 encoded {@link InputStream}.
+   *
+   * <p>The {@link InputStream} is closed after the approval.
+   *
+   * @param inputStream the {@link InputStream} to read the lines to approve from
+   * @return a new {@link LinesApprovalBuilder} for the read lines
+   */
+  public static LinesApprovalBuilder approve(InputStream inputStream) {
+    return approve(inputStream, UTF_8);
+  }
+
+  /**
+   * Sets a name for the current approval. Generally this should be used when there are multiple
+   * values in one test case are being approved {@link #byFile()} as the second approval would
+   * otherwise simply overwrite the first one.
+   *
+   * @param name the name for the current approval
+   * @return a copy of this with the given {@link #name}
+   */
+  public LinesApprovalBuilder named(String name) {
+    return new LinesApprovalBuilder(lines, name, fileReviewer, concluded);
+  }
+
+  /**
+   * Applies the given scrubber to each line.
+   *
+   * <p>Note that the scrubber is applied to each line separately, so numbered replacements (e.g.
+   * {@code [uuid 1]}) start over in each line.
+   *
+   * @param lineScrubber the {@link UnaryOperator} or {@link org.approvej.scrub.Scrubber} to apply
+   *     to each line
+   * @return a copy of this with the scrubbed {@link #lines}
+   */
+  public LinesApprovalBuilder scrubbedOf(UnaryOperator<String> lineScrubber) {
+    return new LinesApprovalBuilder(lines.map(lineScrubber), name, fileReviewer, concluded);
+  }
+
+  /**
+   * Sets the given {@link Reviewer} to trigger if the received lines are not equal to the
+   * previously approved.
+   *
+   * @param fileReviewer the {@link Reviewer} to be used
+   * @return a copy of this with the given {@link #fileReviewer}
+   * @see org.approvej.configuration.Configuration#defaultFileReviewer()
+   * @see org.approvej.review.Reviewers
+   */
+  public LinesApprovalBuilder reviewedBy(Reviewer fileReviewer) {
+    return new LinesApprovalBuilder(lines, name, fileReviewer, concluded);
+  }
+
+  /**
+   * Creates a {@link Reviewer} from the given script {@link String} to trigger if the received
+   * lines are not equal to the previously approved.
+   *
+   * @param script the script {@link String} to be used as a {@link
+   *     org.approvej.review.Reviewers#script(String) script}
+   * @return a copy of this with the given script as {@link #fileReviewer}
+   * @see org.approvej.review.Reviewers#script(String)
+   */
+  public LinesApprovalBuilder reviewedBy(String script) {
+    return reviewedBy(script(script));
+  }
+
+  /**
+   * Approves the lines by a file defined by the given {@link PathProvider}.
+   *
+   * @param pathProvider the provider for the paths of the approved and received files
+   * @throws ApprovalError if the approval fails
+   */
+  public void byFile(PathProvider pathProvider) {
+    concluded.conclude();
+    PathProvider updatedPathProvider = pathProvider.filenameAffix(name);
+    if (configuration.inventoryEnabled()) {
+      ApprovedFileInventoryUpdater.registerApprovedFile(updatedPathProvider);
+    }
+    StreamingFileApprover approver = streamingFile(updatedPathProvider);
+    StreamingFileApprovalResult approvalResult;
+    try (Stream<String> receivedLines = lines) {
+      approvalResult = approver.apply(receivedLines.iterator());
+    }
+    if (approvalResult.needsApproval()) {
+      ReviewResult reviewResult = fileReviewer.apply(updatedPathProvider);
+      if (reviewResult.needsReapproval()) {
+        approvalResult = approver.recheck();
+      }
+    }
+    approvalResult.throwIfNotApproved();
+  }
+
+  /**
+   * Approves the lines by a file, using a {@link PathProviders#nextToTest() nextToTest
+   * PathProvider}.
+   *
+   * @throws ApprovalError if the approval fails
+   */
+  public void byFile() {
+    byFile(nextToTest());
+  }
+
+  /**
+   * Approves the lines by a file with an {@link PathProviders#approvedPath(Path)} with the given
+   * {@link Path} to the approved file.
+   *
+   * @param approvedPath the {@link Path} to the approved file
+   * @throws ApprovalError if the approval fails
+   */
+  public void byFile(Path approvedPath) {
+    byFile(approvedPath(approvedPath));
+  }
+
+  /**
+   * Approves the lines by a file with an {@link PathProviders#approvedPath(Path)} with the given
+   * path {@link String} to the approved file.
+   *
+   * @param approvedPath the path to the approved file
+   * @throws ApprovalError if the approval fails
+   */
+  public void byFile(String approvedPath) {
+    byFile(Path.of(approvedPath));
+  }
+}
@@ -1,11 +1,18 @@
 package org.approvej.approve;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllLines;
 import static java.util.stream.Collectors.joining;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import org.approvej.approve.ApprovedFileInventory.ApproveResult;
 import org.approvej.approve.ApprovedFileInventory.CleanupResult;
 import org.approvej.configuration.Configuration;
+import org.approvej.diff.Diff;
+import org.approvej.diff.Diffs;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -95,11 +102,37 @@ public final class ApprovedFileInventoryCli {
     }
     String output =
         reviewed.stream()
-            .map(pathProvider -> "  %s".formatted(pathProvider.receivedPath().toUri()))
+            .map(
+                pathProvider ->
+                    "  %s%s".formatted(pathProvider.receivedPath().toUri(), diffStat(pathProvider)))
             .collect(joining("\n", "Unapproved files:\n", ""));
     return new CliResult(output, 0);
   }
 
+  /**
+   * Counts the lines added to and removed from the approved file by the received file.
+   *
+   * @param pathProvider the {@link PathProvider} for the approved and received file
+   * @return the counts like {@code " (+1 -2)"} or an empty string if the received file is gone or
+   *     cannot be read as text
+   */
+  private static String diffStat(PathProvider pathProvider) {
+    Path receivedPath = pathProvider.receivedPath();
+    Path approvedPath = pathProvider.approvedPath();
+    if (!Files.exists(receivedPath)) {
+      return "";
+    }
+    try {
+      Diff diff =
+          Diffs.diff(
+              Files.exists(approvedPath) ? readAllLines(approvedPath, UTF_8) : List.of(),
+              readAllLines(receivedPath, UTF_8));
+      return " (+%d -%d)".formatted(diff.added(), diff.removed());
+    } catch (IOException e) {
+      return "";
+    }
+  }
+
   /**
    * CLI entry point for build tool plugins.
    *
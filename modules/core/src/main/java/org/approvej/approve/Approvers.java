@@ -28,4 +28,15 @@ public class Approvers {
   public static Approver file(PathProvider pathProvider) {
     return new FileApprover(pathProvider);
   }
+
+  /**
+   * Creates a new {@link StreamingFileApprover} that uses the given {@link PathProvider} to
+   * determine the paths of approved and received files.
+   *
+   * @param pathProvider the provider for the paths of the approved and received files
+   * @return a new {@link StreamingFileApprover} that uses the given {@link PathProvider}
+   */
+  public static StreamingFileApprover streamingFile(PathProvider pathProvider) {
+    return new StreamingFileApprover(pathProvider);
+  }
 }
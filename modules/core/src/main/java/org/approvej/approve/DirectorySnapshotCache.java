@@ -0,0 +1,241 @@
+package org.approvej.approve;
+
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.getLastModifiedTime;
+import static java.nio.file.Files.list;
+import static java.nio.file.Files.move;
+import static java.util.Comparator.comparing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JVM-wide cache of the files in approval directories, grouped by their base filename (the filename
+ * without its extension).
+ *
+ * <p>Each directory is listed once. Approvers report the files they create or delete via {@link
+ * #created(Path)} and {@link #deleted(Path)}, so the cached listing stays up to date without
+ * listing the directory again. If the directory was modified otherwise (e.g. by a reviewer or by
+ * the test itself), which is detected by its modification time, it is listed again.
+ */
+@NullMarked
+public final class DirectorySnapshotCache {
+
+  private static final Logger LOGGER = Logger.getLogger(DirectorySnapshotCache.class.getName());
+
+  private static final ConcurrentHashMap<Path, DirectorySnapshot> snapshots =
+      new ConcurrentHashMap<>();
+
+  private DirectorySnapshotCache() {}
+
+  /**
+   * Moves the most recently modified file with the same base filename but a different filename
+   * extension to the given approved path if that does not exist yet, and deletes all others.
+   *
+   * <p>This is meant to migrate approved files after the filename extension of an approval changed,
+   * e.g. because a different {@link org.approvej.print.PrintFormat} is used.
+   *
+   * @param approvedPath the {@link Path} to the approved file
+   */
+  public static void handleOldApprovedFiles(Path approvedPath) {
+    List<Path> oldApprovedFiles = oldApprovedFiles(approvedPath);
+    if (oldApprovedFiles.isEmpty()) {
+      return;
+    }
+    try {
+      if (!exists(approvedPath)) {
+        Path latest = oldApprovedFiles.getLast();
+        move(latest, approvedPath);
+        deleted(latest);
+        created(approvedPath);
+      }
+    } catch (IOException e) {
+      LOGGER.fine("Could not clean up old approved files: " + e.getMessage());
+      return;
+    }
+    oldApprovedFiles.forEach(
+        path -> {
+          try {
+            deleteIfExists(path);
+            deleted(path);
+          } catch (IOException e) {
+            LOGGER.fine("Could not delete old approved file: " + e.getMessage());
+          }
+        });
+  }
+
+  /**
+   * Records that the file at the given path was created (or overwritten).
+   *
+   * @param path the {@link Path} of the created file
+   */
+  public static void created(Path path) {
+    DirectorySnapshot snapshot = snapshots.get(directoryOf(path));
+    if (snapshot != null) {
+      snapshot.add(path.getFileName().toString());
+    }
+  }
+
+  /**
+   * Records that the file at the given path was deleted.
+   *
+   * @param path the {@link Path} of the deleted file
+   */
+  public static void deleted(Path path) {
+    DirectorySnapshot snapshot = snapshots.get(directoryOf(path));
+    if (snapshot != null) {
+      snapshot.remove(path.getFileName().toString());
+    }
+  }
+
+  /**
+   * Finds the files next to the given approved file that share its base filename, oldest first.
+   *
+   * @param approvedPath the {@link Path} to the approved file
+   * @return the other files with the same base filename, sorted by their modification time
+   */
+  static List<Path> oldApprovedFiles(Path approvedPath) {
+    String filename = approvedPath.getFileName().toString();
+    Path directory = directoryOf(approvedPath);
+    DirectorySnapshot snapshot = snapshot(directory);
+    if (snapshot == null) {
+      return List.of();
+    }
+    return snapshot.filenames(baseFilename(filename)).stream()
+        .filter(otherFilename -> !otherFilename.equals(filename))
+        .map(directory::resolve)
+        .filter(path -> exists(path))
+        .sorted(
+            comparing(
+                path -> {
+                  try {
+                    return getLastModifiedTime(path);
+                  } catch (IOException e) {
+                    LOGGER.fine("Could not read modification time: " + e.getMessage());
+                    return FileTime.from(Instant.ofEpochSecond(0));
+                  }
+                }))
+        .toList();
+  }
+
+  private static @Nullable DirectorySnapshot snapshot(Path directory) {
+    FileTime lastModified;
+    try {
+      lastModified = getLastModifiedTime(directory);
+    } catch (IOException e) {
+      LOGGER.fine("Could not read modification time: " + e.getMessage());
+      snapshots.remove(directory);
+      return null;
+    }
+    DirectorySnapshot snapshot = snapshots.get(directory);
+    if (snapshot != null && snapshot.lastModified().equals(lastModified)) {
+      return snapshot;
+    }
+    try (Stream<Path> paths = list(directory)) {
+      DirectorySnapshot newSnapshot = new DirectorySnapshot(directory, lastModified);
+      paths.forEach(path -> newSnapshot.index(path.getFileName().toString()));
+      snapshots.put(directory, newSnapshot);
+      return newSnapshot;
+    } catch (IOException e) {
+      LOGGER.fine("Could not list directory: " + e.getMessage());
+      return null;
+    }
+  }
+
+  private static Path directoryOf(Path path) {
+    Path directory = path.toAbsolutePath().normalize().getParent();
+    return directory != null ? directory : path.toAbsolutePath().getRoot();
+  }
+
+  /**
+   * Determines the base filename, which is the filename without its last extension.
+   *
+   * @param filename a filename
+   * @return the filename without its extension
+   */
+  private static String baseFilename(String filename) {
+    int extensionIndex = filename.lastIndexOf('.');
+    return extensionIndex > 0 ? filename.substring(0, extensionIndex) : filename;
+  }
+
+  /** For testing only. */
+  static void reset() {
+    snapshots.clear();
+  }
+
+  /**
+   * The cached listing of a directory.
+   *
+   * <p>Each filename is indexed by its base filename and, if it has an extension, also by itself,
+   * as a file without extension might be the old approved file of a file with a compound extension
+   * (e.g. {@code approved.tar} for {@code approved.tar.gz}).
+   */
+  private static final class DirectorySnapshot {
+
+    private final Path directory;
+    private final Map<String, Set<String>> filenamesByBaseFilename = new ConcurrentHashMap<>();
+    private volatile FileTime lastModified;
+
+    DirectorySnapshot(Path directory, FileTime lastModified) {
+      this.directory = directory;
+      this.lastModified = lastModified;
+    }
+
+    FileTime lastModified() {
+      return lastModified;
+    }
+
+    Set<String> filenames(String baseFilename) {
+      return filenamesByBaseFilename.getOrDefault(baseFilename, Set.of());
+    }
+
+    void add(String filename) {
+      index(filename);
+      touch();
+    }
+
+    void remove(String filename) {
+      for (String key : keys(filename)) {
+        filenamesByBaseFilename.computeIfPresent(
+            key,
+            (existingKey, filenames) -> {
+              filenames.remove(filename);
+              return filenames.isEmpty() ? null : filenames;
+            });
+      }
+      touch();
+    }
+
+    private void index(String filename) {
+      for (String key : keys(filename)) {
+        filenamesByBaseFilename
+            .computeIfAbsent(key, newKey -> ConcurrentHashMap.newKeySet())
+            .add(filename);
+      }
+    }
+
+    private static Set<String> keys(String filename) {
+      String baseFilename = baseFilename(filename);
+      return baseFilename.equals(filename) ? Set.of(filename) : Set.of(baseFilename, filename);
+    }
+
+    private void touch() {
+      try {
+        lastModified = getLastModifiedTime(directory);
+      } catch (IOException e) {
+        LOGGER.fine("Could not read modification time: " + e.getMessage());
+      }
+    }
+  }
+}
@@ -3,25 +3,17 @@ package org.approvej.approve;
 import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.createFile;
 import static java.nio.file.Files.deleteIfExists;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.getLastModifiedTime;
-import static java.nio.file.Files.list;
-import static java.nio.file.Files.move;
+import static java.nio.file.Files.newBufferedReader;
 import static java.nio.file.Files.notExists;
 import static java.nio.file.Files.readString;
 import static java.nio.file.Files.writeString;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
-import static java.util.Comparator.comparing;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.file.Path;
-import java.nio.file.attribute.FileTime;
-import java.time.Instant;
-import java.util.List;
-import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.approvej.ApprovalError;
 import org.approvej.ApprovalResult;
 import org.jspecify.annotations.NullMarked;
@@ -37,14 +29,24 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 record FileApprover(PathProvider pathProvider) implements Approver {
 
-  private static final Logger LOGGER = Logger.getLogger(FileApprover.class.getName());
-
   @Override
   public ApprovalResult apply(String received) {
+    prepareApprovedFile();
+    String receivedNormalized = NormalizedText.normalize(received);
+    if (approvedFileEquals(receivedNormalized)) {
+      return check(receivedNormalized, receivedNormalized);
+    }
+    return check(readApprovedFile(), receivedNormalized);
+  }
+
+  /**
+   * Ensures that the approved file exists, migrating an old approved file with a different
+   * filename extension if necessary.
+   */
+  void prepareApprovedFile() {
     ensureDirectory();
-    handleOldApprovedFiles();
+    DirectorySnapshotCache.handleOldApprovedFiles(pathProvider.approvedPath());
     ensureApprovedFile();
-    return check(readApprovedFile(), received.replace("\r\n", "\n").trim());
   }
 
   private void ensureDirectory() {
@@ -61,64 +63,26 @@ record FileApprover(PathProvider pathProvider) implements Approver {
     if (notExists(approvedPath)) {
       try {
         createFile(approvedPath);
+        DirectorySnapshotCache.created(approvedPath);
       } catch (IOException e) {
         throw new FileApproverError("Creating approved file %s failed".formatted(approvedPath), e);
       }
     }
   }
 
-  private void handleOldApprovedFiles() {
+  private boolean approvedFileEquals(String receivedNormalized) {
     Path approvedPath = pathProvider.approvedPath();
-    String filename = approvedPath.getFileName().toString();
-    Pattern filenameExtensionPattern =
-        Pattern.compile("(?<baseFilename>.+?)(?:\\.(?<extension>[^.]*))?");
-    Matcher matcher = filenameExtensionPattern.matcher(filename);
-    if (!matcher.matches()) {
-      return;
-    }
-    String baseFilename = matcher.group("baseFilename");
-    Pattern baseFilenamePattern = Pattern.compile(baseFilename + "(?:\\.(?<extension>[^.]*))?");
-    try (var paths = list(pathProvider.directory())) {
-      List<Path> oldApprovedFiles =
-          paths
-              .filter(
-                  path ->
-                      !path.normalize().equals(approvedPath)
-                          && baseFilenamePattern.matcher(path.getFileName().toString()).matches())
-              .sorted(
-                  comparing(
-                      path -> {
-                        try {
-                          return getLastModifiedTime(path);
-                        } catch (IOException e) {
-                          LOGGER.fine("Could not read modification time: " + e.getMessage());
-                          return FileTime.from(Instant.ofEpochSecond(0));
-                        }
-                      }))
-              .toList();
-      if (oldApprovedFiles.isEmpty()) {
-        return;
-      }
-      if (!exists(approvedPath)) {
-        move(oldApprovedFiles.getLast(), approvedPath);
-      }
-      oldApprovedFiles.forEach(
-          path -> {
-            try {
-              deleteIfExists(path);
-            } catch (IOException e) {
-              LOGGER.fine("Could not delete old approved file: " + e.getMessage());
-            }
-          });
+    try (Reader approvedReader = newBufferedReader(approvedPath)) {
+      return NormalizedText.contentEquals(approvedReader, new StringReader(receivedNormalized));
     } catch (IOException e) {
-      LOGGER.fine("Could not clean up old approved files: " + e.getMessage());
+      throw new FileApproverError("Reading approved file %s failed".formatted(approvedPath), e);
     }
   }
 
   private String readApprovedFile() {
     Path approvedPath = pathProvider.approvedPath();
     try {
-      return readString(approvedPath).replace("\r\n", "\n").trim();
+      return NormalizedText.normalize(readString(approvedPath));
     } catch (IOException e) {
       throw new FileApproverError("Reading approved file %s failed".formatted(approvedPath), e);
     }
@@ -131,13 +95,16 @@ record FileApprover(PathProvider pathProvider) implements Approver {
     if (result.needsApproval()) {
       try {
         writeString(receivedPath, receivedTrimmed + "\n", CREATE, TRUNCATE_EXISTING);
+        DirectorySnapshotCache.created(receivedPath);
       } catch (IOException e) {
         throw new FileApproverError("Writing received to %s failed".formatted(receivedPath), e);
       }
       return result;
     }
     try {
-      deleteIfExists(receivedPath);
+      if (deleteIfExists(receivedPath)) {
+        DirectorySnapshotCache.deleted(receivedPath);
+      }
       return result;
     } catch (IOException e) {
       throw new FileApproverError("Deleting received file %s failed".formatted(receivedPath), e);
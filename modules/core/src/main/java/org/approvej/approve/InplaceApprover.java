@@ -18,6 +18,6 @@ record InplaceApprover(String previouslyApproved) implements Approver {
 
   @Override
   public ApprovalResult apply(String received) {
-    return new InplaceApprovalResult(received.trim(), previouslyApproved);
+    return new InplaceApprovalResult(previouslyApproved, received.trim());
   }
 }
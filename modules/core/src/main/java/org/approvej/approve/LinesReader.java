@@ -0,0 +1,47 @@
+package org.approvej.approve;
+
+import java.io.Reader;
+import java.util.Iterator;
+import org.jspecify.annotations.NullMarked;
+
+/** A {@link Reader} that reads the lines of an {@link Iterator}, each terminated by {@code \n}. */
+@NullMarked
+final class LinesReader extends Reader {
+
+  private final Iterator<String> lines;
+  private String line = "";
+  private int position = 0;
+  private boolean lineTerminated = true;
+
+  LinesReader(Iterator<String> lines) {
+    this.lines = lines;
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) {
+    int read = 0;
+    while (read < length) {
+      if (position < line.length()) {
+        int count = Math.min(length - read, line.length() - position);
+        line.getChars(position, position + count, buffer, offset + read);
+        position += count;
+        read += count;
+      } else if (!lineTerminated) {
+        buffer[offset + read++] = '\n';
+        lineTerminated = true;
+      } else if (lines.hasNext()) {
+        line = lines.next();
+        position = 0;
+        lineTerminated = false;
+      } else {
+        break;
+      }
+    }
+    return read == 0 && length > 0 ? -1 : read;
+  }
+
+  @Override
+  public void close() {
+    // nothing to close, the lines' source is closed by its owner
+  }
+}
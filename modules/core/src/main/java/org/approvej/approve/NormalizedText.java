@@ -0,0 +1,133 @@
+package org.approvej.approve;
+
+import java.io.IOException;
+import java.io.Reader;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Utility to compare texts regardless of their line endings ({@code \r\n} vs. {@code \n}) and
+ * leading or trailing whitespace.
+ */
+@NullMarked
+final class NormalizedText {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private NormalizedText() {
+    // Util class
+  }
+
+  /**
+   * Normalizes the given text by replacing all {@code \r\n} with {@code \n} and trimming it.
+   *
+   * <p>If the text is already normalized, it is returned as is.
+   *
+   * @param text the text to normalize
+   * @return the normalized text
+   */
+  static String normalize(String text) {
+    return text.replace("\r\n", "\n").trim();
+  }
+
+  /**
+   * Compares the texts provided by the two given {@link Reader}s as if both were {@link
+   * #normalize(String) normalized}.
+   *
+   * <p>The texts are read in chunks and normalized on the fly, so neither text is ever fully held
+   * in memory. Reading stops at the first difference.
+   *
+   * @param first a {@link Reader} for the first text
+   * @param second a {@link Reader} for the second text
+   * @return whether the normalized texts are equal
+   * @throws IOException if reading one of the texts fails
+   */
+  static boolean contentEquals(Reader first, Reader second) throws IOException {
+    NormalizedCharacters firstCharacters = new NormalizedCharacters(first);
+    NormalizedCharacters secondCharacters = new NormalizedCharacters(second);
+    int character;
+    do {
+      character = firstCharacters.next();
+      if (character != secondCharacters.next()) {
+        return false;
+      }
+    } while (character >= 0);
+    return true;
+  }
+
+  /**
+   * Reads the characters of a {@link Reader} as if the whole text was {@link #normalize(String)
+   * normalized}.
+   *
+   * <p>Runs of whitespace are held back until a non-whitespace character follows, as only then it
+   * is certain that they are not trailing whitespace.
+   */
+  static final class NormalizedCharacters {
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int length = 0;
+    private boolean leadingWhitespaceSkipped = false;
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingPosition = 0;
+
+    NormalizedCharacters(Reader reader) {
+      this.reader = reader;
+    }
+
+    /**
+     * Returns the next normalized character.
+     *
+     * @return the next character or -1 if the end of the normalized text was reached
+     * @throws IOException if reading fails
+     */
+    int next() throws IOException {
+      if (pendingPosition < pending.length()) {
+        return pending.charAt(pendingPosition++);
+      }
+      int character = read();
+      if (!leadingWhitespaceSkipped) {
+        while (isWhitespace(character)) {
+          character = read();
+        }
+        leadingWhitespaceSkipped = true;
+      }
+      if (!isWhitespace(character)) {
+        return character;
+      }
+      pending.setLength(0);
+      pendingPosition = 0;
+      while (isWhitespace(character)) {
+        int lastIndex = pending.length() - 1;
+        if (character == '\n' && lastIndex >= 0 && pending.charAt(lastIndex) == '\r') {
+          pending.setCharAt(lastIndex, '\n');
+        } else {
+          pending.append((char) character);
+        }
+        character = read();
+      }
+      if (character < 0) {
+        pending.setLength(0);
+        return -1;
+      }
+      pending.append((char) character);
+      return pending.charAt(pendingPosition++);
+    }
+
+    private int read() throws IOException {
+      if (position == length) {
+        length = reader.read(buffer);
+        position = 0;
+        if (length <= 0) {
+          length = 0;
+          return -1;
+        }
+      }
+      return buffer[position++];
+    }
+
+    private static boolean isWhitespace(int character) {
+      return character >= 0 && character <= ' ';
+    }
+  }
+}
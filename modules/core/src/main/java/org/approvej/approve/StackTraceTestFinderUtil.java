@@ -1,15 +1,17 @@
 package org.approvej.approve;
 
 import static java.util.Arrays.stream;
+import static org.approvej.configuration.Configuration.configuration;
 
-import java.io.IOException;
+import java.lang.StackWalker.StackFrame;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import org.jspecify.annotations.NullMarked;
 
@@ -17,6 +19,20 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public class StackTraceTestFinderUtil {
 
+  private static final StackWalker STACK_WALKER =
+      StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  private static final Pattern LAMBDA_METHOD_NAME = Pattern.compile("^lambda\\$([^$]+)\\$\\d+$");
+
+  /** The resolved {@link TestMethod} (if any) per class and stack frame method name. */
+  private static final ClassValue<Map<String, Optional<TestMethod>>> TEST_METHODS_BY_FRAME_NAME =
+      new ClassValue<>() {
+        @Override
+        protected Map<String, Optional<TestMethod>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   private StackTraceTestFinderUtil() {
     // Util class
   }
@@ -24,34 +40,47 @@ public class StackTraceTestFinderUtil {
   /**
    * Finds the current test method using the stack trace.
    *
+   * <p>The stack is walked lazily from the top and the walk stops at the first frame that belongs
+   * to a test method. Whether a frame belongs to a test method is only determined once per class
+   * and method name.
+   *
    * @return the currently executing test {@link Method}
    */
   public static TestMethod currentTestMethod() {
-    StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-    return stream(stackTrace)
-        .flatMap(
-            element -> {
-              try {
-                Class<?> clazz = Class.forName(element.getClassName());
-                String methodName =
-                    element.getMethodName().replaceAll("^lambda\\$([^$]+)\\$\\d+$", "$1");
-                Stream<Method> directMethods =
-                    stream(clazz.getDeclaredMethods())
-                        .filter(method -> method.getName().equals(methodName));
-                Method enclosingMethod = clazz.getEnclosingMethod();
-                if (enclosingMethod != null) {
-                  return Stream.concat(directMethods, Stream.of(enclosingMethod));
-                }
-                return directMethods;
-              } catch (NoClassDefFoundError | ClassNotFoundException e) {
-                return Stream.empty();
-              }
-            })
-        .map(TestMethod::create)
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .findFirst()
-        .orElseThrow(() -> new TestMethodNotFoundInStackTraceError(stackTrace));
+    return STACK_WALKER
+        .walk(
+            frames ->
+                frames
+                    .map(StackTraceTestFinderUtil::testMethodOf)
+                    .flatMap(Optional::stream)
+                    .findFirst())
+        .orElseThrow(
+            () -> new TestMethodNotFoundInStackTraceError(Thread.currentThread().getStackTrace()));
+  }
+
+  private static Optional<TestMethod> testMethodOf(StackFrame frame) {
+    Class<?> clazz = frame.getDeclaringClass();
+    return TEST_METHODS_BY_FRAME_NAME
+        .get(clazz)
+        .computeIfAbsent(
+            frame.getMethodName(), frameMethodName -> resolveTestMethod(clazz, frameMethodName));
+  }
+
+  private static Optional<TestMethod> resolveTestMethod(Class<?> clazz, String frameMethodName) {
+    try {
+      String methodName = LAMBDA_METHOD_NAME.matcher(frameMethodName).replaceAll("$1");
+      Stream<Method> directMethods =
+          stream(clazz.getDeclaredMethods()).filter(method -> method.getName().equals(methodName));
+      Method enclosingMethod = clazz.getEnclosingMethod();
+      return (enclosingMethod != null
+              ? Stream.concat(directMethods, Stream.of(enclosingMethod))
+              : directMethods)
+          .map(TestMethod::create)
+          .flatMap(Optional::stream)
+          .findFirst();
+    } catch (NoClassDefFoundError e) {
+      return Optional.empty();
+    }
   }
 
   /**
@@ -65,6 +94,9 @@ public class StackTraceTestFinderUtil {
    *       </code>, or <code>scala</code>
    * </ul>
    *
+   * <p>The source files are looked up in a JVM-wide index, so the working directory is usually only
+   * traversed once per JVM.
+   *
    * @param testMethod the test {@link Method}
    * @return the {@link Path} to the source file containing the given testMethod
    */
@@ -83,33 +115,11 @@ public class StackTraceTestFinderUtil {
       topLevelClass = topLevelClass.getEnclosingClass();
     }
     String packagePath = declaringClass.getPackageName().replace(".", "/");
-    String pathRegex =
-        "(?!(?:build|target|bin|out)/).*%s.*/%s/%s\\.(java|kt|groovy|scala)$"
-            .formatted(sourceSetName, packagePath, topLevelClass.getSimpleName());
-    try (Stream<Path> pathStream =
-        Files.find(
-            Path.of(""),
-            packageDepth + 10,
-            (path, attributes) ->
-                attributes.isRegularFile()
-                    && path.normalize().toString().replace('\\', '/').matches(pathRegex))) {
-      List<Path> matches = pathStream.map(Path::normalize).toList();
-      return switch (matches.size()) {
-        case 0 -> throw new FileApproverError("Could not locate test source file");
-        case 1 -> matches.getFirst();
-        default -> {
-          List<Path> srcMatches =
-              matches.stream().filter(path -> path.toString().contains("src")).toList();
-          if (srcMatches.size() == 1) {
-            yield srcMatches.getFirst();
-          }
-          throw new FileApproverError(
-              "Found multiple test source files (%d contain 'src'): %s"
-                  .formatted(srcMatches.size(), matches));
-        }
-      };
-    } catch (IOException e) {
-      throw new FileApproverError("Could not traverse code directory", e);
-    }
+    return TestSourceIndex.find(
+        sourceSetName,
+        packagePath,
+        topLevelClass.getSimpleName(),
+        packageDepth + 10,
+        configuration.sourceIndexPersistenceEnabled());
   }
 }
@@ -0,0 +1,65 @@
+package org.approvej.approve;
+
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readString;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.approvej.ApprovalError;
+import org.approvej.ApprovalResult;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * {@link ApprovalResult} of a {@link StreamingFileApprover}.
+ *
+ * <p>As the approved and received values might be huge, they are not held in memory but read from
+ * the approved and received files when requested.
+ *
+ * @param needsApproval whether the received value differs from the previously approved
+ * @param firstDifferentLine the number of the first line in which the received value differs from
+ *     the previously approved, 0 if it doesn't differ
+ * @param pathProvider the {@link PathProvider} providing the paths to the received and approved
+ *     files
+ */
+@NullMarked
+public record StreamingFileApprovalResult(
+    boolean needsApproval, long firstDifferentLine, PathProvider pathProvider)
+    implements ApprovalResult {
+
+  @Override
+  public String previouslyApproved() {
+    return read(pathProvider.approvedPath());
+  }
+
+  @Override
+  public String received() {
+    Path receivedPath = pathProvider.receivedPath();
+    return needsApproval && exists(receivedPath) ? read(receivedPath) : previouslyApproved();
+  }
+
+  /**
+   * Throws an {@link ApprovalError} if {@link #needsApproval()} returns true.
+   *
+   * <p>Other than for other {@link ApprovalResult}s, the error message does not contain the values,
+   * but refers to the approved and received files.
+   *
+   * @throws ApprovalError if {@link #needsApproval()} returns true
+   */
+  @Override
+  public void throwIfNotApproved() {
+    if (needsApproval) {
+      throw new ApprovalError(
+          "Approval mismatch in line %d:\nreceived file\n  %s\ndiffers from approved file\n  %s\n"
+              .formatted(
+                  firstDifferentLine, pathProvider.receivedPath(), pathProvider.approvedPath()));
+    }
+  }
+
+  private static String read(Path path) {
+    try {
+      return NormalizedText.normalize(readString(path));
+    } catch (IOException e) {
+      throw new FileApproverError("Reading file %s failed".formatted(path), e);
+    }
+  }
+}
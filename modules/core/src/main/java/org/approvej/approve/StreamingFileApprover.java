@@ -0,0 +1,164 @@
+package org.approvej.approve;
+
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.newBufferedReader;
+import static java.nio.file.Files.newBufferedWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import org.approvej.approve.NormalizedText.NormalizedCharacters;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Approves received lines by comparing them with the approved value stored in a file, without
+ * holding either of them in memory.
+ *
+ * <p>The received lines are compared with the approved file while they are consumed. Only if they
+ * differ, the received value is written to the received file: the part that matched is copied from
+ * the approved file and the rest of the lines is written as it is consumed.
+ *
+ * <p>Like the {@link Approvers#file(PathProvider) file approver}, line endings as well as leading
+ * and trailing whitespace are ignored.
+ *
+ * @param pathProvider a {@link PathProvider} to determine the paths of the approved and received
+ *     files
+ */
+@NullMarked
+public record StreamingFileApprover(PathProvider pathProvider) {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Approves the given received lines.
+   *
+   * @param receivedLines the received lines, which are consumed by this method
+   * @return the {@link StreamingFileApprovalResult}
+   */
+  public StreamingFileApprovalResult apply(Iterator<String> receivedLines) {
+    new FileApprover(pathProvider).prepareApprovedFile();
+    Path approvedPath = pathProvider.approvedPath();
+    try (Reader approvedReader = newBufferedReader(approvedPath)) {
+      NormalizedCharacters received = new NormalizedCharacters(new LinesReader(receivedLines));
+      Mismatch mismatch = compare(new NormalizedCharacters(approvedReader), received);
+      if (mismatch == null) {
+        deleteReceivedFile();
+        return new StreamingFileApprovalResult(false, 0, pathProvider);
+      }
+      writeReceivedFile(mismatch, received);
+      return new StreamingFileApprovalResult(true, mismatch.line(), pathProvider);
+    } catch (IOException e) {
+      throw new FileApproverError("Reading approved file %s failed".formatted(approvedPath), e);
+    }
+  }
+
+  /**
+   * Checks again whether the received file matches the approved file, e.g. after a {@link
+   * org.approvej.review.Reviewer} was applied.
+   *
+   * <p>If the received file does not exist (anymore), it is assumed that it was moved to the
+   * approved file.
+   *
+   * @return the {@link StreamingFileApprovalResult}
+   */
+  public StreamingFileApprovalResult recheck() {
+    Path receivedPath = pathProvider.receivedPath();
+    if (!exists(receivedPath)) {
+      return new StreamingFileApprovalResult(false, 0, pathProvider);
+    }
+    Path approvedPath = pathProvider.approvedPath();
+    Mismatch mismatch;
+    try (Reader approvedReader = newBufferedReader(approvedPath);
+        Reader receivedReader = newBufferedReader(receivedPath)) {
+      mismatch =
+          compare(
+              new NormalizedCharacters(approvedReader), new NormalizedCharacters(receivedReader));
+    } catch (IOException e) {
+      throw new FileApproverError(
+          "Comparing received file %s with approved file %s failed"
+              .formatted(receivedPath, approvedPath),
+          e);
+    }
+    if (mismatch == null) {
+      deleteReceivedFile();
+      return new StreamingFileApprovalResult(false, 0, pathProvider);
+    }
+    return new StreamingFileApprovalResult(true, mismatch.line(), pathProvider);
+  }
+
+  private static @Nullable Mismatch compare(
+      NormalizedCharacters approved, NormalizedCharacters received) throws IOException {
+    long matched = 0;
+    long line = 1;
+    int approvedCharacter;
+    int receivedCharacter;
+    while ((approvedCharacter = approved.next()) == (receivedCharacter = received.next())) {
+      if (approvedCharacter < 0) {
+        return null;
+      }
+      matched++;
+      if (approvedCharacter == '\n') {
+        line++;
+      }
+    }
+    return new Mismatch(matched, line, receivedCharacter);
+  }
+
+  private void writeReceivedFile(Mismatch mismatch, NormalizedCharacters received) {
+    Path receivedPath = pathProvider.receivedPath();
+    try (Reader approvedReader = newBufferedReader(pathProvider.approvedPath());
+        Writer writer = newBufferedWriter(receivedPath)) {
+      char[] buffer = new char[BUFFER_SIZE];
+      NormalizedCharacters approved = new NormalizedCharacters(approvedReader);
+      int length = 0;
+      for (long index = 0; index < mismatch.matched(); index++) {
+        length = write(writer, buffer, length, approved.next());
+      }
+      for (int character = mismatch.receivedCharacter();
+          character >= 0;
+          character = received.next()) {
+        length = write(writer, buffer, length, character);
+      }
+      writer.write(buffer, 0, length);
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new FileApproverError("Writing received to %s failed".formatted(receivedPath), e);
+    }
+    DirectorySnapshotCache.created(receivedPath);
+  }
+
+  private static int write(Writer writer, char[] buffer, int length, int character)
+      throws IOException {
+    if (length == buffer.length) {
+      writer.write(buffer, 0, length);
+      length = 0;
+    }
+    buffer[length] = (char) character;
+    return length + 1;
+  }
+
+  private void deleteReceivedFile() {
+    Path receivedPath = pathProvider.receivedPath();
+    try {
+      if (deleteIfExists(receivedPath)) {
+        DirectorySnapshotCache.deleted(receivedPath);
+      }
+    } catch (IOException e) {
+      throw new FileApproverError("Deleting received file %s failed".formatted(receivedPath), e);
+    }
+  }
+
+  /**
+   * The position at which the received value differs from the approved.
+   *
+   * @param matched the number of normalized characters that matched
+   * @param line the line number of the first difference
+   * @param receivedCharacter the first received character that did not match, -1 if the received
+   *     value ended
+   */
+  private record Mismatch(long matched, long line, int receivedCharacter) {}
+}
@@ -0,0 +1,338 @@
+package org.approvej.approve;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JVM-wide index of the source files below the working directory, used to locate the source file
+ * of a test class.
+ *
+ * <p>The working directory is walked once, on the first lookup. Hidden directories and build output
+ * directories ({@code build}, {@code target}, {@code bin}, {@code out}) that are not located within
+ * a {@code src} directory are skipped. Each resolved source file is remembered with its
+ * modification time. If the modification time changed, the remembered source file is checked
+ * against the lookup again and remembered with its new modification time. Only if it no longer
+ * exists or no longer matches, the working directory is walked again. The same applies if the index
+ * contains no or multiple matching source files for a lookup.
+ *
+ * <p>If persistence is enabled, the resolved source files are loaded from and written back to
+ * {@link #DEFAULT_INDEX_FILE} so subsequent test runs can skip the walk entirely.
+ */
+@NullMarked
+final class TestSourceIndex {
+
+  static final Path DEFAULT_INDEX_FILE = Path.of(".approvej/source-index.properties");
+
+  private static final Logger LOGGER = Logger.getLogger(TestSourceIndex.class.getName());
+
+  private static final List<String> EXTENSIONS = List.of("java", "kt", "groovy", "scala");
+  private static final Set<String> BUILD_DIRECTORY_NAMES = Set.of("build", "target", "bin", "out");
+
+  private static final Path ROOT = Path.of("");
+  private static final String HEADER = "# ApproveJ source index, generated - do not edit or commit";
+
+  private static final AtomicReference<@Nullable Map<String, List<Path>>> sourceFilesByName =
+      new AtomicReference<>();
+  private static final ConcurrentHashMap<String, IndexEntry> resolved = new ConcurrentHashMap<>();
+  private static final AtomicBoolean persistedEntriesLoaded = new AtomicBoolean();
+  private static final AtomicReference<@Nullable Thread> shutdownHook = new AtomicReference<>();
+
+  private static final AtomicReference<Path> indexFile = new AtomicReference<>(DEFAULT_INDEX_FILE);
+
+  private TestSourceIndex() {}
+
+  /**
+   * Finds the source file of the given top-level class.
+   *
+   * @param sourceSetName the name of the source set, which needs to be contained in the path
+   * @param packagePath the package of the class with '/' as separator
+   * @param className the simple name of the top-level class
+   * @param maxDepth the maximum number of path elements of the source file
+   * @param persistent whether the resolved source file should be persisted in the index file
+   * @return the {@link Path} to the source file
+   * @throws FileApproverError if no or multiple source files match
+   */
+  static Path find(
+      String sourceSetName,
+      String packagePath,
+      String className,
+      int maxDepth,
+      boolean persistent) {
+    if (persistent && persistedEntriesLoaded.compareAndSet(false, true)) {
+      loadIndex();
+    }
+    String key = "%s/%s/%s".formatted(sourceSetName, packagePath, className);
+    IndexEntry entry = resolved.get(key);
+    if (entry != null && entry.isValid()) {
+      return entry.path();
+    }
+    if (entry != null && matches(entry.path(), sourceSetName, packagePath, className, maxDepth)) {
+      return remember(key, entry.path(), persistent);
+    }
+
+    boolean refresh = entry != null || sourceFilesByName.get() == null;
+    List<Path> matches =
+        matches(sourceFiles(refresh), sourceSetName, packagePath, className, maxDepth);
+    if (matches.size() != 1 && !refresh) {
+      matches = matches(sourceFiles(true), sourceSetName, packagePath, className, maxDepth);
+    }
+    Path path =
+        switch (matches.size()) {
+          case 0 -> throw new FileApproverError("Could not locate test source file");
+          case 1 -> matches.getFirst();
+          default -> {
+            List<Path> srcMatches =
+                matches.stream().filter(match -> match.toString().contains("src")).toList();
+            if (srcMatches.size() == 1) {
+              yield srcMatches.getFirst();
+            }
+            throw new FileApproverError(
+                "Found multiple test source files (%d contain 'src'): %s"
+                    .formatted(srcMatches.size(), matches));
+          }
+        };
+
+    return remember(key, path, persistent);
+  }
+
+  private static Path remember(String key, Path path, boolean persistent) {
+    resolved.put(key, IndexEntry.of(path));
+    if (persistent) {
+      registerShutdownHook();
+    }
+    return path;
+  }
+
+  private static boolean matches(
+      Path path, String sourceSetName, String packagePath, String className, int maxDepth) {
+    String packageSuffix = packagePath.isEmpty() ? "/" : "/%s/".formatted(packagePath);
+    for (String extension : EXTENSIONS) {
+      String suffix = "%s%s.%s".formatted(packageSuffix, className, extension);
+      if (matches(path, suffix, sourceSetName, maxDepth)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<Path> matches(
+      Map<String, List<Path>> sourceFiles,
+      String sourceSetName,
+      String packagePath,
+      String className,
+      int maxDepth) {
+    String packageSuffix = packagePath.isEmpty() ? "/" : "/%s/".formatted(packagePath);
+    List<Path> matches = new ArrayList<>();
+    for (String extension : EXTENSIONS) {
+      String fileName = "%s.%s".formatted(className, extension);
+      String suffix = packageSuffix + fileName;
+      for (Path path : sourceFiles.getOrDefault(fileName, List.of())) {
+        if (matches(path, suffix, sourceSetName, maxDepth)) {
+          matches.add(path);
+        }
+      }
+    }
+    return matches;
+  }
+
+  private static boolean matches(Path path, String suffix, String sourceSetName, int maxDepth) {
+    String pathString = path.toString().replace('\\', '/');
+    return path.getNameCount() <= maxDepth
+        && pathString.endsWith(suffix)
+        && Files.isRegularFile(path)
+        && pathString.substring(0, pathString.length() - suffix.length()).contains(sourceSetName);
+  }
+
+  private static synchronized Map<String, List<Path>> sourceFiles(boolean refresh) {
+    Map<String, List<Path>> sourceFiles = sourceFilesByName.get();
+    if (sourceFiles == null || refresh) {
+      sourceFiles = scan();
+      sourceFilesByName.set(sourceFiles);
+    }
+    return sourceFiles;
+  }
+
+  private static Map<String, List<Path>> scan() {
+    Map<String, List<Path>> sourceFiles = new HashMap<>();
+    try {
+      Files.walkFileTree(
+          ROOT,
+          new SimpleFileVisitor<>() {
+            private int srcDepth = 0;
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+              if (!dir.toString().isEmpty()) {
+                String name = dir.getFileName().toString();
+                if (name.startsWith(".")
+                    || (srcDepth == 0 && BUILD_DIRECTORY_NAMES.contains(name))) {
+                  return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (srcDepth > 0 || name.equals("src")) {
+                  srcDepth++;
+                }
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+              String name = file.getFileName().toString();
+              int extensionIndex = name.lastIndexOf('.');
+              if (attributes.isRegularFile()
+                  && extensionIndex > 0
+                  && EXTENSIONS.contains(name.substring(extensionIndex + 1))) {
+                sourceFiles.computeIfAbsent(name, key -> new ArrayList<>()).add(file.normalize());
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, @Nullable IOException exception)
+                throws IOException {
+              if (exception != null) {
+                throw exception;
+              }
+              if (srcDepth > 0) {
+                srcDepth--;
+              }
+              return FileVisitResult.CONTINUE;
+            }
+          });
+    } catch (IOException e) {
+      throw new FileApproverError("Could not traverse code directory", e);
+    }
+    LOGGER.fine(() -> "Indexed %d source file names".formatted(sourceFiles.size()));
+    return sourceFiles;
+  }
+
+  private static void loadIndex() {
+    Path path = indexFile.get();
+    if (!Files.exists(path)) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      LOGGER.warning("Failed to read source index file: %s".formatted(e.getMessage()));
+      return;
+    }
+    properties.forEach(
+        (key, value) -> {
+          IndexEntry entry = IndexEntry.parse((String) value);
+          if (entry != null) {
+            resolved.putIfAbsent((String) key, entry);
+          }
+        });
+  }
+
+  private static void registerShutdownHook() {
+    shutdownHook.updateAndGet(
+        existing -> {
+          if (existing != null) {
+            return existing;
+          }
+          Thread hook = new Thread(TestSourceIndex::writeIndex, "ApproveJ-Source-Index-Writer");
+          Runtime.getRuntime().addShutdownHook(hook);
+          return hook;
+        });
+  }
+
+  static void writeIndex() {
+    Path path = indexFile.get();
+    String content =
+        resolved.entrySet().stream()
+            .filter(entry -> entry.getValue().isValid())
+            .map(entry -> "%s = %s".formatted(escapeKey(entry.getKey()), entry.getValue().format()))
+            .sorted()
+            .collect(joining("\n", HEADER + "\n", "\n"));
+    try {
+      Files.createDirectories(path.toAbsolutePath().getParent());
+      Files.writeString(path, content);
+    } catch (IOException e) {
+      LOGGER.warning("Failed to write source index file: %s".formatted(e.getMessage()));
+    }
+  }
+
+  private static String escapeKey(String key) {
+    return key.replace("\\", "\\\\").replace(" ", "\\ ").replace("=", "\\=").replace(":", "\\:");
+  }
+
+  /** Resets static state and sets the index file path. For testing only. */
+  static void reset(Path testIndexFile) {
+    sourceFilesByName.set(null);
+    resolved.clear();
+    persistedEntriesLoaded.set(false);
+    Thread hook = shutdownHook.getAndSet(null);
+    if (hook != null) {
+      try {
+        Runtime.getRuntime().removeShutdownHook(hook);
+      } catch (IllegalStateException e) {
+        LOGGER.fine("Could not remove shutdown hook: " + e.getMessage());
+      }
+    }
+    indexFile.set(testIndexFile);
+  }
+
+  /** Resets static state to defaults. For testing only. */
+  static void reset() {
+    reset(DEFAULT_INDEX_FILE);
+  }
+
+  private record IndexEntry(Path path, long lastModified) {
+
+    static IndexEntry of(Path path) {
+      return new IndexEntry(path, lastModified(path));
+    }
+
+    static @Nullable IndexEntry parse(String value) {
+      int separatorIndex = value.indexOf(',');
+      if (separatorIndex < 0) {
+        return null;
+      }
+      try {
+        return new IndexEntry(
+            Path.of(value.substring(separatorIndex + 1)),
+            Long.parseLong(value.substring(0, separatorIndex)));
+      } catch (RuntimeException e) {
+        return null;
+      }
+    }
+
+    boolean isValid() {
+      return lastModified >= 0 && lastModified(path) == lastModified;
+    }
+
+    String format() {
+      return "%d,%s".formatted(lastModified, path.toString().replace('\\', '/'));
+    }
+
+    private static long lastModified(Path path) {
+      try {
+        return Files.getLastModifiedTime(path).toMillis();
+      } catch (IOException e) {
+        return -1;
+      }
+    }
+  }
+}
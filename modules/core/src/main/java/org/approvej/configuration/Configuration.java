@@ -30,7 +30,8 @@ import org.jspecify.annotations.Nullable;
  * </ul>
  *
  * <p>The "script" reviewer requires the {@code reviewerScript} property to be set. The "ai"
- * reviewer requires the {@code reviewerAiCommand} property to be set.
+ * reviewer requires the {@code reviewerAiCommand} property to be set. If {@code reviewerAiAsync} is
+ * true, it reviews in the background on at most {@code reviewerAiParallelism} threads.
  *
  * @param defaultPrintFormat the {@link PrintFormat} that will be used if none is specified
  *     otherwise
@@ -39,13 +40,22 @@ import org.jspecify.annotations.Nullable;
  * @param inventoryEnabled whether the approved file inventory is enabled
  * @param defaultInlineValueReviewer the {@link Reviewer} that will be used for inline value
  *     approvals if none is specified
+ * @param sourceIndexPersistenceEnabled whether the index of test source files is persisted in
+ *     {@code .approvej/source-index.properties} between test runs
+ * @param approvalErrorContextLines the number of unchanged lines shown around each change in the
+ *     message of an {@link org.approvej.ApprovalError}
+ * @param imageHashIndexEnabled whether the perceptual hashes of approved images are persisted in
+ *     {@code .approvej/image-hashes.properties} between test runs
  */
 @NullMarked
 public record Configuration(
     PrintFormat<Object> defaultPrintFormat,
     Reviewer defaultFileReviewer,
     boolean inventoryEnabled,
-    Reviewer defaultInlineValueReviewer) {
+    Reviewer defaultInlineValueReviewer,
+    boolean sourceIndexPersistenceEnabled,
+    int approvalErrorContextLines,
+    boolean imageHashIndexEnabled) {
 
   private static final Logger LOGGER = Logger.getLogger(Configuration.class.getName());
 
@@ -53,8 +63,14 @@ public record Configuration(
   private static final String DEFAULT_FILE_REVIEWER_PROPERTY = "defaultFileReviewer";
   private static final String REVIEWER_SCRIPT_PROPERTY = "reviewerScript";
   private static final String REVIEWER_AI_COMMAND_PROPERTY = "reviewerAiCommand";
+  private static final String REVIEWER_AI_ASYNC_PROPERTY = "reviewerAiAsync";
+  private static final String REVIEWER_AI_PARALLELISM_PROPERTY = "reviewerAiParallelism";
   private static final String INVENTORY_ENABLED_PROPERTY = "inventoryEnabled";
   private static final String DEFAULT_INLINE_VALUE_REVIEWER_PROPERTY = "defaultInlineValueReviewer";
+  private static final String SOURCE_INDEX_PERSISTENCE_ENABLED_PROPERTY =
+      "sourceIndexPersistenceEnabled";
+  private static final String APPROVAL_ERROR_CONTEXT_LINES_PROPERTY = "approvalErrorContextLines";
+  private static final String IMAGE_HASH_INDEX_ENABLED_PROPERTY = "imageHashIndexEnabled";
 
   @Deprecated private static final String DEPRECATED_SCRIPT_PROPERTY = "defaultFileReviewerScript";
 
@@ -74,7 +90,23 @@ public record Configuration(
     Reviewer inlineValueReviewer =
         resolveReviewer(loader, loader.get(DEFAULT_INLINE_VALUE_REVIEWER_PROPERTY, "none"));
 
-    return new Configuration(printFormat, fileReviewer, inventoryEnabled, inlineValueReviewer);
+    boolean sourceIndexPersistenceEnabled =
+        Boolean.parseBoolean(loader.get(SOURCE_INDEX_PERSISTENCE_ENABLED_PROPERTY, "false"));
+
+    int approvalErrorContextLines =
+        resolveInt(loader, APPROVAL_ERROR_CONTEXT_LINES_PROPERTY, 3, 0);
+
+    boolean imageHashIndexEnabled =
+        Boolean.parseBoolean(loader.get(IMAGE_HASH_INDEX_ENABLED_PROPERTY, "false"));
+
+    return new Configuration(
+        printFormat,
+        fileReviewer,
+        inventoryEnabled,
+        inlineValueReviewer,
+        sourceIndexPersistenceEnabled,
+        approvalErrorContextLines,
+        imageHashIndexEnabled);
   }
 
   @SuppressWarnings("unchecked")
@@ -108,11 +140,38 @@ public record Configuration(
                 .formatted(REVIEWER_AI_COMMAND_PROPERTY),
             null);
       }
+      if (Boolean.parseBoolean(loader.get(REVIEWER_AI_ASYNC_PROPERTY, "false"))) {
+        return Reviewers.aiAsync(
+            aiCommand, resolveInt(loader, REVIEWER_AI_PARALLELISM_PROPERTY, 4, 1));
+      }
       return Reviewers.ai(aiCommand);
     }
     return Registry.resolve(aliasOrClassName, Reviewer.class);
   }
 
+  private static int resolveInt(
+      ConfigurationLoader loader, String property, int defaultValue, int minimum) {
+    String configured = loader.get(property, String.valueOf(defaultValue));
+    int value;
+    try {
+      value = Integer.parseInt(configured.trim());
+    } catch (NumberFormatException e) {
+      throw invalidInt(property, configured, minimum, e);
+    }
+    if (value < minimum) {
+      throw invalidInt(property, configured, minimum, null);
+    }
+    return value;
+  }
+
+  private static ConfigurationError invalidInt(
+      String property, String configured, int minimum, @Nullable Throwable cause) {
+    return new ConfigurationError(
+        "Property '%s' must be a number of at least %d, but was '%s'"
+            .formatted(property, minimum, configured),
+        cause);
+  }
+
   private static boolean resolveInventoryEnabled(ConfigurationLoader loader) {
     String configured = loader.get(INVENTORY_ENABLED_PROPERTY);
     if (configured != null) {
@@ -0,0 +1,131 @@
+package org.approvej.diff;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.approvej.diff.DiffLine.Type;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The difference between two lists of lines.
+ *
+ * @param original the original lines
+ * @param revised the revised lines
+ * @param edits the {@link Edit}s that turn the original lines into the revised ones, in the order
+ *     of the lines
+ */
+@NullMarked
+public record Diff(List<String> original, List<String> revised, List<Edit> edits) {
+
+  /** The default number of unchanged lines shown around each change. */
+  public static final int DEFAULT_CONTEXT_LINES = 3;
+
+  /**
+   * @return true if the original and the revised lines are equal
+   */
+  public boolean isEmpty() {
+    return edits.isEmpty();
+  }
+
+  /**
+   * @return the number of removed original lines
+   */
+  public int removed() {
+    return edits.stream().mapToInt(Edit::removed).sum();
+  }
+
+  /**
+   * @return the number of added revised lines
+   */
+  public int added() {
+    return edits.stream().mapToInt(Edit::added).sum();
+  }
+
+  /**
+   * Groups the {@link #edits} into {@link Hunk}s with the {@link #DEFAULT_CONTEXT_LINES}.
+   *
+   * @return the {@link Hunk}s
+   */
+  public List<Hunk> hunks() {
+    return hunks(DEFAULT_CONTEXT_LINES);
+  }
+
+  /**
+   * Groups the {@link #edits} into {@link Hunk}s with the given number of unchanged lines around
+   * each change. Changes that are closer to each other than twice that number share a {@link Hunk}.
+   *
+   * @param contextLines the number of unchanged lines shown around each change
+   * @return the {@link Hunk}s
+   */
+  public List<Hunk> hunks(int contextLines) {
+    List<Hunk> hunks = new ArrayList<>();
+    int first = 0;
+    while (first < edits.size()) {
+      int last = first;
+      while (last + 1 < edits.size()
+          && edits.get(last + 1).originalStart() - edits.get(last).originalEnd()
+              <= 2 * contextLines) {
+        last++;
+      }
+      hunks.add(hunk(edits.subList(first, last + 1), contextLines));
+      first = last + 1;
+    }
+    return hunks;
+  }
+
+  private Hunk hunk(List<Edit> hunkEdits, int contextLines) {
+    Edit firstEdit = hunkEdits.getFirst();
+    Edit lastEdit = hunkEdits.getLast();
+    int originalStart = Math.max(0, firstEdit.originalStart() - contextLines);
+    int revisedStart = firstEdit.revisedStart() - (firstEdit.originalStart() - originalStart);
+    int originalEnd = Math.min(original.size(), lastEdit.originalEnd() + contextLines);
+    int revisedEnd = lastEdit.revisedEnd() + (originalEnd - lastEdit.originalEnd());
+
+    List<DiffLine> lines = new ArrayList<>();
+    int position = originalStart;
+    for (Edit edit : hunkEdits) {
+      addLines(lines, Type.CONTEXT, original, position, edit.originalStart());
+      addLines(lines, Type.REMOVED, original, edit.originalStart(), edit.originalEnd());
+      addLines(lines, Type.ADDED, revised, edit.revisedStart(), edit.revisedEnd());
+      position = edit.originalEnd();
+    }
+    addLines(lines, Type.CONTEXT, original, position, originalEnd);
+    return new Hunk(originalStart, originalEnd, revisedStart, revisedEnd, List.copyOf(lines));
+  }
+
+  private static void addLines(
+      List<DiffLine> lines, Type type, List<String> source, int start, int end) {
+    for (int i = start; i < end; i++) {
+      lines.add(new DiffLine(type, source.get(i)));
+    }
+  }
+
+  /**
+   * Renders this in the unified diff format with the {@link #DEFAULT_CONTEXT_LINES}.
+   *
+   * @param originalLabel the label of the original lines, e.g. the path of the original file
+   * @param revisedLabel the label of the revised lines, e.g. the path of the revised file
+   * @return the unified diff or an empty {@link String} if this {@link #isEmpty() is empty}
+   */
+  public String unified(String originalLabel, String revisedLabel) {
+    return unified(originalLabel, revisedLabel, DEFAULT_CONTEXT_LINES);
+  }
+
+  /**
+   * Renders this in the unified diff format.
+   *
+   * @param originalLabel the label of the original lines, e.g. the path of the original file
+   * @param revisedLabel the label of the revised lines, e.g. the path of the revised file
+   * @param contextLines the number of unchanged lines shown around each change
+   * @return the unified diff or an empty {@link String} if this {@link #isEmpty() is empty}
+   */
+  public String unified(String originalLabel, String revisedLabel, int contextLines) {
+    if (isEmpty()) {
+      return "";
+    }
+    StringBuilder result = new StringBuilder();
+    result.append("--- ").append(originalLabel).append('\n');
+    result.append("+++ ").append(revisedLabel).append('\n');
+    hunks(contextLines).forEach(result::append);
+    return result.toString();
+  }
+}
@@ -0,0 +1,33 @@
+package org.approvej.diff;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A line of a {@link Hunk}.
+ *
+ * @param type the {@link Type} of the line
+ * @param content the content of the line
+ */
+@NullMarked
+public record DiffLine(Type type, String content) {
+
+  /** The type of a {@link DiffLine}. */
+  public enum Type {
+    /** A line that is the same in the original and the revised lines. */
+    CONTEXT,
+    /** A line that only exists in the original lines. */
+    REMOVED,
+    /** A line that only exists in the revised lines. */
+    ADDED
+  }
+
+  @Override
+  public String toString() {
+    return switch (type) {
+          case CONTEXT -> " ";
+          case REMOVED -> "-";
+          case ADDED -> "+";
+        }
+        + content;
+  }
+}
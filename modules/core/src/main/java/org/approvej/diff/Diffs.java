@@ -0,0 +1,40 @@
+package org.approvej.diff;
+
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Utility class to compute the {@link Diff} between texts.
+ *
+ * <p>The lines are compared with the linear space variant of Myers' difference algorithm, so even
+ * texts with hundreds of thousands of lines are compared with memory proportional to their
+ * lengths.
+ */
+@NullMarked
+public final class Diffs {
+
+  private Diffs() {}
+
+  /**
+   * Computes the {@link Diff} between the given lists of lines.
+   *
+   * @param original the original lines
+   * @param revised the revised lines
+   * @return the {@link Diff} between the original and the revised lines
+   */
+  public static Diff diff(List<String> original, List<String> revised) {
+    return new Diff(
+        List.copyOf(original), List.copyOf(revised), MyersDiff.edits(original, revised));
+  }
+
+  /**
+   * Computes the {@link Diff} between the lines of the given texts.
+   *
+   * @param original the original text
+   * @param revised the revised text
+   * @return the {@link Diff} between the lines of the original and the revised text
+   */
+  public static Diff diff(String original, String revised) {
+    return diff(original.lines().toList(), revised.lines().toList());
+  }
+}
@@ -0,0 +1,33 @@
+package org.approvej.diff;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A region of lines that differs between the original and the revised lines of a {@link Diff}.
+ *
+ * <p>The original lines from {@link #originalStart()} (inclusive) to {@link #originalEnd()}
+ * (exclusive) are replaced by the revised lines from {@link #revisedStart()} (inclusive) to {@link
+ * #revisedEnd()} (exclusive). Either of the ranges may be empty for pure insertions or removals.
+ *
+ * @param originalStart the index of the first removed original line
+ * @param originalEnd the index after the last removed original line
+ * @param revisedStart the index of the first added revised line
+ * @param revisedEnd the index after the last added revised line
+ */
+@NullMarked
+public record Edit(int originalStart, int originalEnd, int revisedStart, int revisedEnd) {
+
+  /**
+   * @return the number of removed original lines
+   */
+  public int removed() {
+    return originalEnd - originalStart;
+  }
+
+  /**
+   * @return the number of added revised lines
+   */
+  public int added() {
+    return revisedEnd - revisedStart;
+  }
+}
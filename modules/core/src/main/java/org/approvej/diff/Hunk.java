@@ -0,0 +1,45 @@
+package org.approvej.diff;
+
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A group of {@link Edit}s close to each other together with the unchanged lines around them.
+ *
+ * @param originalStart the index of the first original line in this
+ * @param originalEnd the index after the last original line in this
+ * @param revisedStart the index of the first revised line in this
+ * @param revisedEnd the index after the last revised line in this
+ * @param lines the {@link DiffLine}s of this
+ */
+@NullMarked
+public record Hunk(
+    int originalStart, int originalEnd, int revisedStart, int revisedEnd, List<DiffLine> lines) {
+
+  /**
+   * Creates the header of this in the unified diff format, e.g. {@code @@ -1,4 +1,5 @@}.
+   *
+   * @return the header of this
+   */
+  public String header() {
+    return "@@ -%s +%s @@"
+        .formatted(range(originalStart, originalEnd), range(revisedStart, revisedEnd));
+  }
+
+  private static String range(int start, int end) {
+    int length = end - start;
+    if (length == 1) {
+      return String.valueOf(start + 1);
+    }
+    return "%d,%d".formatted(length == 0 ? start : start + 1, length);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder(header()).append('\n');
+    for (DiffLine line : lines) {
+      result.append(line).append('\n');
+    }
+    return result.toString();
+  }
+}
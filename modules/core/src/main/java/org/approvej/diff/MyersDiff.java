@@ -0,0 +1,289 @@
+package org.approvej.diff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Finds the {@link Edit}s between two lists of lines with the linear space variant of Eugene W.
+ * Myers' "An O(ND) Difference Algorithm and Its Variations".
+ *
+ * <p>Before searching, the lines are replaced by numbers, so equal lines are compared by a single
+ * {@code int} comparison. Lines that do not occur in the other list at all can never be part of a
+ * common subsequence and are marked as changed right away.
+ *
+ * <p>Each range is split at the middle of its shortest edit script, until the ranges are trivial.
+ * The ranges are kept on a stack rather than the call stack, so deeply nested splits do not
+ * overflow it. If the search of a range takes too many steps, the range is split at the furthest
+ * point reached instead, so the result may not be minimal, but the time stays bounded.
+ */
+@NullMarked
+final class MyersDiff {
+
+  private static final int MIN_MAX_COST = 256;
+
+  private final int[] original;
+  private final int[] revised;
+  private final boolean[] removed;
+  private final boolean[] added;
+  private final int[] forward;
+  private final int[] backward;
+  private final int maxCost;
+
+  private MyersDiff(int[] original, int[] revised) {
+    this.original = original;
+    this.revised = revised;
+    this.removed = new boolean[original.length];
+    this.added = new boolean[revised.length];
+    int diagonals = original.length + revised.length + 3;
+    this.forward = new int[2 * diagonals];
+    this.backward = new int[2 * diagonals];
+    this.maxCost = Math.max(MIN_MAX_COST, (int) Math.sqrt(diagonals));
+  }
+
+  /**
+   * Finds the {@link Edit}s that turn the original lines into the revised ones.
+   *
+   * @param original the original lines
+   * @param revised the revised lines
+   * @return the {@link Edit}s in the order of the lines
+   */
+  static List<Edit> edits(List<String> original, List<String> revised) {
+    Map<String, Integer> ids = new HashMap<>();
+    int[] originalIds = ids(original, ids);
+    int[] revisedIds = ids(revised, ids);
+    int[] revisedCounts = new int[ids.size()];
+    for (int id : revisedIds) {
+      revisedCounts[id]++;
+    }
+    int[] originalCounts = new int[ids.size()];
+    for (int id : originalIds) {
+      originalCounts[id]++;
+    }
+
+    boolean[] removed = new boolean[originalIds.length];
+    boolean[] added = new boolean[revisedIds.length];
+    int[] originalIndexes = common(originalIds, revisedCounts, removed);
+    int[] revisedIndexes = common(revisedIds, originalCounts, added);
+
+    MyersDiff diff =
+        new MyersDiff(
+            select(originalIds, originalIndexes), select(revisedIds, revisedIndexes));
+    diff.compare();
+    for (int i = 0; i < originalIndexes.length; i++) {
+      removed[originalIndexes[i]] = diff.removed[i];
+    }
+    for (int i = 0; i < revisedIndexes.length; i++) {
+      added[revisedIndexes[i]] = diff.added[i];
+    }
+    return edits(removed, added);
+  }
+
+  private static int[] ids(List<String> lines, Map<String, Integer> ids) {
+    int[] result = new int[lines.size()];
+    int i = 0;
+    for (String line : lines) {
+      Integer id = ids.putIfAbsent(line, ids.size());
+      result[i++] = id == null ? ids.size() - 1 : id;
+    }
+    return result;
+  }
+
+  /** Returns the indexes of the lines occurring in the other list and marks all others changed. */
+  private static int[] common(int[] ids, int[] otherCounts, boolean[] changed) {
+    int[] indexes = new int[ids.length];
+    int count = 0;
+    for (int i = 0; i < ids.length; i++) {
+      if (otherCounts[ids[i]] > 0) {
+        indexes[count++] = i;
+      } else {
+        changed[i] = true;
+      }
+    }
+    return Arrays.copyOf(indexes, count);
+  }
+
+  private static int[] select(int[] ids, int[] indexes) {
+    int[] result = new int[indexes.length];
+    for (int i = 0; i < indexes.length; i++) {
+      result[i] = ids[indexes[i]];
+    }
+    return result;
+  }
+
+  private static List<Edit> edits(boolean[] removed, boolean[] added) {
+    List<Edit> edits = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    while (i < removed.length || j < added.length) {
+      if (i < removed.length && j < added.length && !removed[i] && !added[j]) {
+        i++;
+        j++;
+        continue;
+      }
+      int originalStart = i;
+      int revisedStart = j;
+      while (i < removed.length && removed[i]) {
+        i++;
+      }
+      while (j < added.length && added[j]) {
+        j++;
+      }
+      edits.add(new Edit(originalStart, i, revisedStart, j));
+    }
+    return edits;
+  }
+
+  private void compare() {
+    Deque<int[]> ranges = new ArrayDeque<>();
+    ranges.push(new int[] {0, original.length, 0, revised.length});
+    while (!ranges.isEmpty()) {
+      int[] range = ranges.pop();
+      int originalStart = range[0];
+      int originalEnd = range[1];
+      int revisedStart = range[2];
+      int revisedEnd = range[3];
+      while (originalStart < originalEnd
+          && revisedStart < revisedEnd
+          && original[originalStart] == revised[revisedStart]) {
+        originalStart++;
+        revisedStart++;
+      }
+      while (originalStart < originalEnd
+          && revisedStart < revisedEnd
+          && original[originalEnd - 1] == revised[revisedEnd - 1]) {
+        originalEnd--;
+        revisedEnd--;
+      }
+      if (originalStart == originalEnd || revisedStart == revisedEnd) {
+        Arrays.fill(removed, originalStart, originalEnd, true);
+        Arrays.fill(added, revisedStart, revisedEnd, true);
+        continue;
+      }
+      long split = split(originalStart, originalEnd, revisedStart, revisedEnd);
+      if (split < 0) {
+        Arrays.fill(removed, originalStart, originalEnd, true);
+        Arrays.fill(added, revisedStart, revisedEnd, true);
+        continue;
+      }
+      int x = originalStart + (int) (split >>> 32);
+      int y = revisedStart + (int) split;
+      if ((x == originalStart && y == revisedStart) || (x == originalEnd && y == revisedEnd)) {
+        Arrays.fill(removed, originalStart, originalEnd, true);
+        Arrays.fill(added, revisedStart, revisedEnd, true);
+        continue;
+      }
+      ranges.push(new int[] {x, originalEnd, y, revisedEnd});
+      ranges.push(new int[] {originalStart, x, revisedStart, y});
+    }
+  }
+
+  /**
+   * Finds a point on a shortest edit script of the given range, which is neither its start nor its
+   * end.
+   *
+   * @return the point relative to the start of the range with x in the upper and y in the lower
+   *     32 bits, or -1 if there is none
+   */
+  private long split(int originalStart, int originalEnd, int revisedStart, int revisedEnd) {
+    int n = originalEnd - originalStart;
+    int m = revisedEnd - revisedStart;
+    int maxD = (n + m + 1) / 2;
+    int offset = maxD + 1;
+    Arrays.fill(forward, 0, 2 * offset + 1, -1);
+    Arrays.fill(backward, 0, 2 * offset + 1, -1);
+    forward[offset + 1] = 0;
+    backward[offset + 1] = 0;
+    int delta = n - m;
+    boolean front = (delta & 1) != 0;
+    int forwardStart = 0;
+    int forwardEnd = 0;
+    int backwardStart = 0;
+    int backwardEnd = 0;
+    for (int d = 0; d < maxD; d++) {
+      if (d > maxCost) {
+        return furthest(n, m, d, offset, forwardStart, forwardEnd);
+      }
+      for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+        int x =
+            k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])
+                ? forward[offset + k + 1]
+                : forward[offset + k - 1] + 1;
+        int y = x - k;
+        while (x < n
+            && y < m
+            && original[originalStart + x] == revised[revisedStart + y]) {
+          x++;
+          y++;
+        }
+        forward[offset + k] = x;
+        if (x > n) {
+          forwardEnd += 2;
+        } else if (y > m) {
+          forwardStart += 2;
+        } else if (front) {
+          int backwardIndex = offset + delta - k;
+          if (backwardIndex >= 0
+              && backwardIndex < 2 * offset + 1
+              && backward[backwardIndex] != -1
+              && x >= n - backward[backwardIndex]) {
+            return point(x, y);
+          }
+        }
+      }
+      for (int k = -d + backwardStart; k <= d - backwardEnd; k += 2) {
+        int x =
+            k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1])
+                ? backward[offset + k + 1]
+                : backward[offset + k - 1] + 1;
+        int y = x - k;
+        while (x < n
+            && y < m
+            && original[originalEnd - 1 - x] == revised[revisedEnd - 1 - y]) {
+          x++;
+          y++;
+        }
+        backward[offset + k] = x;
+        if (x > n) {
+          backwardEnd += 2;
+        } else if (y > m) {
+          backwardStart += 2;
+        } else if (!front) {
+          int forwardIndex = offset + delta - k;
+          if (forwardIndex >= 0
+              && forwardIndex < 2 * offset + 1
+              && forward[forwardIndex] != -1
+              && forward[forwardIndex] >= n - x) {
+            int forwardX = forward[forwardIndex];
+            return point(forwardX, forwardX - (forwardIndex - offset));
+          }
+        }
+      }
+    }
+    return -1;
+  }
+
+  /** Returns the point the forward search got furthest to, after it took too many steps. */
+  private long furthest(int n, int m, int d, int offset, int forwardStart, int forwardEnd) {
+    long best = -1;
+    int bestProgress = 0;
+    for (int k = -(d - 1) + forwardStart; k <= d - 1 - forwardEnd; k += 2) {
+      int x = forward[offset + k];
+      int y = x - k;
+      if (x >= 0 && x <= n && y >= 0 && y <= m && x + y > bestProgress && x + y < n + m) {
+        bestProgress = x + y;
+        best = point(x, y);
+      }
+    }
+    return best;
+  }
+
+  private static long point(int x, int y) {
+    return ((long) x << 32) | y;
+  }
+}
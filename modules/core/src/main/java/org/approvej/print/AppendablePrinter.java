@@ -0,0 +1,26 @@
+package org.approvej.print;
+
+import java.io.IOException;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A {@link Printer} that writes its output directly to an {@link Appendable}.
+ *
+ * <p>Only {@link #printTo(Object, Appendable)} needs to be implemented. {@link #apply(Object)}
+ * prints into a buffer that is reused by the current thread, so the output is only copied once to
+ * create the resulting {@link String}.
+ *
+ * @param <T> the type of the object to print
+ */
+@NullMarked
+@FunctionalInterface
+public interface AppendablePrinter<T> extends Printer<T> {
+
+  @Override
+  void printTo(T value, Appendable appendable) throws IOException;
+
+  @Override
+  default String apply(T value) {
+    return PrintBuffer.print(this, value);
+  }
+}
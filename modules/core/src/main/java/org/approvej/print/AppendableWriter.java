@@ -0,0 +1,76 @@
+package org.approvej.print;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A {@link Writer} that writes to an {@link Appendable}, replacing all {@code \r\n} with {@code
+ * \n}.
+ *
+ * <p>This allows {@link AppendablePrinter}s to pass an {@link Appendable} to libraries that write
+ * to a {@link Writer} and use the platform's line separator. Closing this does not close the
+ * {@link Appendable}, but appends a trailing {@code \r} that might have been held back.
+ */
+@NullMarked
+public final class AppendableWriter extends Writer {
+
+  private final Appendable appendable;
+  private boolean carriageReturnPending = false;
+
+  /**
+   * Creates a new {@link AppendableWriter} writing to the given {@link Appendable}.
+   *
+   * @param appendable the {@link Appendable} to write to
+   */
+  public AppendableWriter(Appendable appendable) {
+    this.appendable = appendable;
+  }
+
+  @Override
+  public void write(char[] buffer, int offset, int length) throws IOException {
+    CharBuffer characters = CharBuffer.wrap(buffer);
+    int start = offset;
+    int end = offset + length;
+    for (int index = offset; index < end; index++) {
+      char character = buffer[index];
+      if (carriageReturnPending) {
+        carriageReturnPending = false;
+        if (character != '\n') {
+          appendable.append('\r');
+        }
+      }
+      if (character == '\r') {
+        appendable.append(characters, start, index);
+        start = index + 1;
+        carriageReturnPending = true;
+      }
+    }
+    appendable.append(characters, start, end);
+  }
+
+  @Override
+  public void write(String string, int offset, int length) throws IOException {
+    char[] characters = new char[length];
+    string.getChars(offset, offset + length, characters, 0);
+    write(characters, 0, length);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (appendable instanceof Flushable flushable) {
+      flushable.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (carriageReturnPending) {
+      carriageReturnPending = false;
+      appendable.append('\r');
+    }
+    flush();
+  }
+}
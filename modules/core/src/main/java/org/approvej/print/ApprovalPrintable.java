@@ -0,0 +1,19 @@
+package org.approvej.print;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record or class to get a {@link GeneratedPrinter} generated at compile time.
+ *
+ * <p>This requires the {@code org.approvej:processor} annotation processor. The generated printer
+ * is picked up by the {@link MultiLineStringPrintFormat} automatically, so the annotated type is
+ * printed without reflection, but with exactly the same output.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface ApprovalPrintable {}
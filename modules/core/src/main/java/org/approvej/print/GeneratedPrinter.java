@@ -0,0 +1,138 @@
+package org.approvej.print;
+
+import static org.approvej.print.MultiLineStringPrintFormat.multiLineString;
+
+import java.io.IOException;
+import org.approvej.configuration.Provider;
+import org.approvej.configuration.Registry;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link Printer} generated for a type annotated with {@link ApprovalPrintable}.
+ *
+ * <p>Generated printers are registered as {@link Provider}s with the printed type's name as {@link
+ * #alias()}, so the {@link MultiLineStringPrintFormat} finds them via the {@link Registry} and uses
+ * them instead of reflection to access the properties of the printed type.
+ *
+ * @param <T> the printed type
+ */
+@NullMarked
+public interface GeneratedPrinter<T> extends AppendablePrinter<T>, Provider<GeneratedPrinter<?>> {
+
+  /** The value that is printed for properties whose accessor is not accessible or fails. */
+  String INACCESSIBLE = "<inaccessible>";
+
+  /**
+   * Returns the type printed by this.
+   *
+   * @return the printed type
+   */
+  Class<T> printedType();
+
+  /**
+   * Writes all properties of the given value to the given {@link PropertyWriter}.
+   *
+   * @param value the value whose properties to write
+   * @param sortedByName whether to write the properties sorted by name instead of the {@link
+   *     PropertyOrdering default order}
+   * @param writer the {@link PropertyWriter} to write the properties to
+   * @throws IOException if writing a property fails
+   */
+  void writeProperties(T value, boolean sortedByName, PropertyWriter writer) throws IOException;
+
+  /**
+   * Prints the given value the same way as the {@link MultiLineStringPrintFormat}.
+   *
+   * @param value the value to print
+   * @param appendable the {@link Appendable} to print the value to
+   * @throws IOException if appending to the {@link Appendable} fails
+   */
+  @Override
+  default void printTo(T value, Appendable appendable) throws IOException {
+    multiLineString().printTo(value, appendable);
+  }
+
+  @Override
+  default String alias() {
+    return printedType().getName();
+  }
+
+  @Override
+  default GeneratedPrinter<?> create() {
+    return this;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  default Class<GeneratedPrinter<?>> type() {
+    return (Class<GeneratedPrinter<?>>) (Class<?>) GeneratedPrinter.class;
+  }
+
+  /** Receives the properties written by a {@link GeneratedPrinter}. */
+  interface PropertyWriter {
+
+    /**
+     * Writes a property with the given name and value.
+     *
+     * @param name the name of the property
+     * @param value the value of the property
+     * @throws IOException if writing fails
+     */
+    void property(String name, @Nullable Object value) throws IOException;
+
+    /**
+     * Writes a property with the given name and {@code int} value.
+     *
+     * @param name the name of the property
+     * @param value the value of the property
+     * @throws IOException if writing fails
+     */
+    void property(String name, int value) throws IOException;
+
+    /**
+     * Writes a property with the given name and {@code long} value.
+     *
+     * @param name the name of the property
+     * @param value the value of the property
+     * @throws IOException if writing fails
+     */
+    void property(String name, long value) throws IOException;
+
+    /**
+     * Writes a property with the given name and {@code double} value.
+     *
+     * @param name the name of the property
+     * @param value the value of the property
+     * @throws IOException if writing fails
+     */
+    void property(String name, double value) throws IOException;
+
+    /**
+     * Writes a property with the given name and {@code float} value.
+     *
+     * @param name the name of the property
+     * @param value the value of the property
+     * @throws IOException if writing fails
+     */
+    void property(String name, float value) throws IOException;
+
+    /**
+     * Writes a property with the given name and {@code boolean} value.
+     *
+     * @param name the name of the property
+     * @param value the value of the property
+     * @throws IOException if writing fails
+     */
+    void property(String name, boolean value) throws IOException;
+
+    /**
+     * Writes a property with the given name and {@code char} value.
+     *
+     * @param name the name of the property
+     * @param value the value of the property
+     * @throws IOException if writing fails
+     */
+    void property(String name, char value) throws IOException;
+  }
+}
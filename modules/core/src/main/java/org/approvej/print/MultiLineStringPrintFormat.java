@@ -1,12 +1,14 @@
 package org.approvej.print;
 
 import static java.util.Arrays.stream;
-import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toSet;
 
 import java.beans.Introspector;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.time.temporal.Temporal;
@@ -21,6 +23,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Stream;
+import org.approvej.configuration.Registry;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -37,7 +40,7 @@ public record MultiLineStringPrintFormat(Printer<Object> printer)
 
   /** Default constructor using a {@link MultiLineStringPrinter} with no sorting. */
   public MultiLineStringPrintFormat() {
-    this(new MultiLineStringPrinter<>(null));
+    this(new MultiLineStringPrinter<>(false));
   }
 
   /**
@@ -47,7 +50,7 @@ public record MultiLineStringPrintFormat(Printer<Object> printer)
    * @return a copy of this sorting all properties by name
    */
   public MultiLineStringPrintFormat sorted() {
-    return new MultiLineStringPrintFormat(new MultiLineStringPrinter<>(Comparator.naturalOrder()));
+    return new MultiLineStringPrintFormat(new MultiLineStringPrinter<>(true));
   }
 
   @Override
@@ -73,14 +76,16 @@ public record MultiLineStringPrintFormat(Printer<Object> printer)
    * A generic printer for Java {@link Object}s that prints their properties and values one per
    * line.
    *
-   * @param propertyNameComparator when non-null, all properties are sorted by name using this
-   *     comparator; when null, field-backed properties appear in declaration order followed by
-   *     getter-only properties alphabetically
+   * <p>The properties of each class are discovered only once and cached in a {@link
+   * PropertyPlan}, so printing further objects of the same class only costs the accessor calls. If
+   * a {@link GeneratedPrinter} exists for a class, it is used to write the properties instead.
+   *
+   * @param sortedByName when true, all properties are sorted by name; when false, field-backed
+   *     properties appear in declaration order followed by getter-only properties alphabetically
    * @param <T> the type of the object to be printed
    */
   @NullMarked
-  private record MultiLineStringPrinter<T>(@Nullable Comparator<String> propertyNameComparator)
-      implements Printer<T> {
+  private record MultiLineStringPrinter<T>(boolean sortedByName) implements AppendablePrinter<T> {
 
     /** A {@link Set} of classes that will be printed directly. */
     private static final Set<Class<?>> SIMPLE_TYPES =
@@ -95,156 +100,269 @@ public record MultiLineStringPrintFormat(Printer<Object> printer)
             Temporal.class,
             TemporalAmount.class);
 
-    private static final String PAIR_FORMAT = "%s=%s";
+    /** Whether a class is assignable to one of the {@link #SIMPLE_TYPES}. */
+    private static final ClassValue<Boolean> SIMPLE =
+        new ClassValue<>() {
+          @Override
+          protected Boolean computeValue(Class<?> type) {
+            return SIMPLE_TYPES.stream().anyMatch(simpleType -> simpleType.isAssignableFrom(type));
+          }
+        };
+
+    /** The {@link PropertyPlan} of a class. */
+    private static final ClassValue<PropertyPlan> PROPERTY_PLANS =
+        new ClassValue<>() {
+          @Override
+          protected PropertyPlan computeValue(Class<?> type) {
+            return PropertyPlan.of(type);
+          }
+        };
+
+    /** The {@link GeneratedPrinter} of a class, if one was generated for it. */
+    private static final ClassValue<Optional<GeneratedPrinter<?>>> GENERATED_PRINTERS =
+        new ClassValue<>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          protected Optional<GeneratedPrinter<?>> computeValue(Class<?> type) {
+            return (Optional<GeneratedPrinter<?>>)
+                (Optional<?>) Registry.findByAlias(type.getName(), GeneratedPrinter.class);
+          }
+        };
+
+    private static final MethodType ACCESSOR_TYPE =
+        MethodType.methodType(Object.class, Object.class);
 
     @Override
-    public String apply(Object value) {
-      return apply(value, "");
+    public void printTo(T value, Appendable appendable) throws IOException {
+      print(value, "", appendable);
     }
 
-    private String apply(@Nullable Object object, String baseIndent) {
-      return switch (object) {
-        case Map<?, ?> map -> applyMap(map, baseIndent);
-        case Collection<?> collection -> applyCollection(collection, baseIndent);
-        case null -> applyObject("null", baseIndent);
-        default -> applyObject(object, baseIndent);
-      };
+    private void print(@Nullable Object object, String baseIndent, Appendable appendable)
+        throws IOException {
+      switch (object) {
+        case Map<?, ?> map -> printMap(map, baseIndent, appendable);
+        case Collection<?> collection -> printCollection(collection, baseIndent, appendable);
+        case null -> appendable.append("null");
+        default -> printObject(object, baseIndent, appendable);
+      }
     }
 
-    private String applyCollection(Collection<?> collection, String baseIndent) {
+    private void printCollection(
+        Collection<?> collection, String baseIndent, Appendable appendable) throws IOException {
       if (collection.isEmpty()) {
-        return "[]";
+        appendable.append("[]");
+        return;
       }
       String indent = baseIndent + "  ";
-      return collection.stream()
-          .map(element -> apply(element, indent))
-          .collect(
-              joining(
-                  ",\n%s".formatted(indent),
-                  "[\n%s".formatted(indent),
-                  "\n%s]".formatted(baseIndent)));
+      appendable.append("[\n").append(indent);
+      String delimiter = "";
+      for (Object element : collection) {
+        appendable.append(delimiter);
+        print(element, indent, appendable);
+        delimiter = ",\n" + indent;
+      }
+      appendable.append('\n').append(baseIndent).append(']');
     }
 
-    private String applyMap(Map<?, ?> map, String baseIndent) {
-      return applyCollection(
-          new TreeMap<>(map)
-              .entrySet().stream()
-                  .map(
-                      entry ->
-                          PAIR_FORMAT.formatted(
-                              entry.getKey(), apply(entry.getValue(), baseIndent + "  ")))
-                  .toList(),
-          baseIndent);
+    private void printMap(Map<?, ?> map, String baseIndent, Appendable appendable)
+        throws IOException {
+      if (map.isEmpty()) {
+        appendable.append("[]");
+        return;
+      }
+      String indent = baseIndent + "  ";
+      appendable.append("[\n").append(indent);
+      String delimiter = "";
+      for (Map.Entry<?, ?> entry : new TreeMap<>(map).entrySet()) {
+        appendable.append(delimiter).append(String.valueOf(entry.getKey())).append('=');
+        print(entry.getValue(), indent, appendable);
+        delimiter = ",\n" + indent;
+      }
+      appendable.append('\n').append(baseIndent).append(']');
     }
 
-    private String applyObject(@Nullable Object object, String baseIndent) {
+    private void printObject(Object object, String baseIndent, Appendable appendable)
+        throws IOException {
+      Class<?> type = object.getClass();
+      if (SIMPLE.get(type)) {
+        appendable.append(String.valueOf(object));
+        return;
+      }
       String indent = baseIndent + "  ";
-      if (object == null
-          || SIMPLE_TYPES.stream()
-              .anyMatch(simpleType -> simpleType.isAssignableFrom(object.getClass()))) {
-        return "%s".formatted(object);
+      appendable.append(type.getSimpleName()).append(" [\n").append(indent);
+      ObjectPropertyWriter writer = new ObjectPropertyWriter(appendable, indent);
+      Optional<GeneratedPrinter<?>> generatedPrinter = GENERATED_PRINTERS.get(type);
+      if (generatedPrinter.isPresent()) {
+        writeProperties(generatedPrinter.get(), object, writer);
+      } else {
+        PropertyPlan plan = PROPERTY_PLANS.get(type);
+        for (Property property : sortedByName ? plan.sortedByName() : plan.ordered()) {
+          writer.property(property.name(), property.value(object));
+        }
       }
-      List<Property> properties = discoverProperties(object);
-      return properties.stream()
-          .map(property -> PAIR_FORMAT.formatted(property.name(), apply(property.value(), indent)))
-          .collect(
-              joining(
-                  ",\n%s".formatted(indent),
-                  "%s [\n%s".formatted(object.getClass().getSimpleName(), indent),
-                  "\n%s]".formatted(baseIndent)));
+      appendable.append('\n').append(baseIndent).append(']');
     }
 
-    private List<Property> discoverProperties(Object object) {
-      List<Class<?>> hierarchy =
-          Stream.<Class<?>>iterate(
-                  object.getClass(), type -> type != Object.class, Class::getSuperclass)
-              .toList()
-              .reversed();
-
-      Set<String> allFieldNames =
-          hierarchy.stream()
-              .flatMap(clazz -> stream(clazz.getDeclaredFields()))
-              .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
-              .map(Field::getName)
-              .collect(toSet());
-
-      Set<String> seen = new HashSet<>();
-      List<Property> properties =
-          hierarchy.stream()
-              .flatMap(
-                  clazz ->
-                      Stream.concat(
-                          fieldBackedProperties(clazz, object, seen),
-                          getterOnlyProperties(clazz, object, allFieldNames, seen)))
-              .toList();
-
-      if (propertyNameComparator != null) {
-        return properties.stream()
-            .sorted(Comparator.comparing(Property::name, propertyNameComparator))
-            .toList();
+    @SuppressWarnings("unchecked")
+    private <V> void writeProperties(
+        GeneratedPrinter<V> generatedPrinter, Object object, ObjectPropertyWriter writer)
+        throws IOException {
+      generatedPrinter.writeProperties((V) object, sortedByName, writer);
+    }
+
+    /** Writes the properties of an object one per line. */
+    private final class ObjectPropertyWriter implements GeneratedPrinter.PropertyWriter {
+
+      private final Appendable appendable;
+      private final String indent;
+      private boolean first = true;
+
+      private ObjectPropertyWriter(Appendable appendable, String indent) {
+        this.appendable = appendable;
+        this.indent = indent;
       }
 
-      return PropertyOrdering.reorder(object.getClass(), properties, Property::name);
-    }
+      @Override
+      public void property(String name, @Nullable Object value) throws IOException {
+        name(name);
+        print(value, indent, appendable);
+      }
 
-    private Stream<Property> fieldBackedProperties(
-        Class<?> clazz, Object object, Set<String> seen) {
-      return stream(clazz.getDeclaredFields())
-          .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
-          .flatMap(
-              field ->
-                  findGetterForField(field, clazz)
-                      .filter(getter -> seen.add(field.getName()))
-                      .map(getter -> new Property(field.getName(), object, getter))
-                      .stream());
-    }
+      @Override
+      public void property(String name, int value) throws IOException {
+        name(name).append(String.valueOf(value));
+      }
 
-    private Stream<Property> getterOnlyProperties(
-        Class<?> clazz, Object object, Set<String> allFieldNames, Set<String> seen) {
-      return stream(clazz.getDeclaredMethods())
-          .filter(
-              method ->
-                  !Modifier.isStatic(method.getModifiers())
-                      && !method.isSynthetic()
-                      && method.getParameterCount() == 0
-                      && method.getReturnType() != void.class)
-          .flatMap(
-              method ->
-                  derivePropertyName(method)
-                      .filter(name -> !allFieldNames.contains(name))
-                      .filter(seen::add)
-                      .map(name -> new Property(name, object, method))
-                      .stream());
-    }
+      @Override
+      public void property(String name, long value) throws IOException {
+        name(name).append(String.valueOf(value));
+      }
+
+      @Override
+      public void property(String name, double value) throws IOException {
+        name(name).append(String.valueOf(value));
+      }
+
+      @Override
+      public void property(String name, float value) throws IOException {
+        name(name).append(String.valueOf(value));
+      }
+
+      @Override
+      public void property(String name, boolean value) throws IOException {
+        name(name).append(String.valueOf(value));
+      }
+
+      @Override
+      public void property(String name, char value) throws IOException {
+        name(name).append(value);
+      }
 
-    private Optional<Method> findGetterForField(Field field, Class<?> clazz) {
-      String fieldName = field.getName();
-      String capitalized = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-      Set<String> candidates = Set.of(fieldName, "get" + capitalized, "is" + capitalized);
-      return stream(clazz.getDeclaredMethods())
-          .filter(
-              method ->
-                  !Modifier.isStatic(method.getModifiers())
-                      && !method.isSynthetic()
-                      && method.getParameterCount() == 0
-                      && method.getReturnType() != void.class)
-          .filter(method -> candidates.contains(method.getName()))
-          .filter(method -> !method.getName().startsWith("is") || isBooleanReturnType(method))
-          .findFirst();
+      private Appendable name(String name) throws IOException {
+        if (first) {
+          first = false;
+        } else {
+          appendable.append(",\n").append(indent);
+        }
+        return appendable.append(name).append('=');
+      }
     }
 
-    private Optional<String> derivePropertyName(Method method) {
-      String name = method.getName();
-      if (name.startsWith("get") && name.length() > 3 && Character.isUpperCase(name.charAt(3))) {
-        return Optional.of(Introspector.decapitalize(name.substring(3)));
+    /**
+     * The properties of a class in both supported orders.
+     *
+     * @param ordered the properties with field-backed properties in declaration order followed by
+     *     getter-only properties alphabetically
+     * @param sortedByName the properties sorted by name
+     */
+    private record PropertyPlan(List<Property> ordered, List<Property> sortedByName) {
+
+      static PropertyPlan of(Class<?> type) {
+        List<Property> properties = discoverProperties(type);
+        return new PropertyPlan(
+            PropertyOrdering.reorder(type, properties, Property::name),
+            properties.stream().sorted(Comparator.comparing(Property::name)).toList());
+      }
+
+      private static List<Property> discoverProperties(Class<?> type) {
+        List<Class<?>> hierarchy =
+            Stream.<Class<?>>iterate(type, clazz -> clazz != Object.class, Class::getSuperclass)
+                .toList()
+                .reversed();
+
+        Set<String> allFieldNames =
+            hierarchy.stream()
+                .flatMap(clazz -> stream(clazz.getDeclaredFields()))
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                .map(Field::getName)
+                .collect(toSet());
+
+        Set<String> seen = new HashSet<>();
+        return hierarchy.stream()
+            .flatMap(
+                clazz ->
+                    Stream.concat(
+                        fieldBackedProperties(clazz, seen),
+                        getterOnlyProperties(clazz, allFieldNames, seen)))
+            .toList();
       }
-      if (name.startsWith("is")
-          && name.length() > 2
-          && Character.isUpperCase(name.charAt(2))
-          && isBooleanReturnType(method)) {
-        return Optional.of(Introspector.decapitalize(name.substring(2)));
+
+      private static Stream<Property> fieldBackedProperties(Class<?> clazz, Set<String> seen) {
+        Method[] methods = clazz.getDeclaredMethods();
+        return stream(clazz.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+            .flatMap(
+                field ->
+                    findGetterForField(field, methods)
+                        .filter(getter -> seen.add(field.getName()))
+                        .map(getter -> Property.of(field.getName(), getter))
+                        .stream());
+      }
+
+      private static Stream<Property> getterOnlyProperties(
+          Class<?> clazz, Set<String> allFieldNames, Set<String> seen) {
+        return stream(clazz.getDeclaredMethods())
+            .filter(MultiLineStringPrinter::isAccessorCandidate)
+            .flatMap(
+                method ->
+                    derivePropertyName(method)
+                        .filter(name -> !allFieldNames.contains(name))
+                        .filter(seen::add)
+                        .map(name -> Property.of(name, method))
+                        .stream());
+      }
+
+      private static Optional<Method> findGetterForField(Field field, Method[] methods) {
+        String fieldName = field.getName();
+        String capitalized = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+        Set<String> candidates = Set.of(fieldName, "get" + capitalized, "is" + capitalized);
+        return stream(methods)
+            .filter(MultiLineStringPrinter::isAccessorCandidate)
+            .filter(method -> candidates.contains(method.getName()))
+            .filter(method -> !method.getName().startsWith("is") || isBooleanReturnType(method))
+            .findFirst();
+      }
+
+      private static Optional<String> derivePropertyName(Method method) {
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3 && Character.isUpperCase(name.charAt(3))) {
+          return Optional.of(Introspector.decapitalize(name.substring(3)));
+        }
+        if (name.startsWith("is")
+            && name.length() > 2
+            && Character.isUpperCase(name.charAt(2))
+            && isBooleanReturnType(method)) {
+          return Optional.of(Introspector.decapitalize(name.substring(2)));
+        }
+        return Optional.empty();
       }
-      return Optional.empty();
+    }
+
+    private static boolean isAccessorCandidate(Method method) {
+      return !Modifier.isStatic(method.getModifiers())
+          && !method.isSynthetic()
+          && method.getParameterCount() == 0
+          && method.getReturnType() != void.class;
     }
 
     private static boolean isBooleanReturnType(Method method) {
@@ -252,13 +370,33 @@ public record MultiLineStringPrintFormat(Printer<Object> printer)
       return returnType == boolean.class || returnType == Boolean.class;
     }
 
-    private record Property(String name, Object target, Method accessor) {
+    /**
+     * A property of a class.
+     *
+     * @param name the name of the property
+     * @param accessor a {@link MethodHandle} of type {@code (Object)Object} to read the property's
+     *     value, null if the accessor is not accessible
+     */
+    private record Property(String name, @Nullable MethodHandle accessor) {
+
+      static Property of(String name, Method method) {
+        try {
+          return new Property(name, MethodHandles.lookup().unreflect(method).asType(ACCESSOR_TYPE));
+        } catch (IllegalAccessException e) {
+          return new Property(name, null);
+        }
+      }
 
-      @Nullable Object value() {
+      @Nullable Object value(Object target) {
+        if (accessor == null) {
+          return GeneratedPrinter.INACCESSIBLE;
+        }
         try {
-          return accessor.invoke(target);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-          return "<inaccessible>";
+          return (Object) accessor.invokeExact(target);
+        } catch (VirtualMachineError e) {
+          throw e;
+        } catch (Throwable e) {
+          return GeneratedPrinter.INACCESSIBLE;
         }
       }
     }
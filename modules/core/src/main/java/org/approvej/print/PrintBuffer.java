@@ -0,0 +1,54 @@
+package org.approvej.print;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/** Provides a {@link StringBuilder} per thread to be reused by {@link AppendablePrinter}s. */
+@NullMarked
+final class PrintBuffer {
+
+  /** Buffers that grew larger than this are not kept, so huge values don't stay in memory. */
+  static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+  private static final ThreadLocal<@Nullable StringBuilder> BUFFER =
+      ThreadLocal.withInitial(StringBuilder::new);
+
+  private PrintBuffer() {
+    // Util class
+  }
+
+  /**
+   * Prints the given value with the given {@link AppendablePrinter} to the current thread's buffer.
+   *
+   * <p>If the buffer is already in use, e.g. because a printer calls another printer's {@link
+   * AppendablePrinter#apply(Object)}, a new one is used.
+   *
+   * @param printer the {@link AppendablePrinter} to print the value with
+   * @param value the value to print
+   * @param <T> the type of the value
+   * @return the printed value
+   */
+  static <T> String print(AppendablePrinter<T> printer, T value) {
+    StringBuilder buffer = BUFFER.get();
+    if (buffer == null) {
+      buffer = new StringBuilder();
+    } else {
+      BUFFER.set(null);
+    }
+    try {
+      printer.printTo(value, buffer);
+      return buffer.toString();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      if (buffer.capacity() <= MAX_RETAINED_CAPACITY) {
+        buffer.setLength(0);
+        BUFFER.set(buffer);
+      } else {
+        BUFFER.remove();
+      }
+    }
+  }
+}
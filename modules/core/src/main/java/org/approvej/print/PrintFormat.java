@@ -1,5 +1,7 @@
 package org.approvej.print;
 
+import java.io.IOException;
+
 /**
  * A format to print values of type T, as defined by a {@link Printer} and a suggested {@link
  * #filenameExtension()}.
@@ -18,6 +20,18 @@ public interface PrintFormat<T> {
    */
   Printer<T> printer();
 
+  /**
+   * Prints the given value to the given {@link Appendable} using the {@link #printer()}.
+   *
+   * @param value the value to print
+   * @param appendable the {@link Appendable} to print the value to
+   * @throws IOException if appending to the {@link Appendable} fails
+   * @see Printer#printTo(Object, Appendable)
+   */
+  default void printTo(T value, Appendable appendable) throws IOException {
+    printer().printTo(value, appendable);
+  }
+
   /**
    * Returns the suggested filename extension for the printed object. Defaults to {@value
    * DEFAULT_FILENAME_EXTENSION} if not overridden.
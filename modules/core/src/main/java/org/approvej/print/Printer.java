@@ -1,5 +1,6 @@
 package org.approvej.print;
 
+import java.io.IOException;
 import java.util.function.Function;
 
 /**
@@ -7,4 +8,20 @@ import java.util.function.Function;
  *
  * @param <T> the type of the object to print
  */
-public interface Printer<T> extends Function<T, String> {}
+public interface Printer<T> extends Function<T, String> {
+
+  /**
+   * Prints the given value to the given {@link Appendable}.
+   *
+   * <p>By default, this appends the result of {@link #apply(Object)}. Printers that can write their
+   * output piece by piece should implement {@link AppendablePrinter} instead, which avoids building
+   * intermediate {@link String}s.
+   *
+   * @param value the value to print
+   * @param appendable the {@link Appendable} to print the value to
+   * @throws IOException if appending to the {@link Appendable} fails
+   */
+  default void printTo(T value, Appendable appendable) throws IOException {
+    appendable.append(apply(value));
+  }
+}
@@ -0,0 +1,100 @@
+package org.approvej.review;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import org.approvej.review.AiReviewVerdicts.Verdict;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JVM-wide bounded pool of threads on which asynchronous {@link AiReviewer}s run their reviews, so
+ * test threads don't wait for the AI.
+ *
+ * <p>The pool is created with the parallelism of the first asynchronous review. Its threads are
+ * daemon threads. A shutdown hook waits for all submitted reviews at the end of the test run and
+ * logs the collected verdicts.
+ */
+@NullMarked
+final class AiReviewPool {
+
+  private static final Logger LOGGER = Logger.getLogger(AiReviewPool.class.getName());
+
+  private static final AtomicReference<@Nullable ExecutorService> executor =
+      new AtomicReference<>();
+  private static final Queue<CompletableFuture<Verdict>> pending = new ConcurrentLinkedQueue<>();
+  private static final AtomicReference<@Nullable Thread> shutdownHook = new AtomicReference<>();
+
+  private AiReviewPool() {}
+
+  /**
+   * Gets the pool, creating it if necessary.
+   *
+   * @param parallelism the maximum number of reviews running at the same time
+   * @return the {@link ExecutorService} to run reviews on
+   */
+  static synchronized ExecutorService executor(int parallelism) {
+    ExecutorService current = executor.get();
+    if (current == null) {
+      current = Executors.newFixedThreadPool(parallelism, new ReviewThreadFactory());
+      executor.set(current);
+      registerShutdownHook();
+    }
+    return current;
+  }
+
+  /**
+   * Remembers the given review, so its verdict is collected at the end of the test run.
+   *
+   * @param review the {@link CompletableFuture} {@link Verdict} of a review, completing after the
+   *     verdict was applied
+   */
+  static void track(CompletableFuture<Verdict> review) {
+    pending.add(review);
+  }
+
+  /** Waits for all tracked reviews and logs their verdicts. */
+  static void awaitAll() {
+    int approved = 0;
+    int rejected = 0;
+    int failed = 0;
+    CompletableFuture<Verdict> review;
+    while ((review = pending.poll()) != null) {
+      switch (review.join()) {
+        case APPROVED -> approved++;
+        case REJECTED -> rejected++;
+        case FAILED -> failed++;
+      }
+    }
+    if (approved + rejected + failed > 0) {
+      LOGGER.info(
+          "AI reviews finished: %d approved, %d rejected, %d failed"
+              .formatted(approved, rejected, failed));
+    }
+  }
+
+  private static void registerShutdownHook() {
+    Thread hook = new Thread(AiReviewPool::awaitAll, "ApproveJ-AI-Review-Collector");
+    if (shutdownHook.compareAndSet(null, hook)) {
+      Runtime.getRuntime().addShutdownHook(hook);
+    }
+  }
+
+  private static final class ReviewThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "ApproveJ-AI-Reviewer-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
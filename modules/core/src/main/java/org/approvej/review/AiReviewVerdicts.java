@@ -0,0 +1,181 @@
+package org.approvej.review;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * JVM-wide cache of the verdicts of {@link AiReviewer}s, so identical changes are only sent to the
+ * AI once.
+ *
+ * <p>Verdicts are keyed by a hash of the command, the prompt template and the normalized change.
+ * While a review is running, other reviews with the same key share its verdict. Approvals and
+ * rejections are appended to {@link #DEFAULT_VERDICTS_FILE} and reused by subsequent test runs.
+ * Failed reviews (e.g. timeouts or answers that are neither YES nor NO) are not cached.
+ */
+@NullMarked
+final class AiReviewVerdicts {
+
+  static final Path DEFAULT_VERDICTS_FILE = Path.of(".approvej/ai-review-verdicts.properties");
+
+  private static final Logger LOGGER = Logger.getLogger(AiReviewVerdicts.class.getName());
+
+  private static final String HEADER =
+      "# ApproveJ AI review verdicts, generated - do not edit or commit";
+
+  private static final ConcurrentHashMap<String, CompletableFuture<Verdict>> verdicts =
+      new ConcurrentHashMap<>();
+  private static final AtomicBoolean persistedVerdictsLoaded = new AtomicBoolean();
+  private static final AtomicReference<Path> verdictsFile =
+      new AtomicReference<>(DEFAULT_VERDICTS_FILE);
+
+  private AiReviewVerdicts() {}
+
+  /** The verdict of a review. */
+  enum Verdict {
+    APPROVED,
+    REJECTED,
+    FAILED
+  }
+
+  /**
+   * Creates the key for a review.
+   *
+   * @param command the AI command
+   * @param promptTemplate the template of the prompt
+   * @param changes the normalized change, independent of the reviewed file paths
+   * @return the hex encoded SHA-256 hash of the given values
+   */
+  static String key(String command, String promptTemplate, byte[]... changes) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+    update(digest, command.getBytes(UTF_8));
+    update(digest, promptTemplate.getBytes(UTF_8));
+    for (byte[] change : changes) {
+      update(digest, change);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static void update(MessageDigest digest, byte[] bytes) {
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+    digest.update(bytes);
+  }
+
+  /**
+   * Gets the verdict for the given key, running the given review on the given {@link Executor} if
+   * the verdict is neither cached nor currently being reviewed.
+   *
+   * @param key the key of the review as created by {@link #key(String, String, byte[]...)}
+   * @param review the review to run
+   * @param executor the {@link Executor} to run the review on
+   * @return the {@link CompletableFuture} {@link Verdict}
+   */
+  static CompletableFuture<Verdict> verdict(
+      String key, Supplier<Verdict> review, Executor executor) {
+    if (persistedVerdictsLoaded.compareAndSet(false, true)) {
+      loadVerdicts();
+    }
+    CompletableFuture<Verdict> created = new CompletableFuture<>();
+    CompletableFuture<Verdict> existing = verdicts.putIfAbsent(key, created);
+    if (existing != null) {
+      return existing;
+    }
+    try {
+      executor.execute(() -> complete(key, created, review));
+    } catch (RejectedExecutionException e) {
+      verdicts.remove(key, created);
+      created.complete(Verdict.FAILED);
+    }
+    return created;
+  }
+
+  private static void complete(
+      String key, CompletableFuture<Verdict> future, Supplier<Verdict> review) {
+    Verdict verdict;
+    try {
+      verdict = review.get();
+    } catch (RuntimeException e) {
+      LOGGER.info("AI review failed with exception %s".formatted(e));
+      verdict = Verdict.FAILED;
+    }
+    if (verdict == Verdict.FAILED) {
+      verdicts.remove(key, future);
+    } else {
+      persist(key, verdict);
+    }
+    future.complete(verdict);
+  }
+
+  private static void loadVerdicts() {
+    Path path = verdictsFile.get();
+    if (!Files.exists(path)) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      LOGGER.warning("Failed to read AI review verdicts file: %s".formatted(e.getMessage()));
+      return;
+    }
+    properties.forEach(
+        (key, value) -> {
+          try {
+            Verdict verdict = Verdict.valueOf(((String) value).trim());
+            if (verdict != Verdict.FAILED) {
+              verdicts.putIfAbsent((String) key, CompletableFuture.completedFuture(verdict));
+            }
+          } catch (IllegalArgumentException e) {
+            LOGGER.fine("Ignoring invalid AI review verdict %s".formatted(value));
+          }
+        });
+  }
+
+  /** Appends the verdict, so JVMs running tests in parallel don't overwrite each other's. */
+  private static synchronized void persist(String key, Verdict verdict) {
+    Path path = verdictsFile.get();
+    try {
+      Files.createDirectories(path.toAbsolutePath().getParent());
+      String line = "%s = %s\n".formatted(key, verdict);
+      Files.writeString(path, Files.exists(path) ? line : HEADER + "\n" + line, CREATE, APPEND);
+    } catch (IOException e) {
+      LOGGER.warning("Failed to write AI review verdicts file: %s".formatted(e.getMessage()));
+    }
+  }
+
+  /** Resets static state and sets the verdicts file path. For testing only. */
+  static void reset(Path testVerdictsFile) {
+    verdicts.clear();
+    persistedVerdictsLoaded.set(false);
+    verdictsFile.set(testVerdictsFile);
+  }
+
+  /** Resets static state to defaults. For testing only. */
+  static void reset() {
+    reset(DEFAULT_VERDICTS_FILE);
+  }
+}
@@ -2,8 +2,10 @@ package org.approvej.review;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllBytes;
 import static java.nio.file.Files.readAllLines;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.joining;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -12,10 +14,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.approvej.approve.PathProvider;
+import org.approvej.diff.Diffs;
+import org.approvej.review.AiReviewVerdicts.Verdict;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -32,16 +37,24 @@ import org.jspecify.annotations.NullMarked;
  * <p>If the AI responds with "YES" on the first line, the received file is automatically approved.
  * Otherwise, the test fails and a human developer needs to review.
  *
+ * <p>Verdicts are cached in {@code .approvej/ai-review-verdicts.properties}, keyed by the command,
+ * the prompt and the change (not the file paths), so the same change is only reviewed once.
+ *
+ * <p>With a parallelism greater than 0, reviews run in the background on a bounded pool of threads.
+ * The test fails immediately unless there is a cached approval, and received files approved by the
+ * AI are moved to the approved files before the JVM exits.
+ *
  * @param command the AI CLI command to execute (e.g., "claude -p --allowedTools Read")
+ * @param parallelism the maximum number of reviews running in the background, or 0 to review on the
+ *     test thread
  */
 @NullMarked
 @SuppressWarnings("java:S3457") // \n is intentional — AI responses and unified diffs always use LF
-record AiReviewer(String command) implements Reviewer {
+record AiReviewer(String command, int parallelism) implements Reviewer {
 
   private static final Logger LOGGER = Logger.getLogger(AiReviewer.class.getName());
 
   private static final int TIMEOUT_MINUTES = 5;
-  private static final int MAX_DIFF_LINES = 10_000;
 
   private static final Set<String> IMAGE_EXTENSIONS =
       Set.of("png", "jpg", "jpeg", "gif", "bmp", "webp");
@@ -108,25 +121,84 @@ record AiReviewer(String command) implements Reviewer {
       followed by a summary of all visual differences you found.\
       """;
 
+  /**
+   * Creates an {@link AiReviewer} reviewing on the test thread.
+   *
+   * @param command the AI CLI command to execute
+   */
+  AiReviewer(String command) {
+    this(command, 0);
+  }
+
   @Override
   public ReviewResult apply(PathProvider pathProvider) {
+    Review review;
     try {
-      Path approvedPath = pathProvider.approvedPath();
-      Path receivedPath = pathProvider.receivedPath();
+      review = prepareReview(pathProvider);
+    } catch (IOException e) {
+      LOGGER.info("Review by %s failed with exception %s".formatted(getClass().getSimpleName(), e));
+      return new ReviewResultRecord(false);
+    }
+    String resolvedCommand =
+        Reviewer.resolveCommand(command, pathProvider.approvedPath(), pathProvider.receivedPath());
+    CompletableFuture<Verdict> verdict =
+        AiReviewVerdicts.verdict(
+            review.key(),
+            () -> review(resolvedCommand, review.prompt()),
+            parallelism > 0 ? AiReviewPool.executor(parallelism) : Runnable::run);
+
+    if (parallelism > 0 && !verdict.isDone()) {
+      AiReviewPool.track(verdict.thenApply(result -> accept(pathProvider, result)));
+      if (LOGGER.isLoggable(Level.INFO)) {
+        LOGGER.info(
+            "AI review of %s continues in the background".formatted(pathProvider.receivedPath()));
+      }
+      return new ReviewResultRecord(false);
+    }
+    return new ReviewResultRecord(accept(pathProvider, verdict.join()) == Verdict.APPROVED);
+  }
 
-      String prompt = buildPrompt(pathProvider, approvedPath, receivedPath);
-      String resolvedCommand = Reviewer.resolveCommand(command, approvedPath, receivedPath);
-      String response = executeAiCommand(resolvedCommand, prompt);
+  private Review prepareReview(PathProvider pathProvider) throws IOException {
+    Path approvedPath = pathProvider.approvedPath();
+    Path receivedPath = pathProvider.receivedPath();
+    if (isImageFile(pathProvider.filenameExtension())) {
+      Path diffPath = pathProvider.diffPath();
+      String template = Files.exists(diffPath) ? IMAGE_DIFF_PROMPT_TEMPLATE : IMAGE_PROMPT_TEMPLATE;
+      String prompt =
+          Files.exists(diffPath)
+              ? template.formatted(diffPath)
+              : template.formatted(approvedPath, receivedPath);
+      String key =
+          AiReviewVerdicts.key(
+              command, template, readAllBytes(approvedPath), readAllBytes(receivedPath));
+      return new Review(prompt, key);
+    }
+    String diff = generateDiff(approvedPath, receivedPath);
+    String prompt = TEXT_PROMPT_TEMPLATE.formatted(approvedPath, receivedPath, diff);
+    String key =
+        AiReviewVerdicts.key(command, TEXT_PROMPT_TEMPLATE, normalizeDiff(diff).getBytes(UTF_8));
+    return new Review(prompt, key);
+  }
+
+  /**
+   * Removes the file labels and line numbers from the given unified diff, so the same change in
+   * different files or at different positions is reviewed only once.
+   */
+  static String normalizeDiff(String unifiedDiff) {
+    return unifiedDiff
+        .lines()
+        .skip(2)
+        .map(line -> line.startsWith("@@") ? "@@" : line)
+        .collect(joining("\n", "", "\n"));
+  }
 
+  private Verdict review(String resolvedCommand, String prompt) {
+    try {
+      String response = executeAiCommand(resolvedCommand, prompt);
       if (LOGGER.isLoggable(Level.INFO)) {
         LOGGER.info("AI review result:\n%s".formatted(response));
       }
-
-      if (isApproved(response)) {
-        move(receivedPath, approvedPath, REPLACE_EXISTING);
-        Files.deleteIfExists(pathProvider.diffPath());
-        return new ReviewResultRecord(true);
-      }
+      return verdict(response);
     } catch (IOException e) {
       LOGGER.info("Review by %s failed with exception %s".formatted(getClass().getSimpleName(), e));
     } catch (InterruptedException e) {
@@ -135,31 +207,30 @@ record AiReviewer(String command) implements Reviewer {
           "Review by %s was interrupted with exception %s"
               .formatted(getClass().getSimpleName(), e));
     }
-    return new ReviewResultRecord(false);
+    return Verdict.FAILED;
   }
 
-  private String buildPrompt(PathProvider pathProvider, Path approvedPath, Path receivedPath)
-      throws IOException {
-    if (isImageFile(pathProvider.filenameExtension())) {
-      Path diffPath = pathProvider.diffPath();
-      if (Files.exists(diffPath)) {
-        return IMAGE_DIFF_PROMPT_TEMPLATE.formatted(diffPath);
-      }
-      return IMAGE_PROMPT_TEMPLATE.formatted(approvedPath, receivedPath);
+  private static Verdict accept(PathProvider pathProvider, Verdict verdict) {
+    if (verdict != Verdict.APPROVED) {
+      return verdict;
+    }
+    try {
+      move(pathProvider.receivedPath(), pathProvider.approvedPath(), REPLACE_EXISTING);
+      Files.deleteIfExists(pathProvider.diffPath());
+      return verdict;
+    } catch (IOException e) {
+      LOGGER.info(
+          "Approving %s failed with exception %s".formatted(pathProvider.receivedPath(), e));
+      return Verdict.FAILED;
     }
-    String diff = generateDiff(approvedPath, receivedPath);
-    return TEXT_PROMPT_TEMPLATE.formatted(approvedPath, receivedPath, diff);
   }
 
   static String generateDiff(Path approvedPath, Path receivedPath) throws IOException {
-    List<String> approvedLines = readAllLines(approvedPath, UTF_8);
-    List<String> receivedLines = readAllLines(receivedPath, UTF_8);
-    if (approvedLines.size() > MAX_DIFF_LINES || receivedLines.size() > MAX_DIFF_LINES) {
-      return "[Diff omitted: files exceed %d lines. Approved: %d lines, Received: %d lines]"
-          .formatted(MAX_DIFF_LINES, approvedLines.size(), receivedLines.size());
-    }
     return unifiedDiff(
-        approvedPath.toString(), receivedPath.toString(), approvedLines, receivedLines);
+        approvedPath.toString(),
+        receivedPath.toString(),
+        readAllLines(approvedPath, UTF_8),
+        readAllLines(receivedPath, UTF_8));
   }
 
   static String unifiedDiff(
@@ -167,77 +238,7 @@ record AiReviewer(String command) implements Reviewer {
       String receivedLabel,
       List<String> approvedLines,
       List<String> receivedLines) {
-    int[][] lengths = longestCommonSubsequenceLengths(approvedLines, receivedLines);
-    List<DiffLine> diffLines = backtrack(lengths, approvedLines, receivedLines);
-    if (diffLines.stream().allMatch(line -> line.type == DiffLine.Type.CONTEXT)) {
-      return "";
-    }
-    StringBuilder result = new StringBuilder();
-    result.append("--- %s\n".formatted(approvedLabel));
-    result.append("+++ %s\n".formatted(receivedLabel));
-    for (DiffLine line : diffLines) {
-      result.append(
-          switch (line.type) {
-            case CONTEXT -> " %s\n".formatted(line.content);
-            case REMOVED -> "-%s\n".formatted(line.content);
-            case ADDED -> "+%s\n".formatted(line.content);
-          });
-    }
-    return result.toString();
-  }
-
-  private static int[][] longestCommonSubsequenceLengths(
-      List<String> approvedLines, List<String> receivedLines) {
-    int approvedSize = approvedLines.size();
-    int receivedSize = receivedLines.size();
-    int[][] lengths = new int[approvedSize + 1][receivedSize + 1];
-    for (int i = approvedSize - 1; i >= 0; i--) {
-      for (int j = receivedSize - 1; j >= 0; j--) {
-        if (approvedLines.get(i).equals(receivedLines.get(j))) {
-          lengths[i][j] = lengths[i + 1][j + 1] + 1;
-        } else {
-          lengths[i][j] = Math.max(lengths[i + 1][j], lengths[i][j + 1]);
-        }
-      }
-    }
-    return lengths;
-  }
-
-  private static List<DiffLine> backtrack(
-      int[][] lengths, List<String> approvedLines, List<String> receivedLines) {
-    List<DiffLine> result = new ArrayList<>();
-    int i = 0;
-    int j = 0;
-    while (i < approvedLines.size() && j < receivedLines.size()) {
-      if (approvedLines.get(i).equals(receivedLines.get(j))) {
-        result.add(new DiffLine(DiffLine.Type.CONTEXT, approvedLines.get(i)));
-        i++;
-        j++;
-      } else if (lengths[i + 1][j] >= lengths[i][j + 1]) {
-        result.add(new DiffLine(DiffLine.Type.REMOVED, approvedLines.get(i)));
-        i++;
-      } else {
-        result.add(new DiffLine(DiffLine.Type.ADDED, receivedLines.get(j)));
-        j++;
-      }
-    }
-    while (i < approvedLines.size()) {
-      result.add(new DiffLine(DiffLine.Type.REMOVED, approvedLines.get(i)));
-      i++;
-    }
-    while (j < receivedLines.size()) {
-      result.add(new DiffLine(DiffLine.Type.ADDED, receivedLines.get(j)));
-      j++;
-    }
-    return result;
-  }
-
-  private record DiffLine(Type type, String content) {
-    enum Type {
-      CONTEXT,
-      REMOVED,
-      ADDED
-    }
+    return Diffs.diff(approvedLines, receivedLines).unified(approvedLabel, receivedLabel);
   }
 
   private String executeAiCommand(String resolvedCommand, String prompt)
@@ -275,8 +276,12 @@ record AiReviewer(String command) implements Reviewer {
     return IMAGE_EXTENSIONS.contains(filenameExtension.toLowerCase());
   }
 
-  private static boolean isApproved(String response) {
-    return firstLine(response).trim().toUpperCase(Locale.ROOT).equals("YES");
+  private static Verdict verdict(String response) {
+    return switch (firstLine(response).trim().toUpperCase(Locale.ROOT)) {
+      case "YES" -> Verdict.APPROVED;
+      case "NO" -> Verdict.REJECTED;
+      default -> Verdict.FAILED;
+    };
   }
 
   /**
@@ -309,6 +314,8 @@ record AiReviewer(String command) implements Reviewer {
     return tokens;
   }
 
+  private record Review(String prompt, String key) {}
+
   private static String firstLine(String response) {
     int newlineIndex = response.indexOf('\n');
     if (newlineIndex >= 0) {
@@ -49,6 +49,27 @@ public class Reviewers {
     return new AiReviewer(command);
   }
 
+  /**
+   * A {@link Reviewer} like {@link #ai(String)} that reviews in the background, so test threads
+   * don't wait for the AI.
+   *
+   * <p>The reviewed test fails unless the same change was approved before. The reviews run on a
+   * pool of at most the given number of threads, and received files approved by the AI are moved to
+   * the approved files at the end of the test run. So approved changes pass on the next run.
+   *
+   * @param command the AI CLI command to execute (e.g., "claude", "gemini")
+   * @param parallelism the maximum number of reviews running at the same time
+   * @return the new {@link AiReviewer}
+   * @throws IllegalArgumentException if the parallelism is less than 1
+   */
+  public static Reviewer aiAsync(String command, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException(
+          "Parallelism must be at least 1, but was %d".formatted(parallelism));
+    }
+    return new AiReviewer(command, parallelism);
+  }
+
   /**
    * A {@link Reviewer} that accepts any given received value, ignoring the previously approved
    * value.
@@ -0,0 +1,93 @@
+package org.approvej.scrub;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Cache for the {@link DateTimeFormatter} and the compiled {@link Pattern} of the {@link
+ * DateTimeScrubber}s created by {@link Scrubbers#dateTimeFormat(String, Locale)} and the other
+ * date/time factory methods.
+ *
+ * <p>Translating a date/time pattern into a regular expression and compiling it is comparatively
+ * expensive, so this is done only once per date/time pattern and {@link Locale}. All {@link
+ * DateTimeScrubber}s for the same date/time pattern and {@link Locale} share the result. The cache
+ * holds at most {@value #MAX_SIZE} entries.
+ */
+@NullMarked
+public final class DateTimePatternCache {
+
+  /** The maximum number of cached date/time patterns. */
+  public static final int MAX_SIZE = 256;
+
+  private static final ConcurrentHashMap<Key, CompiledDateTimePattern> cache =
+      new ConcurrentHashMap<>();
+  private static final LongAdder hits = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+
+  private DateTimePatternCache() {}
+
+  /**
+   * Returns the number of times a cached pattern was reused.
+   *
+   * @return the number of cache hits since the start of the JVM
+   */
+  public static long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of times a pattern had to be compiled as it was not cached.
+   *
+   * @return the number of cache misses since the start of the JVM
+   */
+  public static long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of currently cached patterns.
+   *
+   * @return the number of cached patterns, at most {@value #MAX_SIZE}
+   */
+  public static int size() {
+    return cache.size();
+  }
+
+  static CompiledDateTimePattern compiled(String dateTimePattern, Locale locale) {
+    Key key = new Key(dateTimePattern, locale);
+    CompiledDateTimePattern cached = cache.get(key);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    CompiledDateTimePattern compiled =
+        new CompiledDateTimePattern(
+            DateTimeFormatter.ofPattern(dateTimePattern, locale),
+            Pattern.compile(DateTimeScrubberRecord.regexFor(dateTimePattern, locale)));
+    if (cache.size() >= MAX_SIZE) {
+      Iterator<Key> keys = cache.keySet().iterator();
+      if (keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+    CompiledDateTimePattern previous = cache.putIfAbsent(key, compiled);
+    return previous != null ? previous : compiled;
+  }
+
+  private record Key(String dateTimePattern, Locale locale) {}
+
+  /**
+   * The compiled form of a date/time pattern.
+   *
+   * @param formatter the {@link DateTimeFormatter} for the date/time pattern
+   * @param pattern the {@link Pattern} matching strings formatted by the {@link #formatter}
+   */
+  record CompiledDateTimePattern(DateTimeFormatter formatter, Pattern pattern) {}
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.function.Function;
 import java.util.regex.Pattern;
+import org.approvej.scrub.DateTimePatternCache.CompiledDateTimePattern;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
@@ -20,9 +21,24 @@ record DateTimeScrubberRecord(DateTimeFormatter dateTimeFormatter, StringScrubbe
     implements DateTimeScrubber {
 
   DateTimeScrubberRecord(String dateTimePattern, Locale locale, Replacement<String> replacement) {
+    this(DateTimePatternCache.compiled(dateTimePattern, locale), replacement);
+  }
+
+  DateTimeScrubberRecord(
+      String dateTimePattern, Scanner scanner, Replacement<String> replacement) {
+    this(DateTimePatternCache.compiled(dateTimePattern, Locale.getDefault()), scanner, replacement);
+  }
+
+  private DateTimeScrubberRecord(
+      CompiledDateTimePattern compiled, Replacement<String> replacement) {
+    this(compiled.formatter(), new RegexScrubberRecord(compiled.pattern(), replacement));
+  }
+
+  private DateTimeScrubberRecord(
+      CompiledDateTimePattern compiled, Scanner scanner, Replacement<String> replacement) {
     this(
-        DateTimeFormatter.ofPattern(dateTimePattern, locale),
-        new RegexScrubberRecord(Pattern.compile(regexFor(dateTimePattern, locale)), replacement));
+        compiled.formatter(),
+        new ScannerScrubberRecord(scanner, compiled.pattern(), replacement));
   }
 
   @Override
@@ -49,7 +65,7 @@ record DateTimeScrubberRecord(DateTimeFormatter dateTimeFormatter, StringScrubbe
     return regexScrubber.apply(value);
   }
 
-  private static String regexFor(String dateTimePattern, Locale locale) {
+  static String regexFor(String dateTimePattern, Locale locale) {
     return DateTimeToken.ANY_FIELD
         .matcher(dateTimePattern)
         .results()
@@ -0,0 +1,171 @@
+package org.approvej.scrub;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Reads and writes a field via {@link MethodHandle}s.
+ *
+ * <p>The handles are created once per class and field name. The setter is only created when it is
+ * first needed, so a field that cannot be written (e.g. the field of a record) can still be read.
+ */
+@NullMarked
+final class FieldAccess {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final ClassValue<Map<String, FieldAccess>> ACCESSES =
+      new ClassValue<>() {
+        @Override
+        protected Map<String, FieldAccess> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private static final ClassValue<List<Field>> INSTANCE_FIELDS =
+      new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+          List<Field> fields = new ArrayList<>();
+          for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+              if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field);
+              }
+            }
+          }
+          return List.copyOf(fields);
+        }
+      };
+
+  private final Field field;
+  private final MethodHandle getter;
+  private volatile @Nullable MethodHandle setter;
+
+  private FieldAccess(Field field) throws IllegalAccessException {
+    field.setAccessible(true); // NOSONAR
+    this.field = field;
+    this.getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+  }
+
+  /**
+   * Finds the {@link FieldAccess} for the named field of the given type or one of its superclasses.
+   *
+   * @param type the type of the object containing the field
+   * @param name the name of the field
+   * @return the {@link FieldAccess} for the field
+   * @throws NoSuchFieldException if neither the type nor one of its superclasses declares the field
+   * @throws IllegalAccessException if the field cannot be read
+   */
+  static FieldAccess of(Class<?> type, String name)
+      throws NoSuchFieldException, IllegalAccessException {
+    Map<String, FieldAccess> accesses = ACCESSES.get(type);
+    FieldAccess access = accesses.get(name);
+    if (access == null) {
+      access = new FieldAccess(declaredField(type, name));
+      FieldAccess previous = accesses.putIfAbsent(name, access);
+      if (previous != null) {
+        access = previous;
+      }
+    }
+    return access;
+  }
+
+  /**
+   * Finds the {@link FieldAccess}es for all instance fields of the given type and its superclasses.
+   *
+   * @param type the type of the object containing the fields
+   * @return the {@link FieldAccess}es for all instance fields
+   * @throws NoSuchFieldException if one of the fields cannot be found
+   * @throws IllegalAccessException if one of the fields cannot be read
+   */
+  static List<FieldAccess> allOf(Class<?> type)
+      throws NoSuchFieldException, IllegalAccessException {
+    List<FieldAccess> accesses = new ArrayList<>();
+    for (Field field : INSTANCE_FIELDS.get(type)) {
+      accesses.add(of(field.getDeclaringClass(), field.getName()));
+    }
+    return accesses;
+  }
+
+  private static Field declaredField(Class<?> type, String name) throws NoSuchFieldException {
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+          return field;
+        }
+      }
+    }
+    return type.getDeclaredField(name);
+  }
+
+  /**
+   * @return the name of the field
+   */
+  String name() {
+    return field.getName();
+  }
+
+  /**
+   * @return the declared type of the field
+   */
+  Class<?> type() {
+    return field.getType();
+  }
+
+  /**
+   * Reads the field of the given object.
+   *
+   * @param target the object containing the field
+   * @return the value of the field
+   */
+  @Nullable Object get(Object target) {
+    try {
+      return (Object) getter.invokeExact(target);
+    } catch (Throwable e) {
+      throw unchecked(e);
+    }
+  }
+
+  /**
+   * Writes the field of the given object.
+   *
+   * @param target the object containing the field
+   * @param value the new value of the field
+   * @throws IllegalAccessException if the field cannot be written
+   */
+  void set(Object target, @Nullable Object value) throws IllegalAccessException {
+    MethodHandle setter = this.setter;
+    if (setter == null) {
+      setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+      this.setter = setter;
+    }
+    try {
+      setter.invokeExact(target, value);
+    } catch (Throwable e) {
+      throw unchecked(e);
+    }
+  }
+
+  private static RuntimeException unchecked(Throwable throwable) {
+    if (throwable instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (throwable instanceof Error error) {
+      throw error;
+    }
+    return new UndeclaredThrowableException(throwable);
+  }
+}
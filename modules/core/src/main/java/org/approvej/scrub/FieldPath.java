@@ -0,0 +1,55 @@
+package org.approvej.scrub;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A parsed path to a field, like {@code "order.items[*].id"}.
+ *
+ * <p>The segments of the path are separated by dots. A segment suffixed with {@code [*]} applies
+ * the rest of the path to each element of an array, an {@link Iterable}, or to each value of a
+ * {@link Map}.
+ *
+ * @param path the original path
+ * @param segments the {@link Segment}s of the path
+ */
+@NullMarked
+record FieldPath(String path, List<Segment> segments) {
+
+  private static final Pattern SEGMENT =
+      Pattern.compile("(\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*)(\\[\\*])?");
+
+  /**
+   * Parses the given path.
+   *
+   * @param path the path to parse
+   * @return the parsed {@link FieldPath}
+   * @throws IllegalArgumentException if the path is not valid
+   */
+  static FieldPath parse(String path) {
+    return new FieldPath(
+        path,
+        Arrays.stream(path.split("\\.", -1))
+            .map(
+                segment -> {
+                  Matcher matcher = SEGMENT.matcher(segment);
+                  if (!matcher.matches()) {
+                    throw new IllegalArgumentException("Invalid field path %s".formatted(path));
+                  }
+                  return new Segment(matcher.group(1), matcher.group(2) != null);
+                })
+            .toList());
+  }
+
+  /**
+   * A single segment of a {@link FieldPath}.
+   *
+   * @param name the name of the field
+   * @param each whether the rest of the path is applied to each element of the field's value
+   */
+  record Segment(String name, boolean each) {}
+}
@@ -3,9 +3,27 @@ package org.approvej.scrub;
 /**
  * Generic {@link Scrubber} to set the value of a certain field via reflection.
  *
- * <p>Note that this requires that the field is generally mutable. Immutable fields will cause a
- * {@link ScrubbingError} when this is {@link #apply(Object) applied}.
+ * <p>The field may be given as a path to a nested field, like {@code "order.items[*].id"}, see
+ * {@link Scrubbers#field(Class, String)}.
+ *
+ * <p>Note that by default this requires that the fields are generally mutable. Immutable fields,
+ * like those of records, will cause a {@link ScrubbingError} when this is {@link #apply(Object)
+ * applied}. Use {@link #copyOnWrite()} to scrub a copy instead.
  *
  * @param <T> the type of value to scrub
  */
-public interface FieldScrubber<T> extends Scrubber<FieldScrubber<T>, T, Object> {}
+public interface FieldScrubber<T> extends Scrubber<FieldScrubber<T>, T, Object> {
+
+  /**
+   * Creates a copy of this scrubber that leaves the scrubbed value unchanged.
+   *
+   * <p>Instead, it returns a shallow copy of the value in which only the objects along the path to
+   * the scrubbed fields are copied. All other objects are shared with the original value. This
+   * also works for records and is safe to use while other threads read the original value. Objects
+   * other than records are copied via their no-arg constructor, or cloned if they are {@link
+   * Cloneable}.
+   *
+   * @return a copy of this scrubber that scrubs a copy of the value
+   */
+  FieldScrubber<T> copyOnWrite();
+}
@@ -1,26 +1,135 @@
 package org.approvej.scrub;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.Array;
+import java.lang.reflect.InaccessibleObjectException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import org.approvej.scrub.FieldPath.Segment;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 @NullMarked
-record FieldScrubberRecord<T>(Field field, Replacement<Object> replacement)
+record FieldScrubberRecord<T>(
+    Class<T> type, FieldPath path, Replacement<Object> replacement, boolean copying)
     implements FieldScrubber<T> {
 
+  FieldScrubberRecord(Class<T> type, FieldPath path, Replacement<Object> replacement) {
+    this(type, path, replacement, false);
+  }
+
   @Override
   public FieldScrubber<T> replacement(Replacement<Object> replacement) {
-    return new FieldScrubberRecord<>(field, replacement);
+    return new FieldScrubberRecord<>(type, path, replacement, copying);
+  }
+
+  @Override
+  public FieldScrubber<T> copyOnWrite() {
+    return new FieldScrubberRecord<>(type, path, replacement, true);
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public T apply(T value) {
+    return (T) scrub(type, value, 0, new HashMap<>());
+  }
+
+  private Object scrub(
+      Class<?> targetType, Object target, int index, Map<@Nullable Object, Integer> findings) {
+    Segment segment = path.segments().get(index);
     try {
-      field.setAccessible(true); // NOSONAR
-      field.set(value, replacement.apply(field.get(value), 1)); // NOSONAR
-    } catch (IllegalAccessException e) {
+      FieldAccess access = FieldAccess.of(targetType, segment.name());
+      Object fieldValue = access.get(target);
+      Object scrubbed =
+          segment.each()
+              ? scrubEach(fieldValue, access, index, findings)
+              : scrubValue(fieldValue, index, findings);
+      if (copying) {
+        return scrubbed == fieldValue ? target : ShallowCopy.withField(target, access, scrubbed);
+      }
+      if (scrubbed != fieldValue || (index == path.segments().size() - 1 && !segment.each())) {
+        access.set(target, scrubbed);
+      }
+      return target;
+    } catch (ReflectiveOperationException
+        | InaccessibleObjectException
+        | IllegalArgumentException
+        | ClassCastException
+        | UnsupportedOperationException e) {
       throw new ScrubbingError(
-          "Failed to scrub field %s on value %s".formatted(field.getName(), value), e);
+          "Failed to scrub field %s on value %s".formatted(segment.name(), target), e);
+    }
+  }
+
+  /**
+   * Scrubs each element of the given container.
+   *
+   * <p>When copying, a copy of the container with the scrubbed elements is returned. Otherwise, the
+   * elements are replaced in the container itself, so it keeps its type.
+   */
+  private @Nullable Object scrubEach(
+      @Nullable Object container,
+      FieldAccess access,
+      int index,
+      Map<@Nullable Object, Integer> findings) {
+    if (container == null) {
+      return null;
+    }
+    if (copying) {
+      ShallowCopy.checkCopyable(container, access.type());
+    }
+    List<@Nullable Object> elements = ShallowCopy.elementsOf(container);
+    List<@Nullable Object> scrubbed = new ArrayList<>(elements.size());
+    boolean changed = false;
+    for (Object element : elements) {
+      Object scrubbedElement = scrubValue(element, index, findings);
+      changed |= scrubbedElement != element;
+      scrubbed.add(scrubbedElement);
+    }
+    if (!changed) {
+      return container;
+    }
+    if (copying) {
+      return ShallowCopy.withElements(container, scrubbed);
+    }
+    replaceElements(container, scrubbed);
+    return container;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void replaceElements(Object container, List<@Nullable Object> elements) {
+    if (container.getClass().isArray()) {
+      for (int i = 0; i < elements.size(); i++) {
+        Array.set(container, i, elements.get(i));
+      }
+    } else if (container instanceof List<?> list) {
+      ListIterator<@Nullable Object> iterator = ((List<@Nullable Object>) list).listIterator();
+      for (Object element : elements) {
+        iterator.next();
+        iterator.set(element);
+      }
+    } else if (container instanceof Map<?, ?> map) {
+      Iterator<@Nullable Object> values = elements.iterator();
+      ((Map<?, @Nullable Object>) map).replaceAll((key, value) -> values.next());
+    } else if (container instanceof Collection<?> collection) {
+      collection.clear();
+      ((Collection<@Nullable Object>) collection).addAll(elements);
+    } else {
+      throw new IllegalArgumentException(
+          "Cannot replace the elements of %s".formatted(container.getClass().getName()));
+    }
+  }
+
+  private @Nullable Object scrubValue(
+      @Nullable Object value, int index, Map<@Nullable Object, Integer> findings) {
+    if (index == path.segments().size() - 1) {
+      findings.putIfAbsent(value, findings.size() + 1);
+      return replacement.apply(value, findings.get(value));
     }
-    return value;
+    return value == null ? null : scrub(value.getClass(), value, index + 1, findings);
   }
 }
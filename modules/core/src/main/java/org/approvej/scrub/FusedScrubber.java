@@ -0,0 +1,738 @@
+package org.approvej.scrub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Applies a chain of scrubbers to a {@link String}, scanning it only once for each run of
+ * consecutive regex based scrubbers, like {@link Scrubbers#stringsMatching(Pattern)}, {@link
+ * Scrubbers#dateTimeFormat(String)}, or {@link Scrubbers#isoDateTimes()}.
+ *
+ * <p>The patterns of such a run are merged into one alternation, in which an earlier scrubber's
+ * pattern takes precedence. Each match is dispatched to the {@link Replacement} of the scrubber
+ * owning the matching alternative, which numbers its findings just like the scrubber does when it
+ * is applied on its own.
+ *
+ * <p>Patterns depending on the text around a match (anchors, boundaries, lookarounds) or using
+ * back references are not merged. For all others, applying the scrubbers one after another differs
+ * only if a match is empty, if a later scrubber matches (a part of) the replacement of an earlier
+ * one or runs into it, or if an earlier scrubber matches starting within the match of a later one.
+ * If any of these is detected, the run is applied scrubber by scrubber instead. The checks only
+ * look at the text around each match: a later scrubber is only tried at the few positions in front
+ * of an earlier scrubber's replacement, from which a match might reach it.
+ *
+ * <p>Values reaching the {@link StringScrubber#parallelThreshold(int) parallel threshold} of a
+ * scrubber in a run are also scrubbed scrubber by scrubber, each searching them in parallel.
+ */
+@NullMarked
+final class FusedScrubber implements UnaryOperator<String> {
+
+  private static final int UNSUPPORTED_FLAGS = Pattern.COMMENTS | Pattern.CANON_EQ;
+
+  private final List<UnaryOperator<String>> steps;
+
+  FusedScrubber(List<? extends UnaryOperator<String>> scrubbers) {
+    List<UnaryOperator<String>> steps = new ArrayList<>();
+    List<RegexScrubberRecord> run = new ArrayList<>();
+    List<String> alternatives = new ArrayList<>();
+    for (UnaryOperator<String> scrubber : scrubbers) {
+      RegexScrubberRecord regexScrubber = regexScrubberOf(scrubber);
+      String alternative = regexScrubber != null ? alternative(regexScrubber.pattern()) : null;
+      if (regexScrubber != null && alternative != null) {
+        run.add(regexScrubber);
+        alternatives.add(alternative);
+        continue;
+      }
+      addRun(steps, run, alternatives);
+      run = new ArrayList<>();
+      alternatives = new ArrayList<>();
+      steps.add(scrubber);
+    }
+    addRun(steps, run, alternatives);
+    this.steps = List.copyOf(steps);
+  }
+
+  @Override
+  public String apply(String value) {
+    String scrubbed = value;
+    for (UnaryOperator<String> step : steps) {
+      scrubbed = step.apply(scrubbed);
+    }
+    return scrubbed;
+  }
+
+  private static @Nullable RegexScrubberRecord regexScrubberOf(UnaryOperator<String> scrubber) {
+    if (scrubber instanceof RegexScrubberRecord regexScrubber) {
+      return regexScrubber;
+    }
+    if (scrubber instanceof DateTimeScrubberRecord dateTimeScrubber
+        && dateTimeScrubber.regexScrubber() instanceof RegexScrubberRecord regexScrubber) {
+      return regexScrubber;
+    }
+    return null;
+  }
+
+  private static void addRun(
+      List<UnaryOperator<String>> steps,
+      List<RegexScrubberRecord> run,
+      List<String> alternatives) {
+    Run merged = run.size() > 1 ? Run.of(run, alternatives) : null;
+    if (merged != null) {
+      steps.add(merged);
+    } else {
+      steps.addAll(run);
+    }
+  }
+
+  /**
+   * Rewrites the given {@link Pattern} to be used as an alternative in a merged pattern: all its
+   * groups become non-capturing and its flags are inlined.
+   *
+   * @return the rewritten pattern, or null if the pattern cannot be merged (e.g. it matches the
+   *     empty string)
+   */
+  private static @Nullable String alternative(Pattern pattern) {
+    if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0 || pattern.matcher("").lookingAt()) {
+      return null;
+    }
+    String source = pattern.pattern();
+    String rewritten =
+        (pattern.flags() & Pattern.LITERAL) != 0
+            ? Pattern.quote(source)
+            : new PatternRewriter(source).rewrite();
+    if (rewritten == null) {
+      return null;
+    }
+    String flags = inlineFlags(pattern.flags());
+    return flags.isEmpty() ? rewritten : "(?%s:%s)".formatted(flags, rewritten);
+  }
+
+  private static String inlineFlags(int flags) {
+    StringBuilder inlineFlags = new StringBuilder();
+    if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+      inlineFlags.append('i');
+    }
+    if ((flags & Pattern.MULTILINE) != 0) {
+      inlineFlags.append('m');
+    }
+    if ((flags & Pattern.DOTALL) != 0) {
+      inlineFlags.append('s');
+    }
+    if ((flags & Pattern.UNICODE_CASE) != 0) {
+      inlineFlags.append('u');
+    }
+    if ((flags & Pattern.UNIX_LINES) != 0) {
+      inlineFlags.append('d');
+    }
+    if ((flags & Pattern.UNICODE_CHARACTER_CLASS) != 0) {
+      inlineFlags.append('U');
+    }
+    return inlineFlags.toString();
+  }
+
+  /**
+   * A run of {@link RegexScrubberRecord}s merged into one {@link Pattern}.
+   *
+   * @param scrubbers the merged scrubbers
+   * @param patterns the {@link MergedPatterns} of the scrubbers
+   */
+  private record Run(List<RegexScrubberRecord> scrubbers, MergedPatterns patterns)
+      implements UnaryOperator<String> {
+
+    private static final int LOOKBACK_LIMIT = 256;
+
+    static @Nullable Run of(List<RegexScrubberRecord> scrubbers, List<String> alternatives) {
+      MergedPatterns patterns = MergedPatterns.of(alternatives);
+      return patterns != null ? new Run(List.copyOf(scrubbers), patterns) : null;
+    }
+
+    @Override
+    public String apply(String value) {
+      if (scrubbers.stream()
+          .map(RegexScrubberRecord::parallelThreshold)
+          .anyMatch(threshold -> ParallelScrubbing.appliesTo(value.length(), threshold))) {
+        return applySequentially(value);
+      }
+      Matcher matcher = patterns.merged().matcher(value);
+      if (!matcher.find()) {
+        return value;
+      }
+      List<Map<String, Integer>> findings = new ArrayList<>();
+      for (int index = 0; index < scrubbers.size(); index++) {
+        findings.add(new HashMap<>());
+      }
+      String[] checkedReplacements = new String[scrubbers.size()];
+      Matcher[] earlierMatchers = new Matcher[scrubbers.size()];
+      Matcher[] laterMatchers = new Matcher[scrubbers.size()];
+      List<Finding> found = new ArrayList<>();
+      do {
+        int owner = owner(matcher);
+        int start = matcher.start();
+        int end = matcher.end();
+        if (earlierMatchWithin(owner, value, start, end, earlierMatchers)) {
+          return applySequentially(value);
+        }
+        String match = matcher.group();
+        Map<String, Integer> ownerFindings = findings.get(owner);
+        ownerFindings.putIfAbsent(match, ownerFindings.size() + 1);
+        String replacement =
+            expand(
+                owner,
+                value,
+                start,
+                String.valueOf(
+                    scrubbers.get(owner).replacement().apply(match, ownerFindings.get(match))));
+        if (!replacement.equals(checkedReplacements[owner])) {
+          if (laterMatchIn(owner, replacement, laterMatchers)) {
+            return applySequentially(value);
+          }
+          checkedReplacements[owner] = replacement;
+        }
+        found.add(new Finding(start, end, owner, replacement));
+      } while (matcher.find());
+      if (laterMatchBefore(value, found, new Matcher[scrubbers.size()])) {
+        return applySequentially(value);
+      }
+      StringBuilder scrubbed = new StringBuilder(value.length());
+      int position = 0;
+      for (Finding finding : found) {
+        scrubbed.append(value, position, finding.start()).append(finding.replacement());
+        position = finding.end();
+      }
+      return scrubbed.append(value, position, value.length()).toString();
+    }
+
+    /**
+     * Whether a scrubber might run into the replacement of a scrubber before it.
+     *
+     * <p>Applied on its own, a scrubber sees the text with the replacements of all scrubbers before
+     * it. Up to the start of such a replacement, that text is the original value since the end of
+     * the previous one. A match attempt in there can only reach the replacement if all characters
+     * from its start up to the replacement might be part of a match. So only the positions in this
+     * stretch in front of the replacement are tried, and none of the attempts may reach the end of
+     * it. If the stretch is longer than {@link #LOOKBACK_LIMIT}, the scrubber is assumed to run
+     * into the replacement.
+     */
+    private boolean laterMatchBefore(
+        String value, List<Finding> found, @Nullable Matcher[] matchers) {
+      int[] windowStarts = new int[scrubbers.size()];
+      for (Finding finding : found) {
+        for (int scrubber = finding.owner() + 1; scrubber < scrubbers.size(); scrubber++) {
+          if (runsInto(scrubber, value, windowStarts[scrubber], finding.start(), matchers)) {
+            return true;
+          }
+          windowStarts[scrubber] = finding.end();
+        }
+      }
+      return false;
+    }
+
+    /** Whether an attempt of the scrubber reaches the end of the window. */
+    private boolean runsInto(
+        int scrubber, String value, int windowStart, int windowEnd, @Nullable Matcher[] matchers) {
+      int start = windowEnd;
+      while (start > windowStart && patterns.mightContain(scrubber, value.charAt(start - 1))) {
+        start--;
+        if (windowEnd - start > LOOKBACK_LIMIT) {
+          return true;
+        }
+      }
+      for (int position = start; position < windowEnd; position++) {
+        if (patterns.mightStartWith(scrubber, value.charAt(position))) {
+          Matcher matcher = matchers[scrubber];
+          if (matcher == null) {
+            matcher = scrubbers.get(scrubber).pattern().matcher(value);
+            matchers[scrubber] = matcher;
+          }
+          matcher.region(position, windowEnd).lookingAt();
+          if (matcher.hitEnd()) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /** A match of the merged pattern in the original value and its replacement. */
+    private record Finding(int start, int end, int owner, String replacement) {}
+
+    private String applySequentially(String value) {
+      String scrubbed = value;
+      for (RegexScrubberRecord scrubber : scrubbers) {
+        scrubbed = scrubber.apply(scrubbed);
+      }
+      return scrubbed;
+    }
+
+    private int owner(Matcher matcher) {
+      for (int index = 0; index < scrubbers.size() - 1; index++) {
+        if (matcher.start(index + 1) >= 0) {
+          return index;
+        }
+      }
+      return scrubbers.size() - 1;
+    }
+
+    /** Whether a scrubber before the owner matches starting within the owner's match. */
+    private boolean earlierMatchWithin(
+        int owner, String value, int start, int end, @Nullable Matcher[] matchers) {
+      if (owner == 0) {
+        return false;
+      }
+      for (int position = start + 1; position < end; position++) {
+        if (patterns.earlierMightStartWith(owner, value.charAt(position))) {
+          Matcher matcher = matchers[owner];
+          if (matcher == null) {
+            matcher = patterns.earlier(owner).matcher(value);
+            matchers[owner] = matcher;
+          }
+          if (matcher.region(position, value.length()).lookingAt()) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Whether a scrubber after the owner matches within the owner's replacement, or might match
+     * starting within it and extending beyond its end.
+     */
+    private boolean laterMatchIn(int owner, String replacement, @Nullable Matcher[] matchers) {
+      if (owner == scrubbers.size() - 1) {
+        return false;
+      }
+      boolean reset = true;
+      for (int position = 0; position < replacement.length(); position++) {
+        if (patterns.laterMightStartWith(owner, replacement.charAt(position))) {
+          Matcher matcher = matchers[owner];
+          if (matcher == null) {
+            matcher = patterns.later(owner).matcher(replacement);
+            matchers[owner] = matcher;
+          } else if (reset) {
+            matcher.reset(replacement);
+          }
+          reset = false;
+          if (matcher.region(position, replacement.length()).lookingAt() || matcher.hitEnd()) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Expands group references and escapes in the replacement like {@link
+     * Matcher#appendReplacement(StringBuilder, String)} does with the owner's own {@link Pattern}.
+     */
+    private String expand(int owner, String value, int start, String replacement) {
+      if (replacement.indexOf('$') < 0 && replacement.indexOf('\\') < 0) {
+        return replacement;
+      }
+      Matcher matcher = scrubbers.get(owner).pattern().matcher(value);
+      matcher.region(start, value.length()).lookingAt();
+      StringBuilder expanded = new StringBuilder();
+      matcher.appendReplacement(expanded, replacement);
+      return expanded.substring(start);
+    }
+  }
+
+  /**
+   * The patterns of a {@link Run}, which only depend on the merged patterns, so they are cached.
+   *
+   * <p>Besides the merged {@link Pattern} with one capturing group per alternative, this holds for
+   * each alternative the merged patterns of the alternatives before and after it, and which ASCII
+   * characters their matches might start with. For each alternative itself, it holds which ASCII
+   * characters its matches might start with and which they might contain at all.
+   */
+  private static final class MergedPatterns {
+
+    private static final int CACHE_SIZE = 64;
+
+    /**
+     * The ASCII characters matched by escaped letters that stand for a known set of characters.
+     * The whitespace sets include the information separators, which some definitions of whitespace
+     * contain.
+     */
+    private static final Map<Character, String> ESCAPED_CHARACTERS =
+        Map.ofEntries(
+            Map.entry('d', "0123456789"),
+            Map.entry('w', "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz"),
+            Map.entry('s', " \t\n\u000B\f\r\u001C\u001D\u001E\u001F"),
+            Map.entry('h', " \t"),
+            Map.entry('v', "\n\u000B\f\r"),
+            Map.entry('t', "\t"),
+            Map.entry('n', "\n"),
+            Map.entry('r', "\r"),
+            Map.entry('f', "\f"),
+            Map.entry('a', "\u0007"),
+            Map.entry('e', "\u001B"));
+
+    private static final Map<List<String>, MergedPatterns> CACHE =
+        new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<List<String>, MergedPatterns> eldest) {
+            return size() > CACHE_SIZE;
+          }
+        };
+
+    private final Pattern merged;
+    private final Pattern[] earlier;
+    private final Pattern[] later;
+    private final boolean[][] earlierStarts;
+    private final boolean[][] laterStarts;
+    private final boolean[][] starts;
+    private final boolean[][] characters;
+
+    private MergedPatterns(List<String> alternatives) {
+      int size = alternatives.size();
+      StringBuilder merged = new StringBuilder();
+      for (String alternative : alternatives) {
+        if (!merged.isEmpty()) {
+          merged.append('|');
+        }
+        merged.append('(').append(alternative).append(')');
+      }
+      this.merged = prefiltered(Pattern.compile(merged.toString()));
+      this.earlier = new Pattern[size];
+      this.later = new Pattern[size];
+      this.earlierStarts = new boolean[size][];
+      this.laterStarts = new boolean[size][];
+      this.starts = new boolean[size][];
+      this.characters = new boolean[size][];
+      for (int index = 0; index < size; index++) {
+        starts[index] = possibleStarts(Pattern.compile(alternatives.get(index)));
+        characters[index] = possibleCharacters(alternatives.get(index));
+      }
+      for (int index = 1; index < size; index++) {
+        earlier[index] = Pattern.compile(String.join("|", alternatives.subList(0, index)));
+        earlierStarts[index] = possibleStarts(earlier[index]);
+        later[index - 1] = Pattern.compile(String.join("|", alternatives.subList(index, size)));
+        laterStarts[index - 1] = possibleStarts(later[index - 1]);
+      }
+    }
+
+    static @Nullable MergedPatterns of(List<String> alternatives) {
+      List<String> key = List.copyOf(alternatives);
+      synchronized (CACHE) {
+        MergedPatterns cached = CACHE.get(key);
+        if (cached != null) {
+          return cached;
+        }
+      }
+      try {
+        MergedPatterns patterns = new MergedPatterns(key);
+        if (patterns.merged.matcher("").groupCount() != key.size()) {
+          return null;
+        }
+        synchronized (CACHE) {
+          CACHE.put(key, patterns);
+        }
+        return patterns;
+      } catch (PatternSyntaxException e) {
+        return null;
+      }
+    }
+
+    /**
+     * Prefixes the given {@link Pattern} with a lookahead for the characters its matches might
+     * start with, so the alternatives are only tried at positions where one of them might match.
+     */
+    private static Pattern prefiltered(Pattern pattern) {
+      boolean[] possibleStarts = possibleStarts(pattern);
+      StringBuilder characters = new StringBuilder();
+      for (int character = 0; character < possibleStarts.length; character++) {
+        if (possibleStarts[character]) {
+          characters.append("\\x{%x}".formatted(character));
+        }
+      }
+      return Pattern.compile(
+          "(?=[%s\\x{80}-\\x{10FFFF}])(?:%s)".formatted(characters, pattern.pattern()));
+    }
+
+    /**
+     * Determines which ASCII characters a match of the given {@link Pattern} might start with. A
+     * match can only start with a character, if the pattern either matches it or needs more input
+     * after it.
+     */
+    private static boolean[] possibleStarts(Pattern pattern) {
+      boolean[] possibleStarts = new boolean[128];
+      Matcher matcher = pattern.matcher("");
+      for (char character = 0; character < possibleStarts.length; character++) {
+        matcher.reset(String.valueOf(character));
+        possibleStarts[character] = matcher.lookingAt() || matcher.hitEnd();
+      }
+      return possibleStarts;
+    }
+
+    /**
+     * Determines which ASCII characters a match of the given alternative might contain. This is a
+     * superset of the characters its literals, character classes and escapes can match. Anything
+     * that cannot be resolved cheaply, like {@code .}, negated classes or most escaped letters,
+     * might match any character.
+     */
+    private static boolean[] possibleCharacters(String alternative) {
+      boolean[] characters = new boolean[128];
+      boolean caseInsensitive = false;
+      boolean nonAscii = false;
+      int classDepth = 0;
+      int previous = -1;
+      int position = 0;
+      while (position < alternative.length()) {
+        char character = alternative.charAt(position);
+        int next = position + 1 < alternative.length() ? alternative.charAt(position + 1) : -1;
+        if (character == '\\') {
+          if (next == 'Q') {
+            int end = alternative.indexOf("\\E", position + 2);
+            end = end < 0 ? alternative.length() : end;
+            for (int index = position + 2; index < end; index++) {
+              nonAscii |= mark(characters, alternative.charAt(index));
+            }
+            position = end + 2;
+            previous = -1;
+            continue;
+          }
+          String escaped = ESCAPED_CHARACTERS.get((char) next);
+          if (escaped != null) {
+            for (char escapedCharacter : escaped.toCharArray()) {
+              mark(characters, escapedCharacter);
+            }
+            previous = escaped.length() == 1 ? escaped.charAt(0) : -1;
+          } else if (next < 0 || Character.isLetterOrDigit(next)) {
+            return allCharacters();
+          } else {
+            nonAscii |= mark(characters, (char) next);
+            previous = next;
+          }
+          position += 2;
+        } else if (character == '[') {
+          if (next == '^') {
+            return allCharacters();
+          }
+          classDepth++;
+          position++;
+          previous = -1;
+          if (next == ']') {
+            mark(characters, ']');
+            previous = ']';
+            position++;
+          }
+        } else if (character == ']' && classDepth > 0) {
+          classDepth--;
+          position++;
+          previous = -1;
+        } else if (character == '-'
+            && classDepth > 0
+            && previous >= 0
+            && next >= 0
+            && next != ']') {
+          if (next == '\\' || next == '[') {
+            return allCharacters();
+          }
+          for (int index = previous; index <= Math.min(next, 127); index++) {
+            characters[index] = true;
+          }
+          nonAscii |= next >= 128;
+          position += 2;
+          previous = -1;
+        } else if (character == '.' && classDepth == 0) {
+          return allCharacters();
+        } else {
+          if (character == '(' && next == '?' && classDepth == 0) {
+            int end = position + 2;
+            while (end < alternative.length() && Character.isLetter(alternative.charAt(end))) {
+              caseInsensitive |= alternative.charAt(end) == 'i';
+              end++;
+            }
+          }
+          nonAscii |= mark(characters, character);
+          previous = classDepth > 0 ? character : -1;
+          position++;
+        }
+      }
+      if (caseInsensitive && nonAscii) {
+        return allCharacters();
+      }
+      if (caseInsensitive) {
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+          boolean either = characters[letter] || characters[Character.toUpperCase(letter)];
+          characters[letter] = either;
+          characters[Character.toUpperCase(letter)] = either;
+        }
+      }
+      return characters;
+    }
+
+    /** Marks the given character, returning whether it is not an ASCII character. */
+    private static boolean mark(boolean[] characters, char character) {
+      if (character >= characters.length) {
+        return true;
+      }
+      characters[character] = true;
+      return false;
+    }
+
+    private static boolean[] allCharacters() {
+      boolean[] characters = new boolean[128];
+      Arrays.fill(characters, true);
+      return characters;
+    }
+
+    Pattern merged() {
+      return merged;
+    }
+
+    Pattern earlier(int alternative) {
+      return earlier[alternative];
+    }
+
+    Pattern later(int alternative) {
+      return later[alternative];
+    }
+
+    boolean earlierMightStartWith(int alternative, char character) {
+      return character >= 128 || earlierStarts[alternative][character];
+    }
+
+    boolean laterMightStartWith(int alternative, char character) {
+      return character >= 128 || laterStarts[alternative][character];
+    }
+
+    boolean mightStartWith(int alternative, char character) {
+      return character >= 128 || starts[alternative][character];
+    }
+
+    boolean mightContain(int alternative, char character) {
+      return character >= 128 || characters[alternative][character];
+    }
+  }
+
+  /**
+   * Rewrites a pattern's capturing groups to non-capturing ones, so it can be merged with others.
+   */
+  private static final class PatternRewriter {
+
+    private final String source;
+    private final StringBuilder rewritten;
+    private int position;
+
+    PatternRewriter(String source) {
+      this.source = source;
+      this.rewritten = new StringBuilder(source.length() + 16);
+    }
+
+    /**
+     * @return the rewritten pattern, or null if it depends on the text around a match (anchors,
+     *     boundaries, lookarounds), or uses back references or comments
+     */
+    @Nullable String rewrite() {
+      int classDepth = 0;
+      while (position < source.length()) {
+        char character = source.charAt(position);
+        if (character == '\\') {
+          if (!escape(classDepth > 0)) {
+            return null;
+          }
+        } else if (character == '[') {
+          classDepth++;
+          openClass();
+        } else if (character == ']' && classDepth > 0) {
+          classDepth--;
+          copy(1);
+        } else if (classDepth > 0) {
+          copy(1);
+        } else if (character == '(') {
+          if (!group()) {
+            return null;
+          }
+        } else if (character == '^' || character == '$') {
+          return null;
+        } else {
+          copy(1);
+        }
+      }
+      return rewritten.toString();
+    }
+
+    private boolean escape(boolean inClass) {
+      if (position + 1 >= source.length()) {
+        return false;
+      }
+      char escaped = source.charAt(position + 1);
+      if (escaped == 'Q') {
+        int end = source.indexOf("\\E", position + 2);
+        copy(end < 0 ? source.length() - position : end + 2 - position);
+        return true;
+      }
+      if (escaped == 'c') {
+        copy(Math.min(3, source.length() - position));
+        return true;
+      }
+      if (!inClass && ("bBAzZGk".indexOf(escaped) >= 0 || (escaped >= '1' && escaped <= '9'))) {
+        return false;
+      }
+      copy(2);
+      return true;
+    }
+
+    private void openClass() {
+      copy(1);
+      if (position < source.length() && source.charAt(position) == '^') {
+        copy(1);
+      }
+      if (position < source.length() && source.charAt(position) == ']') {
+        copy(1);
+      }
+    }
+
+    private boolean group() {
+      if (!source.startsWith("(?", position)) {
+        rewritten.append("(?:");
+        position++;
+        return true;
+      }
+      if (source.startsWith("(?<", position)
+          && position + 3 < source.length()
+          && Character.isLetter(source.charAt(position + 3))) {
+        int end = source.indexOf('>', position);
+        if (end < 0) {
+          return false;
+        }
+        rewritten.append("(?:");
+        position = end + 1;
+        return true;
+      }
+      if (source.startsWith("(?=", position)
+          || source.startsWith("(?!", position)
+          || source.startsWith("(?<", position)) {
+        return false;
+      }
+      for (int index = position + 2; index < source.length(); index++) {
+        char flag = source.charAt(index);
+        if (flag == 'x') {
+          return false;
+        }
+        if (!Character.isLetter(flag) && flag != '-') {
+          break;
+        }
+      }
+      copy(2);
+      return true;
+    }
+
+    private void copy(int length) {
+      rewritten.append(source, position, position + length);
+      position += length;
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package org.approvej.scrub;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An Aho-Corasick automaton finding occurrences of a fixed set of non-empty literals.
+ *
+ * <p>The matches are the same a regex alternation of the quoted literals would find: the leftmost
+ * match wins, and of the literals starting at the same position the one given first. The text is
+ * scanned in time linear to its length, independent of the number of literals.
+ */
+@NullMarked
+final class LiteralAutomaton {
+
+  private static final int ROOT = 0;
+
+  private final char[][] keys;
+  private final int[][] targets;
+  private final int[] failures;
+  private final int[] depths;
+  private final int[] matchLengths;
+  private final int[] matchIndexes;
+
+  private LiteralAutomaton(
+      char[][] keys,
+      int[][] targets,
+      int[] failures,
+      int[] depths,
+      int[] matchLengths,
+      int[] matchIndexes) {
+    this.keys = keys;
+    this.targets = targets;
+    this.failures = failures;
+    this.depths = depths;
+    this.matchLengths = matchLengths;
+    this.matchIndexes = matchIndexes;
+  }
+
+  /**
+   * Builds an automaton for the given literals.
+   *
+   * @param literals the literals to find, none of them empty
+   * @return an automaton finding the given literals
+   * @throws IllegalArgumentException if one of the literals is empty
+   */
+  static LiteralAutomaton of(List<String> literals) {
+    List<Map<Character, Integer>> transitions = new ArrayList<>();
+    List<Integer> depths = new ArrayList<>();
+    List<Integer> matchIndexes = new ArrayList<>();
+    transitions.add(new TreeMap<>());
+    depths.add(0);
+    matchIndexes.add(-1);
+    for (int index = 0; index < literals.size(); index++) {
+      String literal = literals.get(index);
+      if (literal.isEmpty()) {
+        throw new IllegalArgumentException("Literals must not be empty");
+      }
+      int state = ROOT;
+      for (int i = 0; i < literal.length(); i++) {
+        Integer next = transitions.get(state).get(literal.charAt(i));
+        if (next == null) {
+          next = transitions.size();
+          transitions.get(state).put(literal.charAt(i), next);
+          transitions.add(new TreeMap<>());
+          depths.add(i + 1);
+          matchIndexes.add(-1);
+        }
+        state = next;
+      }
+      if (matchIndexes.get(state) < 0) {
+        matchIndexes.set(state, index);
+      }
+    }
+
+    int size = transitions.size();
+    char[][] keys = new char[size][];
+    int[][] targets = new int[size][];
+    for (int state = 0; state < size; state++) {
+      Map<Character, Integer> stateTransitions = transitions.get(state);
+      keys[state] = new char[stateTransitions.size()];
+      targets[state] = new int[stateTransitions.size()];
+      int i = 0;
+      for (Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+        keys[state][i] = transition.getKey();
+        targets[state][i] = transition.getValue();
+        i++;
+      }
+    }
+
+    int[] failures = new int[size];
+    int[] depthArray = depths.stream().mapToInt(Integer::intValue).toArray();
+    int[] matchLengths = new int[size];
+    int[] matchIndexArray = matchIndexes.stream().mapToInt(Integer::intValue).toArray();
+    Arrays.fill(matchLengths, -1);
+    Deque<Integer> queue = new ArrayDeque<>();
+    queue.add(ROOT);
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      if (matchIndexArray[state] >= 0) {
+        matchLengths[state] = depthArray[state];
+      } else if (state != ROOT) {
+        matchLengths[state] = matchLengths[failures[state]];
+        matchIndexArray[state] = matchIndexArray[failures[state]];
+      }
+      for (int i = 0; i < keys[state].length; i++) {
+        int target = targets[state][i];
+        failures[target] =
+            state == ROOT ? ROOT : next(keys, targets, failures, failures[state], keys[state][i]);
+        queue.add(target);
+      }
+    }
+
+    return new LiteralAutomaton(
+        keys, targets, failures, depthArray, matchLengths, matchIndexArray);
+  }
+
+  /**
+   * Finds the next match in the given text.
+   *
+   * @param text the text to search
+   * @param from the index to start searching at
+   * @return the next {@link Match} or null if there is none
+   */
+  @Nullable Match find(String text, int from) {
+    int state = ROOT;
+    int bestStart = -1;
+    int bestEnd = -1;
+    int bestIndex = -1;
+    for (int i = from; i < text.length(); i++) {
+      state = next(keys, targets, failures, state, text.charAt(i));
+      if (bestStart >= 0 && i - depths[state] >= bestStart) {
+        break;
+      }
+      if (matchLengths[state] >= 0) {
+        int start = i + 1 - matchLengths[state];
+        if (bestStart < 0
+            || start < bestStart
+            || (start == bestStart && matchIndexes[state] < bestIndex)) {
+          bestStart = start;
+          bestEnd = i + 1;
+          bestIndex = matchIndexes[state];
+        }
+      }
+    }
+    return bestStart < 0 ? null : new Match(bestStart, bestEnd);
+  }
+
+  private static int transition(char[][] keys, int[][] targets, int state, char character) {
+    int i = Arrays.binarySearch(keys[state], character);
+    return i < 0 ? -1 : targets[state][i];
+  }
+
+  private static int next(
+      char[][] keys, int[][] targets, int[] failures, int state, char character) {
+    while (true) {
+      int target = transition(keys, targets, state, character);
+      if (target >= 0) {
+        return target;
+      }
+      if (state == ROOT) {
+        return ROOT;
+      }
+      state = failures[state];
+    }
+  }
+}
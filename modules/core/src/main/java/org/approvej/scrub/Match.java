@@ -0,0 +1,12 @@
+package org.approvej.scrub;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The position of a string found by a {@link StringScrubber}.
+ *
+ * @param start the index of the first character of the match
+ * @param end the index after the last character of the match
+ */
+@NullMarked
+record Match(int start, int end) {}
@@ -0,0 +1,201 @@
+package org.approvej.scrub;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Scrubs large values by finding the matches of a {@link StringScrubber} in parallel.
+ *
+ * <p>The value is split into chunks at line boundaries. The matches starting in each chunk are
+ * found on the common {@link ForkJoinPool}. A sequential pass then joins the chunks: where a match
+ * reaches into the next chunk, that chunk is searched again from the end of the match until its
+ * matches line up with the ones found in parallel. Finally, the replacements are numbered in
+ * document order, so the result is the same as scrubbing the value on one thread.
+ */
+@NullMarked
+final class ParallelScrubbing {
+
+  /** The default length of values from which on the matches are found in parallel. */
+  static final int DEFAULT_THRESHOLD = 1 << 20;
+
+  private static final int MIN_CHUNK_LENGTH = 1 << 14;
+
+  private ParallelScrubbing() {}
+
+  /**
+   * Checks if a value of the given length should be searched in parallel.
+   *
+   * @param length the length of the value
+   * @param threshold the minimum length of values to be searched in parallel
+   * @return true if the value is long enough and the common {@link ForkJoinPool} has more than one
+   *     thread
+   */
+  static boolean appliesTo(int length, int threshold) {
+    return length >= threshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+  }
+
+  /** Finds matches in the scrubbed value. Instances are used by one thread only. */
+  interface MatchFinder {
+
+    /**
+     * Finds the leftmost match starting at or after the given index.
+     *
+     * @param from the index to start searching at
+     * @return the found {@link Match} or null if there is none
+     */
+    @Nullable Match find(int from);
+  }
+
+  /** Resolves references in a replacement. */
+  interface Expander {
+
+    /**
+     * Resolves references to the given match in the given replacement.
+     *
+     * @param value the scrubbed value
+     * @param match the replaced {@link Match}
+     * @param replacement the replacement for the match
+     * @return the resolved replacement or null if it cannot be resolved without the original
+     *     scrubber
+     */
+    @Nullable String expand(String value, Match match, String replacement);
+  }
+
+  /**
+   * Scrubs the given value.
+   *
+   * @param value the value to scrub
+   * @param finders creates a {@link MatchFinder} for the value for each thread
+   * @param replacement the {@link Replacement} for the matches
+   * @param expander resolves references in the replacements
+   * @return the scrubbed value or null if the {@link Expander} could not resolve a replacement
+   */
+  static @Nullable String scrub(
+      String value,
+      Supplier<MatchFinder> finders,
+      Replacement<String> replacement,
+      Expander expander) {
+    List<Match> matches = findAll(value, finders);
+    StringBuilder scrubbed = new StringBuilder(value.length());
+    Map<String, Integer> findings = new HashMap<>();
+    int position = 0;
+    for (Match match : matches) {
+      String group = value.substring(match.start(), match.end());
+      findings.putIfAbsent(group, findings.size() + 1);
+      String expanded =
+          expander.expand(
+              value, match, String.valueOf(replacement.apply(group, findings.get(group))));
+      if (expanded == null) {
+        return null;
+      }
+      scrubbed.append(value, position, match.start()).append(expanded);
+      position = match.end();
+    }
+    return scrubbed.append(value, position, value.length()).toString();
+  }
+
+  /**
+   * Finds all matches in the given value, the same a sequential search would find.
+   *
+   * @param value the value to search
+   * @param finders creates a {@link MatchFinder} for the value for each thread
+   * @return the found {@link Match}es in document order
+   */
+  static List<Match> findAll(String value, Supplier<MatchFinder> finders) {
+    return findAll(
+        value,
+        finders,
+        Math.max(
+            MIN_CHUNK_LENGTH, value.length() / (ForkJoinPool.getCommonPoolParallelism() * 4)));
+  }
+
+  /**
+   * Finds all matches in the given value, searching chunks of about the given length in parallel.
+   *
+   * @param value the value to search
+   * @param finders creates a {@link MatchFinder} for the value for each thread
+   * @param chunkLength the minimum length of a chunk
+   * @return the found {@link Match}es in document order
+   */
+  static List<Match> findAll(String value, Supplier<MatchFinder> finders, int chunkLength) {
+    int[] boundaries = chunkBoundaries(value, chunkLength);
+    List<List<Match>> chunks =
+        IntStream.range(0, boundaries.length - 1)
+            .parallel()
+            .mapToObj(
+                chunk ->
+                    findInChunk(value, finders.get(), boundaries[chunk], boundaries[chunk + 1]))
+            .toList();
+
+    MatchFinder finder = finders.get();
+    List<Match> matches = new ArrayList<>();
+    int next = 0;
+    for (int chunk = 0; chunk < chunks.size(); chunk++) {
+      List<Match> chunkMatches = chunks.get(chunk);
+      int i = 0;
+      if (next > boundaries[chunk]) {
+        while (true) {
+          Match match = next <= value.length() ? finder.find(next) : null;
+          if (match == null || match.start() >= boundaries[chunk + 1]) {
+            i = chunkMatches.size();
+            break;
+          }
+          while (i < chunkMatches.size() && chunkMatches.get(i).start() < match.start()) {
+            i++;
+          }
+          if (i < chunkMatches.size() && chunkMatches.get(i).equals(match)) {
+            break;
+          }
+          matches.add(match);
+          next = nextSearchIndex(match);
+        }
+      }
+      for (; i < chunkMatches.size(); i++) {
+        matches.add(chunkMatches.get(i));
+        next = nextSearchIndex(chunkMatches.get(i));
+      }
+    }
+    return matches;
+  }
+
+  private static List<Match> findInChunk(String value, MatchFinder finder, int start, int end) {
+    List<Match> matches = new ArrayList<>();
+    int next = start;
+    Match match;
+    while (next <= value.length()
+        && (match = finder.find(next)) != null
+        && match.start() < end) {
+      matches.add(match);
+      next = nextSearchIndex(match);
+    }
+    return matches;
+  }
+
+  /** Like a {@link java.util.regex.Matcher}, the search continues after an empty match. */
+  private static int nextSearchIndex(Match match) {
+    return match.end() == match.start() ? match.end() + 1 : match.end();
+  }
+
+  private static int[] chunkBoundaries(String value, int chunkLength) {
+    List<Integer> boundaries = new ArrayList<>();
+    boundaries.add(0);
+    int boundary = chunkLength;
+    while (boundary < value.length()) {
+      int lineEnd = value.indexOf('\n', boundary);
+      if (lineEnd < 0) {
+        break;
+      }
+      boundaries.add(lineEnd + 1);
+      boundary = lineEnd + 1 + chunkLength;
+    }
+    boundaries.add(value.length() + 1);
+    return boundaries.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
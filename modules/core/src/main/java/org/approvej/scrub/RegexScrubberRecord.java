@@ -6,14 +6,32 @@ import java.util.function.Function;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.approvej.scrub.ParallelScrubbing.MatchFinder;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
-record RegexScrubberRecord(Pattern pattern, Replacement<String> replacement)
+record RegexScrubberRecord(Pattern pattern, Replacement<String> replacement, int parallelThreshold)
     implements StringScrubber {
 
+  RegexScrubberRecord(Pattern pattern, Replacement<String> replacement) {
+    this(pattern, replacement, ParallelScrubbing.DEFAULT_THRESHOLD);
+  }
+
   @Override
   public String apply(String unscrubbedValue) {
+    if (ParallelScrubbing.appliesTo(unscrubbedValue.length(), parallelThreshold)
+        && !pattern.pattern().contains("\\G")) {
+      String scrubbed =
+          ParallelScrubbing.scrub(
+              unscrubbedValue,
+              () -> matchFinder(unscrubbedValue),
+              replacement,
+              (value, match, replaced) ->
+                  replaced.indexOf('$') < 0 && replaced.indexOf('\\') < 0 ? replaced : null);
+      if (scrubbed != null) {
+        return scrubbed;
+      }
+    }
     Matcher matcher = pattern.matcher(unscrubbedValue);
     Map<String, Integer> findings = new HashMap<>();
     Function<MatchResult, String> replacer =
@@ -27,6 +45,24 @@ record RegexScrubberRecord(Pattern pattern, Replacement<String> replacement)
 
   @Override
   public StringScrubber replacement(Replacement<String> replacement) {
-    return new RegexScrubberRecord(pattern, replacement);
+    return new RegexScrubberRecord(pattern, replacement, parallelThreshold);
+  }
+
+  @Override
+  public StringScrubber parallelThreshold(int length) {
+    return new RegexScrubberRecord(pattern, replacement, length);
+  }
+
+  /**
+   * Searches from any index like {@link Matcher#find()} would after a previous match ending there,
+   * seeing the whole value for lookarounds and boundaries.
+   */
+  private MatchFinder matchFinder(String value) {
+    Matcher matcher =
+        pattern.matcher(value).useTransparentBounds(true).useAnchoringBounds(false);
+    return from ->
+        matcher.region(from, value.length()).find()
+            ? new Match(matcher.start(), matcher.end())
+            : null;
   }
 }
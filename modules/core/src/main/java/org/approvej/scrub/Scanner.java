@@ -0,0 +1,238 @@
+package org.approvej.scrub;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Hand-written matchers for the patterns of the most common built-in scrubbers.
+ *
+ * <p>Each of them finds exactly the same strings as the regular expression of the respective
+ * {@link Scrubbers} factory method, but only uses simple character checks.
+ */
+@NullMarked
+enum Scanner {
+
+  /** Matches {@code [0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}}. */
+  UUID {
+    @Override
+    int matchEnd(String text, int start) {
+      return uuidEnd(text, start);
+    }
+
+    @Override
+    int find(String text, int from) {
+      for (int start = from; start < text.length(); start++) {
+        if (uuidEnd(text, start) >= 0) {
+          return start;
+        }
+      }
+      return -1;
+    }
+  },
+
+  /** Matches the dates of the date/time pattern {@code yyyy-MM-dd}. */
+  ISO_LOCAL_DATE {
+    @Override
+    int matchEnd(String text, int start) {
+      return dateEnd(text, start);
+    }
+
+    @Override
+    int find(String text, int from) {
+      for (int start = from; start < text.length(); start++) {
+        if (dateEnd(text, start) >= 0) {
+          return start;
+        }
+      }
+      return -1;
+    }
+  },
+
+  /** Matches the date/times of the date/time pattern {@code yyyy-MM-dd'T'HH:mm:ss[.S]XXX}. */
+  ISO_OFFSET_DATE_TIME {
+    @Override
+    int matchEnd(String text, int start) {
+      return offsetDateTimeEnd(text, start);
+    }
+
+    @Override
+    int find(String text, int from) {
+      for (int start = from; start < text.length(); start++) {
+        if (offsetDateTimeEnd(text, start) >= 0) {
+          return start;
+        }
+      }
+      return -1;
+    }
+  },
+
+  /** Matches the instants of the date/time pattern {@code uuuu-MM-dd'T'HH:mm:ss[.S]X}. */
+  ISO_INSTANT {
+    @Override
+    int matchEnd(String text, int start) {
+      return instantEnd(text, start);
+    }
+
+    @Override
+    int find(String text, int from) {
+      for (int start = from; start < text.length(); start++) {
+        if (instantEnd(text, start) >= 0) {
+          return start;
+        }
+      }
+      return -1;
+    }
+  };
+
+  /**
+   * Checks if a match starts at the given index of the given text.
+   *
+   * @param text the text to check
+   * @param start the index of the text where the match should start
+   * @return the index after the match or -1 if there is no match starting at the given index
+   */
+  abstract int matchEnd(String text, int start);
+
+  /**
+   * Finds the next match in the given text.
+   *
+   * @param text the text to search
+   * @param from the index to start searching at
+   * @return the index where the next match starts or -1 if there is none
+   */
+  abstract int find(String text, int from);
+
+  private static int uuidEnd(String text, int start) {
+    int end = start + 36;
+    if (end > text.length()
+        || text.charAt(start + 8) != '-'
+        || text.charAt(start + 13) != '-'
+        || text.charAt(start + 18) != '-'
+        || text.charAt(start + 23) != '-') {
+      return -1;
+    }
+    for (int i = start; i < end; i++) {
+      if (i != start + 8 && i != start + 13 && i != start + 18 && i != start + 23) {
+        char c = text.charAt(i);
+        if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+          return -1;
+        }
+      }
+    }
+    return end;
+  }
+
+  private static int offsetDateTimeEnd(String text, int start) {
+    int end = dateTimeEnd(text, start);
+    if (end < 0 || end >= text.length()) {
+      return -1;
+    }
+    if (text.charAt(end) == 'Z') {
+      return end + 1;
+    }
+    return isSign(text, end)
+            && isDigit(text, end + 1)
+            && isDigit(text, end + 2)
+            && is(text, end + 3, ':')
+            && isBetween(text, end + 4, '0', '5')
+            && isDigit(text, end + 5)
+        ? end + 6
+        : -1;
+  }
+
+  private static int instantEnd(String text, int start) {
+    int end = dateTimeEnd(text, start);
+    if (end < 0 || end >= text.length()) {
+      return -1;
+    }
+    if (text.charAt(end) == 'Z') {
+      return end + 1;
+    }
+    if (!isSign(text, end) || !isDigit(text, end + 1) || !isBetween(text, end + 2, '1', '9')) {
+      return -1;
+    }
+    return isBetween(text, end + 3, '0', '5') && isDigit(text, end + 4) ? end + 5 : end + 3;
+  }
+
+  /**
+   * Matches {@code -?[0-9]{4}-(1[0-2]|0[1-9])-(3[0-1]|[1-2][0-9]|0[1-9])}.
+   *
+   * @return the index after the date or -1
+   */
+  private static int dateEnd(String text, int start) {
+    int i = is(text, start, '-') ? start + 1 : start;
+    if (!isDigit(text, i)
+        || !isDigit(text, i + 1)
+        || !isDigit(text, i + 2)
+        || !isDigit(text, i + 3)
+        || !is(text, i + 4, '-')
+        || !is(text, i + 7, '-')) {
+      return -1;
+    }
+    boolean validMonth =
+        is(text, i + 5, '1')
+            ? isBetween(text, i + 6, '0', '2')
+            : is(text, i + 5, '0') && isBetween(text, i + 6, '1', '9');
+    if (!validMonth || i + 9 >= text.length()) {
+      return -1;
+    }
+    boolean validDay =
+        switch (text.charAt(i + 8)) {
+          case '3' -> isBetween(text, i + 9, '0', '1');
+          case '1', '2' -> isDigit(text, i + 9);
+          case '0' -> isBetween(text, i + 9, '1', '9');
+          default -> false;
+        };
+    return validDay ? i + 10 : -1;
+  }
+
+  /**
+   * Matches the date, followed by {@code T(2[0-3]|[0-1][0-9]):[0-5][0-9]:[0-5][0-9]} and an
+   * optional {@code (\.[0-9]{1,9})}.
+   *
+   * @return the index after the date/time or -1
+   */
+  private static int dateTimeEnd(String text, int start) {
+    int i = dateEnd(text, start);
+    if (i < 0
+        || !is(text, i, 'T')
+        || !((isBetween(text, i + 1, '0', '1') && isDigit(text, i + 2))
+            || (is(text, i + 1, '2') && isBetween(text, i + 2, '0', '3')))
+        || !is(text, i + 3, ':')
+        || !isBetween(text, i + 4, '0', '5')
+        || !isDigit(text, i + 5)
+        || !is(text, i + 6, ':')
+        || !isBetween(text, i + 7, '0', '5')
+        || !isDigit(text, i + 8)) {
+      return -1;
+    }
+    int end = i + 9;
+    if (is(text, end, '.') && isDigit(text, end + 1)) {
+      int fractionEnd = end + 2;
+      while (fractionEnd < end + 10 && isDigit(text, fractionEnd)) {
+        fractionEnd++;
+      }
+      return fractionEnd;
+    }
+    return end;
+  }
+
+  private static boolean is(String text, int index, char expected) {
+    return index < text.length() && text.charAt(index) == expected;
+  }
+
+  private static boolean isSign(String text, int index) {
+    return is(text, index, '+') || is(text, index, '-');
+  }
+
+  private static boolean isDigit(String text, int index) {
+    return isBetween(text, index, '0', '9');
+  }
+
+  private static boolean isBetween(String text, int index, char from, char to) {
+    if (index >= text.length()) {
+      return false;
+    }
+    char c = text.charAt(index);
+    return c >= from && c <= to;
+  }
+}
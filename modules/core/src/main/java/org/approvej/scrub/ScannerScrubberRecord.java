@@ -0,0 +1,86 @@
+package org.approvej.scrub;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link StringScrubber} finding its matches with a {@link Scanner} instead of a regex.
+ *
+ * <p>The {@link #pattern()} is only used to resolve group references in replacements, so the
+ * result is the same as for a {@link RegexScrubberRecord} with that {@link Pattern}.
+ */
+@NullMarked
+record ScannerScrubberRecord(
+    Scanner scanner, Pattern pattern, Replacement<String> replacement, int parallelThreshold)
+    implements StringScrubber {
+
+  ScannerScrubberRecord(Scanner scanner, Pattern pattern, Replacement<String> replacement) {
+    this(scanner, pattern, replacement, ParallelScrubbing.DEFAULT_THRESHOLD);
+  }
+
+  @Override
+  public String apply(String unscrubbedValue) {
+    if (ParallelScrubbing.appliesTo(unscrubbedValue.length(), parallelThreshold)) {
+      return Objects.requireNonNull(
+          ParallelScrubbing.scrub(
+              unscrubbedValue,
+              () -> from -> find(unscrubbedValue, from),
+              replacement,
+              (value, match, replaced) -> expand(value, match.start(), match.end(), replaced)));
+    }
+    int start = scanner.find(unscrubbedValue, 0);
+    if (start < 0) {
+      return unscrubbedValue;
+    }
+    StringBuilder scrubbed = new StringBuilder(unscrubbedValue.length());
+    Map<String, Integer> findings = new HashMap<>();
+    int position = 0;
+    while (start >= 0) {
+      int end = scanner.matchEnd(unscrubbedValue, start);
+      String match = unscrubbedValue.substring(start, end);
+      findings.putIfAbsent(match, findings.size() + 1);
+      String replaced = String.valueOf(replacement.apply(match, findings.get(match)));
+      scrubbed
+          .append(unscrubbedValue, position, start)
+          .append(expand(unscrubbedValue, start, end, replaced));
+      position = end;
+      start = scanner.find(unscrubbedValue, end);
+    }
+    return scrubbed.append(unscrubbedValue, position, unscrubbedValue.length()).toString();
+  }
+
+  @Override
+  public StringScrubber replacement(Replacement<String> replacement) {
+    return new ScannerScrubberRecord(scanner, pattern, replacement, parallelThreshold);
+  }
+
+  @Override
+  public StringScrubber parallelThreshold(int length) {
+    return new ScannerScrubberRecord(scanner, pattern, replacement, length);
+  }
+
+  private @Nullable Match find(String value, int from) {
+    int start = scanner.find(value, from);
+    return start < 0 ? null : new Match(start, scanner.matchEnd(value, start));
+  }
+
+  /**
+   * Resolves group references and escapes in the given replacement the same way the {@link
+   * RegexScrubberRecord} does.
+   */
+  private String expand(String value, int start, int end, String replacement) {
+    if (replacement.indexOf('$') < 0 && replacement.indexOf('\\') < 0) {
+      return replacement;
+    }
+    Matcher matcher = pattern.matcher(value.substring(start, end));
+    matcher.matches();
+    StringBuilder expanded = new StringBuilder();
+    matcher.appendReplacement(expanded, replacement);
+    return expanded.toString();
+  }
+}
@@ -5,7 +5,9 @@ import static org.approvej.scrub.Replacements.numbered;
 
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import org.jspecify.annotations.NullMarked;
@@ -25,17 +27,22 @@ public class Scrubbers {
    * <p>This type of {@link Scrubber} is particularly useful if dynamic parts of the value are
    * known. E.g. if they were part of the import parameters of the method under test.
    *
+   * <p>The strings are found in a single pass over the value, which takes linear time regardless
+   * of how many strings are given. Where several strings match at the same position, the one given
+   * first is scrubbed.
+   *
    * @param first the first {@link String} that should be scrubbed
    * @param more more {@link String}s that should be scrubbed
    * @return a {@link StringScrubber} for all given strings
    */
   public static StringScrubber strings(String first, String... more) {
-    return new RegexScrubberRecord(
-        Pattern.compile(
-            Stream.concat(Stream.of(first), Arrays.stream(more))
-                .map(Pattern::quote)
-                .collect(joining("|", "(", ")"))),
-        numbered());
+    List<String> strings = Stream.concat(Stream.of(first), Arrays.stream(more)).toList();
+    if (strings.contains("")) {
+      return new RegexScrubberRecord(
+          Pattern.compile(strings.stream().map(Pattern::quote).collect(joining("|", "(", ")"))),
+          numbered());
+    }
+    return new StringsScrubberRecord(LiteralAutomaton.of(strings), numbered());
   }
 
   /**
@@ -93,7 +100,8 @@ public class Scrubbers {
    * @see DateTimeFormatter#ISO_LOCAL_DATE
    */
   public static DateTimeScrubber isoLocalDates() {
-    return dateTimeFormat("yyyy-MM-dd").replacement(numbered("isoLocalDate"));
+    return new DateTimeScrubberRecord(
+        "yyyy-MM-dd", Scanner.ISO_LOCAL_DATE, numbered("isoLocalDate"));
   }
 
   /**
@@ -169,8 +177,10 @@ public class Scrubbers {
    * @see DateTimeFormatter#ISO_OFFSET_DATE_TIME
    */
   public static DateTimeScrubber isoOffsetDateTimes() {
-    return dateTimeFormat("yyyy-MM-dd'T'HH:mm:ss[.S]XXX")
-        .replacement(numbered("isoOffsetDateTime"));
+    return new DateTimeScrubberRecord(
+        "yyyy-MM-dd'T'HH:mm:ss[.S]XXX",
+        Scanner.ISO_OFFSET_DATE_TIME,
+        numbered("isoOffsetDateTime"));
   }
 
   /**
@@ -259,7 +269,8 @@ public class Scrubbers {
    * @see DateTimeFormatter#ISO_INSTANT
    */
   public static DateTimeScrubber isoInstants() {
-    return dateTimeFormat("uuuu-MM-dd'T'HH:mm:ss[.S]X").replacement(numbered("isoInstant"));
+    return new DateTimeScrubberRecord(
+        "uuuu-MM-dd'T'HH:mm:ss[.S]X", Scanner.ISO_INSTANT, numbered("isoInstant"));
   }
 
   /**
@@ -291,24 +302,51 @@ public class Scrubbers {
    * @return a {@link StringScrubber} that replaces all UUIDs
    */
   public static StringScrubber uuids() {
-    return stringsMatching(UUID_PATTERN).replacement(numbered("uuid"));
+    return new ScannerScrubberRecord(Scanner.UUID, UUID_PATTERN, numbered("uuid"));
+  }
+
+  /**
+   * Creates a {@link UnaryOperator} that applies all the given scrubbers in the given order.
+   *
+   * <p>Consecutive regex based {@link StringScrubber}s and {@link DateTimeScrubber}s (e.g. {@link
+   * #stringsMatching(Pattern)}, {@link #dateTimeFormat(String)}, or {@link #isoDateTimes()}) are
+   * merged, so the value is scanned once for all of them, and only the text around each match is
+   * checked again. If the merged scan could give a different result than applying the scrubbers
+   * one after another, e.g. because a later scrubber matches into the replacement of an earlier
+   * one, they are applied one after another instead.
+   *
+   * @param scrubbers the scrubbers to apply
+   * @return a {@link UnaryOperator} applying all the given scrubbers
+   */
+  public static UnaryOperator<String> fused(List<? extends UnaryOperator<String>> scrubbers) {
+    return new FusedScrubber(scrubbers);
   }
 
   /**
    * Creates a {@link Scrubber} to replace the value of the named field with another value, null by
    * default.
    *
+   * <p>Nested fields can be addressed by a path of field names separated by dots, e.g. {@code
+   * "order.customer.id"}. A field name suffixed with {@code [*]} applies the rest of the path to
+   * each element of an array, an {@link Iterable} or to each value of a {@link java.util.Map}, e.g.
+   * {@code "order.items[*].id"}. The path is parsed once and the accessors for the fields are
+   * cached per class.
+   *
    * @param type the class, which declares the field to be scrubbed
-   * @param fieldName the name of the field to be scrubbed
+   * @param fieldName the name of the field to be scrubbed or a path to a nested field
    * @param <T> the type of the scrubbed object
    * @return a new {@link FieldScrubber} for the given field
+   * @throws IllegalArgumentException if the path is not valid
    */
   public static <T> FieldScrubber<T> field(Class<T> type, String fieldName) {
+    FieldPath path = FieldPath.parse(fieldName);
+    String rootFieldName = path.segments().getFirst().name();
     try {
-      return new FieldScrubberRecord<>(type.getDeclaredField(fieldName), (match, count) -> null);
-    } catch (NoSuchFieldException e) {
+      FieldAccess.of(type, rootFieldName);
+    } catch (ReflectiveOperationException e) {
       throw new ScrubbingError(
-          "Cannot create FieldScrubber for field %s on %s".formatted(fieldName, type), e);
+          "Cannot create FieldScrubber for field %s on %s".formatted(rootFieldName, type), e);
     }
+    return new FieldScrubberRecord<>(type, path, (match, count) -> null);
   }
 }
@@ -0,0 +1,278 @@
+package org.approvej.scrub;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Creates shallow copies of objects with one field or the elements replaced, so they can be
+ * scrubbed without modifying the original.
+ *
+ * <p>Records are created via their canonical constructor. Other objects are created via their
+ * no-arg constructor and all their fields are copied, or cloned if they are {@link Cloneable} and
+ * override {@link Object#clone()}. Arrays are copied with the same component type. Maps and
+ * collections are copied to the same class if it has a no-arg constructor, sorted ones to {@link
+ * TreeMap}s and {@link TreeSet}s, and all others to {@link LinkedHashMap}s, {@link LinkedHashSet}s
+ * and {@link ArrayList}s.
+ */
+@NullMarked
+final class ShallowCopy {
+
+  private static final MethodType CONSTRUCTOR_TYPE =
+      MethodType.methodType(Object.class, Object[].class);
+
+  private static final ClassValue<Optional<MethodHandle>> NO_ARG_CONSTRUCTORS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+          try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            if (!constructor.trySetAccessible()) { // NOSONAR
+              return Optional.empty();
+            }
+            return Optional.of(
+                MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, 0)
+                    .asType(CONSTRUCTOR_TYPE));
+          } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+          }
+        }
+      };
+
+  private static final ClassValue<Optional<Method>> CLONE_METHODS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+          if (!Cloneable.class.isAssignableFrom(type)) {
+            return Optional.empty();
+          }
+          for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+              Method clone = current.getDeclaredMethod("clone");
+              return clone.trySetAccessible() ? Optional.of(clone) : Optional.empty(); // NOSONAR
+            } catch (NoSuchMethodException e) {
+              // continue with the superclass
+            }
+          }
+          return Optional.empty();
+        }
+      };
+
+  private static final ClassValue<MethodHandle> CANONICAL_CONSTRUCTORS =
+      new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+          RecordComponent[] components = type.getRecordComponents();
+          try {
+            Constructor<?> constructor =
+                type.getDeclaredConstructor(
+                    Arrays.stream(components)
+                        .map(RecordComponent::getType)
+                        .toArray(Class<?>[]::new));
+            constructor.setAccessible(true); // NOSONAR
+            return MethodHandles.lookup()
+                .unreflectConstructor(constructor)
+                .asSpreader(Object[].class, components.length)
+                .asType(CONSTRUCTOR_TYPE);
+          } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+          }
+        }
+      };
+
+  private ShallowCopy() {}
+
+  /**
+   * Copies the given object with the given field set to the given value.
+   *
+   * @param target the object to copy
+   * @param access the {@link FieldAccess} for the field to set
+   * @param value the value of the field in the copy
+   * @return the copy
+   * @throws ReflectiveOperationException if the object cannot be copied
+   * @throws IllegalArgumentException if the object is neither a record, nor has a no-arg
+   *     constructor, nor can be cloned
+   */
+  static Object withField(Object target, FieldAccess access, @Nullable Object value)
+      throws ReflectiveOperationException {
+    Class<?> type = target.getClass();
+    if (type.isRecord()) {
+      RecordComponent[] components = type.getRecordComponents();
+      @Nullable Object[] arguments = new Object[components.length];
+      for (int i = 0; i < components.length; i++) {
+        String name = components[i].getName();
+        arguments[i] =
+            name.equals(access.name()) ? value : FieldAccess.of(type, name).get(target);
+      }
+      return construct(CANONICAL_CONSTRUCTORS.get(type), arguments);
+    }
+    Optional<MethodHandle> constructor = NO_ARG_CONSTRUCTORS.get(type);
+    if (constructor.isPresent()) {
+      Object copy = construct(constructor.get(), new Object[0]);
+      for (FieldAccess field : FieldAccess.allOf(type)) {
+        field.set(copy, field == access ? value : field.get(target));
+      }
+      return copy;
+    }
+    Optional<Method> clone = CLONE_METHODS.get(type);
+    if (clone.isPresent()) {
+      Object copy = clone.get().invoke(target);
+      access.set(copy, value);
+      return copy;
+    }
+    throw new IllegalArgumentException(
+        ("Cannot copy %s, copy-on-write needs records, classes with a no-arg constructor, or"
+                + " Cloneable classes overriding clone()")
+            .formatted(type.getName()));
+  }
+
+  /**
+   * Checks that the copy of the given container created by {@link #withElements(Object, List)} can
+   * be assigned to a field of the given type.
+   *
+   * @param container the array, {@link Map} or {@link Iterable} to copy
+   * @param type the declared type of the field containing the container
+   * @throws IllegalArgumentException if the copy is not an instance of the given type
+   */
+  static void checkCopyable(Object container, Class<?> type) {
+    Class<?> copyType = copyType(container);
+    if (!type.isAssignableFrom(copyType)) {
+      throw new IllegalArgumentException(
+          "Cannot copy %s to a %s, it can only be copied to a %s"
+              .formatted(container.getClass().getName(), type.getName(), copyType.getName()));
+    }
+  }
+
+  /**
+   * Copies the given array, {@link Map} or {@link Iterable} with the given elements.
+   *
+   * @param container the array, {@link Map} or {@link Iterable} to copy
+   * @param elements the elements of the copy, or the values for the keys of a {@link Map}
+   * @return the copy
+   */
+  static Object withElements(Object container, List<@Nullable Object> elements) {
+    Class<?> type = copyType(container);
+    if (type.isArray()) {
+      Object copy = Array.newInstance(type.getComponentType(), elements.size());
+      for (int i = 0; i < elements.size(); i++) {
+        Array.set(copy, i, elements.get(i));
+      }
+      return copy;
+    }
+    if (container instanceof Map<?, ?> map) {
+      Map<@Nullable Object, @Nullable Object> copy = uncheckedCast(newContainer(container, type));
+      Iterator<@Nullable Object> values = elements.iterator();
+      for (Object key : map.keySet()) {
+        copy.put(key, values.next());
+      }
+      return copy;
+    }
+    Collection<@Nullable Object> copy = uncheckedCast(newContainer(container, type));
+    copy.addAll(elements);
+    return copy;
+  }
+
+  /**
+   * Lists the elements of the given array, {@link Map} or {@link Iterable}.
+   *
+   * @param container the array, {@link Map} or {@link Iterable}
+   * @return the elements, or the values of a {@link Map}
+   * @throws IllegalArgumentException if the container is neither an array, a {@link Map}, nor an
+   *     {@link Iterable}
+   */
+  static List<@Nullable Object> elementsOf(Object container) {
+    List<@Nullable Object> elements = new ArrayList<>();
+    if (container.getClass().isArray()) {
+      for (int i = 0; i < Array.getLength(container); i++) {
+        elements.add(Array.get(container, i));
+      }
+    } else if (container instanceof Map<?, ?> map) {
+      elements.addAll(map.values());
+    } else if (container instanceof Iterable<?> iterable) {
+      iterable.forEach(elements::add);
+    } else {
+      throw new IllegalArgumentException(
+          "Cannot iterate over %s".formatted(container.getClass().getName()));
+    }
+    return elements;
+  }
+
+  private static Class<?> copyType(Object container) {
+    Class<?> type = container.getClass();
+    if (type.isArray()) {
+      return type;
+    }
+    if (container instanceof SortedMap<?, ?>) {
+      return TreeMap.class;
+    }
+    if (container instanceof SortedSet<?>) {
+      return TreeSet.class;
+    }
+    if ((container instanceof Map<?, ?> || container instanceof Collection<?>)
+        && NO_ARG_CONSTRUCTORS.get(type).isPresent()) {
+      return type;
+    }
+    if (container instanceof Map<?, ?>) {
+      return LinkedHashMap.class;
+    }
+    if (container instanceof Set<?>) {
+      return LinkedHashSet.class;
+    }
+    return ArrayList.class;
+  }
+
+  private static Object newContainer(Object container, Class<?> type) {
+    if (container instanceof SortedMap<?, ?> sortedMap) {
+      return new TreeMap<>(comparator(sortedMap.comparator()));
+    }
+    if (container instanceof SortedSet<?> sortedSet) {
+      return new TreeSet<>(comparator(sortedSet.comparator()));
+    }
+    return construct(NO_ARG_CONSTRUCTORS.get(type).orElseThrow(), new Object[0]);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <C> C uncheckedCast(Object container) {
+    return (C) container;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static @Nullable Comparator<@Nullable Object> comparator(
+      @Nullable Comparator<?> comparator) {
+    return (Comparator<@Nullable Object>) comparator;
+  }
+
+  private static Object construct(MethodHandle constructor, @Nullable Object[] arguments) {
+    try {
+      return (Object) constructor.invokeExact(arguments);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+}
@@ -6,4 +6,23 @@ import java.util.function.Function;
  * Scrubs a {@link String} by replacing all occurrences of a pattern by applying the given
  * replacement {@link Function} for each finding.
  */
-public interface StringScrubber extends Scrubber<StringScrubber, String, String> {}
+public interface StringScrubber extends Scrubber<StringScrubber, String, String> {
+
+  /**
+   * Creates a copy of this that searches values of at least the given length in parallel.
+   *
+   * <p>The value is split at line boundaries and searched on the common {@link
+   * java.util.concurrent.ForkJoinPool}. The findings are still numbered in the order of their
+   * occurrence, so the result is the same as with a sequential search. By default, values of one
+   * million characters and more are searched in parallel.
+   *
+   * <p>Implementations that cannot search in parallel return this.
+   *
+   * @param length the minimum length of values to be searched in parallel, {@link
+   *     Integer#MAX_VALUE} to never search in parallel
+   * @return a copy of this searching values of at least the given length in parallel
+   */
+  default StringScrubber parallelThreshold(int length) {
+    return this;
+  }
+}
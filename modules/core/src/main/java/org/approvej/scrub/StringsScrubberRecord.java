@@ -0,0 +1,70 @@
+package org.approvej.scrub;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+record StringsScrubberRecord(
+    LiteralAutomaton automaton, Replacement<String> replacement, int parallelThreshold)
+    implements StringScrubber {
+
+  StringsScrubberRecord(LiteralAutomaton automaton, Replacement<String> replacement) {
+    this(automaton, replacement, ParallelScrubbing.DEFAULT_THRESHOLD);
+  }
+
+  @Override
+  public String apply(String unscrubbedValue) {
+    if (ParallelScrubbing.appliesTo(unscrubbedValue.length(), parallelThreshold)) {
+      return Objects.requireNonNull(
+          ParallelScrubbing.scrub(
+              unscrubbedValue,
+              () -> from -> automaton.find(unscrubbedValue, from),
+              replacement,
+              (value, match, replaced) ->
+                  expand(value.substring(match.start(), match.end()), replaced)));
+    }
+    Match match = automaton.find(unscrubbedValue, 0);
+    if (match == null) {
+      return unscrubbedValue;
+    }
+    StringBuilder scrubbed = new StringBuilder(unscrubbedValue.length());
+    Map<String, Integer> findings = new HashMap<>();
+    int position = 0;
+    while (match != null) {
+      String group = unscrubbedValue.substring(match.start(), match.end());
+      findings.putIfAbsent(group, findings.size() + 1);
+      scrubbed
+          .append(unscrubbedValue, position, match.start())
+          .append(expand(group, String.valueOf(replacement.apply(group, findings.get(group)))));
+      position = match.end();
+      match = automaton.find(unscrubbedValue, position);
+    }
+    return scrubbed.append(unscrubbedValue, position, unscrubbedValue.length()).toString();
+  }
+
+  @Override
+  public StringScrubber replacement(Replacement<String> replacement) {
+    return new StringsScrubberRecord(automaton, replacement, parallelThreshold);
+  }
+
+  @Override
+  public StringScrubber parallelThreshold(int length) {
+    return new StringsScrubberRecord(automaton, replacement, length);
+  }
+
+  /**
+   * Resolves group references and escapes in the given replacement the same way the {@link
+   * RegexScrubberRecord} of a quoted literal alternation does.
+   */
+  private static String expand(String group, String replacement) {
+    if (replacement.indexOf('$') < 0 && replacement.indexOf('\\') < 0) {
+      return replacement;
+    }
+    return Pattern.compile("(" + Pattern.quote(group) + ")")
+        .matcher(group)
+        .replaceFirst(replacement);
+  }
+}
@@ -2,6 +2,7 @@ package org.approvej;
 
 import static java.nio.file.Files.writeString;
 import static org.approvej.ApprovalBuilder.approve;
+import static org.approvej.approve.Approvers.file;
 import static org.approvej.approve.Approvers.value;
 import static org.approvej.approve.PathProviders.approvedPath;
 import static org.approvej.approve.PathProviders.nextToTest;
@@ -9,6 +10,7 @@ import static org.approvej.print.MultiLineStringPrintFormat.multiLineString;
 import static org.approvej.review.Reviewers.automatic;
 import static org.approvej.scrub.Replacements.relativeDate;
 import static org.approvej.scrub.Scrubbers.dateTimeFormat;
+import static org.approvej.scrub.Scrubbers.stringsMatching;
 import static org.approvej.scrub.Scrubbers.uuids;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
@@ -18,6 +20,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.approvej.approve.PathProvider;
 import org.junit.jupiter.api.Test;
@@ -50,6 +53,24 @@ class ApprovalBuilderTest {
         .byValue("id=000000-0000-0000-00000001\nname=Micha\nbirthday=1982-02-19");
   }
 
+  @Test
+  void printedBy_applied_on_conclusion() {
+    AtomicInteger printed = new AtomicInteger();
+    ApprovalBuilder<String> builder =
+        approve(new Person("000000-0000-0000-00000001", "Micha", LocalDate.of(1982, 2, 19)))
+            .printedBy(
+                person -> {
+                  printed.incrementAndGet();
+                  return person.name;
+                });
+
+    assertThat(printed).hasValue(0);
+
+    builder.byValue("Micha");
+
+    assertThat(printed).hasValue(1);
+  }
+
   @Test
   void printedAs() {
     approve(new Person("000000-0000-0000-00000001", "Micha", LocalDate.of(1982, 2, 19)))
@@ -87,6 +108,16 @@ class ApprovalBuilderTest {
         .byValue(previouslyApprovedScrubbed);
   }
 
+  @Test
+  void scrubbedOf_later_scrubber_running_into_replacement() {
+    approve("{\"id\": \"A-1234\", \"other\": \"B-99\"}")
+        .scrubbedOf(
+            stringsMatching("[A-Z]-\\d+")
+                .replacement((match, number) -> "<id %d>".formatted(number)))
+        .scrubbedOf(stringsMatching("\"id\": \"<id").replacement((match, number) -> "\"<primary"))
+        .byValue("{\"<primary 1>\", \"other\": \"<id 2>\"}");
+  }
+
   @Test
   void scrubbedOf_pre_and_post_printed() {
     approve(new Person("Micha", LocalDate.of(1982, 2, 19)))
@@ -124,13 +155,42 @@ class ApprovalBuilderTest {
         .isThrownBy(() -> approve(received).byValue(previouslyApproved))
         .withMessage(
             """
-            Approval mismatch:
-            expected:
-              "%s"
-             but was:
-              "%s"
+            Approval mismatch (- approved, + received):
+            @@ -1 +1 @@
+            -%s
+            +%s
+            """
+                .formatted(previouslyApproved, received));
+  }
+
+  @Test
+  void by_file_mismatch() throws IOException {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("by_file_mismatch-approved.txt"));
+    writeString(pathProvider.approvedPath(), "Approved text\n");
+
+    assertThatExceptionOfType(ApprovalError.class)
+        .isThrownBy(() -> approve("Received text").by(file(pathProvider)))
+        .withMessage(
+            """
+            Approval mismatch (- approved, + received):
+            @@ -1 +1 @@
+            -Approved text
+            +Received text
+            """);
+  }
+
+  @Test
+  void by_file_missing_approval() {
+    PathProvider pathProvider =
+        approvedPath(tempDir.resolve("by_file_missing_approval-approved.txt"));
+
+    assertThatExceptionOfType(ApprovalError.class)
+        .isThrownBy(() -> approve("Received text").by(file(pathProvider)))
+        .withMessage(
             """
-                .formatted(previouslyApproved.indent(2).trim(), received.indent(2).trim()));
+            Missing approval for received
+              "Received text"
+            """);
   }
 
   @Test
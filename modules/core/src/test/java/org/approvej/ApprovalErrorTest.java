@@ -2,6 +2,13 @@ package org.approvej;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class ApprovalErrorTest {
@@ -15,18 +22,44 @@ class ApprovalErrorTest {
     assertThat(approvalError.getMessage())
         .isEqualTo(
             """
-            Approval mismatch:
-            expected:
-              "something
-                  previously
-              approved"
-             but was:
-              "something
-                  actually
-              received"
+            Approval mismatch (- approved, + received):
+            @@ -1,3 +1,3 @@
+             something
+            -    previously
+            -approved
+            +    actually
+            +received
+            """);
+  }
+
+  @Test
+  void message_contextLines() {
+    String previouslyApproved =
+        IntStream.rangeClosed(1, 20)
+            .mapToObj("line %d"::formatted)
+            .collect(Collectors.joining("\n"));
+    String received = previouslyApproved.replace("line 10", "line ten");
+
+    assertThat(new ApprovalError(previouslyApproved, received, 1).getMessage())
+        .isEqualTo(
+            """
+            Approval mismatch (- approved, + received):
+            @@ -9,3 +9,3 @@
+             line 9
+            -line 10
+            +line ten
+             line 11
             """);
   }
 
+  @Test
+  void message_line_breaks_only() {
+    ApprovalError approvalError = new ApprovalError("some\ntext\n", "some\r\ntext");
+
+    assertThat(approvalError.getMessage())
+        .isEqualTo("Approval mismatch: received and approved only differ in line breaks\n");
+  }
+
   @Test
   void message_previouslyApproved_empty() {
     ApprovalError approvalError = new ApprovalError("", "something\n    actually\nreceived");
@@ -40,4 +73,30 @@ class ApprovalErrorTest {
               received"
             """);
   }
+
+  @Test
+  void message_previouslyApproved_empty_long() {
+    String received =
+        IntStream.rangeClosed(1, 1005)
+            .mapToObj("line %d"::formatted)
+            .collect(Collectors.joining("\n"));
+
+    assertThat(new ApprovalError("", received).getMessage())
+        .endsWith("  line 1000\"\n[5 more lines]\n");
+  }
+
+  @Test
+  void serialization() throws IOException, ClassNotFoundException {
+    ApprovalError approvalError = new ApprovalError("approved", "received");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(approvalError);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertThat(((ApprovalError) in.readObject()).getMessage())
+          .isEqualTo(approvalError.getMessage());
+    }
+  }
 }
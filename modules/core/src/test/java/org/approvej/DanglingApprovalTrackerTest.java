@@ -46,6 +46,28 @@ class DanglingApprovalTrackerTest {
     assertThatNoException().isThrownBy(DanglingApprovalTracker::checkAndReset);
   }
 
+  @Test
+  void checkAndReset_concluded_twice() {
+    ApprovalBuilder<String> concluded = approve("Some text");
+    concluded.byValue("Some text");
+    approve("Other text");
+    concluded.byValue("Some text");
+
+    assertThatExceptionOfType(DanglingApprovalError.class)
+        .isThrownBy(DanglingApprovalTracker::checkAndReset)
+        .withMessageContaining("Dangling approval detected");
+  }
+
+  @Test
+  void checkAndReset_concluded_on_other_thread() throws InterruptedException {
+    ApprovalBuilder<String> builder = approve("Some text");
+    Thread thread = new Thread(() -> builder.byValue("Some text"));
+    thread.start();
+    thread.join();
+
+    assertThatNoException().isThrownBy(DanglingApprovalTracker::checkAndReset);
+  }
+
   @Test
   void reset() {
     approve("Some text");
@@ -0,0 +1,110 @@
+package org.approvej;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.writeString;
+import static org.approvej.LinesApprovalBuilder.approve;
+import static org.approvej.LinesApprovalBuilder.approveLines;
+import static org.approvej.approve.PathProviders.approvedPath;
+import static org.approvej.review.Reviewers.automatic;
+import static org.approvej.scrub.Scrubbers.uuids;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.approvej.approve.PathProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@ApprovalTest
+class LinesApprovalBuilderTest {
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void approveLines_stream() throws IOException {
+    Path path = writeString(tempDir.resolve("approveLines_stream-approved.txt"), "first\nsecond\n");
+
+    approveLines(Stream.of("first", "second")).byFile(path);
+  }
+
+  @Test
+  void approveLines_iterator() throws IOException {
+    Path path =
+        writeString(tempDir.resolve("approveLines_iterator-approved.txt"), "first\nsecond\n");
+
+    approveLines(List.of("first", "second").iterator()).byFile(path);
+  }
+
+  @Test
+  void approve_reader() throws IOException {
+    Path path = writeString(tempDir.resolve("approve_reader-approved.txt"), "first\nsecond\n");
+
+    approve(new StringReader("first\r\nsecond\r\n")).byFile(path);
+  }
+
+  @Test
+  void approve_inputStream() throws IOException {
+    Path path = writeString(tempDir.resolve("approve_inputStream-approved.txt"), "first\nsecond");
+
+    approve(new ByteArrayInputStream("first\nsecond\n".getBytes(UTF_8))).byFile(path);
+  }
+
+  @Test
+  void scrubbedOf() throws IOException {
+    Path path =
+        writeString(
+            tempDir.resolve("scrubbedOf-approved.txt"), "id: [uuid 1]\nother id: [uuid 1]\n");
+
+    approveLines(Stream.of("id: " + UUID.randomUUID(), "other id: " + UUID.randomUUID()))
+        .scrubbedOf(uuids())
+        .byFile(path);
+  }
+
+  @Test
+  void named() throws IOException {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("named-approved.txt"));
+    writeString(pathProvider.filenameAffix("first").approvedPath(), "first");
+
+    approveLines(Stream.of("first")).named("first").byFile(pathProvider);
+  }
+
+  @Test
+  void reviewedBy() {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("reviewedBy-approved.txt"));
+
+    approveLines(Stream.of("first", "second")).reviewedBy(automatic()).byFile(pathProvider);
+
+    assertThat(pathProvider.approvedPath()).content().isEqualTo("first\nsecond\n");
+    assertThat(pathProvider.receivedPath()).doesNotExist();
+  }
+
+  @Test
+  void byFile() {
+    approveLines(Stream.of("first", "second")).byFile();
+  }
+
+  @Test
+  void byFile_mismatch() throws IOException {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("byFile_mismatch-approved.txt"));
+    writeString(pathProvider.approvedPath(), "first\nsecond\nthird\n");
+
+    assertThatExceptionOfType(ApprovalError.class)
+        .isThrownBy(
+            () -> approveLines(Stream.of("first", "2nd", "third")).byFile(pathProvider))
+        .withMessageStartingWith("Approval mismatch in line 2:");
+    assertThat(pathProvider.receivedPath()).content().isEqualTo("first\n2nd\nthird\n");
+  }
+
+  @Test
+  void byFile_path_string() throws IOException {
+    Path path = writeString(tempDir.resolve("byFile_path_string-approved.txt"), "first");
+
+    approveLines(Stream.of("first")).byFile(path.toString());
+  }
+}
@@ -159,7 +159,7 @@ class ApprovedFileInventoryCliTest {
             inventory(new InventoryEntry(approvedFile, "com.example.MyTest#myMethod")));
 
     assertThat(result.output()).startsWith("Unapproved files:");
-    assertThat(result.output()).contains("MyTest-myMethod-received.txt");
+    assertThat(result.output()).contains("MyTest-myMethod-received.txt (+1 -1)");
     assertThat(result.exitCode()).isZero();
   }
 }
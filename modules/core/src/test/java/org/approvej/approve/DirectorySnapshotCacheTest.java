@@ -0,0 +1,93 @@
+package org.approvej.approve;
+
+import static java.nio.file.Files.createFile;
+import static java.nio.file.Files.delete;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.Files.writeString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DirectorySnapshotCacheTest {
+
+  @TempDir private Path tempDir;
+
+  @AfterEach
+  void tearDown() {
+    DirectorySnapshotCache.reset();
+  }
+
+  @Test
+  void oldApprovedFiles() throws IOException {
+    Path olderPath =
+        setLastModifiedTime(
+            createFile(tempDir.resolve("test-approved.txt")),
+            FileTime.from(Instant.now().minusSeconds(100)));
+    Path newerPath =
+        setLastModifiedTime(
+            createFile(tempDir.resolve("test-approved")),
+            FileTime.from(Instant.now().minusSeconds(50)));
+    createFile(tempDir.resolve("test-received.txt"));
+    createFile(tempDir.resolve("other-test-approved.txt"));
+
+    assertThat(DirectorySnapshotCache.oldApprovedFiles(tempDir.resolve("test-approved.json")))
+        .containsExactly(olderPath, newerPath);
+  }
+
+  @Test
+  void oldApprovedFiles_compound_extension() throws IOException {
+    Path oldPath = createFile(tempDir.resolve("test-approved.tar"));
+
+    assertThat(DirectorySnapshotCache.oldApprovedFiles(tempDir.resolve("test-approved.tar.gz")))
+        .containsExactly(oldPath);
+  }
+
+  @Test
+  void oldApprovedFiles_created() throws IOException {
+    Path approvedPath = tempDir.resolve("test-approved.json");
+    DirectorySnapshotCache.oldApprovedFiles(approvedPath);
+    Path oldPath = createFile(tempDir.resolve("test-approved.txt"));
+    DirectorySnapshotCache.created(oldPath);
+
+    assertThat(DirectorySnapshotCache.oldApprovedFiles(approvedPath)).containsExactly(oldPath);
+  }
+
+  @Test
+  void oldApprovedFiles_deleted() throws IOException {
+    Path approvedPath = tempDir.resolve("test-approved.json");
+    Path oldPath = createFile(tempDir.resolve("test-approved.txt"));
+    DirectorySnapshotCache.oldApprovedFiles(approvedPath);
+    delete(oldPath);
+    DirectorySnapshotCache.deleted(oldPath);
+
+    assertThat(DirectorySnapshotCache.oldApprovedFiles(approvedPath)).isEmpty();
+  }
+
+  @Test
+  void oldApprovedFiles_created_externally() throws IOException {
+    Path approvedPath = tempDir.resolve("test-approved.json");
+    DirectorySnapshotCache.oldApprovedFiles(approvedPath);
+    Path oldPath = createFile(tempDir.resolve("test-approved.txt"));
+    setLastModifiedTime(tempDir, FileTime.from(Instant.now().plusSeconds(10)));
+
+    assertThat(DirectorySnapshotCache.oldApprovedFiles(approvedPath)).containsExactly(oldPath);
+  }
+
+  @Test
+  void handleOldApprovedFiles() throws IOException {
+    Path approvedPath = tempDir.resolve("test-approved.json");
+    Path oldPath = writeString(tempDir.resolve("test-approved.txt"), "Some approved text\n");
+
+    DirectorySnapshotCache.handleOldApprovedFiles(approvedPath);
+
+    assertThat(oldPath).doesNotExist();
+    assertThat(approvedPath).content().isEqualTo("Some approved text\n");
+    assertThat(DirectorySnapshotCache.oldApprovedFiles(approvedPath)).isEmpty();
+  }
+}
@@ -0,0 +1,86 @@
+package org.approvej.approve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class NormalizedTextTest {
+
+  @Test
+  void normalize() {
+    assertThat(NormalizedText.normalize("\n  line one\r\nline two\r\n\n"))
+        .isEqualTo("line one\nline two");
+  }
+
+  @Test
+  void normalize_already_normalized() {
+    String text = "line one\nline two";
+
+    assertThat(NormalizedText.normalize(text)).isSameAs(text);
+  }
+
+  @Test
+  void contentEquals() throws IOException {
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader("line one\nline two"), new StringReader("line one\nline two")))
+        .isTrue();
+  }
+
+  @Test
+  void contentEquals_line_endings() throws IOException {
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader("line one\r\nline two\r\n"),
+                new StringReader("line one\nline two")))
+        .isTrue();
+  }
+
+  @Test
+  void contentEquals_leading_and_trailing_whitespace() throws IOException {
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader(" \n line one\n\n"), new StringReader("line one")))
+        .isTrue();
+  }
+
+  @Test
+  void contentEquals_inner_whitespace_differs() throws IOException {
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader("line one\n\nline two"), new StringReader("line one\nline two")))
+        .isFalse();
+  }
+
+  @Test
+  void contentEquals_single_carriage_return() throws IOException {
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader("line one\rline two"), new StringReader("line one\nline two")))
+        .isFalse();
+  }
+
+  @Test
+  void contentEquals_prefix() throws IOException {
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader("line one"), new StringReader("line one\nline two")))
+        .isFalse();
+  }
+
+  @Test
+  void contentEquals_longer_than_buffer() throws IOException {
+    String text = "Some text\r\n".repeat(10_000);
+
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader(text), new StringReader(NormalizedText.normalize(text))))
+        .isTrue();
+    assertThat(
+            NormalizedText.contentEquals(
+                new StringReader(text + "x"), new StringReader(NormalizedText.normalize(text))))
+        .isFalse();
+  }
+}
@@ -54,6 +54,26 @@ class StackTraceTestFinderUtilTest {
     assertThat(currentTestMethod.testCaseName()).isEqualTo(thisMethod.getName());
   }
 
+  @Test
+  void currentTestMethod_called_from_lambda() {
+    AtomicReference<TestMethod> result = new AtomicReference<>();
+    Runnable lambda = () -> result.set(StackTraceTestFinderUtil.currentTestMethod());
+
+    lambda.run();
+
+    assertThat(result.get().testCaseName()).isEqualTo("currentTestMethod_called_from_lambda");
+  }
+
+  @Test
+  void currentTestMethod_repeated() {
+    TestMethod first = StackTraceTestFinderUtil.currentTestMethod();
+
+    TestMethod second = StackTraceTestFinderUtil.currentTestMethod();
+
+    assertThat(second).isEqualTo(first);
+    assertThat(second.testCaseName()).isEqualTo("currentTestMethod_repeated");
+  }
+
   @Test
   void currentTestMethod_called_from_kotlin_like_lambda_on_separate_thread() throws Exception {
     // Simulates Awaitility's untilAsserted with a Kotlin lambda:
@@ -130,6 +150,7 @@ class StackTraceTestFinderUtilTest {
     wrongTestSourcePathsToCleanup.add(wrongTestSourcePath);
     createDirectories(wrongTestSourcePath.getParent());
     copy(thisTestSourcePath, wrongTestSourcePath);
+    TestSourceIndex.reset();
 
     Method method = StackTraceTestFinderUtil.currentTestMethod().method();
 
@@ -0,0 +1,93 @@
+package org.approvej.approve;
+
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.writeString;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.approvej.approve.Approvers.streamingFile;
+import static org.approvej.approve.PathProviders.approvedPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.approvej.ApprovalError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StreamingFileApproverTest {
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void apply() throws IOException {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("apply-approved.txt"));
+    writeString(pathProvider.approvedPath(), "line one\r\nline two\r\n");
+    writeString(pathProvider.receivedPath(), "outdated");
+
+    StreamingFileApprovalResult result =
+        streamingFile(pathProvider).apply(List.of("line one", "line two").iterator());
+
+    assertThat(result.needsApproval()).isFalse();
+    assertThat(result.received()).isEqualTo("line one\nline two");
+    assertThat(pathProvider.receivedPath()).doesNotExist();
+  }
+
+  @Test
+  void apply_differs() throws IOException {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("apply_differs-approved.txt"));
+    writeString(pathProvider.approvedPath(), "line one\nline two\nline three\n");
+
+    StreamingFileApprovalResult result =
+        streamingFile(pathProvider).apply(List.of("line one", "line 2", "line three").iterator());
+
+    assertThat(result.needsApproval()).isTrue();
+    assertThat(result.firstDifferentLine()).isEqualTo(2);
+    assertThat(result.previouslyApproved()).isEqualTo("line one\nline two\nline three");
+    assertThat(result.received()).isEqualTo("line one\nline 2\nline three");
+    assertThat(pathProvider.receivedPath()).content().isEqualTo("line one\nline 2\nline three\n");
+    assertThatExceptionOfType(ApprovalError.class)
+        .isThrownBy(result::throwIfNotApproved)
+        .withMessageStartingWith("Approval mismatch in line 2:");
+  }
+
+  @Test
+  void apply_no_previously_approved() {
+    PathProvider pathProvider =
+        approvedPath(tempDir.resolve("apply_no_previously_approved-approved.txt"));
+
+    StreamingFileApprovalResult result =
+        streamingFile(pathProvider).apply(List.of("", " line one", "line two", "").iterator());
+
+    assertThat(result.needsApproval()).isTrue();
+    assertThat(result.firstDifferentLine()).isEqualTo(1);
+    assertThat(pathProvider.approvedPath()).isEmptyFile();
+    assertThat(pathProvider.receivedPath()).content().isEqualTo("line one\nline two\n");
+  }
+
+  @Test
+  void recheck() throws IOException {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("recheck-approved.txt"));
+    writeString(pathProvider.approvedPath(), "line one\n");
+    StreamingFileApprover approver = streamingFile(pathProvider);
+    approver.apply(List.of("line 1").iterator());
+    move(pathProvider.receivedPath(), pathProvider.approvedPath(), REPLACE_EXISTING);
+
+    StreamingFileApprovalResult result = approver.recheck();
+
+    assertThat(result.needsApproval()).isFalse();
+  }
+
+  @Test
+  void recheck_still_differs() throws IOException {
+    PathProvider pathProvider = approvedPath(tempDir.resolve("recheck_still_differs-approved.txt"));
+    writeString(pathProvider.approvedPath(), "line one\n");
+    StreamingFileApprover approver = streamingFile(pathProvider);
+    approver.apply(List.of("line 1").iterator());
+
+    StreamingFileApprovalResult result = approver.recheck();
+
+    assertThat(result.needsApproval()).isTrue();
+    assertThat(pathProvider.receivedPath()).content().isEqualTo("line 1\n");
+  }
+}
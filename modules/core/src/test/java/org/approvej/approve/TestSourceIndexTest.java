@@ -0,0 +1,169 @@
+package org.approvej.approve;
+
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.readString;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.Files.writeString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestSourceIndexTest {
+
+  private static final String PACKAGE_PATH = "org/approvej/approve";
+  private static final String CLASS_NAME = "TestSourceIndexTest";
+
+  private final Path thisTestSourcePath =
+      Path.of("src/test/java/org/approvej/approve/TestSourceIndexTest.java");
+
+  @TempDir private Path tempDir;
+
+  private Path indexFile;
+
+  @BeforeEach
+  void setUp() {
+    indexFile = tempDir.resolve("source-index.properties");
+    TestSourceIndex.reset(indexFile);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TestSourceIndex.reset();
+  }
+
+  @Test
+  void find() {
+    assertThat(TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, false))
+        .isEqualTo(thisTestSourcePath);
+  }
+
+  @Test
+  void find_repeated() {
+    Path first = TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, false);
+
+    Path second = TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, false);
+
+    assertThat(second).isEqualTo(first);
+  }
+
+  @Test
+  void find_new_source_file() throws IOException {
+    TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, false);
+    Path newSourcePath = Path.of("src/test/java/org/approvej/approve/TestSourceIndexNewTest.java");
+    try {
+      writeString(newSourcePath, "class TestSourceIndexNewTest {}");
+
+      assertThat(TestSourceIndex.find("test", PACKAGE_PATH, "TestSourceIndexNewTest", 13, false))
+          .isEqualTo(newSourcePath);
+    } finally {
+      Files.deleteIfExists(newSourcePath);
+    }
+  }
+
+  @Test
+  void find_deleted_duplicate() throws IOException {
+    Path wrongRoot = Path.of("other");
+    boolean wrongRootExisted = Files.exists(wrongRoot);
+    Path wrongSourcePath =
+        wrongRoot.resolve("src/test/java/org/approvej/approve/TestSourceIndexTest.java");
+    try {
+      createDirectories(wrongSourcePath.getParent());
+      copy(thisTestSourcePath, wrongSourcePath);
+
+      assertThatThrownBy(() -> TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, false))
+          .isInstanceOf(FileApproverError.class)
+          .hasMessageStartingWith("Found multiple test source files (");
+    } finally {
+      Files.deleteIfExists(wrongSourcePath);
+      if (!wrongRootExisted && Files.exists(wrongRoot)) {
+        try (Stream<Path> paths = Files.walk(wrongRoot)) {
+          for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+            Files.delete(path);
+          }
+        }
+      }
+    }
+
+    assertThat(TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, false))
+        .isEqualTo(thisTestSourcePath);
+  }
+
+  @Test
+  void find_no_source_file() {
+    assertThatThrownBy(() -> TestSourceIndex.find("test", PACKAGE_PATH, "Unknown", 13, false))
+        .isInstanceOf(FileApproverError.class)
+        .hasMessage("Could not locate test source file");
+  }
+
+  @Test
+  void writeIndex() throws IOException {
+    TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, true);
+
+    TestSourceIndex.writeIndex();
+
+    assertThat(readString(indexFile))
+        .startsWith("# ApproveJ source index")
+        .contains("test/org/approvej/approve/TestSourceIndexTest = ")
+        .contains(",src/test/java/org/approvej/approve/TestSourceIndexTest.java");
+  }
+
+  @Test
+  void find_persisted() throws IOException {
+    Path persistedSourcePath = tempDir.resolve("TestSourceIndexTest.java");
+    writeString(persistedSourcePath, "class TestSourceIndexTest {}");
+    long lastModified = Files.getLastModifiedTime(persistedSourcePath).toMillis();
+    writeString(
+        indexFile,
+        "test/org/approvej/approve/TestSourceIndexTest = %d,%s\n"
+            .formatted(lastModified, persistedSourcePath.toString().replace('\\', '/')));
+
+    assertThat(TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, true))
+        .isEqualTo(persistedSourcePath);
+  }
+
+  @Test
+  void find_persisted_modified() throws IOException {
+    Path persistedSourcePath = tempDir.resolve("TestSourceIndexTest.java");
+    writeString(persistedSourcePath, "class TestSourceIndexTest {}");
+    long lastModified = Files.getLastModifiedTime(persistedSourcePath).toMillis();
+    writeString(
+        indexFile,
+        "test/org/approvej/approve/TestSourceIndexTest = %d,%s\n"
+            .formatted(lastModified, persistedSourcePath.toString().replace('\\', '/')));
+    setLastModifiedTime(persistedSourcePath, FileTime.fromMillis(lastModified + 1_000));
+
+    assertThat(TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 13, true))
+        .isEqualTo(thisTestSourcePath);
+  }
+
+  @Test
+  void find_persisted_modified_still_matching() throws IOException {
+    Path persistedSourcePath =
+        tempDir.resolve("test/org/approvej/approve/TestSourceIndexTest.java");
+    createDirectories(persistedSourcePath.getParent());
+    writeString(persistedSourcePath, "class TestSourceIndexTest {}");
+    long lastModified = Files.getLastModifiedTime(persistedSourcePath).toMillis();
+    writeString(
+        indexFile,
+        "test/org/approvej/approve/TestSourceIndexTest = %d,%s\n"
+            .formatted(lastModified, persistedSourcePath.toString().replace('\\', '/')));
+    setLastModifiedTime(persistedSourcePath, FileTime.fromMillis(lastModified + 1_000));
+
+    assertThat(TestSourceIndex.find("test", PACKAGE_PATH, CLASS_NAME, 64, true))
+        .isEqualTo(persistedSourcePath);
+    TestSourceIndex.writeIndex();
+    assertThat(readString(indexFile))
+        .contains("TestSourceIndexTest = %d,".formatted(lastModified + 1_000));
+  }
+}
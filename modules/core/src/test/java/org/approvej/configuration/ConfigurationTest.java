@@ -143,6 +143,78 @@ class ConfigurationTest {
     assertThat(config.inventoryEnabled()).isFalse();
   }
 
+  @Test
+  void loadConfiguration_sourceIndexPersistenceEnabled_defaults_to_false() {
+    ConfigurationLoader loader = ConfigurationLoader.builder().build();
+
+    Configuration config = Configuration.loadConfiguration(loader);
+
+    assertThat(config.sourceIndexPersistenceEnabled()).isFalse();
+  }
+
+  @Test
+  void loadConfiguration_sourceIndexPersistenceEnabled_from_properties() {
+    Properties properties = new Properties();
+    properties.setProperty("sourceIndexPersistenceEnabled", "true");
+    ConfigurationLoader loader = ConfigurationLoader.builder().withProperties(properties).build();
+
+    Configuration config = Configuration.loadConfiguration(loader);
+
+    assertThat(config.sourceIndexPersistenceEnabled()).isTrue();
+  }
+
+  @Test
+  void loadConfiguration_approvalErrorContextLines_defaults_to_3() {
+    ConfigurationLoader loader = ConfigurationLoader.builder().build();
+
+    Configuration config = Configuration.loadConfiguration(loader);
+
+    assertThat(config.approvalErrorContextLines()).isEqualTo(3);
+  }
+
+  @Test
+  void loadConfiguration_approvalErrorContextLines_from_properties() {
+    Properties properties = new Properties();
+    properties.setProperty("approvalErrorContextLines", "10");
+    ConfigurationLoader loader = ConfigurationLoader.builder().withProperties(properties).build();
+
+    Configuration config = Configuration.loadConfiguration(loader);
+
+    assertThat(config.approvalErrorContextLines()).isEqualTo(10);
+  }
+
+  @Test
+  void loadConfiguration_approvalErrorContextLines_invalid_throws() {
+    Properties properties = new Properties();
+    properties.setProperty("approvalErrorContextLines", "-1");
+    ConfigurationLoader loader = ConfigurationLoader.builder().withProperties(properties).build();
+
+    assertThatExceptionOfType(ConfigurationError.class)
+        .isThrownBy(() -> Configuration.loadConfiguration(loader))
+        .withMessage(
+            "Property 'approvalErrorContextLines' must be a number of at least 0, but was '-1'");
+  }
+
+  @Test
+  void loadConfiguration_imageHashIndexEnabled_defaults_to_false() {
+    ConfigurationLoader loader = ConfigurationLoader.builder().build();
+
+    Configuration config = Configuration.loadConfiguration(loader);
+
+    assertThat(config.imageHashIndexEnabled()).isFalse();
+  }
+
+  @Test
+  void loadConfiguration_imageHashIndexEnabled_from_properties() {
+    Properties properties = new Properties();
+    properties.setProperty("imageHashIndexEnabled", "true");
+    ConfigurationLoader loader = ConfigurationLoader.builder().withProperties(properties).build();
+
+    Configuration config = Configuration.loadConfiguration(loader);
+
+    assertThat(config.imageHashIndexEnabled()).isTrue();
+  }
+
   @Test
   void configurationLoader_priorityChain() {
     // Simulate: env > project properties > user home properties
@@ -237,6 +309,21 @@ class ConfigurationTest {
     assertThat(config.defaultFileReviewer().getClass().getSimpleName()).isEqualTo("AiReviewer");
   }
 
+  @Test
+  void loadConfiguration_reviewerAiAsync() {
+    Properties properties = new Properties();
+    properties.setProperty("defaultFileReviewer", "ai");
+    properties.setProperty("reviewerAiCommand", "claude -p");
+    properties.setProperty("reviewerAiAsync", "true");
+    properties.setProperty("reviewerAiParallelism", "2");
+    ConfigurationLoader loader = ConfigurationLoader.builder().withProperties(properties).build();
+
+    Configuration config = Configuration.loadConfiguration(loader);
+
+    assertThat(config.defaultFileReviewer())
+        .hasToString("AiReviewer[command=claude -p, parallelism=2]");
+  }
+
   @Test
   void loadConfiguration_reviewerScript_without_property_throws() {
     Properties properties = new Properties();
@@ -0,0 +1,92 @@
+package org.approvej.diff;
+
+import static org.approvej.diff.Diffs.diff;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DiffTest {
+
+  private static final List<String> LINES =
+      IntStream.rangeClosed(1, 20).mapToObj("line %d"::formatted).toList();
+
+  @Test
+  void hunks() {
+    List<String> revised = new ArrayList<>(LINES);
+    revised.set(1, "changed 2");
+    revised.set(16, "changed 17");
+
+    List<Hunk> hunks = diff(LINES, revised).hunks(2);
+
+    assertThat(hunks).hasSize(2);
+    assertThat(hunks.getFirst().header()).isEqualTo("@@ -1,4 +1,4 @@");
+    assertThat(hunks.getLast().header()).isEqualTo("@@ -15,5 +15,5 @@");
+  }
+
+  @Test
+  void hunks_merged() {
+    List<String> revised = new ArrayList<>(LINES);
+    revised.set(4, "changed 5");
+    revised.set(8, "changed 9");
+
+    List<Hunk> hunks = diff(LINES, revised).hunks(2);
+
+    assertThat(hunks).hasSize(1);
+    assertThat(hunks.getFirst().header()).isEqualTo("@@ -3,9 +3,9 @@");
+  }
+
+  @Test
+  void unified() {
+    assertThat(diff("a\nb\nc\nd", "a\nx\nc\nd\ne").unified("approved", "received", 1))
+        .isEqualTo(
+            """
+            --- approved
+            +++ received
+            @@ -1,4 +1,5 @@
+             a
+            -b
+            +x
+             c
+             d
+            +e
+            """);
+  }
+
+  @Test
+  void unified_separate_hunks() {
+    assertThat(diff("a\nb\nc\nd\ne", "x\nb\nc\nd\ny").unified("approved", "received", 1))
+        .isEqualTo(
+            """
+            --- approved
+            +++ received
+            @@ -1,2 +1,2 @@
+            -a
+            +x
+             b
+            @@ -4,2 +4,2 @@
+             d
+            -e
+            +y
+            """);
+  }
+
+  @Test
+  void unified_only_added() {
+    assertThat(diff("", "a").unified("approved", "received"))
+        .isEqualTo(
+            """
+            --- approved
+            +++ received
+            @@ -0,0 +1 @@
+            +a
+            """);
+  }
+
+  @Test
+  void unified_equal() {
+    assertThat(diff("a", "a").unified("approved", "received")).isEmpty();
+  }
+}
@@ -0,0 +1,62 @@
+package org.approvej.diff;
+
+import static org.approvej.diff.Diffs.diff;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DiffsTest {
+
+  @Test
+  void diff_equal() {
+    assertThat(diff("a\nb\nc", "a\nb\nc").edits()).isEmpty();
+  }
+
+  @Test
+  void diff_added() {
+    assertThat(diff("a\nc", "a\nb\nc").edits()).containsExactly(new Edit(1, 1, 1, 2));
+  }
+
+  @Test
+  void diff_removed() {
+    assertThat(diff("a\nb\nc", "a\nc").edits()).containsExactly(new Edit(1, 2, 1, 1));
+  }
+
+  @Test
+  void diff_changed() {
+    assertThat(diff("a\nb\nc", "a\nx\nc").edits()).containsExactly(new Edit(1, 2, 1, 2));
+  }
+
+  @Test
+  void diff_empty_original() {
+    assertThat(diff("", "a\nb").edits()).containsExactly(new Edit(0, 0, 0, 2));
+  }
+
+  @Test
+  void diff_minimal() {
+    Diff diff =
+        diff(List.of("a", "b", "c", "a", "b", "b", "a"), List.of("c", "b", "a", "b", "a", "c"));
+
+    assertThat(diff.removed() + diff.added()).isEqualTo(5);
+  }
+
+  @Test
+  void diff_large() {
+    List<String> original = IntStream.range(0, 300_000).mapToObj("line %d"::formatted).toList();
+    List<String> revised = new ArrayList<>(original);
+    revised.set(1_000, "changed");
+    revised.remove(200_000);
+    revised.add(250_000, "added");
+
+    Diff diff = diff(original, revised);
+
+    assertThat(diff.edits())
+        .containsExactly(
+            new Edit(1_000, 1_001, 1_000, 1_001),
+            new Edit(200_000, 200_001, 200_000, 200_000),
+            new Edit(250_001, 250_001, 250_000, 250_001));
+  }
+}
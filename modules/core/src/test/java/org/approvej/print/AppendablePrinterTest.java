@@ -0,0 +1,51 @@
+package org.approvej.print;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AppendablePrinterTest {
+
+  @Test
+  void apply() {
+    AppendablePrinter<List<String>> printer =
+        (values, appendable) -> {
+          for (String value : values) {
+            appendable.append(value).append('\n');
+          }
+        };
+
+    assertThat(printer.apply(List.of("a", "b"))).isEqualTo("a\nb\n");
+    assertThat(printer.apply(List.of("c"))).isEqualTo("c\n");
+  }
+
+  @Test
+  void apply_nested() {
+    AppendablePrinter<String> inner = (value, appendable) -> appendable.append(value.toUpperCase());
+    AppendablePrinter<String> outer =
+        (value, appendable) -> appendable.append('[').append(inner.apply(value)).append(']');
+
+    assertThat(outer.apply("value")).isEqualTo("[VALUE]");
+  }
+
+  @Test
+  void apply_large() {
+    String large = "x".repeat(PrintBuffer.MAX_RETAINED_CAPACITY * 2);
+    AppendablePrinter<String> printer = (value, appendable) -> appendable.append(value);
+
+    assertThat(printer.apply(large)).isEqualTo(large);
+    assertThat(printer.apply("small")).isEqualTo("small");
+  }
+
+  @Test
+  void printTo_default() throws IOException {
+    Printer<String> printer = String::toUpperCase;
+    StringBuilder appendable = new StringBuilder("existing ");
+
+    printer.printTo("value", appendable);
+
+    assertThat(appendable).hasToString("existing VALUE");
+  }
+}
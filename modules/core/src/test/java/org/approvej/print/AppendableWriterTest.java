@@ -0,0 +1,45 @@
+package org.approvej.print;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import org.junit.jupiter.api.Test;
+
+class AppendableWriterTest {
+
+  @Test
+  void write() throws IOException {
+    StringBuilder appendable = new StringBuilder("existing\n");
+
+    try (Writer writer = new AppendableWriter(appendable)) {
+      writer.write("line one\r\nline two\r\n");
+    }
+
+    assertThat(appendable).hasToString("existing\nline one\nline two\n");
+  }
+
+  @Test
+  void write_split_line_separator() throws IOException {
+    StringBuilder appendable = new StringBuilder();
+
+    try (Writer writer = new AppendableWriter(appendable)) {
+      writer.write("line one\r");
+      writer.write("\nline two\r\r\n");
+      writer.write("line\rthree\r");
+    }
+
+    assertThat(appendable).hasToString("line one\nline two\r\nline\rthree\r");
+  }
+
+  @Test
+  void close() throws IOException {
+    StringWriter appendable = new StringWriter();
+
+    new AppendableWriter(appendable).close();
+    appendable.write("still open");
+
+    assertThat(appendable).hasToString("still open");
+  }
+}
@@ -0,0 +1,96 @@
+package org.approvej.print;
+
+import static org.approvej.print.MultiLineStringPrintFormat.multiLineString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import org.approvej.configuration.Registry;
+import org.junit.jupiter.api.Test;
+
+class GeneratedPrinterTest {
+
+  @Test
+  void apply() {
+    assertThat(new PointApprovalPrinter().apply(new Point(1, 2, "origin")))
+        .isEqualTo(
+            """
+            Point [
+              x=1,
+              y=2,
+              label=origin,
+              generated=true
+            ]\
+            """);
+  }
+
+  @Test
+  void multiLineString_nested() {
+    assertThat(multiLineString().printer().apply(List.of(new Point(1, 2, "origin"))))
+        .isEqualTo(
+            """
+            [
+              Point [
+                x=1,
+                y=2,
+                label=origin,
+                generated=true
+              ]
+            ]\
+            """);
+  }
+
+  @Test
+  void multiLineString_sorted() {
+    assertThat(multiLineString().sorted().printer().apply(new Point(1, 2, "origin")))
+        .isEqualTo(
+            """
+            Point [
+              generated=true,
+              label=origin,
+              x=1,
+              y=2
+            ]\
+            """);
+  }
+
+  @Test
+  void findByAlias() {
+    assertThat(Registry.findByAlias(Point.class.getName(), GeneratedPrinter.class))
+        .get()
+        .isInstanceOf(PointApprovalPrinter.class);
+  }
+
+  @Test
+  void alias() {
+    assertThat(new PointApprovalPrinter().alias()).isEqualTo(Point.class.getName());
+  }
+
+  /** A point, whose printer adds a generated property to prove that it is used. */
+  public record Point(int x, int y, String label) {}
+
+  /** A hand-written stand-in for a printer generated by the annotation processor. */
+  public static final class PointApprovalPrinter implements GeneratedPrinter<Point> {
+
+    @Override
+    public Class<Point> printedType() {
+      return Point.class;
+    }
+
+    @Override
+    public void writeProperties(Point value, boolean sortedByName, PropertyWriter writer)
+        throws IOException {
+      if (sortedByName) {
+        writer.property("generated", true);
+        writer.property("label", value.label());
+        writer.property("x", value.x());
+        writer.property("y", value.y());
+      } else {
+        writer.property("x", value.x());
+        writer.property("y", value.y());
+        writer.property("label", value.label());
+        writer.property("generated", true);
+      }
+    }
+  }
+}
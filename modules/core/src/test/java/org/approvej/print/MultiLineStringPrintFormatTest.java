@@ -3,6 +3,7 @@ package org.approvej.print;
 import static org.approvej.print.MultiLineStringPrintFormat.multiLineString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.DayOfWeek;
@@ -359,6 +360,65 @@ class MultiLineStringPrintFormatTest {
             """);
   }
 
+  @Test
+  void printer_failing_getter() {
+    //noinspection unused
+    record Failing(String name) {
+      public String getFailure() {
+        throw new IllegalStateException("failure");
+      }
+    }
+
+    assertThat(multiLineString().printer().apply(new Failing("Micha")))
+        .isEqualTo(
+            """
+            Failing [
+              name=Micha,
+              failure=<inaccessible>
+            ]            """);
+  }
+
+  @Test
+  void printer_same_class_default_and_sorted() {
+    record Person(String name, int age) {}
+
+    assertThat(multiLineString().printer().apply(List.of(new Person("Micha", 42))))
+        .isEqualTo(
+            """
+            [
+              Person [
+                name=Micha,
+                age=42
+              ]
+            ]            """);
+    assertThat(multiLineString().sorted().printer().apply(new Person("Jane", 23)))
+        .isEqualTo(
+            """
+            Person [
+              age=23,
+              name=Jane
+            ]            """);
+  }
+
+  @Test
+  void printTo() throws IOException {
+    StringBuilder appendable = new StringBuilder("existing\n");
+
+    multiLineString().printTo(List.of(1, Map.of("key", "value")), appendable);
+
+    assertThat(appendable)
+        .hasToString(
+            """
+            existing
+            [
+              1,
+              [
+                key=value
+              ]
+            ]\
+            """);
+  }
+
   @Test
   void filenameExtension() {
     assertThat(multiLineString().filenameExtension()).isEqualTo("txt");
@@ -0,0 +1,110 @@
+package org.approvej.review;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.approvej.review.AiReviewVerdicts.key;
+import static org.approvej.review.AiReviewVerdicts.verdict;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.approvej.review.AiReviewVerdicts.Verdict;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AiReviewVerdictsTest {
+
+  private static final Executor DIRECT = Runnable::run;
+
+  @TempDir private Path tempDir;
+
+  private Path verdictsFile;
+
+  @BeforeEach
+  void setUp() {
+    verdictsFile = tempDir.resolve(".approvej/ai-review-verdicts.properties");
+    AiReviewVerdicts.reset(verdictsFile);
+  }
+
+  @AfterEach
+  void tearDown() {
+    AiReviewVerdicts.reset();
+  }
+
+  @Test
+  void key_depends_on_all_parts() {
+    byte[] change = "-a\n+b\n".getBytes(UTF_8);
+
+    assertThat(key("cmd", "template", change)).isEqualTo(key("cmd", "template", change));
+    assertThat(key("cmd", "template", change)).isNotEqualTo(key("other", "template", change));
+    assertThat(key("cmd", "template", change)).isNotEqualTo(key("cmd", "other", change));
+    assertThat(key("cmd", "template", change))
+        .isNotEqualTo(key("cmd", "template", "-a\n+c\n".getBytes(UTF_8)));
+    assertThat(key("cmd", "template", "ab".getBytes(UTF_8), "c".getBytes(UTF_8)))
+        .isNotEqualTo(key("cmd", "template", "a".getBytes(UTF_8), "bc".getBytes(UTF_8)));
+  }
+
+  @Test
+  void verdict_reviews_once() {
+    AtomicInteger reviews = new AtomicInteger();
+
+    verdict("key", () -> count(reviews, Verdict.APPROVED), DIRECT);
+    CompletableFuture<Verdict> verdict =
+        verdict("key", () -> count(reviews, Verdict.REJECTED), DIRECT);
+
+    assertThat(verdict.join()).isEqualTo(Verdict.APPROVED);
+    assertThat(reviews).hasValue(1);
+  }
+
+  @Test
+  void verdict_persisted() {
+    AtomicInteger reviews = new AtomicInteger();
+    verdict("approved", () -> count(reviews, Verdict.APPROVED), DIRECT);
+    verdict("rejected", () -> count(reviews, Verdict.REJECTED), DIRECT);
+
+    AiReviewVerdicts.reset(verdictsFile);
+
+    assertThat(verdict("approved", () -> count(reviews, Verdict.FAILED), DIRECT).join())
+        .isEqualTo(Verdict.APPROVED);
+    assertThat(verdict("rejected", () -> count(reviews, Verdict.FAILED), DIRECT).join())
+        .isEqualTo(Verdict.REJECTED);
+    assertThat(reviews).hasValue(2);
+  }
+
+  @Test
+  void verdict_failed_not_cached() {
+    AtomicInteger reviews = new AtomicInteger();
+
+    verdict("key", () -> count(reviews, Verdict.FAILED), DIRECT);
+    CompletableFuture<Verdict> verdict =
+        verdict("key", () -> count(reviews, Verdict.APPROVED), DIRECT);
+
+    assertThat(verdict.join()).isEqualTo(Verdict.APPROVED);
+    assertThat(reviews).hasValue(2);
+    assertThat(verdictsFile).content().doesNotContain("FAILED");
+  }
+
+  @Test
+  void verdict_shared_while_reviewing() {
+    AtomicInteger reviews = new AtomicInteger();
+    CompletableFuture<Runnable> pendingReview = new CompletableFuture<>();
+
+    CompletableFuture<Verdict> first =
+        verdict("key", () -> count(reviews, Verdict.APPROVED), pendingReview::complete);
+    CompletableFuture<Verdict> second =
+        verdict("key", () -> count(reviews, Verdict.REJECTED), DIRECT);
+    pendingReview.join().run();
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.join()).isEqualTo(Verdict.APPROVED);
+    assertThat(reviews).hasValue(1);
+  }
+
+  private static Verdict count(AtomicInteger reviews, Verdict verdict) {
+    reviews.incrementAndGet();
+    return verdict;
+  }
+}
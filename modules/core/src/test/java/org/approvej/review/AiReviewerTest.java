@@ -3,9 +3,11 @@ package org.approvej.review;
 import static java.nio.file.Files.readString;
 import static java.nio.file.Files.writeString;
 import static org.approvej.approve.PathProviders.approvedPath;
+import static org.approvej.review.AiReviewer.normalizeDiff;
 import static org.approvej.review.AiReviewer.tokenizeCommand;
 import static org.approvej.review.AiReviewer.unifiedDiff;
 import static org.approvej.review.Reviewers.ai;
+import static org.approvej.review.Reviewers.aiAsync;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
@@ -14,6 +16,8 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
 import org.approvej.approve.PathProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
@@ -23,6 +27,16 @@ class AiReviewerTest {
 
   @TempDir private Path tempDir;
 
+  @BeforeEach
+  void setUp() {
+    AiReviewVerdicts.reset(tempDir.resolve(".approvej/ai-review-verdicts.properties"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    AiReviewVerdicts.reset();
+  }
+
   @Test
   void apply() throws IOException {
     Reviewer reviewer = ai("cat");
@@ -156,6 +170,82 @@ class AiReviewerTest {
     assertThat(result.needsReapproval()).isTrue();
   }
 
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void apply_cached() throws IOException {
+    Path calls = tempDir.resolve("calls.txt");
+    Path script = tempDir.resolve("counting-reviewer.sh");
+    writeString(
+        script,
+        "#!/bin/sh\necho call >> '%s'\necho YES\n".formatted(calls),
+        StandardOpenOption.CREATE);
+    Files.setPosixFilePermissions(
+        script, java.nio.file.attribute.PosixFilePermissions.fromString("rwxr-xr-x"));
+    Reviewer reviewer = ai(script.toString());
+
+    for (String name : List.of("first", "second")) {
+      PathProvider pathProvider = approvedPath(tempDir.resolve(name + "-approved.txt"));
+      writeString(pathProvider.approvedPath(), "Some approved text", StandardOpenOption.CREATE);
+      writeString(pathProvider.receivedPath(), "Some received text", StandardOpenOption.CREATE);
+
+      ReviewResult result = reviewer.apply(pathProvider);
+
+      assertThat(result.needsReapproval()).isTrue();
+      assertThat(readString(pathProvider.approvedPath())).isEqualTo("Some received text");
+    }
+    assertThat(readString(calls)).isEqualTo("call\n");
+  }
+
+  @Test
+  void apply_async() throws IOException {
+    Reviewer reviewer = aiAsync("echo YES", 2);
+    PathProvider pathProvider = approvedPath(tempDir.resolve("apply_async-approved.txt"));
+    writeString(pathProvider.approvedPath(), "Some approved text", StandardOpenOption.CREATE);
+    writeString(pathProvider.receivedPath(), "Some received text", StandardOpenOption.CREATE);
+
+    ReviewResult result = reviewer.apply(pathProvider);
+    AiReviewPool.awaitAll();
+
+    assertThat(result.needsReapproval()).isFalse();
+    assertThat(readString(pathProvider.approvedPath())).isEqualTo("Some received text");
+    assertThat(pathProvider.receivedPath()).doesNotExist();
+  }
+
+  @Test
+  void apply_async_cached() throws IOException {
+    Reviewer reviewer = aiAsync("echo YES", 2);
+    PathProvider first = approvedPath(tempDir.resolve("first-approved.txt"));
+    writeString(first.approvedPath(), "Some approved text", StandardOpenOption.CREATE);
+    writeString(first.receivedPath(), "Some received text", StandardOpenOption.CREATE);
+    reviewer.apply(first);
+    AiReviewPool.awaitAll();
+    PathProvider second = approvedPath(tempDir.resolve("second-approved.txt"));
+    writeString(second.approvedPath(), "Some approved text", StandardOpenOption.CREATE);
+    writeString(second.receivedPath(), "Some received text", StandardOpenOption.CREATE);
+
+    ReviewResult result = reviewer.apply(second);
+
+    assertThat(result.needsReapproval()).isTrue();
+    assertThat(readString(second.approvedPath())).isEqualTo("Some received text");
+  }
+
+  @Test
+  void normalizeDiff_ignores_labels_and_line_numbers() {
+    String diff =
+        unifiedDiff(
+            "a.txt", "b.txt", List.of("a", "b", "c", "line1"), List.of("a", "b", "c", "line2"));
+    String movedDiff =
+        unifiedDiff(
+            "c.txt",
+            "d.txt",
+            List.of("y", "y", "a", "b", "c", "line1"),
+            List.of("y", "y", "a", "b", "c", "line2"));
+
+    assertThat(normalizeDiff(movedDiff))
+        .isEqualTo(normalizeDiff(diff))
+        .isEqualTo("@@\n a\n b\n c\n-line1\n+line2\n");
+  }
+
   @Test
   void tokenizeCommand_simple() {
     assertThat(tokenizeCommand("claude -p --allowedTools Read"))
@@ -0,0 +1,57 @@
+package org.approvej.scrub;
+
+import static org.approvej.scrub.Scrubbers.dateTimeFormat;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import org.approvej.scrub.DateTimePatternCache.CompiledDateTimePattern;
+import org.junit.jupiter.api.Test;
+
+class DateTimePatternCacheTest {
+
+  @Test
+  void compiled() {
+    long misses = DateTimePatternCache.misses();
+    long hits = DateTimePatternCache.hits();
+
+    CompiledDateTimePattern first =
+        DateTimePatternCache.compiled("'compiled' yyyy-MM-dd", Locale.GERMANY);
+    CompiledDateTimePattern second =
+        DateTimePatternCache.compiled("'compiled' yyyy-MM-dd", Locale.GERMANY);
+
+    assertThat(second).isSameAs(first);
+    assertThat(DateTimePatternCache.misses()).isEqualTo(misses + 1);
+    assertThat(DateTimePatternCache.hits()).isEqualTo(hits + 1);
+  }
+
+  @Test
+  void compiled_other_locale() {
+    CompiledDateTimePattern german =
+        DateTimePatternCache.compiled("'other locale' MMMM", Locale.GERMANY);
+    CompiledDateTimePattern english =
+        DateTimePatternCache.compiled("'other locale' MMMM", Locale.UK);
+
+    assertThat(english).isNotSameAs(german);
+    assertThat(german.pattern().matcher("other locale März").matches()).isTrue();
+    assertThat(english.pattern().matcher("other locale March").matches()).isTrue();
+  }
+
+  @Test
+  void compiled_bounded() {
+    for (int i = 0; i <= DateTimePatternCache.MAX_SIZE; i++) {
+      DateTimePatternCache.compiled("'bounded %d' yyyy".formatted(i), Locale.ROOT);
+    }
+
+    assertThat(DateTimePatternCache.size()).isLessThanOrEqualTo(DateTimePatternCache.MAX_SIZE);
+  }
+
+  @Test
+  void dateTimeFormat_shared() {
+    long hits = DateTimePatternCache.hits();
+
+    dateTimeFormat("'shared' yyyy-MM-dd", Locale.ROOT);
+    dateTimeFormat("'shared' yyyy-MM-dd", Locale.ROOT).replacement(Replacements.labeled("date"));
+
+    assertThat(DateTimePatternCache.hits()).isGreaterThan(hits);
+  }
+}
@@ -3,6 +3,13 @@ package org.approvej.scrub;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.jspecify.annotations.NullMarked;
 import org.junit.jupiter.api.Test;
@@ -52,6 +59,218 @@ class FieldScrubberTest {
         .withCauseInstanceOf(IllegalAccessException.class);
   }
 
+  @Test
+  void constructor_invalid_path() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> Scrubbers.field(Box.class, "thing..id"))
+        .withMessage("Invalid field path thing..id");
+  }
+
+  @Test
+  void apply_nested_path() {
+    ThingMutableClass thing = new ThingMutableClass("some thing");
+    UUID replacement = new UUID(0, 0);
+    FieldScrubber<Box> scrubber = Scrubbers.field(Box.class, "thing.id").replacement(replacement);
+
+    scrubber.apply(new Box(thing, new ThingImmutableClass[0]));
+
+    assertThat(thing.id()).isEqualTo(replacement);
+  }
+
+  @Test
+  void apply_nested_path_unknown_field() {
+    FieldScrubber<Box> scrubber = Scrubbers.field(Box.class, "thing.lastName");
+    Box box = new Box(new ThingMutableClass("some thing"), new ThingImmutableClass[0]);
+
+    assertThatExceptionOfType(ScrubbingError.class)
+        .isThrownBy(() -> scrubber.apply(box))
+        .withMessageStartingWith("Failed to scrub field lastName on value")
+        .withCauseInstanceOf(NoSuchFieldException.class);
+  }
+
+  @Test
+  void apply_each() {
+    ThingImmutableClass first = new ThingImmutableClass("first");
+    ThingImmutableClass second = new ThingImmutableClass("second");
+    FieldScrubber<Box> scrubber =
+        Scrubbers.field(Box.class, "things[*].id")
+            .replacement((match, count) -> new UUID(0, count));
+
+    scrubber.apply(
+        new Box(new ThingMutableClass("some thing"), new ThingImmutableClass[] {first, second}));
+
+    assertThat(first.id()).isEqualTo(new UUID(0, 1));
+    assertThat(second.id()).isEqualTo(new UUID(0, 2));
+  }
+
+  @Test
+  void copyOnWrite() {
+    ThingMutableClass thing = new ThingMutableClass("some thing");
+    UUID id = thing.id();
+    UUID replacement = new UUID(0, 0);
+    FieldScrubber<ThingMutableClass> scrubber =
+        Scrubbers.field(ThingMutableClass.class, "id").replacement(replacement).copyOnWrite();
+
+    ThingMutableClass scrubbed = scrubber.apply(thing);
+
+    assertThat(scrubbed).isNotSameAs(thing);
+    assertThat(scrubbed.id()).isEqualTo(replacement);
+    assertThat(scrubbed.name()).isEqualTo("some thing");
+    assertThat(thing.id()).isEqualTo(id);
+  }
+
+  @Test
+  void copyOnWrite_cloneable() {
+    CloneableThing thing = new CloneableThing("some thing");
+    UUID id = thing.id();
+    UUID replacement = new UUID(0, 0);
+    FieldScrubber<CloneableThing> scrubber =
+        Scrubbers.field(CloneableThing.class, "id").replacement(replacement).copyOnWrite();
+
+    CloneableThing scrubbed = scrubber.apply(thing);
+
+    assertThat(scrubbed).isNotSameAs(thing);
+    assertThat(scrubbed.id()).isEqualTo(replacement);
+    assertThat(scrubbed.name()).isEqualTo("some thing");
+    assertThat(thing.id()).isEqualTo(id);
+  }
+
+  @Test
+  void copyOnWrite_not_copyable() {
+    FieldScrubber<ThingImmutableClass> scrubber =
+        Scrubbers.field(ThingImmutableClass.class, "id").copyOnWrite();
+    ThingImmutableClass thing = new ThingImmutableClass("some thing");
+
+    assertThatExceptionOfType(ScrubbingError.class)
+        .isThrownBy(() -> scrubber.apply(thing))
+        .withMessageStartingWith("Failed to scrub field id on value")
+        .havingCause()
+        .withMessage(
+            "Cannot copy org.approvej.scrub.FieldScrubberTest$ThingImmutableClass, copy-on-write"
+                + " needs records, classes with a no-arg constructor, or Cloneable classes"
+                + " overriding clone()");
+  }
+
+  @Test
+  void copyOnWrite_record() {
+    ThingRecord first = new ThingRecord("first");
+    ThingRecord second = new ThingRecord("second");
+    Order order = new Order(UUID.randomUUID(), List.of(first, second, first));
+    FieldScrubber<Order> scrubber =
+        Scrubbers.field(Order.class, "items[*].id")
+            .replacement((match, count) -> new UUID(0, count))
+            .copyOnWrite();
+
+    Order scrubbed = scrubber.apply(order);
+
+    assertThat(scrubbed.id()).isEqualTo(order.id());
+    assertThat(scrubbed.items())
+        .containsExactly(
+            new ThingRecord(new UUID(0, 1), "first"),
+            new ThingRecord(new UUID(0, 2), "second"),
+            new ThingRecord(new UUID(0, 1), "first"));
+    assertThat(order.items()).containsExactly(first, second, first);
+  }
+
+  @Test
+  void copyOnWrite_map_values() {
+    Map<String, ThingRecord> things = new LinkedHashMap<>();
+    things.put("b", new ThingRecord("second"));
+    things.put("a", new ThingRecord("first"));
+    FieldScrubber<Catalog> scrubber =
+        Scrubbers.field(Catalog.class, "things[*].name")
+            .replacement((match, count) -> "thing %d".formatted(count))
+            .copyOnWrite();
+
+    Catalog scrubbed = scrubber.apply(new Catalog(things));
+
+    assertThat(scrubbed.things().keySet()).containsExactly("b", "a");
+    assertThat(scrubbed.things().values())
+        .extracting(ThingRecord::name)
+        .containsExactly("thing 1", "thing 2");
+    assertThat(things.values()).extracting(ThingRecord::name).containsExactly("second", "first");
+  }
+
+  @Test
+  void apply_each_linked_list() {
+    LinkedList<String> names = new LinkedList<>(List.of("first", "second"));
+    FieldScrubber<Queues> scrubber =
+        Scrubbers.field(Queues.class, "names[*]")
+            .replacement((match, count) -> "name %d".formatted(count));
+
+    Queues scrubbed = scrubber.apply(new Queues(names, new ArrayDeque<>()));
+
+    assertThat(scrubbed.names()).isSameAs(names).containsExactly("name 1", "name 2");
+  }
+
+  @Test
+  void apply_each_deque() {
+    Deque<String> pending = new ArrayDeque<>(List.of("first", "second"));
+    FieldScrubber<Queues> scrubber =
+        Scrubbers.field(Queues.class, "pending[*]")
+            .replacement((match, count) -> "task %d".formatted(count));
+
+    Queues scrubbed = scrubber.apply(new Queues(new LinkedList<>(), pending));
+
+    assertThat(scrubbed.pending()).isSameAs(pending).containsExactly("task 1", "task 2");
+  }
+
+  @Test
+  void apply_each_immutable_list() {
+    Order order = new Order(UUID.randomUUID(), List.of(new ThingRecord("first")));
+    FieldScrubber<Order> scrubber = Scrubbers.field(Order.class, "items[*]");
+
+    assertThatExceptionOfType(ScrubbingError.class)
+        .isThrownBy(() -> scrubber.apply(order))
+        .withMessageStartingWith("Failed to scrub field items on value Order")
+        .withCauseInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void copyOnWrite_linked_list() {
+    LinkedList<String> names = new LinkedList<>(List.of("first", "second"));
+    FieldScrubber<Queues> scrubber =
+        Scrubbers.field(Queues.class, "names[*]")
+            .replacement((match, count) -> "name %d".formatted(count))
+            .copyOnWrite();
+
+    Queues scrubbed = scrubber.apply(new Queues(names, new ArrayDeque<>()));
+
+    assertThat(scrubbed.names()).isInstanceOf(LinkedList.class).containsExactly("name 1", "name 2");
+    assertThat(names).containsExactly("first", "second");
+  }
+
+  @Test
+  void copyOnWrite_deque() {
+    Deque<String> pending = new ArrayDeque<>(List.of("first", "second"));
+    FieldScrubber<Queues> scrubber =
+        Scrubbers.field(Queues.class, "pending[*]")
+            .replacement((match, count) -> "task %d".formatted(count))
+            .copyOnWrite();
+
+    Queues scrubbed = scrubber.apply(new Queues(new LinkedList<>(), pending));
+
+    assertThat(scrubbed.pending())
+        .isInstanceOf(ArrayDeque.class)
+        .containsExactly("task 1", "task 2");
+    assertThat(pending).containsExactly("first", "second");
+  }
+
+  @Test
+  void copyOnWrite_each_not_copyable() {
+    FieldScrubber<Shelf> scrubber = Scrubbers.field(Shelf.class, "books[*]").copyOnWrite();
+    Shelf shelf = new Shelf(new Books(List.of("first")));
+
+    assertThatExceptionOfType(ScrubbingError.class)
+        .isThrownBy(() -> scrubber.apply(shelf))
+        .withMessageStartingWith("Failed to scrub field books on value Shelf")
+        .havingCause()
+        .withMessage(
+            "Cannot copy org.approvej.scrub.FieldScrubberTest$Books to a"
+                + " org.approvej.scrub.FieldScrubberTest$Books, it can only be copied to a"
+                + " java.util.ArrayList");
+  }
+
   private interface Thing {
     UUID id();
 
@@ -63,6 +282,10 @@ class FieldScrubberTest {
     private UUID id;
     private String name;
 
+    private ThingMutableClass() {
+      this("");
+    }
+
     public ThingMutableClass(String name) {
       this.id = UUID.randomUUID();
       this.name = name;
@@ -104,10 +327,65 @@ class FieldScrubberTest {
     }
   }
 
+  @NullMarked
+  private static class CloneableThing implements Thing, Cloneable {
+    private final UUID id;
+    private final String name;
+
+    private CloneableThing(String name) {
+      this.id = UUID.randomUUID();
+      this.name = name;
+    }
+
+    public UUID id() {
+      return id;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    @Override
+    protected CloneableThing clone() throws CloneNotSupportedException {
+      return (CloneableThing) super.clone();
+    }
+  }
+
   @NullMarked
   private record ThingRecord(UUID id, String name) implements Thing {
     private ThingRecord(String name) {
       this(UUID.randomUUID(), name);
     }
   }
+
+  @NullMarked
+  private static class Box {
+    private final ThingMutableClass thing;
+    private final ThingImmutableClass[] things;
+
+    private Box(ThingMutableClass thing, ThingImmutableClass[] things) {
+      this.thing = thing;
+      this.things = things;
+    }
+  }
+
+  @NullMarked
+  private record Order(UUID id, List<ThingRecord> items) {}
+
+  @NullMarked
+  private record Catalog(Map<String, ThingRecord> things) {}
+
+  @NullMarked
+  private record Queues(LinkedList<String> names, Deque<String> pending) {}
+
+  @NullMarked
+  private record Books(List<String> titles) implements Iterable<String> {
+    @Override
+    public Iterator<String> iterator() {
+      return titles.iterator();
+    }
+  }
+
+  @NullMarked
+  private record Shelf(Books books) {}
 }
@@ -0,0 +1,157 @@
+package org.approvej.scrub;
+
+import static org.approvej.scrub.Replacements.labeled;
+import static org.approvej.scrub.Replacements.string;
+import static org.approvej.scrub.Scrubbers.isoInstants;
+import static org.approvej.scrub.Scrubbers.isoLocalDates;
+import static org.approvej.scrub.Scrubbers.strings;
+import static org.approvej.scrub.Scrubbers.stringsMatching;
+import static org.approvej.scrub.Scrubbers.uuids;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+
+class FusedScrubberTest {
+
+  @Test
+  void apply() {
+    String value =
+        """
+        {
+          "id": "8f3b1c2e-4a5d-4e6f-9a0b-1c2d3e4f5a6b",
+          "createdAt": "2025-03-01T12:34:56Z",
+          "dueDate": "2025-03-08",
+          "parentId": "8f3b1c2e-4a5d-4e6f-9a0b-1c2d3e4f5a6b",
+          "childId": "0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d",
+          "updatedAt": "2025-03-02T01:02:03Z"
+        }
+        """;
+    List<UnaryOperator<String>> scrubbers = List.of(uuids(), isoInstants(), isoLocalDates());
+
+    assertThat(Scrubbers.fused(scrubbers).apply(value))
+        .isEqualTo(
+            """
+            {
+              "id": "[uuid 1]",
+              "createdAt": "[isoInstant 1]",
+              "dueDate": "[isoLocalDate 1]",
+              "parentId": "[uuid 1]",
+              "childId": "[uuid 2]",
+              "updatedAt": "[isoInstant 2]"
+            }
+            """)
+        .isEqualTo(sequentially(scrubbers, value));
+  }
+
+  @Test
+  void apply_no_match() {
+    assertThat(Scrubbers.fused(List.of(uuids(), isoInstants())).apply("nothing to scrub"))
+        .isEqualTo("nothing to scrub");
+  }
+
+  @Test
+  void apply_later_matches_replacement() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(uuids(), stringsMatching("\\d+").replacement(labeled("number")));
+    String value = "id 8f3b1c2e-4a5d-4e6f-9a0b-1c2d3e4f5a6b, count 42";
+
+    assertThat(Scrubbers.fused(scrubbers).apply(value))
+        .isEqualTo("id [uuid [number]], count [number]")
+        .isEqualTo(sequentially(scrubbers, value));
+  }
+
+  @Test
+  void apply_earlier_matches_within_later() {
+    List<UnaryOperator<String>> scrubbers = List.of(strings("abc"), strings("xab"));
+
+    assertThat(Scrubbers.fused(scrubbers).apply("xabc xab"))
+        .isEqualTo("x[scrubbed 1] [scrubbed 1]")
+        .isEqualTo(sequentially(scrubbers, "xabc xab"));
+  }
+
+  @Test
+  void apply_later_runs_into_replacement() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(
+            stringsMatching("[A-Z]-\\d+")
+                .replacement((match, number) -> "<id %d>".formatted(number)),
+            stringsMatching("\"id\": \"<id").replacement((match, number) -> "\"<primary"));
+    String value = "{\"id\": \"A-1234\", \"other\": \"B-99\"}";
+
+    assertThat(Scrubbers.fused(scrubbers).apply(value))
+        .isEqualTo("{\"<primary 1>\", \"other\": \"<id 2>\"}")
+        .isEqualTo(sequentially(scrubbers, value));
+  }
+
+  @Test
+  void apply_later_starts_before_replacement() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(stringsMatching("\\d{3}"), stringsMatching("x\\["));
+
+    assertThat(Scrubbers.fused(scrubbers).apply("x123"))
+        .isEqualTo("[scrubbed 1]scrubbed 1]")
+        .isEqualTo(sequentially(scrubbers, "x123"));
+  }
+
+  @Test
+  void apply_later_match_extends_into_replacement() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(stringsMatching("Q").replacement(string("cd")), stringsMatching("ab(?:cd)?"));
+
+    assertThat(Scrubbers.fused(scrubbers).apply("abQ"))
+        .isEqualTo("[scrubbed 1]")
+        .isEqualTo(sequentially(scrubbers, "abQ"));
+  }
+
+  @Test
+  void apply_later_runs_into_replacement_from_far_before() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(stringsMatching("Q").replacement(string("[")), stringsMatching("x\\d+\\["));
+    String value = "x" + "1".repeat(1000) + "Q";
+
+    assertThat(Scrubbers.fused(scrubbers).apply(value))
+        .isEqualTo("[scrubbed 1]")
+        .isEqualTo(sequentially(scrubbers, value));
+  }
+
+  @Test
+  void apply_custom_scrubber_in_between() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(strings("a"), value -> value.replace("[scrubbed 1]", "b"), strings("b"));
+
+    assertThat(Scrubbers.fused(scrubbers).apply("ab")).isEqualTo("[scrubbed 1][scrubbed 1]");
+  }
+
+  @Test
+  void apply_group_reference() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(
+            stringsMatching("(\\w+)@example\\.com").replacement(string("$1@[domain]")),
+            stringsMatching("\\d{4}"));
+    String value = "mail alice@example.com in 2025";
+
+    assertThat(Scrubbers.fused(scrubbers).apply(value))
+        .isEqualTo("mail alice@[domain] in [scrubbed 1]")
+        .isEqualTo(sequentially(scrubbers, value));
+  }
+
+  @Test
+  void apply_context_dependent_pattern() {
+    List<UnaryOperator<String>> scrubbers =
+        List.of(stringsMatching("\\bid\\b"), stringsMatching("^\\w+"), strings("x"));
+    String value = "grid id x";
+
+    assertThat(Scrubbers.fused(scrubbers).apply(value))
+        .isEqualTo("[scrubbed 1] [scrubbed 1] [scrubbed 1]")
+        .isEqualTo(sequentially(scrubbers, value));
+  }
+
+  private static String sequentially(List<UnaryOperator<String>> scrubbers, String value) {
+    for (UnaryOperator<String> scrubber : scrubbers) {
+      value = scrubber.apply(value);
+    }
+    return value;
+  }
+}
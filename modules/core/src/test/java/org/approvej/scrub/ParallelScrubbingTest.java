@@ -0,0 +1,82 @@
+package org.approvej.scrub;
+
+import static org.approvej.scrub.Scrubbers.strings;
+import static org.approvej.scrub.Scrubbers.stringsMatching;
+import static org.approvej.scrub.Scrubbers.uuids;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ParallelScrubbingTest {
+
+  private static final String LINES =
+      IntStream.range(0, 200)
+          .mapToObj(i -> "ab%d b\nx %s a\nab\n\nbb".formatted(i % 7, uuid(i % 11)))
+          .collect(Collectors.joining("\n"));
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(
+      strings = {"a+", "ab|b", "\\bab", "(?<=a)b", "^a", "(?m)^a", "a*", "b\\nx", "(?s)b.*?x"})
+  void findAll(String regex) {
+    Pattern pattern = Pattern.compile(regex);
+
+    for (int chunkLength = 1; chunkLength < 20; chunkLength++) {
+      List<Match> matches =
+          ParallelScrubbing.findAll(
+              LINES,
+              () -> {
+                Matcher matcher =
+                    pattern.matcher(LINES).useTransparentBounds(true).useAnchoringBounds(false);
+                return from ->
+                    matcher.region(from, LINES.length()).find()
+                        ? new Match(matcher.start(), matcher.end())
+                        : null;
+              },
+              chunkLength);
+
+      assertThat(matches)
+          .isEqualTo(
+              pattern
+                  .matcher(LINES)
+                  .results()
+                  .map(result -> new Match(result.start(), result.end()))
+                  .toList());
+    }
+  }
+
+  @Test
+  void parallelThreshold() {
+    StringScrubber scrubber = stringsMatching("ab\\d|b");
+
+    assertThat(scrubber.parallelThreshold(0).apply(LINES))
+        .isEqualTo(scrubber.parallelThreshold(Integer.MAX_VALUE).apply(LINES));
+  }
+
+  @Test
+  void parallelThreshold_strings() {
+    StringScrubber scrubber = strings("ab1", "b");
+
+    assertThat(scrubber.parallelThreshold(0).apply(LINES))
+        .isEqualTo(scrubber.parallelThreshold(Integer.MAX_VALUE).apply(LINES));
+  }
+
+  @Test
+  void parallelThreshold_uuids() {
+    StringScrubber scrubber = uuids();
+
+    assertThat(scrubber.parallelThreshold(0).apply(LINES))
+        .isEqualTo(scrubber.parallelThreshold(Integer.MAX_VALUE).apply(LINES));
+  }
+
+  private static String uuid(int seed) {
+    return UUID.nameUUIDFromBytes(new byte[] {(byte) seed}).toString();
+  }
+}
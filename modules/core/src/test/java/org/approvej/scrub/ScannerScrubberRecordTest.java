@@ -0,0 +1,104 @@
+package org.approvej.scrub;
+
+import static org.approvej.scrub.Replacements.numbered;
+import static org.approvej.scrub.Replacements.string;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ScannerScrubberRecordTest {
+
+  private static final Pattern UUID_PATTERN =
+      Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(
+      strings = {
+        "123e4567-e89b-12d3-a456-426614174000",
+        "x123e4567-e89b-12d3-a456-4266141740001",
+        "123E4567-e89b-12d3-a456-426614174000",
+        "123e4567-e89b-12d3-a456-42661417400",
+        "123e4567-e89b-12d3-a456-426614174000123e4567-e89b-12d3-a456-426614174000",
+        "0123e4567-e89b-12d3-a456-426614174000"
+      })
+  void apply_uuid(String value) {
+    assertSameAsRegex(Scanner.UUID, UUID_PATTERN, value);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(
+      strings = {
+        "2019-02-25",
+        "-2019-02-25",
+        "12019-02-25",
+        "2019-02-250",
+        "2019-00-25 2019-13-25 2019-10-25 2019-12-25",
+        "2019-02-00 2019-02-09 2019-02-10 2019-02-29 2019-02-30 2019-02-31 2019-02-32",
+        "2019-02-2",
+        "--2019-02-25"
+      })
+  void apply_iso_local_date(String value) {
+    assertSameAsRegex(Scanner.ISO_LOCAL_DATE, "yyyy-MM-dd", value);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(
+      strings = {
+        "2019-02-25T12:34:56Z",
+        "2019-02-25T12:34:56.123Z",
+        "2019-02-25T12:34:56.123456789Z",
+        "2019-02-25T12:34:56.1234567891Z",
+        "2019-02-25T12:34:56.Z",
+        "2019-02-25T12:34:56+02",
+        "2019-02-25T12:34:56+0230",
+        "2019-02-25T12:34:56+00",
+        "2019-02-25T12:34:56+0260",
+        "2019-02-25T24:34:56Z 2019-02-25T23:60:56Z 2019-02-25T23:59:60Z",
+        "2019-02-25T12:34:56"
+      })
+  void apply_iso_instant(String value) {
+    assertSameAsRegex(Scanner.ISO_INSTANT, "uuuu-MM-dd'T'HH:mm:ss[.S]X", value);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(
+      strings = {
+        "2019-02-25T12:34:56Z",
+        "2019-02-25T12:34:56+02:00",
+        "2019-02-25T12:34:56.123-05:30",
+        "2019-02-25T12:34:56+02:60",
+        "2019-02-25T12:34:56+0200",
+        "2019-02-25T12:34:56+02:0",
+        "-2019-02-25T02:04:06.000000001+00:00"
+      })
+  void apply_iso_offset_date_time(String value) {
+    assertSameAsRegex(Scanner.ISO_OFFSET_DATE_TIME, "yyyy-MM-dd'T'HH:mm:ss[.S]XXX", value);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(strings = {"on 2019-02-25 and 2019-02-26", "on 2019-02-25 and 2019-02-25"})
+  void apply_group_reference(String value) {
+    Pattern pattern = Pattern.compile(DateTimeScrubberRecord.regexFor("yyyy-MM-dd", Locale.ROOT));
+
+    assertThat(
+            new ScannerScrubberRecord(Scanner.ISO_LOCAL_DATE, pattern, string("${year}-xx-xx"))
+                .apply(value))
+        .isEqualTo(new RegexScrubberRecord(pattern, string("${year}-xx-xx")).apply(value));
+  }
+
+  private static void assertSameAsRegex(Scanner scanner, String dateTimePattern, String value) {
+    Pattern pattern =
+        Pattern.compile(DateTimeScrubberRecord.regexFor(dateTimePattern, Locale.ROOT));
+    assertSameAsRegex(scanner, pattern, value);
+  }
+
+  private static void assertSameAsRegex(Scanner scanner, Pattern pattern, String value) {
+    String text = "before %s middle %s after".formatted(value, value);
+
+    assertThat(new ScannerScrubberRecord(scanner, pattern, numbered()).apply(text))
+        .isEqualTo(new RegexScrubberRecord(pattern, numbered()).apply(text));
+  }
+}
@@ -1,9 +1,12 @@
 package org.approvej.scrub;
 
 import static java.util.UUID.randomUUID;
+import static org.approvej.scrub.Replacements.labeled;
+import static org.approvej.scrub.Replacements.string;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class StringsScrubberTest {
@@ -27,4 +30,41 @@ class StringsScrubberTest {
 
     assertThat(scrubbed).isEqualTo(template.formatted("[scrubbed 1]", "[scrubbed 2]"));
   }
+
+  @Test
+  void apply_overlapping() {
+    assertThat(Scrubbers.strings("ab", "abc", "bcd").apply("abcd abc bcd"))
+        .isEqualTo("[scrubbed 1]cd [scrubbed 1]c [scrubbed 2]");
+  }
+
+  @Test
+  void apply_earlier_start_wins() {
+    assertThat(Scrubbers.strings("b", "abc").apply("abc b"))
+        .isEqualTo("[scrubbed 1] [scrubbed 2]");
+  }
+
+  @Test
+  void apply_many() {
+    String[] tenants =
+        IntStream.range(0, 1000).mapToObj("tenant-%04d"::formatted).toArray(String[]::new);
+
+    String scrubbed =
+        Scrubbers.strings("tenant-1000", tenants)
+            .replacement(labeled("tenant"))
+            .apply("tenant-0042 owns tenant-0999, not tenant-10000");
+
+    assertThat(scrubbed).isEqualTo("[tenant] owns [tenant], not [tenant]0");
+  }
+
+  @Test
+  void apply_group_reference() {
+    assertThat(Scrubbers.strings("secret").replacement(string("<$1>")).apply("a secret"))
+        .isEqualTo("a <secret>");
+  }
+
+  @Test
+  void apply_empty() {
+    assertThat(Scrubbers.strings("", "a").apply("ba"))
+        .isEqualTo("[scrubbed 1]b[scrubbed 1]a[scrubbed 1]");
+  }
 }
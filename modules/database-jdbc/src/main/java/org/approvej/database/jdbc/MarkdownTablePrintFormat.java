@@ -1,5 +1,8 @@
 package org.approvej.database.jdbc;
 
+import java.io.IOException;
+import java.util.List;
+import org.approvej.print.AppendablePrinter;
 import org.approvej.print.PrintFormat;
 import org.approvej.print.Printer;
 import org.jspecify.annotations.NullMarked;
@@ -27,45 +30,53 @@ public class MarkdownTablePrintFormat implements PrintFormat<QueryResult> {
 
   @Override
   public Printer<QueryResult> printer() {
-    return (QueryResult result) -> {
-      int columnCount = result.columnNames().size();
-      int[] widths = new int[columnCount];
-      for (int i = 0; i < columnCount; i++) {
-        widths[i] = result.columnNames().get(i).length();
-      }
-      for (var row : result.rows()) {
-        for (int i = 0; i < columnCount; i++) {
-          widths[i] = Math.max(widths[i], row.get(i).length());
-        }
-      }
+    return (AppendablePrinter<QueryResult>) MarkdownTablePrintFormat::print;
+  }
 
-      StringBuilder stringBuilder = new StringBuilder();
-      appendRow(stringBuilder, result.columnNames(), widths);
-      stringBuilder.append("\n");
-      appendSeparator(stringBuilder, widths);
-      for (var row : result.rows()) {
-        stringBuilder.append("\n");
-        appendRow(stringBuilder, row, widths);
+  private static void print(QueryResult result, Appendable appendable) throws IOException {
+    int columnCount = result.columnNames().size();
+    int[] widths = new int[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      widths[i] = result.columnNames().get(i).length();
+    }
+    for (var row : result.rows()) {
+      for (int i = 0; i < columnCount; i++) {
+        widths[i] = Math.max(widths[i], row.get(i).length());
       }
+    }
 
-      return stringBuilder.toString();
-    };
+    appendRow(appendable, result.columnNames(), widths);
+    appendable.append("\n");
+    appendSeparator(appendable, widths);
+    for (var row : result.rows()) {
+      appendable.append("\n");
+      appendRow(appendable, row, widths);
+    }
   }
 
-  private static void appendRow(
-      StringBuilder stringBuilder, java.util.List<String> values, int[] widths) {
-    stringBuilder.append("|");
+  private static void appendRow(Appendable appendable, List<String> values, int[] widths)
+      throws IOException {
+    appendable.append("|");
     for (int i = 0; i < values.size(); i++) {
-      stringBuilder.append(
-          " %-*s |".replace("*", String.valueOf(widths[i])).formatted(values.get(i)));
+      String value = values.get(i);
+      appendable.append(" ").append(value);
+      appendPadding(appendable, ' ', widths[i] - value.length());
+      appendable.append(" |");
     }
   }
 
-  private static void appendSeparator(StringBuilder stringBuilder, int[] widths) {
-    stringBuilder.append("|");
+  private static void appendSeparator(Appendable appendable, int[] widths) throws IOException {
+    appendable.append("|");
     for (int width : widths) {
-      stringBuilder.append("-".repeat(width + 2));
-      stringBuilder.append("|");
+      appendPadding(appendable, '-', width + 2);
+      appendable.append("|");
+    }
+  }
+
+  private static void appendPadding(Appendable appendable, char character, int count)
+      throws IOException {
+    for (int i = 0; i < count; i++) {
+      appendable.append(character);
     }
   }
 
@@ -3,6 +3,7 @@ package org.approvej.database.jdbc;
 import static org.approvej.database.jdbc.MarkdownTablePrintFormat.markdownTable;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -27,6 +28,23 @@ class MarkdownTablePrintFormatTest {
             """);
   }
 
+  @Test
+  void printTo() throws IOException {
+    QueryResult result = new QueryResult(List.of("id"), List.of(List.of("1")));
+    StringBuilder appendable = new StringBuilder("existing\n");
+
+    markdownTable().printTo(result, appendable);
+
+    assertThat(appendable)
+        .hasToString(
+            """
+            existing
+            | id |
+            |----|
+            | 1  |\
+            """);
+  }
+
   @Test
   void printer_empty_rows() {
     QueryResult result = new QueryResult(List.of("id", "name"), List.of());
@@ -2,6 +2,10 @@ package org.approvej.http;
 
 import static java.lang.String.join;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.approvej.print.AppendablePrinter;
 import org.approvej.print.PrintFormat;
 import org.approvej.print.Printer;
 import org.jspecify.annotations.NullMarked;
@@ -36,20 +40,20 @@ public class ReceivedHttpRequestPrintFormat implements PrintFormat<ReceivedHttpR
 
   @Override
   public Printer<ReceivedHttpRequest> printer() {
-    return (ReceivedHttpRequest request) -> {
-      StringBuilder stringBuilder = new StringBuilder();
-      stringBuilder.append("%s %s".formatted(request.method(), request.uri()));
-      request
-          .headers()
-          .forEach(
-              (key, value) ->
-                  stringBuilder.append("\n").append("%s: %s".formatted(key, join(", ", value))));
+    return (AppendablePrinter<ReceivedHttpRequest>) ReceivedHttpRequestPrintFormat::print;
+  }
+
+  private static void print(ReceivedHttpRequest request, Appendable appendable)
+      throws IOException {
+    appendable.append(request.method()).append(" ").append(String.valueOf(request.uri()));
+    for (Map.Entry<String, List<String>> header : request.headers().entrySet()) {
+      appendable.append("\n").append(header.getKey()).append(": ");
+      appendable.append(join(", ", header.getValue()));
+    }
 
-      if (!request.body().isBlank()) {
-        stringBuilder.append("\n\n").append(request.body());
-      }
-      return stringBuilder.toString();
-    };
+    if (!request.body().isBlank()) {
+      appendable.append("\n\n").append(request.body());
+    }
   }
 
   @Override
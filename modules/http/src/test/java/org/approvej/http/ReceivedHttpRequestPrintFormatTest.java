@@ -8,6 +8,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import org.junit.jupiter.api.Test;
 
 class ReceivedHttpRequestPrintFormatTest {
@@ -30,4 +33,27 @@ class ReceivedHttpRequestPrintFormatTest {
       }
     }
   }
+
+  @Test
+  void printTo() throws IOException {
+    ReceivedHttpRequest request =
+        new ReceivedHttpRequest(
+            "POST",
+            URI.create("/something"),
+            new TreeMap<>(Map.of("Content-type", List.of("application/json"))),
+            "{\"some\":\"value\"}");
+    StringBuilder appendable = new StringBuilder("existing\n");
+
+    httpRequest().printTo(request, appendable);
+
+    assertThat(appendable)
+        .hasToString(
+            """
+            existing
+            POST /something
+            Content-type: application/json
+
+            {"some":"value"}\
+            """);
+  }
 }
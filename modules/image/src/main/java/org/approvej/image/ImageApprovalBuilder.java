@@ -1,5 +1,6 @@
 package org.approvej.image;
 
+import static java.util.Objects.requireNonNull;
 import static org.approvej.configuration.Configuration.configuration;
 import static org.approvej.image.approve.ImageFileApprover.imageFile;
 import static org.approvej.image.compare.ImageComparators.perceptualHash;
@@ -10,14 +11,17 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.function.UnaryOperator;
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 import org.approvej.approve.ApprovedFileInventoryUpdater;
 import org.approvej.approve.PathProvider;
 import org.approvej.approve.PathProviders;
 import org.approvej.image.approve.ImageFileApprover;
 import org.approvej.image.compare.ImageComparator;
+import org.approvej.review.AutomaticReviewer;
 import org.approvej.review.ReviewResult;
 import org.approvej.review.Reviewer;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Builder for configuring and executing image approval tests.
@@ -31,19 +35,22 @@ import org.jspecify.annotations.NullMarked;
 @NullMarked
 public class ImageApprovalBuilder {
 
-  private final BufferedImage value;
+  private final @Nullable BufferedImage value;
+  private final byte @Nullable [] encodedValue;
   private final String name;
   private final String filenameExtension;
   private final Reviewer fileReviewer;
   private final ImageComparator comparator;
 
   private ImageApprovalBuilder(
-      BufferedImage image,
+      @Nullable BufferedImage image,
+      byte @Nullable [] encodedImage,
       String name,
       String filenameExtension,
       Reviewer fileReviewer,
       ImageComparator comparator) {
     this.value = image;
+    this.encodedValue = encodedImage;
     this.name = name;
     this.filenameExtension = filenameExtension;
     this.fileReviewer = fileReviewer;
@@ -60,7 +67,7 @@ public class ImageApprovalBuilder {
    */
   public static ImageApprovalBuilder approveImage(BufferedImage value) {
     return new ImageApprovalBuilder(
-        value, "", "png", configuration.defaultFileReviewer(), perceptualHash());
+        value, null, "", "png", configuration.defaultFileReviewer(), perceptualHash());
   }
 
   /**
@@ -71,21 +78,25 @@ public class ImageApprovalBuilder {
    *
    * <p>By default, uses perceptual hash comparison with 90% similarity threshold.
    *
+   * <p>The bytes are only decoded when needed: if they are identical to the approved file, the
+   * image is approved without decoding it at all.
+   *
    * @param imageBytes the image bytes (PNG, JPEG, etc.) to approve
    * @return a new {@link ImageApprovalBuilder} for the given image
-   * @throws UncheckedIOException if the image bytes cannot be read
+   * @throws UncheckedIOException if the image format of the bytes is not supported
    */
   public static ImageApprovalBuilder approveImage(byte[] imageBytes) {
-    try {
-      BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
-      if (image == null) {
+    try (ImageInputStream input =
+        ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+      if (input == null || !ImageIO.getImageReaders(input).hasNext()) {
         throw new UncheckedIOException(
             new IOException("Failed to read image from bytes - unsupported format"));
       }
-      return approveImage(image);
     } catch (IOException e) {
       throw new UncheckedIOException("Failed to read image from bytes", e);
     }
+    return new ImageApprovalBuilder(
+        null, imageBytes, "", "png", configuration.defaultFileReviewer(), perceptualHash());
   }
 
   /**
@@ -97,7 +108,8 @@ public class ImageApprovalBuilder {
    * @return a new builder with the given name
    */
   public ImageApprovalBuilder named(String name) {
-    return new ImageApprovalBuilder(value, name, filenameExtension, fileReviewer, comparator);
+    return new ImageApprovalBuilder(
+        value, encodedValue, name, filenameExtension, fileReviewer, comparator);
   }
 
   /**
@@ -108,7 +120,8 @@ public class ImageApprovalBuilder {
    * @see org.approvej.image.compare.ImageComparators
    */
   public ImageApprovalBuilder comparedBy(ImageComparator comparator) {
-    return new ImageApprovalBuilder(value, name, filenameExtension, fileReviewer, comparator);
+    return new ImageApprovalBuilder(
+        value, encodedValue, name, filenameExtension, fileReviewer, comparator);
   }
 
   /**
@@ -131,7 +144,7 @@ public class ImageApprovalBuilder {
    */
   public ImageApprovalBuilder scrubbedOf(UnaryOperator<BufferedImage> scrubber) {
     return new ImageApprovalBuilder(
-        scrubber.apply(value), name, filenameExtension, fileReviewer, comparator);
+        scrubber.apply(image()), null, name, filenameExtension, fileReviewer, comparator);
   }
 
   /**
@@ -158,13 +171,42 @@ public class ImageApprovalBuilder {
       ApprovedFileInventoryUpdater.registerApprovedFile(updatedPathProvider);
     }
     ImageFileApprover approver = imageFile(updatedPathProvider, comparator);
-    ImageApprovalResult approvalResult = approver.apply(value);
+    ImageApprovalResult approvalResult = apply(approver);
     if (approvalResult.needsApproval()) {
+      if (!(fileReviewer instanceof AutomaticReviewer)) {
+        approver.writeDiffImage();
+      }
       ReviewResult reviewResult = fileReviewer.apply(updatedPathProvider);
       if (reviewResult.needsReapproval()) {
-        approvalResult = approver.apply(value);
+        approvalResult = apply(approver);
       }
     }
+    if (approvalResult.needsApproval()) {
+      approver.writeDiffImage();
+    }
     approvalResult.throwIfNotApproved();
   }
+
+  private ImageApprovalResult apply(ImageFileApprover approver) {
+    if (encodedValue != null) {
+      return approver.apply(encodedValue);
+    }
+    return approver.apply(image());
+  }
+
+  private BufferedImage image() {
+    if (value != null) {
+      return value;
+    }
+    try {
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(requireNonNull(encodedValue)));
+      if (image == null) {
+        throw new UncheckedIOException(
+            new IOException("Failed to read image from bytes - unsupported format"));
+      }
+      return image;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read image from bytes", e);
+    }
+  }
 }
@@ -3,33 +3,31 @@ package org.approvej.image.approve;
 import static java.awt.image.BufferedImage.TYPE_INT_ARGB;
 import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.deleteIfExists;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.getLastModifiedTime;
-import static java.nio.file.Files.list;
-import static java.nio.file.Files.move;
 import static java.nio.file.Files.notExists;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
-import static java.util.Comparator.comparing;
+import static org.approvej.configuration.Configuration.configuration;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.FileTime;
-import java.time.Instant;
-import java.util.List;
+import java.util.Arrays;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import javax.imageio.ImageIO;
+import org.approvej.approve.DirectorySnapshotCache;
 import org.approvej.approve.PathProvider;
 import org.approvej.image.ImageApprovalResult;
 import org.approvej.image.compare.DiffImageRenderer;
+import org.approvej.image.compare.IdenticalFileComparisonResult;
 import org.approvej.image.compare.ImageComparator;
 import org.approvej.image.compare.ImageComparisonResult;
+import org.approvej.image.compare.PerceptualHashComparator;
 import org.approvej.print.PrintFormat;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Approves a received image by comparing it to an approved file on disk.
@@ -37,14 +35,26 @@ import org.jspecify.annotations.NullMarked;
  * <p>If the approved file does not exist, a transparent placeholder file is generated. If the
  * received image differs from the approved image according to the configured {@link
  * ImageComparator}, the received image is written to disk alongside the approved file.
+ *
+ * <p>Images are compared with {@link ImageComparator#compareUntilDecided(BufferedImage,
+ * BufferedImage)}, so the comparison stops as soon as it is decided. The diff image is only
+ * rendered when it is requested via {@link #writeDiffImage()}.
+ *
+ * <p>If the {@link org.approvej.configuration.Configuration#imageHashIndexEnabled() image hash
+ * index} is enabled and the comparator is a {@link PerceptualHashComparator}, the approved file is
+ * only decoded if its perceptual hash isn't indexed yet.
  */
 @NullMarked
 public class ImageFileApprover implements ImageApprover {
 
   private static final Logger LOGGER = Logger.getLogger(ImageFileApprover.class.getName());
+  private static final int BUFFER_SIZE = 1 << 16;
 
   private final PathProvider pathProvider;
   private final ImageComparator comparator;
+  private final boolean hashIndexEnabled;
+  private @Nullable BufferedImage mismatchedApproved;
+  private @Nullable BufferedImage mismatchedReceived;
 
   /**
    * Creates a new image file approver.
@@ -56,20 +66,109 @@ public class ImageFileApprover implements ImageApprover {
   private static final String DEFAULT_IMAGE_EXTENSION = "png";
 
   ImageFileApprover(PathProvider pathProvider, ImageComparator comparator) {
+    this(pathProvider, comparator, configuration.imageHashIndexEnabled());
+  }
+
+  ImageFileApprover(
+      PathProvider pathProvider, ImageComparator comparator, boolean hashIndexEnabled) {
     this.pathProvider =
         pathProvider.filenameExtension().equals(PrintFormat.DEFAULT_FILENAME_EXTENSION)
             ? pathProvider.filenameExtension(DEFAULT_IMAGE_EXTENSION)
             : pathProvider;
     this.comparator = comparator;
+    this.hashIndexEnabled = hashIndexEnabled;
   }
 
   @Override
   public ImageApprovalResult apply(BufferedImage received) {
     ensureDirectory();
-    handleOldApprovedFiles();
+    DirectorySnapshotCache.handleOldApprovedFiles(pathProvider.approvedPath());
     ensureApprovedFile(received.getWidth(), received.getHeight());
+    mismatchedApproved = null;
+    mismatchedReceived = null;
+    if (hashIndexEnabled && comparator instanceof PerceptualHashComparator perceptualHash) {
+      return checkIndexed(perceptualHash, received);
+    }
     BufferedImage approved = readApprovedFile();
-    return check(approved, received);
+    return check(comparator.compareUntilDecided(approved, received), approved, received);
+  }
+
+  /**
+   * Approves the given encoded image.
+   *
+   * <p>If the bytes are identical to the approved file, the image is approved without decoding
+   * either of them. Otherwise, the bytes are decoded and {@link #apply(BufferedImage) applied}.
+   *
+   * @param received the encoded received image (PNG, JPEG, etc.)
+   * @return the {@link ImageApprovalResult}
+   */
+  public ImageApprovalResult apply(byte[] received) {
+    ensureDirectory();
+    Path approvedPath = pathProvider.approvedPath();
+    DirectorySnapshotCache.handleOldApprovedFiles(approvedPath);
+    if (hasContent(approvedPath, received)) {
+      mismatchedApproved = null;
+      mismatchedReceived = null;
+      deleteReceivedAndDiffFiles();
+      return new ImageFileApprovalResult(new IdenticalFileComparisonResult(), pathProvider);
+    }
+    BufferedImage image;
+    try {
+      image = ImageIO.read(new ByteArrayInputStream(received));
+    } catch (IOException e) {
+      throw new ImageFileApproverError("Decoding received image failed", e);
+    }
+    if (image == null) {
+      throw new ImageFileApproverError("Cannot decode received image (unsupported image format)");
+    }
+    return apply(image);
+  }
+
+  /** Compares the file's content to the given bytes, stopping at the first difference. */
+  private static boolean hasContent(Path file, byte[] content) {
+    try {
+      if (!Files.isRegularFile(file) || Files.size(file) != content.length) {
+        return false;
+      }
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try (InputStream inputStream = Files.newInputStream(file)) {
+        int offset = 0;
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+          if (offset + read > content.length
+              || !Arrays.equals(buffer, 0, read, content, offset, offset + read)) {
+            return false;
+          }
+          offset += read;
+        }
+        return offset == content.length;
+      }
+    } catch (IOException e) {
+      throw new ImageFileApproverError("Reading approved file %s failed".formatted(file), e);
+    }
+  }
+
+  /**
+   * Compares the received image to the {@link PerceptualHashIndex indexed} hash of the approved
+   * file, only decoding the approved file if it isn't indexed yet.
+   */
+  private ImageApprovalResult checkIndexed(
+      PerceptualHashComparator perceptualHash, BufferedImage received) {
+    Path approvedPath = pathProvider.approvedPath();
+    String checksum;
+    try {
+      checksum = PerceptualHashIndex.checksum(approvedPath);
+    } catch (IOException e) {
+      throw new ImageFileApproverError(
+          "Reading approved file %s failed".formatted(approvedPath), e);
+    }
+    PerceptualHashIndex.Entry entry = PerceptualHashIndex.get(checksum);
+    BufferedImage approved = null;
+    if (entry == null) {
+      approved = readApprovedFile();
+      entry = PerceptualHashIndex.put(checksum, approved);
+    }
+    return check(perceptualHash.compare(entry.hash(), received), approved, received);
   }
 
   private void ensureDirectory() {
@@ -91,54 +190,7 @@ public class ImageFileApprover implements ImageApprover {
         throw new ImageFileApproverError(
             "Creating approved file %s failed".formatted(approvedPath), e);
       }
-    }
-  }
-
-  private void handleOldApprovedFiles() {
-    Path approvedPath = pathProvider.approvedPath().toAbsolutePath();
-    String filename = approvedPath.getFileName().toString();
-    Pattern filenameExtensionPattern =
-        Pattern.compile("(?<baseFilename>.+?)(?:\\.(?<extension>[^.]*))?");
-    Matcher matcher = filenameExtensionPattern.matcher(filename);
-    if (!matcher.matches()) {
-      return;
-    }
-    String baseFilename = matcher.group("baseFilename");
-    Pattern baseFilenamePattern = Pattern.compile(baseFilename + "(?:\\.(?<extension>[^.]*))?");
-    try (var paths = list(pathProvider.directory())) {
-      List<Path> oldApprovedFiles =
-          paths
-              .filter(
-                  path ->
-                      !path.toAbsolutePath().equals(approvedPath)
-                          && baseFilenamePattern.matcher(path.getFileName().toString()).matches())
-              .sorted(
-                  comparing(
-                      path -> {
-                        try {
-                          return getLastModifiedTime(path);
-                        } catch (IOException e) {
-                          LOGGER.fine("Could not read modification time: " + e.getMessage());
-                          return FileTime.from(Instant.ofEpochSecond(0));
-                        }
-                      }))
-              .toList();
-      if (oldApprovedFiles.isEmpty()) {
-        return;
-      }
-      if (!exists(approvedPath)) {
-        move(oldApprovedFiles.getLast(), approvedPath);
-      }
-      oldApprovedFiles.forEach(
-          path -> {
-            try {
-              deleteIfExists(path);
-            } catch (IOException e) {
-              LOGGER.fine("Could not delete old approved file: " + e.getMessage());
-            }
-          });
-    } catch (IOException e) {
-      LOGGER.fine("Could not clean up old approved files: " + e.getMessage());
+      DirectorySnapshotCache.created(approvedPath);
     }
   }
 
@@ -157,8 +209,10 @@ public class ImageFileApprover implements ImageApprover {
     }
   }
 
-  private ImageApprovalResult check(BufferedImage previouslyApproved, BufferedImage received) {
-    ImageComparisonResult comparisonResult = comparator.compare(previouslyApproved, received);
+  private ImageApprovalResult check(
+      ImageComparisonResult comparisonResult,
+      @Nullable BufferedImage previouslyApproved,
+      BufferedImage received) {
     ImageFileApprovalResult result = new ImageFileApprovalResult(comparisonResult, pathProvider);
     Path receivedPath = pathProvider.receivedPath();
     Path diffPath = pathProvider.diffPath();
@@ -169,21 +223,55 @@ public class ImageFileApprover implements ImageApprover {
         throw new ImageFileApproverError(
             "Writing received to %s failed".formatted(receivedPath), e);
       }
-      writeDiffImage(received, previouslyApproved, diffPath);
-    } else {
+      DirectorySnapshotCache.created(receivedPath);
       try {
-        deleteIfExists(receivedPath);
         deleteIfExists(diffPath);
       } catch (IOException e) {
-        throw new ImageFileApproverError(
-            "Deleting received file %s failed".formatted(receivedPath), e);
+        throw new ImageFileApproverError("Deleting diff file %s failed".formatted(diffPath), e);
       }
+      mismatchedApproved = previouslyApproved;
+      mismatchedReceived = received;
+    } else {
+      deleteReceivedAndDiffFiles();
     }
     return result;
   }
 
-  private void writeDiffImage(
-      BufferedImage received, BufferedImage previouslyApproved, Path diffPath) {
+  private void deleteReceivedAndDiffFiles() {
+    Path receivedPath = pathProvider.receivedPath();
+    Path diffPath = pathProvider.diffPath();
+    try {
+      if (deleteIfExists(receivedPath)) {
+        DirectorySnapshotCache.deleted(receivedPath);
+      }
+      if (deleteIfExists(diffPath)) {
+        DirectorySnapshotCache.deleted(diffPath);
+      }
+    } catch (IOException e) {
+      throw new ImageFileApproverError(
+          "Deleting received file %s failed".formatted(receivedPath), e);
+    }
+  }
+
+  /**
+   * Writes the diff image of the last {@link #apply(BufferedImage) applied} image, if it didn't
+   * match the approved image.
+   *
+   * <p>Rendering the diff image is only worth it if someone is going to look at it, e.g. a reviewer
+   * or a developer inspecting a failed test. Subsequent calls don't write it again.
+   */
+  public void writeDiffImage() {
+    BufferedImage received = mismatchedReceived;
+    if (received == null) {
+      return;
+    }
+    BufferedImage previouslyApproved = mismatchedApproved;
+    if (previouslyApproved == null) {
+      previouslyApproved = readApprovedFile();
+    }
+    mismatchedApproved = null;
+    mismatchedReceived = null;
+    Path diffPath = pathProvider.diffPath();
     String format = pathProvider.filenameExtension();
     boolean writeSucceeded = false;
     try (var outputStream = Files.newOutputStream(diffPath, CREATE, TRUNCATE_EXISTING)) {
@@ -197,7 +285,9 @@ public class ImageFileApprover implements ImageApprover {
     } catch (IOException e) {
       LOGGER.fine("Writing diff image to %s failed: %s".formatted(diffPath, e.getMessage()));
     }
-    if (!writeSucceeded) {
+    if (writeSucceeded) {
+      DirectorySnapshotCache.created(diffPath);
+    } else {
       try {
         deleteIfExists(diffPath);
       } catch (IOException e) {
@@ -0,0 +1,181 @@
+package org.approvej.image.approve;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import org.approvej.image.compare.PerceptualHashComparator;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JVM-wide index of the perceptual hashes of approved image files, so approved images only need to
+ * be decoded when they changed.
+ *
+ * <p>Entries are keyed by the SHA-256 checksum of the file's content, so they stay valid when an
+ * approved file is moved and are never used for a changed file. New entries are appended to {@link
+ * #DEFAULT_INDEX_FILE} and reused by subsequent test runs.
+ */
+@NullMarked
+final class PerceptualHashIndex {
+
+  static final Path DEFAULT_INDEX_FILE = Path.of(".approvej/image-hashes.properties");
+
+  private static final Logger LOGGER = Logger.getLogger(PerceptualHashIndex.class.getName());
+
+  private static final String HEADER =
+      "# ApproveJ perceptual hashes of approved images, generated - do not edit or commit";
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private static final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private static final AtomicBoolean persistedEntriesLoaded = new AtomicBoolean();
+  private static final AtomicReference<Path> indexFile = new AtomicReference<>(DEFAULT_INDEX_FILE);
+
+  private PerceptualHashIndex() {}
+
+  /**
+   * The perceptual hash of an image together with its dimensions.
+   *
+   * @param width the width of the image
+   * @param height the height of the image
+   * @param hash the {@link PerceptualHashComparator#hash(BufferedImage) perceptual hash}
+   */
+  record Entry(int width, int height, long hash) {
+
+    static Entry of(BufferedImage image) {
+      return new Entry(image.getWidth(), image.getHeight(), PerceptualHashComparator.hash(image));
+    }
+
+    static @Nullable Entry parse(String value) {
+      String[] parts = value.trim().split("[x:]");
+      if (parts.length != 3) {
+        return null;
+      }
+      try {
+        return new Entry(
+            Integer.parseInt(parts[0]),
+            Integer.parseInt(parts[1]),
+            HexFormat.fromHexDigitsToLong(parts[2]));
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "%dx%d:%016x".formatted(width, height, hash);
+    }
+  }
+
+  /**
+   * Computes the checksum of the given file.
+   *
+   * @param file the file
+   * @return the hex encoded SHA-256 hash of the file's content
+   * @throws IOException if the file can't be read
+   */
+  static String checksum(Path file) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Gets the entry of the image with the given checksum.
+   *
+   * @param checksum the {@link #checksum(Path) checksum} of the image file
+   * @return the {@link Entry} or null if the image is not indexed
+   */
+  static @Nullable Entry get(String checksum) {
+    if (persistedEntriesLoaded.compareAndSet(false, true)) {
+      loadIndex();
+    }
+    return entries.get(checksum);
+  }
+
+  /**
+   * Adds the given image to the index.
+   *
+   * @param checksum the {@link #checksum(Path) checksum} of the image file
+   * @param image the decoded image
+   * @return the new {@link Entry}
+   */
+  static Entry put(String checksum, BufferedImage image) {
+    Entry entry = Entry.of(image);
+    if (entries.put(checksum, entry) == null) {
+      persist(checksum, entry);
+    }
+    return entry;
+  }
+
+  private static void loadIndex() {
+    Path path = indexFile.get();
+    if (!Files.exists(path)) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      LOGGER.warning("Failed to read image hash index file: %s".formatted(e.getMessage()));
+      return;
+    }
+    properties.forEach(
+        (key, value) -> {
+          Entry entry = Entry.parse((String) value);
+          if (entry != null) {
+            entries.putIfAbsent((String) key, entry);
+          } else {
+            LOGGER.fine("Ignoring invalid image hash index entry %s".formatted(value));
+          }
+        });
+  }
+
+  /** Appends the entry, so JVMs running tests in parallel don't overwrite each other's. */
+  private static synchronized void persist(String checksum, Entry entry) {
+    Path path = indexFile.get();
+    try {
+      Files.createDirectories(path.toAbsolutePath().getParent());
+      String line = "%s = %s\n".formatted(checksum, entry);
+      Files.writeString(path, Files.exists(path) ? line : HEADER + "\n" + line, CREATE, APPEND);
+    } catch (IOException e) {
+      LOGGER.warning("Failed to write image hash index file: %s".formatted(e.getMessage()));
+    }
+  }
+
+  /** Resets static state and sets the index file path. For testing only. */
+  static void reset(Path testIndexFile) {
+    entries.clear();
+    persistedEntriesLoaded.set(false);
+    indexFile.set(testIndexFile);
+  }
+
+  /** Resets static state to defaults. For testing only. */
+  static void reset() {
+    reset(DEFAULT_INDEX_FILE);
+  }
+}
@@ -0,0 +1,26 @@
+package org.approvej.image.compare;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Result of a comparison that found the encoded received image to be identical to the approved
+ * file, so the images didn't need to be decoded or compared.
+ */
+@NullMarked
+public record IdenticalFileComparisonResult() implements ImageComparisonResult {
+
+  @Override
+  public boolean isMatch() {
+    return true;
+  }
+
+  @Override
+  public double similarity() {
+    return 1.0;
+  }
+
+  @Override
+  public String description() {
+    return "Identical to the approved file";
+  }
+}
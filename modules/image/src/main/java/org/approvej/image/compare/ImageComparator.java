@@ -22,4 +22,23 @@ public interface ImageComparator {
    * @return the result of the comparison
    */
   ImageComparisonResult compare(BufferedImage expected, BufferedImage actual);
+
+  /**
+   * Compares two images, but may stop as soon as it is certain whether they match.
+   *
+   * <p>The difference budget is given by the comparator's threshold: the comparison may stop as
+   * soon as the difference exceeds {@code 1 - threshold}, or as soon as the remaining parts of the
+   * images cannot make it exceed the budget anymore. In that case, {@link
+   * ImageComparisonResult#isExact()} of the result is false and its {@link
+   * ImageComparisonResult#similarity()} is only a bound.
+   *
+   * <p>By default, this is the same as {@link #compare(BufferedImage, BufferedImage)}.
+   *
+   * @param expected the expected (approved) image
+   * @param actual the actual (received) image
+   * @return the result of the comparison
+   */
+  default ImageComparisonResult compareUntilDecided(BufferedImage expected, BufferedImage actual) {
+    return compare(expected, actual);
+  }
 }
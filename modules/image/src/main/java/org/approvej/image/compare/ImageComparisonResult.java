@@ -25,6 +25,19 @@ public interface ImageComparisonResult {
    */
   double similarity();
 
+  /**
+   * Returns whether the {@link #similarity()} is the exact value.
+   *
+   * <p>Results of {@link ImageComparator#compareUntilDecided(java.awt.image.BufferedImage,
+   * java.awt.image.BufferedImage)} may only contain a bound: the maximum possible similarity if the
+   * images don't match, or the minimum possible similarity if they do.
+   *
+   * @return true if the similarity is exact, false if it is only a bound
+   */
+  default boolean isExact() {
+    return true;
+  }
+
   /**
    * Returns a human-readable description of the comparison result.
    *
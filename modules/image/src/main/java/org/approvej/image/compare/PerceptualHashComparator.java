@@ -3,6 +3,7 @@ package org.approvej.image.compare;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import org.jspecify.annotations.NullMarked;
 
 /**
@@ -19,6 +20,9 @@ import org.jspecify.annotations.NullMarked;
  *   <li>Creating a 64-bit hash based on whether each value is above or below the mean
  *   <li>Comparing hashes using Hamming distance
  * </ol>
+ *
+ * <p>Images with identical pixels are recognized without computing any hash. Only the 8x8
+ * low-frequency block of the DCT is computed.
  */
 @NullMarked
 public final class PerceptualHashComparator implements ImageComparator {
@@ -26,6 +30,7 @@ public final class PerceptualHashComparator implements ImageComparator {
   private static final int RESIZE_SIZE = 32;
   private static final int HASH_SIZE = 8;
   private static final int HASH_BITS = HASH_SIZE * HASH_SIZE;
+  private static final double[][] COS_VALUES = precomputeCosValues();
 
   private final double threshold;
 
@@ -46,8 +51,22 @@ public final class PerceptualHashComparator implements ImageComparator {
 
   @Override
   public ImageComparisonResult compare(BufferedImage expected, BufferedImage actual) {
-    long expectedHash = computeHash(expected);
-    long actualHash = computeHash(actual);
+    if (PixelRows.equal(expected, actual)) {
+      return new PerceptualHashComparisonResult(1.0, threshold, 0);
+    }
+    return compare(hash(expected), actual);
+  }
+
+  /**
+   * Compares an image to the previously computed {@link #hash(BufferedImage) hash} of the expected
+   * image, so the expected image doesn't need to be decoded.
+   *
+   * @param expectedHash the perceptual hash of the expected (approved) image
+   * @param actual the actual (received) image
+   * @return the result of the comparison
+   */
+  public ImageComparisonResult compare(long expectedHash, BufferedImage actual) {
+    long actualHash = hash(actual);
 
     int hammingDistance = Long.bitCount(expectedHash ^ actualHash);
     double similarity = 1.0 - ((double) hammingDistance / HASH_BITS);
@@ -55,78 +74,88 @@ public final class PerceptualHashComparator implements ImageComparator {
     return new PerceptualHashComparisonResult(similarity, threshold, hammingDistance);
   }
 
-  private long computeHash(BufferedImage image) {
-    BufferedImage resized = resize(image, RESIZE_SIZE, RESIZE_SIZE);
-    double[][] grayscale = toGrayscale(resized);
-    double[][] dct = applyDct(grayscale);
-    return computeHashFromDct(dct);
+  /**
+   * Computes the perceptual hash of the given image.
+   *
+   * @param image the image to hash
+   * @return the 64-bit perceptual hash of the image
+   */
+  public static long hash(BufferedImage image) {
+    return computeHashFromDct(applyDct(toGrayscale(resize(image))));
   }
 
-  private BufferedImage resize(BufferedImage image, int width, int height) {
-    BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+  private static BufferedImage resize(BufferedImage image) {
+    BufferedImage resized =
+        new BufferedImage(RESIZE_SIZE, RESIZE_SIZE, BufferedImage.TYPE_INT_RGB);
     Graphics2D g = resized.createGraphics();
     g.setRenderingHint(
         RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-    g.drawImage(image, 0, 0, width, height, null);
+    g.drawImage(image, 0, 0, RESIZE_SIZE, RESIZE_SIZE, null);
     g.dispose();
     return resized;
   }
 
-  private double[][] toGrayscale(BufferedImage image) {
-    int width = image.getWidth();
-    int height = image.getHeight();
-    double[][] grayscale = new double[height][width];
-
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int rgb = image.getRGB(x, y);
-        int r = (rgb >> 16) & 0xff;
-        int g = (rgb >> 8) & 0xff;
-        int b = rgb & 0xff;
-        // Luminosity formula for grayscale conversion
-        grayscale[y][x] = 0.299 * r + 0.587 * g + 0.114 * b;
-      }
+  /** Converts the pixels of an image of {@link BufferedImage#TYPE_INT_RGB} read from its raster. */
+  private static double[] toGrayscale(BufferedImage image) {
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    double[] grayscale = new double[pixels.length];
+    for (int i = 0; i < pixels.length; i++) {
+      int r = (pixels[i] >> 16) & 0xff;
+      int g = (pixels[i] >> 8) & 0xff;
+      int b = pixels[i] & 0xff;
+      // Luminosity formula for grayscale conversion
+      grayscale[i] = 0.299 * r + 0.587 * g + 0.114 * b;
     }
-
     return grayscale;
   }
 
-  private double[][] applyDct(double[][] input) {
-    int n = input.length;
-    double[][] cosValues = precomputeCosValues(n);
-    double[][] dct = new double[n][n];
-    for (int u = 0; u < n; u++) {
-      for (int v = 0; v < n; v++) {
-        dct[u][v] = computeDctCoefficient(input, cosValues, u, v, n);
+  /**
+   * Computes the {@link #HASH_SIZE} x {@link #HASH_SIZE} low-frequency coefficients of the DCT of
+   * the given {@link #RESIZE_SIZE} x {@link #RESIZE_SIZE} values.
+   *
+   * <p>The DCT is separable: the columns are transformed first, then the rows of the result. Only
+   * the coefficients used for the hash are computed.
+   */
+  private static double[][] applyDct(double[] input) {
+    int n = RESIZE_SIZE;
+    double[][] columns = new double[HASH_SIZE][n];
+    for (int u = 0; u < HASH_SIZE; u++) {
+      double[] cosU = COS_VALUES[u];
+      for (int y = 0; y < n; y++) {
+        double cos = cosU[y];
+        int row = y * n;
+        for (int x = 0; x < n; x++) {
+          columns[u][x] += input[row + x] * cos;
+        }
       }
     }
-    return dct;
-  }
 
-  private double[][] precomputeCosValues(int n) {
-    double[][] cosValues = new double[n][n];
-    for (int i = 0; i < n; i++) {
-      for (int j = 0; j < n; j++) {
-        cosValues[i][j] = Math.cos((2 * j + 1) * i * Math.PI / (2 * n));
+    double[][] dct = new double[HASH_SIZE][HASH_SIZE];
+    for (int u = 0; u < HASH_SIZE; u++) {
+      for (int v = 0; v < HASH_SIZE; v++) {
+        double sum = 0.0;
+        for (int x = 0; x < n; x++) {
+          sum += columns[u][x] * COS_VALUES[v][x];
+        }
+        double cu = (u == 0) ? 1.0 / Math.sqrt(2) : 1.0;
+        double cv = (v == 0) ? 1.0 / Math.sqrt(2) : 1.0;
+        dct[u][v] = 0.25 * cu * cv * sum;
       }
     }
-    return cosValues;
+    return dct;
   }
 
-  private double computeDctCoefficient(
-      double[][] input, double[][] cosValues, int u, int v, int n) {
-    double sum = 0.0;
-    for (int y = 0; y < n; y++) {
-      for (int x = 0; x < n; x++) {
-        sum += input[y][x] * cosValues[u][y] * cosValues[v][x];
+  private static double[][] precomputeCosValues() {
+    double[][] cosValues = new double[HASH_SIZE][RESIZE_SIZE];
+    for (int i = 0; i < HASH_SIZE; i++) {
+      for (int j = 0; j < RESIZE_SIZE; j++) {
+        cosValues[i][j] = Math.cos((2 * j + 1) * i * Math.PI / (2 * RESIZE_SIZE));
       }
     }
-    double cu = (u == 0) ? 1.0 / Math.sqrt(2) : 1.0;
-    double cv = (v == 0) ? 1.0 / Math.sqrt(2) : 1.0;
-    return 0.25 * cu * cv * sum;
+    return cosValues;
   }
 
-  private long computeHashFromDct(double[][] dct) {
+  private static long computeHashFromDct(double[][] dct) {
     double mean = computeLowFrequencyMean(dct);
     long hash = 0;
     for (int y = 0; y < HASH_SIZE; y++) {
@@ -141,7 +170,7 @@ public final class PerceptualHashComparator implements ImageComparator {
     return hash;
   }
 
-  private double computeLowFrequencyMean(double[][] dct) {
+  private static double computeLowFrequencyMean(double[][] dct) {
     double sum = 0.0;
     for (int y = 0; y < HASH_SIZE; y++) {
       for (int x = 0; x < HASH_SIZE; x++) {
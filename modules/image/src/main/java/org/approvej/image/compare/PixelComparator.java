@@ -1,7 +1,11 @@
 package org.approvej.image.compare;
 
 import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Compares images pixel-by-pixel.
@@ -9,11 +13,17 @@ import org.jspecify.annotations.NullMarked;
  * <p>This comparator calculates the difference for each pixel based on RGB values and returns the
  * overall similarity as a percentage. It is suitable for exact-match use cases but may be sensitive
  * to anti-aliasing and rendering differences.
+ *
+ * <p>The pixels are read row by row in bulk, and large images are compared in strips of rows in
+ * parallel on the common {@link ForkJoinPool}. The differences are summed up as integers, so the
+ * similarity doesn't depend on the order in which the strips are processed.
  */
 @NullMarked
 public final class PixelComparator implements ImageComparator {
 
   private static final int MAX_VALUE = 0xff;
+  private static final long MAX_PIXEL_DIFFERENCE = 3L * MAX_VALUE * 2 * MAX_VALUE;
+  private static final int MIN_STRIP_PIXELS = 1 << 16;
 
   private final double threshold;
 
@@ -34,50 +44,174 @@ public final class PixelComparator implements ImageComparator {
 
   @Override
   public ImageComparisonResult compare(BufferedImage expected, BufferedImage actual) {
+    return compare(expected, actual, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>While the rows are compared, the sum of their differences is a lower bound of the total
+   * difference, and adding the maximum difference of all remaining pixels to it gives an upper
+   * bound. The comparison stops as soon as either bound decides whether the images match.
+   */
+  @Override
+  public ImageComparisonResult compareUntilDecided(BufferedImage expected, BufferedImage actual) {
+    return compare(expected, actual, true);
+  }
+
+  private ImageComparisonResult compare(
+      BufferedImage expected, BufferedImage actual, boolean untilDecided) {
     int width = Math.max(expected.getWidth(), actual.getWidth());
     int height = Math.max(expected.getHeight(), actual.getHeight());
-    int size = width * height;
+    long size = (long) width * height;
+
+    int overlapWidth = Math.min(expected.getWidth(), actual.getWidth());
+    int overlapHeight = Math.min(expected.getHeight(), actual.getHeight());
+    long missing = size - (long) overlapWidth * overlapHeight;
+    double maxDifference = (double) MAX_PIXEL_DIFFERENCE * size;
+
+    if (!untilDecided) {
+      long totalDifference =
+          missing * MAX_PIXEL_DIFFERENCE
+              + difference(expected, actual, overlapWidth, overlapHeight, null);
+      return new PixelComparisonResult(1.0 - totalDifference / maxDifference, threshold);
+    }
+
+    Budget budget =
+        new Budget(missing * MAX_PIXEL_DIFFERENCE, MAX_PIXEL_DIFFERENCE * size, maxDifference);
+    difference(expected, actual, overlapWidth, overlapHeight, budget);
+    return budget.result();
+  }
+
+  /**
+   * Sums the {@link #pixelDifference(int, int) differences} of the pixels in the given area,
+   * processing strips of rows in parallel for large areas.
+   *
+   * <p>If a {@link Budget} is given, each row's difference is added to it, and the remaining rows
+   * are skipped as soon as it is decided.
+   */
+  private static long difference(
+      BufferedImage expected,
+      BufferedImage actual,
+      int width,
+      int height,
+      @Nullable Budget budget) {
+    int stripHeight = Math.max(1, MIN_STRIP_PIXELS / Math.max(1, width));
+    int strips = (height + stripHeight - 1) / stripHeight;
+    IntStream stripIndices = IntStream.range(0, strips);
+    if (strips > 1 && ForkJoinPool.getCommonPoolParallelism() > 1) {
+      stripIndices = stripIndices.parallel();
+    }
+    return stripIndices
+        .mapToLong(
+            strip ->
+                difference(
+                    PixelRows.of(expected),
+                    PixelRows.of(actual),
+                    width,
+                    strip * stripHeight,
+                    Math.min(height, (strip + 1) * stripHeight),
+                    budget))
+        .sum();
+  }
 
-    double totalDifference = 0.0;
-    for (int y = 0; y < height; y++) {
+  private static long difference(
+      PixelRows expected,
+      PixelRows actual,
+      int width,
+      int fromRow,
+      int toRow,
+      @Nullable Budget budget) {
+    long difference = 0;
+    for (int y = fromRow; y < toRow; y++) {
+      if (budget != null && budget.isDecided()) {
+        break;
+      }
+      int[] expectedRow = expected.read(y);
+      int[] actualRow = actual.read(y);
+      long rowDifference = 0;
       for (int x = 0; x < width; x++) {
-        double pixelDiff = pixelDifference(expected, actual, x, y);
-        totalDifference += pixelDiff / size;
+        rowDifference += pixelDifference(expectedRow[x], actualRow[x]);
+      }
+      if (budget != null) {
+        budget.add(rowDifference, width);
       }
+      difference += rowDifference;
     }
-
-    double similarity = 1.0 - totalDifference;
-    return new PixelComparisonResult(similarity, threshold);
+    return difference;
   }
 
-  private double pixelDifference(BufferedImage expected, BufferedImage actual, int x, int y) {
-    boolean expectedMissing = x >= expected.getWidth() || y >= expected.getHeight();
-    boolean actualMissing = x >= actual.getWidth() || y >= actual.getHeight();
+  /**
+   * Calculates the difference of two pixels as integer.
+   *
+   * <p>The summed up color differences are weighted with the summed up alpha values, so a pixel
+   * difference divided by {@link #MAX_PIXEL_DIFFERENCE} is the relative difference from 0.0 to 1.0.
+   */
+  private static int pixelDifference(int expectedArgb, int actualArgb) {
+    int colorDifference =
+        Math.abs(((expectedArgb >> 16) & MAX_VALUE) - ((actualArgb >> 16) & MAX_VALUE))
+            + Math.abs(((expectedArgb >> 8) & MAX_VALUE) - ((actualArgb >> 8) & MAX_VALUE))
+            + Math.abs((expectedArgb & MAX_VALUE) - (actualArgb & MAX_VALUE));
+    int alphaSum = ((expectedArgb >> 24) & MAX_VALUE) + ((actualArgb >> 24) & MAX_VALUE);
+    return colorDifference * alphaSum;
+  }
 
-    if (expectedMissing || actualMissing) {
-      return 1.0;
+  /**
+   * Bounds of the total difference, shared by the strips of a comparison.
+   *
+   * <p>The lower bound starts with the difference of the missing pixels and the upper bound with
+   * the maximum difference of all pixels. Each compared row raises the lower bound by its
+   * difference and lowers the upper bound by the difference it didn't have.
+   */
+  private final class Budget {
+
+    private final AtomicLong lowerBound;
+    private final AtomicLong upperBound;
+    private final double maxDifference;
+    private volatile boolean decided;
+
+    Budget(long lowerBound, long upperBound, double maxDifference) {
+      this.lowerBound = new AtomicLong(lowerBound);
+      this.upperBound = new AtomicLong(upperBound);
+      this.maxDifference = maxDifference;
+      this.decided = isDecided(lowerBound, upperBound);
     }
 
-    int expectedRgb = expected.getRGB(x, y);
-    int actualRgb = actual.getRGB(x, y);
+    boolean isDecided() {
+      return decided;
+    }
 
-    int expectedAlpha = (expectedRgb >> 24) & MAX_VALUE;
-    int expectedRed = (expectedRgb >> 16) & MAX_VALUE;
-    int expectedGreen = (expectedRgb >> 8) & MAX_VALUE;
-    int expectedBlue = expectedRgb & MAX_VALUE;
+    void add(long rowDifference, int rowPixels) {
+      long lower = lowerBound.addAndGet(rowDifference);
+      long upper = upperBound.addAndGet(rowDifference - rowPixels * MAX_PIXEL_DIFFERENCE);
+      if (!decided && isDecided(lower, upper)) {
+        decided = true;
+      }
+    }
 
-    int actualAlpha = (actualRgb >> 24) & MAX_VALUE;
-    int actualRed = (actualRgb >> 16) & MAX_VALUE;
-    int actualGreen = (actualRgb >> 8) & MAX_VALUE;
-    int actualBlue = actualRgb & MAX_VALUE;
+    private boolean isDecided(long lower, long upper) {
+      return similarity(lower) < threshold || similarity(upper) >= threshold;
+    }
 
-    double colorDiff =
-        (Math.abs(expectedRed - actualRed)
-                + Math.abs(expectedGreen - actualGreen)
-                + Math.abs(expectedBlue - actualBlue))
-            / (double) (MAX_VALUE * 3);
+    private double similarity(long difference) {
+      return 1.0 - difference / maxDifference;
+    }
 
-    double alphaWeight = ((expectedAlpha + actualAlpha) / 2.0) / MAX_VALUE;
-    return colorDiff * alphaWeight;
+    /**
+     * Creates the result: the exact similarity if all rows were compared, the maximum possible
+     * similarity if the images can't match anymore, or the minimum possible similarity otherwise.
+     */
+    PixelComparisonResult result() {
+      long lower = lowerBound.get();
+      long upper = upperBound.get();
+      if (lower == upper) {
+        return new PixelComparisonResult(similarity(lower), threshold);
+      }
+      double maxSimilarity = similarity(lower);
+      if (maxSimilarity < threshold) {
+        return new PixelComparisonResult(maxSimilarity, threshold, false);
+      }
+      return new PixelComparisonResult(similarity(upper), threshold, false);
+    }
   }
 }
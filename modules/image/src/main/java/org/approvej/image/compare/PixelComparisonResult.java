@@ -7,11 +7,22 @@ import org.jspecify.annotations.NullMarked;
  *
  * @param similarity the similarity score from 0.0 to 1.0
  * @param threshold the threshold used for matching
+ * @param isExact whether the similarity is exact or only a bound
  */
 @NullMarked
-public record PixelComparisonResult(double similarity, double threshold)
+public record PixelComparisonResult(double similarity, double threshold, boolean isExact)
     implements ImageComparisonResult {
 
+  /**
+   * Creates a result with an exact similarity.
+   *
+   * @param similarity the similarity score from 0.0 to 1.0
+   * @param threshold the threshold used for matching
+   */
+  public PixelComparisonResult(double similarity, double threshold) {
+    this(similarity, threshold, true);
+  }
+
   @Override
   public boolean isMatch() {
     return similarity >= threshold;
@@ -19,7 +30,13 @@ public record PixelComparisonResult(double similarity, double threshold)
 
   @Override
   public String description() {
-    return "Pixel comparison: %.2f%% similar (threshold: %.2f%%)%s"
-        .formatted(similarity * 100, threshold * 100, isMatch() ? "" : " - MISMATCH");
+    String bound;
+    if (isExact) {
+      bound = "";
+    } else {
+      bound = isMatch() ? "at least " : "at most ";
+    }
+    return "Pixel comparison: %s%.2f%% similar (threshold: %.2f%%)%s"
+        .formatted(bound, similarity * 100, threshold * 100, isMatch() ? "" : " - MISMATCH");
   }
 }
@@ -0,0 +1,167 @@
+package org.approvej.image.compare;
+
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.util.Arrays;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Reads rows of pixels of a {@link BufferedImage} as ARGB values in bulk, exactly as {@link
+ * BufferedImage#getRGB(int, int)} would return them.
+ *
+ * <p>Rows of images with packed {@code int} pixels or with interleaved 8-bit sRGB components (the
+ * types {@link javax.imageio.ImageIO} usually reads PNG and JPEG files as) are copied from the
+ * {@link Raster} without converting each pixel with the {@link ColorModel}. Rows of other images
+ * are read with {@link BufferedImage#getRGB(int, int, int, int, int[], int, int)}.
+ *
+ * <p>Instances are used by one thread only.
+ */
+@NullMarked
+abstract sealed class PixelRows {
+
+  private static final int OPAQUE = 0xff000000;
+
+  final BufferedImage image;
+  final int width;
+  final int[] argb;
+
+  private PixelRows(BufferedImage image) {
+    this.image = image;
+    this.width = image.getWidth();
+    this.argb = new int[width];
+  }
+
+  /**
+   * Creates the fastest {@link PixelRows} for the given image.
+   *
+   * @param image the image to read
+   * @return the {@link PixelRows} of the image
+   */
+  static PixelRows of(BufferedImage image) {
+    return switch (image.getType()) {
+      case BufferedImage.TYPE_INT_ARGB -> new IntRows(image, false);
+      case BufferedImage.TYPE_INT_RGB -> new IntRows(image, true);
+      default -> isInterleavedSrgb(image) ? new ByteRows(image) : new ConvertedRows(image);
+    };
+  }
+
+  /**
+   * Checks whether the given images have the same size and ARGB values, stopping at the first
+   * different row.
+   *
+   * @param first the first image
+   * @param second the second image
+   * @return true if the images have the same pixels
+   */
+  static boolean equal(BufferedImage first, BufferedImage second) {
+    if (first.getWidth() != second.getWidth() || first.getHeight() != second.getHeight()) {
+      return false;
+    }
+    PixelRows firstRows = of(first);
+    PixelRows secondRows = of(second);
+    for (int y = 0; y < first.getHeight(); y++) {
+      if (!Arrays.equals(firstRows.read(y), secondRows.read(y))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isInterleavedSrgb(BufferedImage image) {
+    ColorModel colorModel = image.getColorModel();
+    Raster raster = image.getRaster();
+    int components = colorModel.getNumComponents();
+    if (!(colorModel instanceof ComponentColorModel)
+        || colorModel.getColorSpace() != ColorSpace.getInstance(ColorSpace.CS_sRGB)
+        || colorModel.getTransferType() != DataBuffer.TYPE_BYTE
+        || colorModel.isAlphaPremultiplied()
+        || components != (colorModel.hasAlpha() ? 4 : 3)
+        || raster.getNumBands() != components
+        || raster.getNumDataElements() != components) {
+      return false;
+    }
+    for (int size : colorModel.getComponentSize()) {
+      if (size != 8) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the ARGB values of a row.
+   *
+   * @param y the index of the row
+   * @return the {@link #width} ARGB values of the row, valid until the next call
+   */
+  abstract int[] read(int y);
+
+  private static final class IntRows extends PixelRows {
+
+    private final boolean opaque;
+
+    IntRows(BufferedImage image, boolean opaque) {
+      super(image);
+      this.opaque = opaque;
+    }
+
+    @Override
+    int[] read(int y) {
+      image.getRaster().getDataElements(0, y, width, 1, argb);
+      if (opaque) {
+        for (int x = 0; x < width; x++) {
+          argb[x] = OPAQUE | argb[x] & 0xffffff;
+        }
+      }
+      return argb;
+    }
+  }
+
+  private static final class ByteRows extends PixelRows {
+
+    private final int components;
+    private final byte[] bytes;
+
+    ByteRows(BufferedImage image) {
+      super(image);
+      this.components = image.getColorModel().getNumComponents();
+      this.bytes = new byte[width * components];
+    }
+
+    @Override
+    int[] read(int y) {
+      image.getRaster().getDataElements(0, y, width, 1, bytes);
+      if (components == 4) {
+        for (int x = 0, i = 0; x < width; x++, i += 4) {
+          argb[x] =
+              (bytes[i + 3] & 0xff) << 24
+                  | (bytes[i] & 0xff) << 16
+                  | (bytes[i + 1] & 0xff) << 8
+                  | (bytes[i + 2] & 0xff);
+        }
+      } else {
+        for (int x = 0, i = 0; x < width; x++, i += 3) {
+          argb[x] =
+              OPAQUE | (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff);
+        }
+      }
+      return argb;
+    }
+  }
+
+  private static final class ConvertedRows extends PixelRows {
+
+    ConvertedRows(BufferedImage image) {
+      super(image);
+    }
+
+    @Override
+    int[] read(int y) {
+      return image.getRGB(0, y, width, 1, argb, 0, width);
+    }
+  }
+}
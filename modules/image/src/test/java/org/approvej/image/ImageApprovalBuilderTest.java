@@ -24,6 +24,13 @@ class ImageApprovalBuilderTest {
     approveImage(image).byFile(nextToTest().filenameExtension("png"));
   }
 
+  @Test
+  void bytes() throws IOException {
+    byte[] bytes = requireNonNull(getClass().getResourceAsStream("/screenshot.png")).readAllBytes();
+
+    approveImage(bytes).byFile();
+  }
+
   @Test
   void scrubbedOf() throws IOException {
     BufferedImage image =
@@ -1,17 +1,28 @@
 package org.approvej.image.approve;
 
 import static java.util.Objects.requireNonNull;
+import static org.approvej.approve.PathProviders.approvedPath;
 import static org.approvej.approve.PathProviders.nextToTest;
 import static org.approvej.image.compare.ImageComparators.perceptualHash;
+import static org.approvej.image.compare.ImageComparators.pixel;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import javax.imageio.ImageIO;
+import org.approvej.approve.PathProvider;
+import org.approvej.image.compare.IdenticalFileComparisonResult;
+import org.approvej.image.compare.PerceptualHashComparator;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ImageFileApproverTest {
 
+  @TempDir private Path tempDir;
+
   @Test
   void apply() throws IOException {
     BufferedImage image =
@@ -22,4 +33,121 @@ class ImageFileApproverTest {
 
     assertThat(result).isNotNull();
   }
+
+  @Test
+  void apply_mismatch() throws IOException {
+    BufferedImage image =
+        ImageIO.read(requireNonNull(getClass().getResourceAsStream("/screenshot.png")));
+    PathProvider pathProvider = approvedPath(tempDir.resolve("apply_mismatch-approved.png"));
+    ImageFileApprover approver = new ImageFileApprover(pathProvider, pixel());
+
+    var result = approver.apply(image);
+
+    assertThat(result.needsApproval()).isTrue();
+    assertThat(pathProvider.receivedPath()).exists();
+    assertThat(pathProvider.diffPath()).doesNotExist();
+  }
+
+  @Test
+  void writeDiffImage() throws IOException {
+    BufferedImage image =
+        ImageIO.read(requireNonNull(getClass().getResourceAsStream("/screenshot.png")));
+    PathProvider pathProvider = approvedPath(tempDir.resolve("writeDiffImage-approved.png"));
+    ImageFileApprover approver = new ImageFileApprover(pathProvider, pixel());
+    approver.apply(image);
+
+    approver.writeDiffImage();
+
+    assertThat(pathProvider.diffPath()).exists();
+  }
+
+  @Test
+  void writeDiffImage_match() throws IOException {
+    BufferedImage image =
+        ImageIO.read(requireNonNull(getClass().getResourceAsStream("/screenshot.png")));
+    PathProvider pathProvider = approvedPath(tempDir.resolve("writeDiffImage_match-approved.png"));
+    ImageFileApprover approver = new ImageFileApprover(pathProvider, pixel());
+    approver.apply(image);
+    ImageIO.write(image, "png", pathProvider.approvedPath().toFile());
+    approver.apply(image);
+
+    approver.writeDiffImage();
+
+    assertThat(pathProvider.diffPath()).doesNotExist();
+  }
+
+  @Test
+  void apply_bytes_identical() throws IOException {
+    byte[] bytes = requireNonNull(getClass().getResourceAsStream("/screenshot.png")).readAllBytes();
+    PathProvider pathProvider = approvedPath(tempDir.resolve("apply_bytes_identical-approved.png"));
+    Files.write(pathProvider.approvedPath(), bytes);
+    Files.write(pathProvider.receivedPath(), bytes);
+    ImageFileApprover approver = new ImageFileApprover(pathProvider, pixel());
+
+    var result = (ImageFileApprovalResult) approver.apply(bytes);
+
+    assertThat(result.comparisonResult()).isEqualTo(new IdenticalFileComparisonResult());
+    assertThat(pathProvider.receivedPath()).doesNotExist();
+  }
+
+  @Test
+  void apply_bytes_different() throws IOException {
+    byte[] bytes = requireNonNull(getClass().getResourceAsStream("/screenshot.png")).readAllBytes();
+    PathProvider pathProvider = approvedPath(tempDir.resolve("apply_bytes_different-approved.png"));
+    ImageIO.write(
+        ImageIO.read(new ByteArrayInputStream(bytes)), "png", pathProvider.approvedPath().toFile());
+    ImageFileApprover approver = new ImageFileApprover(pathProvider, pixel());
+
+    var result = (ImageFileApprovalResult) approver.apply(bytes);
+
+    assertThat(result.needsApproval()).isFalse();
+    assertThat(result.comparisonResult().similarity()).isEqualTo(1.0);
+  }
+
+  @Test
+  void apply_hash_index() throws IOException {
+    BufferedImage image =
+        ImageIO.read(requireNonNull(getClass().getResourceAsStream("/screenshot.png")));
+    PathProvider pathProvider = approvedPath(tempDir.resolve("apply_hash_index-approved.png"));
+    ImageIO.write(image, "png", pathProvider.approvedPath().toFile());
+    PerceptualHashIndex.reset(tempDir.resolve(".approvej/image-hashes.properties"));
+    ImageFileApprover approver = new ImageFileApprover(pathProvider, perceptualHash(), true);
+
+    try {
+      var result = approver.apply(image);
+
+      assertThat(result.needsApproval()).isFalse();
+      assertThat(PerceptualHashIndex.get(PerceptualHashIndex.checksum(pathProvider.approvedPath())))
+          .isNotNull();
+    } finally {
+      PerceptualHashIndex.reset();
+    }
+  }
+
+  @Test
+  void apply_hash_index_skips_decoding() throws IOException {
+    BufferedImage image =
+        ImageIO.read(requireNonNull(getClass().getResourceAsStream("/screenshot.png")));
+    PathProvider pathProvider =
+        approvedPath(tempDir.resolve("apply_hash_index_skips_decoding-approved.png"));
+    ImageIO.write(image, "png", pathProvider.approvedPath().toFile());
+    Path indexFile = tempDir.resolve(".approvej/image-hashes.properties");
+    Files.createDirectories(indexFile.getParent());
+    Files.writeString(
+        indexFile,
+        "%s = 1x1:%016x\n"
+            .formatted(
+                PerceptualHashIndex.checksum(pathProvider.approvedPath()),
+                ~PerceptualHashComparator.hash(image)));
+    PerceptualHashIndex.reset(indexFile);
+    ImageFileApprover approver = new ImageFileApprover(pathProvider, perceptualHash(), true);
+
+    try {
+      var result = approver.apply(image);
+
+      assertThat(result.needsApproval()).isTrue();
+    } finally {
+      PerceptualHashIndex.reset();
+    }
+  }
 }
@@ -0,0 +1,89 @@
+package org.approvej.image.approve;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.approvej.image.approve.PerceptualHashIndex.Entry;
+import org.approvej.image.compare.PerceptualHashComparator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PerceptualHashIndexTest {
+
+  @TempDir private Path tempDir;
+
+  private Path indexFile;
+
+  @BeforeEach
+  void setUp() {
+    indexFile = tempDir.resolve(".approvej/image-hashes.properties");
+    PerceptualHashIndex.reset(indexFile);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PerceptualHashIndex.reset();
+  }
+
+  @Test
+  void checksum() throws IOException {
+    Path file = tempDir.resolve("file");
+    Files.writeString(file, "content");
+    Path copy = tempDir.resolve("copy");
+    Files.writeString(copy, "content");
+    Path other = tempDir.resolve("other");
+    Files.writeString(other, "other content");
+
+    assertThat(PerceptualHashIndex.checksum(file)).isEqualTo(PerceptualHashIndex.checksum(copy));
+    assertThat(PerceptualHashIndex.checksum(file))
+        .isNotEqualTo(PerceptualHashIndex.checksum(other));
+  }
+
+  @Test
+  void get_unknown() {
+    assertThat(PerceptualHashIndex.get("unknown")).isNull();
+  }
+
+  @Test
+  void put() throws IOException {
+    BufferedImage image =
+        ImageIO.read(requireNonNull(getClass().getResourceAsStream("/screenshot.png")));
+
+    Entry entry = PerceptualHashIndex.put("checksum", image);
+
+    assertThat(entry)
+        .isEqualTo(
+            new Entry(image.getWidth(), image.getHeight(), PerceptualHashComparator.hash(image)));
+    assertThat(PerceptualHashIndex.get("checksum")).isEqualTo(entry);
+    assertThat(indexFile).content().contains("checksum = %s".formatted(entry));
+  }
+
+  @Test
+  void get_persisted() throws IOException {
+    BufferedImage image =
+        ImageIO.read(requireNonNull(getClass().getResourceAsStream("/screenshot.png")));
+    Entry entry = PerceptualHashIndex.put("checksum", image);
+
+    PerceptualHashIndex.reset(indexFile);
+
+    assertThat(PerceptualHashIndex.get("checksum")).isEqualTo(entry);
+  }
+
+  @Test
+  void get_invalid_entries_ignored() throws IOException {
+    Files.createDirectories(indexFile.getParent());
+    Files.writeString(
+        indexFile, "valid = 2x3:00000000000000ff\nbroken = 2x3\nnot_hex = 2x3:xyz\n");
+
+    assertThat(PerceptualHashIndex.get("valid")).isEqualTo(new Entry(2, 3, 0xff));
+    assertThat(PerceptualHashIndex.get("broken")).isNull();
+    assertThat(PerceptualHashIndex.get("not_hex")).isNull();
+  }
+}
@@ -3,6 +3,8 @@ package org.approvej.image.compare;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import javax.imageio.ImageIO;
@@ -97,4 +99,33 @@ class PerceptualHashComparatorTest {
 
     assertThat(result.hammingDistance()).isZero();
   }
+
+  @Test
+  void hash_copy() {
+    BufferedImage copy =
+        new BufferedImage(SCREENSHOT.getWidth(), SCREENSHOT.getHeight(), SCREENSHOT.getType());
+    copy.setData(SCREENSHOT.getData());
+
+    assertThat(PerceptualHashComparator.hash(copy))
+        .isEqualTo(PerceptualHashComparator.hash(SCREENSHOT));
+  }
+
+  @Test
+  void compare_modified_expected() {
+    PerceptualHashComparator comparator = ImageComparators.perceptualHash();
+    BufferedImage expected =
+        new BufferedImage(SCREENSHOT.getWidth(), SCREENSHOT.getHeight(), SCREENSHOT.getType());
+    expected.setData(SCREENSHOT.getData());
+    ImageComparisonResult first = comparator.compare(expected, RED);
+
+    Graphics2D graphics = expected.createGraphics();
+    graphics.setColor(Color.RED);
+    graphics.fillRect(0, 0, expected.getWidth() / 2, expected.getHeight());
+    graphics.dispose();
+    ImageComparisonResult second = comparator.compare(expected, RED);
+
+    assertThat(second)
+        .isNotEqualTo(first)
+        .isEqualTo(comparator.compare(PerceptualHashComparator.hash(expected), RED));
+  }
 }
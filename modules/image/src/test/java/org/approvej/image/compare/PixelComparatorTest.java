@@ -3,10 +3,13 @@ package org.approvej.image.compare;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class PixelComparatorTest {
 
@@ -83,4 +86,113 @@ class PixelComparatorTest {
     assertThat(result.description()).contains("similar");
     assertThat(result.description()).contains("threshold");
   }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(
+      ints = {
+        BufferedImage.TYPE_INT_ARGB,
+        BufferedImage.TYPE_INT_RGB,
+        BufferedImage.TYPE_4BYTE_ABGR,
+        BufferedImage.TYPE_3BYTE_BGR,
+        BufferedImage.TYPE_BYTE_GRAY
+      })
+  void compare_image_types(int type) {
+    BufferedImage expected = filledImage(type, 4, 4, Color.WHITE);
+    BufferedImage actual = filledImage(BufferedImage.TYPE_INT_ARGB, 4, 4, Color.WHITE);
+    actual.setRGB(1, 2, Color.BLACK.getRGB());
+
+    ImageComparisonResult result = ImageComparators.pixel().compare(expected, actual);
+
+    assertThat(result.similarity()).isEqualTo(15 / 16.0);
+  }
+
+  @Test
+  void compare_different_sizes() {
+    BufferedImage expected = filledImage(BufferedImage.TYPE_INT_ARGB, 2, 2, Color.RED);
+    BufferedImage actual = filledImage(BufferedImage.TYPE_INT_ARGB, 2, 1, Color.RED);
+
+    ImageComparisonResult result = ImageComparators.pixel().compare(expected, actual);
+
+    assertThat(result.similarity()).isEqualTo(0.5);
+  }
+
+  @Test
+  void compare_large() {
+    BufferedImage expected = filledImage(BufferedImage.TYPE_INT_ARGB, 1000, 1000, Color.WHITE);
+    BufferedImage actual = filledImage(BufferedImage.TYPE_INT_ARGB, 1000, 1000, Color.WHITE);
+    for (int y = 0; y < 1000; y += 10) {
+      actual.setRGB(y, y, Color.BLACK.getRGB());
+    }
+
+    ImageComparisonResult result = ImageComparators.pixel().compare(expected, actual);
+
+    assertThat(result.similarity()).isEqualTo(1.0 - 100 / 1_000_000.0);
+  }
+
+  @Test
+  void compareUntilDecided_mismatch() {
+    BufferedImage expected = filledImage(BufferedImage.TYPE_INT_ARGB, 100, 100, Color.WHITE);
+    BufferedImage actual = filledImage(BufferedImage.TYPE_INT_ARGB, 100, 100, Color.WHITE);
+    actual.setRGB(0, 0, Color.BLACK.getRGB());
+    actual.setRGB(99, 99, Color.BLACK.getRGB());
+
+    ImageComparisonResult result = ImageComparators.pixel().compareUntilDecided(expected, actual);
+
+    assertThat(result.isMatch()).isFalse();
+    assertThat(result.isExact()).isFalse();
+    assertThat(result.similarity()).isEqualTo(1.0 - 1 / 10_000.0);
+    assertThat(result.description()).contains("at most");
+  }
+
+  @Test
+  void compareUntilDecided_match() {
+    BufferedImage expected = filledImage(BufferedImage.TYPE_INT_ARGB, 100, 100, Color.WHITE);
+    BufferedImage actual = filledImage(BufferedImage.TYPE_INT_ARGB, 100, 100, Color.WHITE);
+    actual.setRGB(99, 99, Color.BLACK.getRGB());
+
+    ImageComparisonResult result =
+        ImageComparators.pixel().withThreshold(0.5).compareUntilDecided(expected, actual);
+
+    assertThat(result.isMatch()).isTrue();
+    assertThat(result.isExact()).isFalse();
+    assertThat(result.similarity()).isEqualTo(0.5);
+    assertThat(result.description()).contains("at least");
+  }
+
+  @Test
+  void compareUntilDecided_exact() {
+    ImageComparisonResult result =
+        ImageComparators.pixel().compareUntilDecided(SCREENSHOT, SCREENSHOT);
+
+    assertThat(result.isMatch()).isTrue();
+    assertThat(result.isExact()).isTrue();
+    assertThat(result.similarity()).isEqualTo(1.0);
+  }
+
+  @Test
+  void compareUntilDecided_large() {
+    BufferedImage expected = filledImage(BufferedImage.TYPE_INT_ARGB, 1000, 1000, Color.WHITE);
+    BufferedImage actual = filledImage(BufferedImage.TYPE_INT_ARGB, 1000, 1000, Color.WHITE);
+    for (int y = 0; y < 1000; y += 10) {
+      actual.setRGB(y, y, Color.BLACK.getRGB());
+    }
+    PixelComparator comparator = ImageComparators.pixel().withThreshold(0.99995);
+
+    ImageComparisonResult result = comparator.compareUntilDecided(expected, actual);
+
+    assertThat(result.isMatch()).isFalse();
+    assertThat(result.similarity())
+        .isLessThan(0.99995)
+        .isGreaterThanOrEqualTo(comparator.compare(expected, actual).similarity());
+  }
+
+  private static BufferedImage filledImage(int type, int width, int height, Color color) {
+    BufferedImage image = new BufferedImage(width, height, type);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, color.getRGB());
+      }
+    }
+    return image;
+  }
 }
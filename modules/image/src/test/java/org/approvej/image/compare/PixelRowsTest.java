@@ -0,0 +1,64 @@
+package org.approvej.image.compare;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PixelRowsTest {
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(
+      ints = {
+        BufferedImage.TYPE_INT_ARGB,
+        BufferedImage.TYPE_INT_RGB,
+        BufferedImage.TYPE_INT_BGR,
+        BufferedImage.TYPE_INT_ARGB_PRE,
+        BufferedImage.TYPE_4BYTE_ABGR,
+        BufferedImage.TYPE_3BYTE_BGR,
+        BufferedImage.TYPE_BYTE_GRAY
+      })
+  void read(int type) {
+    BufferedImage image = randomImage(type, 13, 7);
+
+    assertSameAsGetRgb(image);
+    assertSameAsGetRgb(image.getSubimage(2, 1, 10, 5));
+  }
+
+  @Test
+  void equal() {
+    BufferedImage image = randomImage(BufferedImage.TYPE_INT_ARGB, 13, 7);
+    BufferedImage copy = new BufferedImage(13, 7, BufferedImage.TYPE_4BYTE_ABGR);
+    copy.setRGB(0, 0, 13, 7, image.getRGB(0, 0, 13, 7, null, 0, 13), 0, 13);
+    BufferedImage changed = randomImage(BufferedImage.TYPE_INT_ARGB, 13, 7);
+    changed.setRGB(12, 6, ~changed.getRGB(12, 6));
+
+    assertThat(PixelRows.equal(image, copy)).isTrue();
+    assertThat(PixelRows.equal(image, changed)).isFalse();
+    assertThat(PixelRows.equal(image, image.getSubimage(0, 0, 13, 6))).isFalse();
+  }
+
+  private static void assertSameAsGetRgb(BufferedImage image) {
+    PixelRows rows = PixelRows.of(image);
+    for (int y = 0; y < image.getHeight(); y++) {
+      int[] row = rows.read(y);
+      for (int x = 0; x < image.getWidth(); x++) {
+        assertThat(row[x]).isEqualTo(image.getRGB(x, y));
+      }
+    }
+  }
+
+  private static BufferedImage randomImage(int type, int width, int height) {
+    Random random = new Random(type);
+    BufferedImage image = new BufferedImage(width, height, type);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, random.nextInt());
+      }
+    }
+    return image;
+  }
+}
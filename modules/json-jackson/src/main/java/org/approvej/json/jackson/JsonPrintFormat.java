@@ -9,14 +9,18 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.Writer;
 import org.approvej.configuration.Configuration;
+import org.approvej.print.AppendablePrinter;
+import org.approvej.print.AppendableWriter;
 import org.approvej.print.PrintFormat;
 import org.approvej.print.PrintFormatProvider;
 import org.approvej.print.Printer;
 import org.jspecify.annotations.NullMarked;
 
 /**
- * A {@link PrintFormat} that uses {@link ObjectWriter#writeValueAsString(Object)} to print a value
+ * A {@link PrintFormat} that uses {@link ObjectWriter#writeValue(Writer, Object)} to print a value
  * as JSON.
  *
  * @param <T> the type of the object to print
@@ -63,19 +67,19 @@ public final class JsonPrintFormat<T> implements PrintFormat<T>, PrintFormatProv
 
   @Override
   public Printer<T> printer() {
-    return (T value) -> {
-      try {
-        String result;
-        if (value instanceof String string) {
-          result = objectWriter.writeValueAsString(objectReader.readTree(string));
-        } else {
-          result = objectWriter.writeValueAsString(value);
-        }
-        return result.replace("\r\n", "\n");
-      } catch (JsonProcessingException e) {
-        throw new JsonPrinterException(value, e);
+    return (AppendablePrinter<T>) this::print;
+  }
+
+  private void print(T value, Appendable appendable) throws IOException {
+    try (Writer writer = new AppendableWriter(appendable)) {
+      if (value instanceof String string) {
+        objectWriter.writeValue(writer, objectReader.readTree(string));
+      } else {
+        objectWriter.writeValue(writer, value);
       }
-    };
+    } catch (JsonProcessingException e) {
+      throw new JsonPrinterException(value, e);
+    }
   }
 
   @Override
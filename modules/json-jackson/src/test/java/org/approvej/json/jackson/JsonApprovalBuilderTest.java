@@ -1,5 +1,6 @@
 package org.approvej.json.jackson;
 
+import static java.util.stream.Collectors.joining;
 import static org.approvej.ApprovalBuilder.approve;
 import static org.approvej.json.jackson.JsonPrintFormat.json;
 import static org.approvej.scrub.Replacements.relativeDate;
@@ -66,12 +67,11 @@ class JsonApprovalBuilderTest {
         .isThrownBy(() -> approve(EXAMPLE_JSON).byValue("This is not the same text."))
         .withMessage(
             """
-            Approval mismatch:
-            expected:
-              "This is not the same text."
-             but was:
-              "%s"
+            Approval mismatch (- approved, + received):
+            @@ -1 +1,5 @@
+            -This is not the same text.
+            %s
             """
-                .formatted(EXAMPLE_JSON.indent(2).trim()));
+                .formatted(EXAMPLE_JSON.lines().map("+"::concat).collect(joining("\n"))));
   }
 }
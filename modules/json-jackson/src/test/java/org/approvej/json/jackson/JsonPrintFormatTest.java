@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.Period;
 import org.approvej.print.PersonPojo;
@@ -51,6 +52,22 @@ class JsonPrintFormatTest {
             """);
   }
 
+  @Test
+  void printTo() throws IOException {
+    StringBuilder appendable = new StringBuilder("existing\n");
+
+    json().printTo("{\"name\":\"Micha\"}", appendable);
+
+    assertThat(appendable)
+        .hasToString(
+            """
+            existing
+            {
+              "name" : "Micha"
+            }\
+            """);
+  }
+
   @Test
   void printer_getter() {
     //noinspection unused
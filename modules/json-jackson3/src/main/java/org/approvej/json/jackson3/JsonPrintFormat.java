@@ -1,11 +1,16 @@
 package org.approvej.json.jackson3;
 
+import java.io.IOException;
+import java.io.Writer;
 import org.approvej.configuration.Configuration;
+import org.approvej.print.AppendablePrinter;
+import org.approvej.print.AppendableWriter;
 import org.approvej.print.PrintFormat;
 import org.approvej.print.PrintFormatProvider;
 import org.approvej.print.Printer;
 import org.jspecify.annotations.NullMarked;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.exc.JacksonIOException;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.ObjectReader;
 import tools.jackson.databind.ObjectWriter;
@@ -13,7 +18,7 @@ import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.module.SimpleModule;
 
 /**
- * A {@link PrintFormat} that uses {@link ObjectWriter#writeValueAsString(Object)} to print a value
+ * A {@link PrintFormat} that uses {@link ObjectWriter#writeValue(Writer, Object)} to print a value
  * as JSON.
  *
  * @param <T> the type of the object to print
@@ -60,19 +65,24 @@ public final class JsonPrintFormat<T> implements PrintFormat<T>, PrintFormatProv
 
   @Override
   public Printer<T> printer() {
-    return (T value) -> {
-      try {
-        String result;
-        if (value instanceof String string) {
-          result = objectWriter.writeValueAsString(objectReader.readTree(string));
-        } else {
-          result = objectWriter.writeValueAsString(value);
-        }
-        return result.replace("\r\n", "\n");
-      } catch (JacksonException e) {
-        throw new JsonPrinterException(value, e);
+    return (AppendablePrinter<T>) this::print;
+  }
+
+  private void print(T value, Appendable appendable) throws IOException {
+    try (Writer writer = new AppendableWriter(appendable)) {
+      if (value instanceof String string) {
+        objectWriter.writeValue(writer, objectReader.readTree(string));
+      } else {
+        objectWriter.writeValue(writer, value);
       }
-    };
+    } catch (JacksonIOException e) {
+      if (e.getCause() instanceof IOException cause) {
+        throw cause;
+      }
+      throw new JsonPrinterException(value, e);
+    } catch (JacksonException e) {
+      throw new JsonPrinterException(value, e);
+    }
   }
 
   @Override
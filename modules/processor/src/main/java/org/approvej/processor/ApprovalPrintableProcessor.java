@@ -0,0 +1,445 @@
+package org.approvej.processor;
+
+import static javax.lang.model.util.ElementFilter.fieldsIn;
+import static javax.lang.model.util.ElementFilter.methodsIn;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Generates a {@code GeneratedPrinter} for each record or class annotated with {@code
+ * ApprovalPrintable}.
+ *
+ * <p>The generated printers access the properties directly instead of via reflection. They
+ * discover the same properties in the same order as the {@code MultiLineStringPrintFormat} does at
+ * runtime, so the printed output is identical. All generated printers are registered in {@code
+ * META-INF/services/org.approvej.configuration.Provider}.
+ */
+@NullMarked
+@SupportedAnnotationTypes(ApprovalPrintableProcessor.ANNOTATION)
+public final class ApprovalPrintableProcessor extends AbstractProcessor {
+
+  static final String ANNOTATION = "org.approvej.print.ApprovalPrintable";
+  static final String PRINTER_SUFFIX = "ApprovalPrinter";
+
+  private static final String SERVICE_FILE =
+      "META-INF/services/org.approvej.configuration.Provider";
+  private static final Map<TypeKind, String> PRIMITIVE_PROPERTY_TYPES =
+      Map.of(
+          TypeKind.INT, "int",
+          TypeKind.LONG, "long",
+          TypeKind.DOUBLE, "double",
+          TypeKind.FLOAT, "float",
+          TypeKind.BOOLEAN, "boolean",
+          TypeKind.CHAR, "char",
+          TypeKind.BYTE, "int",
+          TypeKind.SHORT, "int");
+
+  private final Map<String, Element> generatedPrinters = new TreeMap<>();
+
+  /** Default constructor, used by the compiler. */
+  public ApprovalPrintableProcessor() {
+    // used by the compiler
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeServiceFile();
+      return false;
+    }
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (isSupported(element)) {
+          generatePrinter((TypeElement) element);
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean isSupported(Element element) {
+    if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+      error(element, "@ApprovalPrintable is only supported on records and classes");
+      return false;
+    }
+    for (Element type = element;
+        type instanceof TypeElement typeElement;
+        type = type.getEnclosingElement()) {
+      if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+        error(element, "@ApprovalPrintable is not supported on private types");
+        return false;
+      }
+      if (typeElement.getNestingKind() == NestingKind.LOCAL
+          || typeElement.getNestingKind() == NestingKind.ANONYMOUS) {
+        error(element, "@ApprovalPrintable is not supported on local or anonymous types");
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void generatePrinter(TypeElement type) {
+    String packageName = processingEnv.getElementUtils().getPackageOf(type).toString();
+    String typeName = nestedName(type, ".");
+    String printerName = nestedName(type, "_") + PRINTER_SUFFIX;
+    String qualifiedPrinterName =
+        packageName.isEmpty() ? printerName : packageName + "." + printerName;
+    List<Property> properties = discoverProperties(type);
+    String source =
+        new PrinterSource(packageName, typeName, type.getTypeParameters().size(), printerName)
+            .render(orderedProperties(type, properties), sortedProperties(properties));
+    try (Writer writer =
+        processingEnv.getFiler().createSourceFile(qualifiedPrinterName, type).openWriter()) {
+      writer.write(source);
+    } catch (IOException e) {
+      error(type, "Failed to write %s: %s".formatted(qualifiedPrinterName, e.getMessage()));
+      return;
+    }
+    generatedPrinters.put(qualifiedPrinterName, type);
+  }
+
+  private void writeServiceFile() {
+    if (generatedPrinters.isEmpty()) {
+      return;
+    }
+    try (Writer writer =
+        processingEnv
+            .getFiler()
+            .createResource(
+                StandardLocation.CLASS_OUTPUT,
+                "",
+                SERVICE_FILE,
+                generatedPrinters.values().toArray(Element[]::new))
+            .openWriter()) {
+      for (String printer : generatedPrinters.keySet()) {
+        writer.write(printer);
+        writer.write('\n');
+      }
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR,
+              "Failed to write %s: %s".formatted(SERVICE_FILE, e.getMessage()));
+    }
+  }
+
+  /**
+   * Discovers the properties like {@code MultiLineStringPrinter} does at runtime: field-backed
+   * properties with a getter first, followed by getter-only properties, for each class of the
+   * hierarchy starting with the top-most.
+   */
+  private List<Property> discoverProperties(TypeElement type) {
+    List<TypeElement> hierarchy = hierarchy(type);
+
+    Set<String> allFieldNames = new HashSet<>();
+    for (TypeElement clazz : hierarchy) {
+      for (VariableElement field : instanceFields(clazz)) {
+        allFieldNames.add(field.getSimpleName().toString());
+      }
+    }
+
+    Set<String> seen = new HashSet<>();
+    List<Property> properties = new ArrayList<>();
+    for (TypeElement clazz : hierarchy) {
+      List<ExecutableElement> methods = accessorCandidates(clazz);
+      for (VariableElement field : instanceFields(clazz)) {
+        String fieldName = field.getSimpleName().toString();
+        findGetterForField(fieldName, methods)
+            .filter(getter -> seen.add(fieldName))
+            .ifPresent(getter -> properties.add(new Property(fieldName, getter, clazz)));
+      }
+      for (ExecutableElement method : methods) {
+        derivePropertyName(method)
+            .filter(name -> !allFieldNames.contains(name))
+            .filter(seen::add)
+            .ifPresent(name -> properties.add(new Property(name, method, clazz)));
+      }
+    }
+    return properties;
+  }
+
+  /** Orders the properties like {@code PropertyOrdering.reorder}. */
+  private List<Property> orderedProperties(TypeElement type, List<Property> properties) {
+    Map<String, Property> byName = new LinkedHashMap<>();
+    for (Property property : properties) {
+      byName.put(property.name(), property);
+    }
+    List<Property> ordered = new ArrayList<>(properties.size());
+    for (String name : declaredFieldNames(type)) {
+      Property property = byName.remove(name);
+      if (property != null) {
+        ordered.add(property);
+      }
+    }
+    ordered.addAll(sortedProperties(List.copyOf(byName.values())));
+    return ordered;
+  }
+
+  private static List<Property> sortedProperties(List<Property> properties) {
+    return properties.stream().sorted(Comparator.comparing(Property::name)).toList();
+  }
+
+  private List<String> declaredFieldNames(TypeElement type) {
+    if (type.getKind() == ElementKind.RECORD) {
+      return type.getRecordComponents().stream()
+          .map(RecordComponentElement::getSimpleName)
+          .map(Object::toString)
+          .toList();
+    }
+    List<String> names = new ArrayList<>();
+    for (TypeElement clazz : hierarchy(type)) {
+      for (VariableElement field : instanceFields(clazz)) {
+        names.add(field.getSimpleName().toString());
+      }
+    }
+    return names;
+  }
+
+  /** Returns the classes of the given type's hierarchy, starting with the top-most below Object. */
+  private List<TypeElement> hierarchy(TypeElement type) {
+    List<TypeElement> hierarchy = new ArrayList<>();
+    @Nullable TypeElement clazz = type;
+    while (clazz != null && !clazz.getQualifiedName().contentEquals("java.lang.Object")) {
+      hierarchy.add(clazz);
+      TypeMirror superclass = clazz.getSuperclass();
+      clazz =
+          superclass instanceof DeclaredType declaredType
+              ? (TypeElement) declaredType.asElement()
+              : null;
+    }
+    Collections.reverse(hierarchy);
+    return hierarchy;
+  }
+
+  private static List<VariableElement> instanceFields(TypeElement clazz) {
+    return fieldsIn(clazz.getEnclosedElements()).stream()
+        .filter(field -> !field.getModifiers().contains(Modifier.STATIC))
+        .toList();
+  }
+
+  private static List<ExecutableElement> accessorCandidates(TypeElement clazz) {
+    return methodsIn(clazz.getEnclosedElements()).stream()
+        .filter(
+            method ->
+                !method.getModifiers().contains(Modifier.STATIC)
+                    && method.getParameters().isEmpty()
+                    && method.getReturnType().getKind() != TypeKind.VOID)
+        .toList();
+  }
+
+  private static Optional<ExecutableElement> findGetterForField(
+      String fieldName, List<ExecutableElement> methods) {
+    String capitalized = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+    Set<String> candidates = Set.of(fieldName, "get" + capitalized, "is" + capitalized);
+    return methods.stream()
+        .filter(method -> candidates.contains(method.getSimpleName().toString()))
+        .filter(
+            method ->
+                !method.getSimpleName().toString().startsWith("is") || isBooleanReturnType(method))
+        .findFirst();
+  }
+
+  private static Optional<String> derivePropertyName(ExecutableElement method) {
+    String name = method.getSimpleName().toString();
+    if (name.startsWith("get") && name.length() > 3 && Character.isUpperCase(name.charAt(3))) {
+      return Optional.of(decapitalize(name.substring(3)));
+    }
+    if (name.startsWith("is")
+        && name.length() > 2
+        && Character.isUpperCase(name.charAt(2))
+        && isBooleanReturnType(method)) {
+      return Optional.of(decapitalize(name.substring(2)));
+    }
+    return Optional.empty();
+  }
+
+  /** Same as {@code java.beans.Introspector.decapitalize}, which is not available here. */
+  private static String decapitalize(String name) {
+    if (name.length() > 1
+        && Character.isUpperCase(name.charAt(1))
+        && Character.isUpperCase(name.charAt(0))) {
+      return name;
+    }
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static boolean isBooleanReturnType(ExecutableElement method) {
+    TypeMirror returnType = method.getReturnType();
+    return returnType.getKind() == TypeKind.BOOLEAN
+        || returnType.toString().equals("java.lang.Boolean");
+  }
+
+  private static String nestedName(TypeElement type, String separator) {
+    String name = type.getSimpleName().toString();
+    if (type.getEnclosingElement() instanceof TypeElement enclosing) {
+      return nestedName(enclosing, separator) + separator + name;
+    }
+    return name;
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  /**
+   * A discovered property.
+   *
+   * @param name the name of the property
+   * @param accessor the method to read the property's value
+   * @param declaringClass the class declaring the accessor
+   */
+  private record Property(String name, ExecutableElement accessor, TypeElement declaringClass) {
+
+    /**
+     * Whether the accessor is accessible by reflection from another package, which the runtime
+     * printer requires.
+     */
+    boolean accessible() {
+      Set<Modifier> classModifiers = declaringClass.getModifiers();
+      return accessor.getModifiers().contains(Modifier.PUBLIC)
+          && (classModifiers.contains(Modifier.PUBLIC)
+              || classModifiers.contains(Modifier.PROTECTED));
+    }
+
+    String propertyType() {
+      return PRIMITIVE_PROPERTY_TYPES.getOrDefault(accessor.getReturnType().getKind(), "Object");
+    }
+  }
+
+  /**
+   * Renders the source of a generated printer.
+   *
+   * @param packageName the package of the printed type
+   * @param typeName the name of the printed type, including its enclosing types
+   * @param typeParameterCount the number of type parameters of the printed type
+   * @param printerName the simple name of the generated printer
+   */
+  private record PrinterSource(
+      String packageName, String typeName, int typeParameterCount, String printerName) {
+
+    String render(List<Property> ordered, List<Property> sortedByName) {
+      String printedType =
+          typeParameterCount == 0
+              ? typeName
+              : typeName + "<" + String.join(", ", Collections.nCopies(typeParameterCount, "?"))
+                  + ">";
+      StringBuilder source = new StringBuilder();
+      if (!packageName.isEmpty()) {
+        source.append("package ").append(packageName).append(";\n\n");
+      }
+      source
+          .append("/** Prints {@link ")
+          .append(typeName)
+          .append("} without reflection. */\n")
+          .append("@javax.annotation.processing.Generated(\"")
+          .append(ApprovalPrintableProcessor.class.getName())
+          .append("\")\n")
+          .append("public final class ")
+          .append(printerName)
+          .append(" implements org.approvej.print.GeneratedPrinter<")
+          .append(printedType)
+          .append("> {\n\n")
+          .append("  /** Default constructor, used by the {@link java.util.ServiceLoader}. */\n")
+          .append("  public ")
+          .append(printerName)
+          .append("() {\n    // used by the ServiceLoader\n  }\n\n")
+          .append("  @Override\n");
+      if (typeParameterCount == 0) {
+        source
+            .append("  public Class<")
+            .append(printedType)
+            .append("> printedType() {\n    return ")
+            .append(typeName)
+            .append(".class;\n  }\n\n");
+      } else {
+        source
+            .append("  @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("  public Class<")
+            .append(printedType)
+            .append("> printedType() {\n    return (Class) ")
+            .append(typeName)
+            .append(".class;\n  }\n\n");
+      }
+      source
+          .append("  @Override\n")
+          .append("  public void writeProperties(")
+          .append(printedType)
+          .append(" value, boolean sortedByName, PropertyWriter writer)\n")
+          .append("      throws java.io.IOException {\n")
+          .append("    if (sortedByName) {\n");
+      appendProperties(source, sortedByName);
+      source.append("    } else {\n");
+      appendProperties(source, ordered);
+      source.append("    }\n  }\n}\n");
+      return source.toString();
+    }
+
+    /**
+     * Appends a block per property that reads its value and writes it. If the accessor is not
+     * accessible or fails with anything but a {@link VirtualMachineError}, {@code INACCESSIBLE} is
+     * written instead, just like the runtime printer does.
+     */
+    private static void appendProperties(StringBuilder source, List<Property> properties) {
+      for (int index = 0; index < properties.size(); index++) {
+        Property property = properties.get(index);
+        String name = "\"" + property.name() + "\"";
+        if (!property.accessible()) {
+          source.append("      writer.property(").append(name).append(", INACCESSIBLE);\n");
+          continue;
+        }
+        String label = "property" + index;
+        source
+            .append("      ")
+            .append(label)
+            .append(":\n      {\n        ")
+            .append(property.propertyType())
+            .append(" propertyValue;\n        try {\n          propertyValue = value.")
+            .append(property.accessor().getSimpleName())
+            .append("();\n        } catch (java.lang.VirtualMachineError e) {\n          throw e;")
+            .append("\n        } catch (Throwable e) {\n          writer.property(")
+            .append(name)
+            .append(", INACCESSIBLE);\n          break ")
+            .append(label)
+            .append(";\n        }\n        writer.property(")
+            .append(name)
+            .append(", propertyValue);\n      }\n");
+      }
+    }
+  }
+}
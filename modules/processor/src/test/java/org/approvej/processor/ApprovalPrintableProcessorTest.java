@@ -0,0 +1,376 @@
+package org.approvej.processor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.approvej.print.MultiLineStringPrintFormat.multiLineString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.approvej.print.GeneratedPrinter;
+import org.approvej.print.GeneratedPrinter.PropertyWriter;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ApprovalPrintableProcessorTest {
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void process_record() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Person",
+            """
+            package sample;
+
+            @org.approvej.print.ApprovalPrintable
+            public record Person(String name, int age) {
+              public boolean isAdult() {
+                return age >= 18;
+              }
+
+              public String getDisplay() {
+                return name + " (" + age + ")";
+              }
+            }
+            """);
+
+    assertThat(compilation.errors()).isEmpty();
+    assertThat(tempDir.resolve("classes/META-INF/services/org.approvej.configuration.Provider"))
+        .content(UTF_8)
+        .isEqualTo("sample.PersonApprovalPrinter\n");
+    Object person = compilation.newInstance("sample.Person", "Micha", 42);
+    GeneratedPrinter<Object> printer = compilation.printer("sample.PersonApprovalPrinter");
+    assertThat(printer.printedType().getName()).isEqualTo("sample.Person");
+    assertThat(writtenProperties(printer, person, false))
+        .containsExactly("name=Micha", "age=42", "adult=true", "display=Micha (42)");
+    assertThat(writtenProperties(printer, person, true))
+        .containsExactly("adult=true", "age=42", "display=Micha (42)", "name=Micha");
+    assertThat(multiLineString().printer().apply(person))
+        .isEqualTo(
+            """
+            Person [
+              name=Micha,
+              age=42,
+              adult=true,
+              display=Micha (42)
+            ]\
+            """);
+  }
+
+  @Test
+  void process_class_hierarchy() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Pet",
+            """
+            package sample;
+
+            public class Pet {
+              private final String name = "Luna";
+
+              public String getName() {
+                return name;
+              }
+
+              public String getKind() {
+                return "pet";
+              }
+            }
+            """,
+            "sample.Cat",
+            """
+            package sample;
+
+            @org.approvej.print.ApprovalPrintable
+            public class Cat extends Pet {
+              private final boolean indoor = true;
+              private final int lives = 9;
+
+              public Cat() {}
+
+              public boolean isIndoor() {
+                return indoor;
+              }
+
+              public int lives() {
+                return lives;
+              }
+
+              public String getColor() {
+                return "black";
+              }
+            }
+            """);
+
+    assertThat(compilation.errors()).isEmpty();
+    Object cat = compilation.newInstance("sample.Cat");
+    GeneratedPrinter<Object> printer = compilation.printer("sample.CatApprovalPrinter");
+    assertThat(writtenProperties(printer, cat, false))
+        .containsExactly("name=Luna", "indoor=true", "lives=9", "color=black", "kind=pet");
+  }
+
+  @Test
+  void process_inaccessible() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Secret",
+            """
+            package sample;
+
+            @org.approvej.print.ApprovalPrintable
+            record Secret(String value) {
+              public String getFailing() {
+                throw new IllegalStateException();
+              }
+            }
+            """);
+
+    assertThat(compilation.errors()).isEmpty();
+    Object secret = compilation.newInstance("sample.Secret", "s3cr3t");
+    GeneratedPrinter<Object> printer = compilation.printer("sample.SecretApprovalPrinter");
+    assertThat(writtenProperties(printer, secret, false))
+        .containsExactly("value=<inaccessible>", "failing=<inaccessible>");
+  }
+
+  @Test
+  void process_failing_getter() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Failing",
+            """
+            package sample;
+
+            @org.approvej.print.ApprovalPrintable
+            public record Failing(String value) {
+              public String getFailure() {
+                throw new IllegalStateException();
+              }
+            }
+            """);
+
+    assertThat(compilation.errors()).isEmpty();
+    Object failing = compilation.newInstance("sample.Failing", "v");
+    GeneratedPrinter<Object> printer = compilation.printer("sample.FailingApprovalPrinter");
+    assertThat(writtenProperties(printer, failing, false))
+        .containsExactly("value=v", "failure=<inaccessible>");
+  }
+
+  @Test
+  void process_getter_throwing_error() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Asserting",
+            """
+            package sample;
+
+            @org.approvej.print.ApprovalPrintable
+            public record Asserting(String value) {
+              public String getAssertion() {
+                throw new AssertionError();
+              }
+            }
+            """);
+
+    assertThat(compilation.errors()).isEmpty();
+    Object asserting = compilation.newInstance("sample.Asserting", "v");
+    GeneratedPrinter<Object> printer = compilation.printer("sample.AssertingApprovalPrinter");
+    assertThat(writtenProperties(printer, asserting, false))
+        .containsExactly("value=v", "assertion=<inaccessible>");
+  }
+
+  @Test
+  void process_getter_throwing_virtual_machine_error() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Exhausted",
+            """
+            package sample;
+
+            @org.approvej.print.ApprovalPrintable
+            public record Exhausted(String value) {
+              public String getMemory() {
+                throw new OutOfMemoryError();
+              }
+            }
+            """);
+
+    assertThat(compilation.errors()).isEmpty();
+    Object exhausted = compilation.newInstance("sample.Exhausted", "v");
+    GeneratedPrinter<Object> printer = compilation.printer("sample.ExhaustedApprovalPrinter");
+    assertThatExceptionOfType(OutOfMemoryError.class)
+        .isThrownBy(() -> writtenProperties(printer, exhausted, false));
+  }
+
+  @Test
+  void process_nested() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Outer",
+            """
+            package sample;
+
+            public class Outer {
+              @org.approvej.print.ApprovalPrintable
+              public record Inner<T>(T value) {}
+            }
+            """);
+
+    assertThat(compilation.errors()).isEmpty();
+    Object inner = compilation.newInstance("sample.Outer$Inner", 1);
+    GeneratedPrinter<Object> printer = compilation.printer("sample.Outer_InnerApprovalPrinter");
+    assertThat(writtenProperties(printer, inner, false)).containsExactly("value=1");
+  }
+
+  @Test
+  void process_interface() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Printable",
+            """
+            package sample;
+
+            @org.approvej.print.ApprovalPrintable
+            public interface Printable {}
+            """);
+
+    assertThat(compilation.errors())
+        .containsExactly("@ApprovalPrintable is only supported on records and classes");
+  }
+
+  @Test
+  void process_private() throws Exception {
+    Compilation compilation =
+        compile(
+            "sample.Outer",
+            """
+            package sample;
+
+            public class Outer {
+              @org.approvej.print.ApprovalPrintable
+              private record Hidden(String value) {}
+            }
+            """);
+
+    assertThat(compilation.errors())
+        .containsExactly("@ApprovalPrintable is not supported on private types");
+  }
+
+  private Compilation compile(String... namesAndSources) throws IOException {
+    Path sources = tempDir.resolve("sources");
+    Path classes = Files.createDirectories(tempDir.resolve("classes"));
+    List<Path> sourceFiles = new ArrayList<>();
+    for (int i = 0; i < namesAndSources.length; i += 2) {
+      Path sourceFile = sources.resolve(namesAndSources[i].replace('.', '/') + ".java");
+      Files.createDirectories(sourceFile.getParent());
+      sourceFiles.add(Files.writeString(sourceFile, namesAndSources[i + 1]));
+    }
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, Locale.ROOT, UTF_8)) {
+      JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              List.of(
+                  "-classpath",
+                  System.getProperty("java.class.path"),
+                  "-d",
+                  classes.toString(),
+                  "-s",
+                  classes.toString()),
+              null,
+              fileManager.getJavaFileObjectsFromPaths(sourceFiles));
+      task.setProcessors(List.of(new ApprovalPrintableProcessor()));
+      task.call();
+    }
+    List<String> errors =
+        diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+            .toList();
+    ClassLoader classLoader =
+        new URLClassLoader(
+            new URL[] {classes.toUri().toURL()},
+            ApprovalPrintableProcessorTest.class.getClassLoader());
+    return new Compilation(errors, classLoader);
+  }
+
+  private static List<String> writtenProperties(
+      GeneratedPrinter<Object> printer, Object value, boolean sortedByName) throws IOException {
+    List<String> properties = new ArrayList<>();
+    printer.writeProperties(value, sortedByName, new RecordingPropertyWriter(properties));
+    return properties;
+  }
+
+  private record Compilation(List<String> errors, ClassLoader classLoader) {
+
+    Object newInstance(String className, Object... arguments) throws Exception {
+      Constructor<?> constructor = classLoader.loadClass(className).getDeclaredConstructors()[0];
+      constructor.setAccessible(true);
+      return constructor.newInstance(arguments);
+    }
+
+    @SuppressWarnings("unchecked")
+    GeneratedPrinter<Object> printer(String className) throws Exception {
+      return (GeneratedPrinter<Object>)
+          classLoader.loadClass(className).getDeclaredConstructor().newInstance();
+    }
+  }
+
+  private record RecordingPropertyWriter(List<String> properties) implements PropertyWriter {
+
+    @Override
+    public void property(String name, @Nullable Object value) {
+      properties.add(name + "=" + value);
+    }
+
+    @Override
+    public void property(String name, int value) {
+      properties.add(name + "=" + value);
+    }
+
+    @Override
+    public void property(String name, long value) {
+      properties.add(name + "=" + value);
+    }
+
+    @Override
+    public void property(String name, double value) {
+      properties.add(name + "=" + value);
+    }
+
+    @Override
+    public void property(String name, float value) {
+      properties.add(name + "=" + value);
+    }
+
+    @Override
+    public void property(String name, boolean value) {
+      properties.add(name + "=" + value);
+    }
+
+    @Override
+    public void property(String name, char value) {
+      properties.add(name + "=" + value);
+    }
+  }
+}
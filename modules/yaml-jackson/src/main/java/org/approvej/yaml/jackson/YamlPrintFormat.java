@@ -8,14 +8,18 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.Writer;
 import org.approvej.configuration.Configuration;
+import org.approvej.print.AppendablePrinter;
+import org.approvej.print.AppendableWriter;
 import org.approvej.print.PrintFormat;
 import org.approvej.print.PrintFormatProvider;
 import org.approvej.print.Printer;
 import org.jspecify.annotations.NullMarked;
 
 /**
- * A {@link PrintFormat} that uses {@link ObjectWriter#writeValueAsString(Object)} to print a value
+ * A {@link PrintFormat} that uses {@link ObjectWriter#writeValue(Writer, Object)} to print a value
  * as YAML.
  *
  * @param objectWriter the {@link ObjectWriter} that will be used for printing
@@ -57,13 +61,15 @@ public record YamlPrintFormat<T>(ObjectWriter objectWriter)
 
   @Override
   public Printer<T> printer() {
-    return (T value) -> {
-      try {
-        return objectWriter.writeValueAsString(value).replace("\r\n", "\n");
-      } catch (JsonProcessingException e) {
-        throw new YamlPrinterException(value, e);
-      }
-    };
+    return (AppendablePrinter<T>) this::print;
+  }
+
+  private void print(T value, Appendable appendable) throws IOException {
+    try (Writer writer = new AppendableWriter(appendable)) {
+      objectWriter.writeValue(writer, value);
+    } catch (JsonProcessingException e) {
+      throw new YamlPrinterException(value, e);
+    }
   }
 
   @Override
@@ -1,18 +1,23 @@
 package org.approvej.yaml.jackson3;
 
+import java.io.IOException;
+import java.io.Writer;
 import org.approvej.configuration.Configuration;
+import org.approvej.print.AppendablePrinter;
+import org.approvej.print.AppendableWriter;
 import org.approvej.print.PrintFormat;
 import org.approvej.print.PrintFormatProvider;
 import org.approvej.print.Printer;
 import org.jspecify.annotations.NullMarked;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.exc.JacksonIOException;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.ObjectWriter;
 import tools.jackson.databind.module.SimpleModule;
 import tools.jackson.dataformat.yaml.YAMLMapper;
 
 /**
- * A {@link PrintFormat} that uses {@link ObjectWriter#writeValueAsString(Object)} to print a value
+ * A {@link PrintFormat} that uses {@link ObjectWriter#writeValue(Writer, Object)} to print a value
  * as YAML.
  *
  * @param objectWriter the {@link ObjectWriter} that will be used for printing
@@ -45,13 +50,20 @@ public record YamlPrintFormat<T>(ObjectWriter objectWriter)
 
   @Override
   public Printer<T> printer() {
-    return (T value) -> {
-      try {
-        return objectWriter.writeValueAsString(value).replace("\r\n", "\n");
-      } catch (JacksonException e) {
-        throw new YamlPrinterException(value, e);
+    return (AppendablePrinter<T>) this::print;
+  }
+
+  private void print(T value, Appendable appendable) throws IOException {
+    try (Writer writer = new AppendableWriter(appendable)) {
+      objectWriter.writeValue(writer, value);
+    } catch (JacksonIOException e) {
+      if (e.getCause() instanceof IOException cause) {
+        throw cause;
       }
-    };
+      throw new YamlPrinterException(value, e);
+    } catch (JacksonException e) {
+      throw new YamlPrinterException(value, e);
+    }
   }
 
   @Override
@@ -22,6 +22,10 @@ include("modules:http-wiremock")
 
 include("modules:database-jdbc")
 
+include("modules:processor")
+
+include("modules:benchmarks")
+
 include("plugins:approvej-gradle-plugin")
 
 include("plugins:approvej-maven-plugin")